@@ -0,0 +1,10 @@
+package com.example.tictactoe.client;
+
+/**
+ * The cells on a Tic-Tac-Toe game board, as named by the server.
+ */
+public enum Cell {
+    TOP_LEFT, TOP_CENTER, TOP_RIGHT,
+    MIDDLE_LEFT, MIDDLE_CENTER, MIDDLE_RIGHT,
+    BOTTOM_LEFT, BOTTOM_CENTER, BOTTOM_RIGHT
+}
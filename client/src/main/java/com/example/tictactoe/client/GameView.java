@@ -0,0 +1,20 @@
+package com.example.tictactoe.client;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.Map;
+
+/**
+ * A game state as returned by the server.
+ *
+ * @param board         The player in each cell
+ * @param currentPlayer The player to move
+ * @param lastPlayer    The player who made the last move, if any
+ * @param gameOver      Whether the game has ended
+ * @param winner        The winner, or {@link Player#EMPTY} if there is none (yet)
+ * @param version       The version of the game, incremented by every move
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record GameView(Map<Cell, Player> board, Player currentPlayer, Player lastPlayer, boolean gameOver,
+                       Player winner, long version) {
+}
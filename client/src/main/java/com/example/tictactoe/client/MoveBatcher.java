@@ -0,0 +1,100 @@
+package com.example.tictactoe.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Collects the moves for one server into batches.
+ * <p>
+ * A batch is sent as soon as it is full, or after the linger time from the first move queued into
+ * it, so a lone move waits at most the linger time and a busy client sends full batches.
+ */
+final class MoveBatcher {
+    private final int maxBatchSize;
+    private final long lingerMicros;
+    private final ScheduledExecutorService scheduler;
+    private final BiConsumer<List<MoveRequest>, List<CompletableFuture<MoveOutcome>>> send;
+    private final Queue<PendingMove> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    /**
+     * Creates a batcher.
+     *
+     * @param maxBatchSize The most moves sent in one request
+     * @param lingerMicros How long the first move of a batch waits for others
+     * @param scheduler    The scheduler that sends batches that did not fill up
+     * @param send         Sends a batch and completes the futures of its moves in order
+     */
+    MoveBatcher(int maxBatchSize, long lingerMicros, ScheduledExecutorService scheduler,
+                BiConsumer<List<MoveRequest>, List<CompletableFuture<MoveOutcome>>> send) {
+        this.maxBatchSize = maxBatchSize;
+        this.lingerMicros = lingerMicros;
+        this.scheduler = scheduler;
+        this.send = send;
+    }
+
+    /**
+     * Queues a move for the next batch.
+     *
+     * @param move The move
+     * @return The outcome of the move, completed when its batch has been answered
+     */
+    CompletableFuture<MoveOutcome> add(MoveRequest move) {
+        CompletableFuture<MoveOutcome> outcome = new CompletableFuture<>();
+        queue.add(new PendingMove(move, outcome));
+        if (queued.incrementAndGet() >= maxBatchSize) {
+            flushFullBatches();
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::flushAll, lingerMicros, TimeUnit.MICROSECONDS);
+        }
+        return outcome;
+    }
+
+    private void flushFullBatches() {
+        while (queued.get() >= maxBatchSize) {
+            if (!sendBatch()) {
+                return;
+            }
+        }
+    }
+
+    private void flushAll() {
+        flushScheduled.set(false);
+        while (sendBatch()) {
+            // Keep sending until the queue is empty
+        }
+    }
+
+    /**
+     * Sends up to one batch of queued moves.
+     *
+     * @return {@code false} if there was nothing to send
+     */
+    private boolean sendBatch() {
+        List<MoveRequest> moves = new ArrayList<>();
+        List<CompletableFuture<MoveOutcome>> outcomes = new ArrayList<>();
+        PendingMove pending;
+        while (moves.size() < maxBatchSize && (pending = queue.poll()) != null) {
+            moves.add(pending.move());
+            outcomes.add(pending.outcome());
+        }
+        if (moves.isEmpty()) {
+            return false;
+        }
+        queued.addAndGet(-moves.size());
+        send.accept(moves, outcomes);
+        return true;
+    }
+
+    private record PendingMove(MoveRequest move, CompletableFuture<MoveOutcome> outcome) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.tictactoe.client;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * The outcome of one move of a batch.
+ *
+ * @param status   The HTTP status the move would have had on its own
+ * @param state    The game state after the move, if it was made
+ * @param error    The reason the move was not made, if it was not
+ * @param location The base URL of the instance that now holds the game, for a 307
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record MoveOutcome(int status, GameView state, String error, String location) {
+
+    public boolean isMade() {
+        return status == 200;
+    }
+}
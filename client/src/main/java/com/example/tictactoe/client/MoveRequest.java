@@ -0,0 +1,16 @@
+package com.example.tictactoe.client;
+
+/**
+ * A move to send, alone or in a batch.
+ *
+ * @param seatToken       The seat token of the game, or {@code null} for the default game
+ * @param cell            The cell to play
+ * @param expectedVersion The version the move was chosen at, or {@code null} to skip the check
+ * @param idempotencyKey  A key identifying the move, so a retry is not applied twice, or {@code null}
+ */
+public record MoveRequest(String seatToken, Cell cell, Long expectedVersion, String idempotencyKey) {
+
+    public static MoveRequest of(String seatToken, Cell cell) {
+        return new MoveRequest(seatToken, cell, null, null);
+    }
+}
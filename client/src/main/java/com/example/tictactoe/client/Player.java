@@ -0,0 +1,8 @@
+package com.example.tictactoe.client;
+
+/**
+ * The players in a Tic-Tac-Toe game, and {@link #EMPTY} for a cell nobody has played.
+ */
+public enum Player {
+    X, O, EMPTY
+}
@@ -0,0 +1,72 @@
+package com.example.tictactoe.client;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Limits the number of requests in flight without blocking the caller.
+ * <p>
+ * The JDK client opens a new HTTP/1.1 connection whenever all of its open ones are busy, so keeping at
+ * most {@code permits} requests in flight keeps the client on that many persistent connections.
+ * Requests over the limit wait in a queue and are sent as earlier ones complete.
+ */
+final class RequestGate {
+    private final Semaphore permits;
+    private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+
+    RequestGate(int permits) {
+        this.permits = new Semaphore(permits);
+    }
+
+    /**
+     * Sends a request once a permit is free.
+     *
+     * @param send Starts the request
+     * @param <T>  The type of the response
+     * @return The response, completed once the request has been sent and answered
+     */
+    <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> send) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        waiting.add(() -> {
+            CompletableFuture<T> sent;
+            try {
+                sent = send.get();
+            } catch (RuntimeException e) {
+                sent = CompletableFuture.failedFuture(e);
+            }
+            sent.whenComplete((response, failure) -> {
+                release();
+                if (failure != null) {
+                    result.completeExceptionally(failure);
+                } else {
+                    result.complete(response);
+                }
+            });
+        });
+        drain();
+        return result;
+    }
+
+    private void release() {
+        permits.release();
+        drain();
+    }
+
+    private void drain() {
+        while (permits.tryAcquire()) {
+            Runnable next = waiting.poll();
+            if (next == null) {
+                permits.release();
+                // A request queued after the poll found no permit; look again so it is not stranded
+                if (waiting.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+            next.run();
+        }
+    }
+}
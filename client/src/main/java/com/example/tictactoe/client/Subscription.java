@@ -0,0 +1,10 @@
+package com.example.tictactoe.client;
+
+/**
+ * A subscription to the state of a game; closing it stops the updates.
+ */
+public interface Subscription extends AutoCloseable {
+
+    @Override
+    void close();
+}
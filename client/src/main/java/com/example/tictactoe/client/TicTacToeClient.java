@@ -0,0 +1,335 @@
+package com.example.tictactoe.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Asynchronous client for the Tic-Tac-Toe server, built for bots that play many games at once.
+ * <p>
+ * All calls return immediately with a future. Requests share a few persistent connections: at most
+ * {@link Builder#maxConnections(int)} are in flight, and the rest wait in a queue. Moves are not sent
+ * one by one but collected into batches for {@code POST /api/game/moves}, so thousands of games
+ * moving at once cost a few requests. Concurrent reads of the same game share one request. A game
+ * that has migrated to another instance is followed there, and later moves with its seat token go
+ * straight to the new instance.
+ * <p>
+ * The client is thread-safe; use one per server for the whole process and close it when done.
+ */
+public final class TicTacToeClient implements AutoCloseable {
+    private static final long DEFAULT_GAME_ID = 1L;
+    private static final int MAX_REDIRECTS = 3;
+    private static final int MAX_SERVER_BATCH = 1000;
+    private static final TypeReference<List<MoveOutcome>> OUTCOMES = new TypeReference<>() {
+    };
+
+    private final URI baseUrl;
+    private final HttpClient http;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RequestGate gate;
+    private final int maxBatchSize;
+    private final long lingerMicros;
+    private final Duration requestTimeout;
+    private final Duration pollInterval;
+    private final ScheduledExecutorService scheduler;
+    private final ConcurrentMap<Long, CompletableFuture<GameView>> pendingReads = new ConcurrentHashMap<>();
+    private final ConcurrentMap<URI, MoveBatcher> batchers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, URI> movedSeats = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+
+    private TicTacToeClient(Builder builder) {
+        this.baseUrl = normalize(builder.baseUrl);
+        this.gate = new RequestGate(builder.maxConnections);
+        this.maxBatchSize = builder.maxBatchSize;
+        this.lingerMicros = builder.lingerMicros;
+        this.requestTimeout = builder.requestTimeout;
+        this.pollInterval = builder.pollInterval;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tictactoe-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.http = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(builder.requestTimeout)
+            .build();
+    }
+
+    /**
+     * Starts building a client.
+     *
+     * @param baseUrl The base URL of the server, for example {@code http://localhost:8080}
+     * @return The builder
+     */
+    public static Builder builder(URI baseUrl) {
+        return new Builder(baseUrl);
+    }
+
+    /**
+     * Reads the state of the default game.
+     *
+     * @return The game state
+     */
+    public CompletableFuture<GameView> state() {
+        return state(DEFAULT_GAME_ID);
+    }
+
+    /**
+     * Reads the state of a game. Reads of the same game that overlap share one request and all
+     * complete with its answer.
+     *
+     * @param gameId The ID of the game
+     * @return The game state; fails with a {@link TicTacToeClientException} with status 404 for an unknown game
+     */
+    public CompletableFuture<GameView> state(long gameId) {
+        CompletableFuture<GameView> pending = pendingReads.get(gameId);
+        if (pending != null) {
+            return pending;
+        }
+        CompletableFuture<GameView> read = new CompletableFuture<>();
+        pending = pendingReads.putIfAbsent(gameId, read);
+        if (pending != null) {
+            return pending;
+        }
+        HttpRequest request = HttpRequest.newBuilder(baseUrl.resolve("/api/game/state?gameId=" + gameId))
+            .timeout(requestTimeout)
+            .GET()
+            .build();
+        send(request).whenComplete((response, failure) -> {
+            pendingReads.remove(gameId, read);
+            if (failure != null) {
+                read.completeExceptionally(failure);
+            } else if (response.statusCode() != 200) {
+                read.completeExceptionally(new TicTacToeClientException(response.statusCode(), response.body()));
+            } else {
+                try {
+                    read.complete(objectMapper.readValue(response.body(), GameView.class));
+                } catch (JsonProcessingException e) {
+                    read.completeExceptionally(e);
+                }
+            }
+        });
+        return read;
+    }
+
+    /**
+     * Makes a move. The move is sent in the next batch.
+     *
+     * @param seatToken The seat token of the game
+     * @param cell      The cell to play
+     * @return The game state after the move
+     */
+    public CompletableFuture<GameView> move(String seatToken, Cell cell) {
+        return move(MoveRequest.of(seatToken, cell));
+    }
+
+    /**
+     * Makes a move. The move is sent in the next batch.
+     *
+     * @param move The move
+     * @return The game state after the move; fails with a {@link TicTacToeClientException} carrying the
+     * status the server gave the move, for example 409 if {@code expectedVersion} is stale
+     */
+    public CompletableFuture<GameView> move(MoveRequest move) {
+        return submit(move, 0).thenApply(outcome -> {
+            if (!outcome.isMade()) {
+                throw new TicTacToeClientException(outcome.status(), outcome.error());
+            }
+            return outcome.state();
+        });
+    }
+
+    /**
+     * Makes many moves and returns the outcome of each, without failing the whole call when some
+     * moves are rejected. The moves join the batches of the other moves in flight.
+     *
+     * @param moves The moves
+     * @return The outcomes, in the order of the moves
+     */
+    public CompletableFuture<List<MoveOutcome>> batch(List<MoveRequest> moves) {
+        List<CompletableFuture<MoveOutcome>> outcomes = new ArrayList<>(moves.size());
+        for (MoveRequest move : moves) {
+            outcomes.add(submit(move, 0));
+        }
+        return CompletableFuture.allOf(outcomes.toArray(CompletableFuture[]::new))
+            .thenApply(done -> outcomes.stream().map(CompletableFuture::join).toList());
+    }
+
+    /**
+     * Calls a listener with the state of a game whenever its version changes, by reading it every
+     * poll interval. Subscriptions to the same game share their reads.
+     *
+     * @param gameId   The ID of the game
+     * @param listener Called on the client thread with each new state; must not block
+     * @return The subscription, to be closed when no more updates are wanted
+     */
+    public Subscription subscribe(long gameId, Consumer<GameView> listener) {
+        AtomicLong lastVersion = new AtomicLong(-1);
+        ScheduledFuture<?> polling = scheduler.scheduleWithFixedDelay(() -> state(gameId).thenAccept(state -> {
+            long last = lastVersion.get();
+            if (state.version() != last && lastVersion.compareAndSet(last, state.version())) {
+                listener.accept(state);
+            }
+        }), 0, pollInterval.toNanos(), TimeUnit.NANOSECONDS);
+        return () -> polling.cancel(false);
+    }
+
+    /**
+     * Returns the number of HTTP requests sent so far, to see how well moves are batched and reads shared.
+     *
+     * @return The number of requests
+     */
+    public long requestCount() {
+        return requests.get();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        http.close();
+    }
+
+    private CompletableFuture<MoveOutcome> submit(MoveRequest move, int redirects) {
+        URI target = move.seatToken() == null ? baseUrl : movedSeats.getOrDefault(move.seatToken(), baseUrl);
+        return batchers.computeIfAbsent(target, this::newBatcher).add(move).thenCompose(outcome -> {
+            if (outcome.status() != 307 || outcome.location() == null || redirects >= MAX_REDIRECTS) {
+                return CompletableFuture.completedFuture(outcome);
+            }
+            if (move.seatToken() != null) {
+                movedSeats.put(move.seatToken(), normalize(URI.create(outcome.location())));
+            }
+            return submit(move, redirects + 1);
+        });
+    }
+
+    private MoveBatcher newBatcher(URI server) {
+        return new MoveBatcher(maxBatchSize, lingerMicros, scheduler, (moves, outcomes) -> sendBatch(server, moves,
+            outcomes));
+    }
+
+    private void sendBatch(URI server, List<MoveRequest> moves, List<CompletableFuture<MoveOutcome>> outcomes) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(server.resolve("/api/game/moves"))
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(moves)))
+                .build();
+        } catch (JsonProcessingException e) {
+            outcomes.forEach(outcome -> outcome.completeExceptionally(e));
+            return;
+        }
+        send(request).whenComplete((response, failure) -> {
+            try {
+                if (failure != null) {
+                    throw failure;
+                }
+                if (response.statusCode() != 200) {
+                    throw new TicTacToeClientException(response.statusCode(), response.body());
+                }
+                List<MoveOutcome> results = objectMapper.readValue(response.body(), OUTCOMES);
+                for (int i = 0; i < outcomes.size(); i++) {
+                    outcomes.get(i).complete(results.get(i));
+                }
+            } catch (Throwable e) {
+                outcomes.forEach(outcome -> outcome.completeExceptionally(e));
+            }
+        });
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(HttpRequest request) {
+        return gate.submit(() -> {
+            requests.incrementAndGet();
+            return http.sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        });
+    }
+
+    private static URI normalize(URI url) {
+        String value = url.toString();
+        return URI.create(value.endsWith("/") ? value.substring(0, value.length() - 1) : value);
+    }
+
+    /**
+     * Builder for {@link TicTacToeClient}.
+     */
+    public static final class Builder {
+        private final URI baseUrl;
+        private int maxConnections = 4;
+        private int maxBatchSize = 500;
+        private long lingerMicros = 1000;
+        private Duration requestTimeout = Duration.ofSeconds(10);
+        private Duration pollInterval = Duration.ofMillis(200);
+
+        private Builder(URI baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        /**
+         * Sets the most requests in flight, and so the most connections to the server. Defaults to 4.
+         */
+        public Builder maxConnections(int maxConnections) {
+            if (maxConnections < 1) {
+                throw new IllegalArgumentException("maxConnections must be at least 1");
+            }
+            this.maxConnections = maxConnections;
+            return this;
+        }
+
+        /**
+         * Sets the most moves sent in one request, at most 1000. Defaults to 500.
+         */
+        public Builder maxBatchSize(int maxBatchSize) {
+            if (maxBatchSize < 1 || maxBatchSize > MAX_SERVER_BATCH) {
+                throw new IllegalArgumentException("maxBatchSize must be between 1 and " + MAX_SERVER_BATCH);
+            }
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Sets how long a move waits for others to share its request. Defaults to 1 ms.
+         */
+        public Builder linger(Duration linger) {
+            this.lingerMicros = TimeUnit.NANOSECONDS.toMicros(linger.toNanos());
+            return this;
+        }
+
+        /**
+         * Sets the timeout of each request. Defaults to 10 seconds.
+         */
+        public Builder requestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+            return this;
+        }
+
+        /**
+         * Sets how often subscriptions read their game. Defaults to 200 ms.
+         */
+        public Builder pollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+            return this;
+        }
+
+        public TicTacToeClient build() {
+            return new TicTacToeClient(this);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.tictactoe.client;
+
+/**
+ * Thrown, through the returned futures, when the server rejects a request or a move.
+ */
+public class TicTacToeClientException extends RuntimeException {
+    private final int status;
+
+    public TicTacToeClientException(int status, String message) {
+        super(status + ": " + message);
+        this.status = status;
+    }
+
+    /**
+     * Returns the HTTP status of the failed request or move, for example 409 for a version conflict.
+     *
+     * @return The status
+     */
+    public int getStatus() {
+        return status;
+    }
+}
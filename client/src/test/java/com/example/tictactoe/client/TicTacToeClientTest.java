@@ -0,0 +1,203 @@
+package com.example.tictactoe.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TicTacToeClientTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final List<HttpServer> servers = new ArrayList<>();
+    private final AtomicInteger stateRequests = new AtomicInteger();
+    private final List<Integer> batchSizes = new ArrayList<>();
+    private final CountDownLatch releaseReads = new CountDownLatch(1);
+    private URI home;
+    private URI elsewhere;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        elsewhere = start(null);
+        home = start(elsewhere);
+    }
+
+    @AfterEach
+    void tearDown() {
+        servers.forEach(server -> server.stop(0));
+    }
+
+    /**
+     * Starts a fake server. Moves with the seat token {@code moved} are redirected to {@code movedTo}
+     * if set, moves with the seat token {@code stale} conflict, and every other move is made at the
+     * version given by its position in the batch.
+     */
+    private URI start(URI movedTo) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/api/game/state", exchange -> {
+            stateRequests.incrementAndGet();
+            try {
+                releaseReads.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, view(7));
+        });
+        server.createContext("/api/game/moves", exchange -> {
+            List<MoveRequest> moves = objectMapper.readValue(exchange.getRequestBody(), new TypeReference<>() {
+            });
+            synchronized (batchSizes) {
+                batchSizes.add(moves.size());
+            }
+            List<MoveOutcome> outcomes = new ArrayList<>();
+            for (int i = 0; i < moves.size(); i++) {
+                String token = moves.get(i).seatToken();
+                if ("moved".equals(token) && movedTo != null) {
+                    outcomes.add(new MoveOutcome(307, null, "Game has moved", movedTo.toString()));
+                } else if ("stale".equals(token)) {
+                    outcomes.add(new MoveOutcome(409, null, "Version conflict", null));
+                } else {
+                    outcomes.add(new MoveOutcome(200, view(i), null, null));
+                }
+            }
+            respond(exchange, outcomes);
+        });
+        server.start();
+        servers.add(server);
+        return URI.create("http://localhost:" + server.getAddress().getPort());
+    }
+
+    private static GameView view(long version) {
+        Map<Cell, Player> board = new EnumMap<>(Cell.class);
+        for (Cell cell : Cell.values()) {
+            board.put(cell, Player.EMPTY);
+        }
+        return new GameView(board, Player.X, null, false, Player.EMPTY, version);
+    }
+
+    private static void respond(HttpExchange exchange, Object body) throws IOException {
+        byte[] json = objectMapper.writeValueAsString(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, json.length);
+        exchange.getResponseBody().write(json);
+        exchange.close();
+    }
+
+    private TicTacToeClient client(int maxBatchSize, Duration linger) {
+        return TicTacToeClient.builder(home).maxBatchSize(maxBatchSize).linger(linger).build();
+    }
+
+    @Test
+    void state_ConcurrentReadsOfOneGame_ShareOneRequest() throws Exception {
+        try (TicTacToeClient client = client(10, Duration.ofMillis(1))) {
+            List<CompletableFuture<GameView>> reads = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                reads.add(client.state(42));
+            }
+            releaseReads.countDown();
+
+            for (CompletableFuture<GameView> read : reads) {
+                assertEquals(7, read.get(5, TimeUnit.SECONDS).version());
+            }
+            assertEquals(1, stateRequests.get());
+            assertSame(reads.get(0), reads.get(19));
+
+            client.state(42).get(5, TimeUnit.SECONDS);
+            assertEquals(2, stateRequests.get(), "A read after the shared one completed is sent again");
+        }
+    }
+
+    @Test
+    void move_ManyMoves_AreSentInFullBatches() throws Exception {
+        try (TicTacToeClient client = client(100, Duration.ofMillis(200))) {
+            List<CompletableFuture<GameView>> moves = new ArrayList<>();
+            for (int i = 0; i < 250; i++) {
+                moves.add(client.move("seat-" + i, Cell.TOP_LEFT));
+            }
+
+            for (int i = 0; i < moves.size(); i++) {
+                assertEquals(i % 100, moves.get(i).get(5, TimeUnit.SECONDS).version());
+            }
+            assertEquals(List.of(100, 100, 50), batchSizes);
+            assertEquals(3, client.requestCount());
+        }
+    }
+
+    @Test
+    void batch_RejectedMove_FailsOnlyThatMove() throws Exception {
+        try (TicTacToeClient client = client(100, Duration.ofMillis(1))) {
+            List<MoveOutcome> outcomes = client.batch(List.of(
+                MoveRequest.of("seat", Cell.TOP_LEFT),
+                new MoveRequest("stale", Cell.TOP_LEFT, 3L, null))).get(5, TimeUnit.SECONDS);
+
+            assertTrue(outcomes.get(0).isMade());
+            assertEquals(409, outcomes.get(1).status());
+
+            ExecutionException e = assertThrows(ExecutionException.class,
+                () -> client.move("stale", Cell.TOP_LEFT).get(5, TimeUnit.SECONDS));
+            assertInstanceOf(TicTacToeClientException.class, e.getCause());
+            assertEquals(409, ((TicTacToeClientException) e.getCause()).getStatus());
+        }
+    }
+
+    @Test
+    void move_MigratedGame_FollowsAndRemembersTheNewInstance() throws Exception {
+        try (TicTacToeClient client = client(100, Duration.ofMillis(1))) {
+            assertEquals(0, client.move("moved", Cell.TOP_LEFT).get(5, TimeUnit.SECONDS).version());
+            assertEquals(2, client.requestCount());
+
+            client.move("moved", Cell.TOP_CENTER).get(5, TimeUnit.SECONDS);
+            assertEquals(3, client.requestCount(), "The second move goes straight to the new instance");
+        }
+    }
+
+    @Test
+    void subscribe_DeliversEachVersionOnce() throws Exception {
+        releaseReads.countDown();
+        TicTacToeClient client = TicTacToeClient.builder(home).pollInterval(Duration.ofMillis(5)).build();
+        try (client) {
+            List<GameView> updates = new ArrayList<>();
+            Subscription subscription = client.subscribe(42, update -> {
+                synchronized (updates) {
+                    updates.add(update);
+                }
+            });
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (stateRequests.get() < 5 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            subscription.close();
+
+            synchronized (updates) {
+                assertEquals(1, updates.size());
+                assertEquals(7, updates.get(0).version());
+            }
+        }
+    }
+}
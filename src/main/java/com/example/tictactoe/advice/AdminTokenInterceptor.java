@@ -0,0 +1,53 @@
+package com.example.tictactoe.advice;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import static com.example.tictactoe.constant.GameConstants.ADMIN_TOKEN_HEADER;
+import static com.example.tictactoe.constant.GameConstants.ADMIN_TOKEN_REQUIRED_MESSAGE;
+
+/**
+ * Guards the operator endpoints: a request is let through only if its {@code Admin-Token} header
+ * matches {@code admin.token}, compared in constant time. The property has no default, so until it is
+ * set every request to those endpoints is answered with 403 before its handler runs.
+ */
+@Component
+public class AdminTokenInterceptor implements HandlerInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger(AdminTokenInterceptor.class);
+
+    private final byte[] adminToken;
+
+    public AdminTokenInterceptor(@Value("${admin.token:}") String adminToken) {
+        this.adminToken = adminToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+        throws IOException {
+        if (isAdmin(request.getHeader(ADMIN_TOKEN_HEADER))) {
+            return true;
+        }
+        logger.warn("Refused {} {} from {} without a valid admin token", request.getMethod(),
+            request.getRequestURI(), request.getRemoteAddr());
+        response.setStatus(HttpStatus.FORBIDDEN.value());
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write(ADMIN_TOKEN_REQUIRED_MESSAGE);
+        return false;
+    }
+
+    private boolean isAdmin(String token) {
+        return adminToken.length > 0 && token != null
+            && MessageDigest.isEqual(adminToken, token.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,10 +1,14 @@
 package com.example.tictactoe.advice;
 
+import com.example.tictactoe.exception.InvalidSeatTokenException;
+import com.example.tictactoe.exception.VersionConflictException;
+import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 /**
  * Controller advice to handle exceptions.
@@ -14,6 +18,20 @@ public class ControllerAdvice {
 
     private static final Logger logger = LoggerFactory.getLogger(ControllerAdvice.class);
 
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<String> handleVersionConflictException(VersionConflictException e) {
+        logger.warn("Version conflict: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+            .eTag(String.valueOf(e.getCurrentVersion()))
+            .body(e.getMessage());
+    }
+
+    @ExceptionHandler(InvalidSeatTokenException.class)
+    public ResponseEntity<String> handleInvalidSeatTokenException(InvalidSeatTokenException e) {
+        logger.warn("Invalid seat token");
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+    }
+
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<String> handleIllegalStateException(IllegalStateException e) {
         logger.warn("Illegal state: {}", e.getMessage());
@@ -26,6 +44,12 @@ public class ControllerAdvice {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
     }
 
+    @ExceptionHandler({ConstraintViolationException.class, HandlerMethodValidationException.class})
+    public ResponseEntity<String> handleValidationException(Exception e) {
+        logger.warn("Invalid request: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGenericException(Exception e) {
         logger.error("Unexpected error: ", e);
@@ -0,0 +1,148 @@
+package com.example.tictactoe.advice;
+
+import com.example.tictactoe.util.RateLimiter;
+import com.example.tictactoe.util.SeatTokens;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.tictactoe.constant.GameConstants.BULK_CREATE_PATH;
+import static com.example.tictactoe.constant.GameConstants.BULK_RESET_PATH;
+import static com.example.tictactoe.constant.GameConstants.DEFAULT_GAME_ID;
+import static com.example.tictactoe.constant.GameConstants.MOVE_BATCH_PATH;
+import static com.example.tictactoe.constant.GameConstants.RATE_LIMITED_MESSAGE;
+import static com.example.tictactoe.constant.GameConstants.SEAT_TOKEN_HEADER;
+
+/**
+ * Admission control for the endpoints that change a game.
+ * <p>
+ * A request with a valid seat token is charged to two buckets, its seat and its game. A request
+ * without one is charged to its client address only: the default game is played without tokens by
+ * everyone, so a bucket for that game would let one client lock all the others out, and forged
+ * tokens cannot use up the limit of someone else's game. A request over a limit is answered with 429
+ * and a {@code Retry-After} before its handler runs, so it never reads or writes game state, logs
+ * only at debug level and cannot trigger a sync.
+ * <p>
+ * Players are never issued a token for the default game, so a valid one comes from the other
+ * instance, which signs its state pushes with the shared secret; that traffic is not limited.
+ * Batches of moves and bulk requests are always charged to their client, whatever token they carry.
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitInterceptor.class);
+    private static final Set<String> CLIENT_PATHS = Set.of(MOVE_BATCH_PATH, BULK_CREATE_PATH, BULK_RESET_PATH);
+
+    @Autowired
+    private SeatTokens seatTokens;
+
+    @Value("${rate-limit.seat.per-second:10}")
+    private double seatPerSecond;
+
+    @Value("${rate-limit.seat.burst:20}")
+    private int seatBurst;
+
+    @Value("${rate-limit.client.per-second:20}")
+    private double clientPerSecond;
+
+    @Value("${rate-limit.client.burst:40}")
+    private int clientBurst;
+
+    @Value("${rate-limit.game.per-second:40}")
+    private double gamePerSecond;
+
+    @Value("${rate-limit.game.burst:80}")
+    private int gameBurst;
+
+    @Value("${rate-limit.idle-ms:60000}")
+    private long idleMillis;
+
+    private RateLimiter<Long> seatLimiter;
+    private RateLimiter<String> clientLimiter;
+    private RateLimiter<Long> gameLimiter;
+
+    @PostConstruct
+    public void init() {
+        seatLimiter = new RateLimiter<>(seatPerSecond, seatBurst, idleMillis);
+        clientLimiter = new RateLimiter<>(clientPerSecond, clientBurst, idleMillis);
+        gameLimiter = new RateLimiter<>(gamePerSecond, gameBurst, idleMillis);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+        throws IOException {
+        if (!HttpMethod.POST.matches(request.getMethod())) {
+            return true;
+        }
+        // The moves of a batch are charged one by one as they are made
+        long wait = CLIENT_PATHS.contains(request.getRequestURI())
+            ? clientLimiter.tryAcquire(request.getRemoteAddr())
+            : admit(request.getHeader(SEAT_TOKEN_HEADER), request.getRemoteAddr());
+        if (wait == 0) {
+            return true;
+        }
+        logger.debug("Throttled {} from {}", request.getRequestURI(), request.getRemoteAddr());
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(
+            wait + TimeUnit.SECONDS.toNanos(1) - 1))));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write(RATE_LIMITED_MESSAGE);
+        return false;
+    }
+
+    /**
+     * Charges one move to the buckets of its seat and game, or of its client.
+     *
+     * @param seatToken     The seat token sent with the move, may be {@code null}
+     * @param clientAddress The address of the client
+     * @return 0 if the move is admitted, otherwise how many nanoseconds until it would be
+     */
+    public long admit(String seatToken, String clientAddress) {
+        long verified = seatToken == null ? SeatTokens.INVALID : seatTokens.verify(seatToken);
+        if (verified == SeatTokens.INVALID) {
+            return clientLimiter.tryAcquire(clientAddress);
+        }
+        long gameId = SeatTokens.gameId(verified);
+        if (gameId == DEFAULT_GAME_ID) {
+            return 0;
+        }
+        long wait = seatLimiter.tryAcquire(verified);
+        return wait == 0 ? gameLimiter.tryAcquire(gameId) : wait;
+    }
+
+    /**
+     * Returns the number of seats, clients and games that have a bucket.
+     *
+     * @return The number of buckets
+     */
+    public int size() {
+        return seatLimiter.size() + clientLimiter.size() + gameLimiter.size();
+    }
+
+    /**
+     * Drops the buckets of players, clients and games that have not made a request for a while.
+     */
+    @Scheduled(fixedRateString = "${rate-limit.idle-ms:60000}")
+    public void evictIdleBuckets() {
+        int evicted = seatLimiter.evictIdle() + clientLimiter.evictIdle() + gameLimiter.evictIdle();
+        if (evicted > 0) {
+            logger.debug("Evicted {} idle rate limit buckets", evicted);
+        }
+    }
+}
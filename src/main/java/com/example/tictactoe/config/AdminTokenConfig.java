@@ -0,0 +1,28 @@
+package com.example.tictactoe.config;
+
+import com.example.tictactoe.advice.AdminTokenInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import static com.example.tictactoe.constant.GameConstants.BULK_CREATE_PATH;
+import static com.example.tictactoe.constant.GameConstants.BULK_RESET_PATH;
+import static com.example.tictactoe.constant.GameConstants.MIGRATION_PATHS;
+import static com.example.tictactoe.constant.GameConstants.RECORDING_PATHS;
+
+/**
+ * Configuration class that puts the admin token in front of the endpoints meant for operators.
+ */
+@Configuration
+public class AdminTokenConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private AdminTokenInterceptor adminTokenInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(adminTokenInterceptor)
+            .addPathPatterns(BULK_CREATE_PATH, BULK_RESET_PATH, MIGRATION_PATHS, RECORDING_PATHS);
+    }
+}
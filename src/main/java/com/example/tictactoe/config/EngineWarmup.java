@@ -0,0 +1,58 @@
+package com.example.tictactoe.config;
+
+import com.example.tictactoe.model.Cell;
+import com.example.tictactoe.model.Player;
+import com.example.tictactoe.util.GameState;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Exercises the game engine and the JSON serialization paths before the instance accepts traffic.
+ * Spring Boot only publishes {@code ReadinessState.ACCEPTING_TRAFFIC} after all application runners
+ * have completed, so {@code /actuator/health/readiness} stays down until the warm-up is done.
+ */
+@Component
+public class EngineWarmup implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(EngineWarmup.class);
+
+    /**
+     * Strides that are coprime with the board size, so every stride visits all nine cells.
+     */
+    private static final int[] STRIDES = {1, 2, 4, 5, 7, 8};
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${warmup.iterations:1000}")
+    private int iterations;
+
+    public EngineWarmup(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        long start = System.nanoTime();
+        Cell[] cells = Cell.values();
+        for (int i = 0; i < iterations; i++) {
+            GameState state = new GameState(i % 2 == 0 ? Player.X : Player.O);
+            int stride = STRIDES[i % STRIDES.length];
+            for (int move = 0; move < cells.length && !state.isGameOver(); move++) {
+                state.makeMove(cells[(i + move * stride) % cells.length]);
+            }
+
+            byte[] json = objectMapper.writeValueAsBytes(state);
+            GameState copy = objectMapper.readValue(json, GameState.class);
+            if (!state.equals(new GameState(copy))) {
+                throw new IllegalStateException("Warm-up round trip produced a different game state");
+            }
+        }
+        logger.info("Engine warm-up finished: {} games in {} ms", iterations, (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.tictactoe.config;
+
+import com.example.tictactoe.store.GameArchive;
+import com.example.tictactoe.store.GameStore;
+import com.example.tictactoe.store.HeapGameStore;
+import com.example.tictactoe.store.OffHeapGameStore;
+import com.example.tictactoe.store.SeatRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Configuration class for the game store.
+ * Set {@code game.store.type=off-heap} to keep games in a direct buffer instead of heap objects.
+ * The heap store allocates {@code game.store.pool-size} records up front and reuses the records of
+ * removed games.
+ */
+@Configuration
+public class GameStoreConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "game.store.type", havingValue = "heap", matchIfMissing = true)
+    public GameStore heapGameStore(@Value("${game.store.pool-size:0}") int poolSize) {
+        return new HeapGameStore(poolSize);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "game.store.type", havingValue = "off-heap")
+    public GameStore offHeapGameStore(@Value("${game.store.capacity:1048576}") int capacity) {
+        return new OffHeapGameStore(capacity);
+    }
+
+    @Bean
+    public SeatRegistry seatRegistry() {
+        return new SeatRegistry();
+    }
+
+    @Bean(destroyMethod = "close")
+    public GameArchive gameArchive(@Value("${game.archive.dir:data/archive-${server.port}}") String directory,
+                                   @Value("${game.archive.segment-bytes:67108864}") long segmentBytes,
+                                   @Value("${game.archive.queue-records:65536}") int queueRecords) {
+        return new GameArchive(Path.of(directory), segmentBytes, queueRecords);
+    }
+}
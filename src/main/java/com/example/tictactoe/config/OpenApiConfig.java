@@ -2,12 +2,19 @@ package com.example.tictactoe.config;
 
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
 
 @Configuration
 public class OpenApiConfig {
+    private static final String SPRINGDOC_PACKAGE = "org.springdoc.";
+
     @Bean
+    @Lazy
     public OpenAPI customOpenAPI() {
         return new OpenAPI()
             .info(new Info()
@@ -15,4 +22,26 @@ public class OpenApiConfig {
                 .version("1.0")
                 .description("API for the Tic-Tac-Toe game"));
     }
+
+    /**
+     * Marks the springdoc beans as lazy outside the dev profile, so the API docs are only
+     * built when they are first requested instead of on every startup.
+     */
+    @Bean
+    @Profile("!dev")
+    public static BeanFactoryPostProcessor lazyOpenApiBeans() {
+        return beanFactory -> {
+            for (String beanName : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+                if (isSpringdoc(beanName) || isSpringdoc(definition.getBeanClassName())
+                    || isSpringdoc(definition.getFactoryBeanName())) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    private static boolean isSpringdoc(String name) {
+        return name != null && name.startsWith(SPRINGDOC_PACKAGE);
+    }
 }
@@ -0,0 +1,31 @@
+package com.example.tictactoe.config;
+
+import com.example.tictactoe.advice.RateLimitInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import static com.example.tictactoe.constant.GameConstants.BULK_CREATE_PATH;
+import static com.example.tictactoe.constant.GameConstants.BULK_RESET_PATH;
+import static com.example.tictactoe.constant.GameConstants.MOVE_BATCH_PATH;
+
+/**
+ * Configuration class that puts the rate limits in front of the endpoints that change games.
+ * Set {@code rate-limit.enabled=false} to turn them off, for example for load tests.
+ */
+@Configuration
+@ConditionalOnProperty(name = "rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private RateLimitInterceptor rateLimitInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor)
+            .addPathPatterns("/api/game/move", MOVE_BATCH_PATH, "/api/game/undo", "/api/game/state",
+                BULK_CREATE_PATH, BULK_RESET_PATH);
+    }
+}
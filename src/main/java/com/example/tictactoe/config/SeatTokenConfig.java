@@ -0,0 +1,30 @@
+package com.example.tictactoe.config;
+
+import com.example.tictactoe.util.SeatTokens;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Configuration class for seat tokens.
+ * All instances must share {@code seat.token.secret} so a token issued by one is accepted by the others.
+ * There is no default: an instance without a secret of at least {@value #MIN_SECRET_BYTES} bytes fails to start.
+ */
+@Configuration
+public class SeatTokenConfig {
+
+    private static final int MIN_SECRET_BYTES = 32;
+
+    @Bean
+    public SeatTokens seatTokens(@Value("${seat.token.secret:}") String secret,
+                                 @Value("${seat.token.ttl-ms:86400000}") long ttlMillis) {
+        byte[] key = secret.getBytes(StandardCharsets.UTF_8);
+        if (key.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("seat.token.secret must be set to at least " + MIN_SECRET_BYTES
+                + " bytes, shared by all instances");
+        }
+        return new SeatTokens(key, ttlMillis);
+    }
+}
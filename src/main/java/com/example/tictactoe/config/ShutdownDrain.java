@@ -0,0 +1,53 @@
+package com.example.tictactoe.config;
+
+import com.example.tictactoe.service.MigrationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drains the live games of this instance to its peer when the application shuts down.
+ * Lifecycle beans stop in descending phase order, so with the highest phase the drain runs before
+ * the web server stops accepting requests, and players of migrated games are still redirected while
+ * the rest of the shutdown proceeds. Enabled with {@code migration.drain-on-shutdown=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "migration.drain-on-shutdown", havingValue = "true")
+public class ShutdownDrain implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(ShutdownDrain.class);
+
+    private final MigrationService migrationService;
+    private volatile boolean running;
+
+    public ShutdownDrain(MigrationService migrationService) {
+        this.migrationService = migrationService;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        try {
+            migrationService.drain();
+        } catch (RuntimeException e) {
+            logger.error("Failed to drain games on shutdown", e);
+        } finally {
+            running = false;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE;
+    }
+}
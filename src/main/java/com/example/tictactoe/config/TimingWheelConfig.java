@@ -0,0 +1,18 @@
+package com.example.tictactoe.config;
+
+import com.example.tictactoe.util.TimingWheel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the timing wheel that drives move clocks and idle-game expiry.
+ */
+@Configuration
+public class TimingWheelConfig {
+
+    @Bean(destroyMethod = "close")
+    public TimingWheel timingWheel(@Value("${game.clock.tick-ms:10}") long tickMillis) {
+        return new TimingWheel(tickMillis, "game-clock-wheel");
+    }
+}
@@ -5,14 +5,63 @@ public final class GameConstants {
         // Private constructor to prevent instantiation
     }
 
+    public static final long DEFAULT_GAME_ID = 1L;
+    public static final int MAX_MOVE_BATCH = 1000;
+    public static final int MAX_BULK_GAMES = 100_000;
+
     public static final String INIT_MESSAGE = "Initialized TicTacToeServiceImpl on port {} with assigned player {}";
     public static final String GAME_INIT_MESSAGE = "Game initialized with currentPlayer: {}";
     public static final String MOVE_OUT_OF_TURN_MESSAGE = "Attempted move out of turn. Current player: {}, Assigned player: {}";
     public static final String NOT_YOUR_TURN_MESSAGE = "It's not your turn.";
+    public static final String INVALID_SEAT_TOKEN_MESSAGE = "Seat token is invalid or expired.";
+    public static final String GAME_OVER_MESSAGE = "Game is already over.";
+    public static final String MISSING_CELL_MESSAGE = "A move needs a cell.";
+    public static final String CELL_OCCUPIED_MESSAGE = "Cell is already occupied.";
+    public static final String ILLEGAL_POSITION_MESSAGE = "Game state is not a legal position.";
+    public static final String VERSION_CONFLICT_MESSAGE = "Version conflict: expected version %d but the game is at version %d.";
+    public static final String GAME_NOT_FOUND_MESSAGE = "Game %d does not exist.";
+    public static final String INVALID_MIGRATED_GAME_MESSAGE = "Migrated game %d has an invalid state; no game of the batch was taken over.";
+    public static final String GAME_MOVED_MESSAGE = "Game %d has moved to %s.";
+    public static final String NOTHING_TO_UNDO_MESSAGE = "There is no move to undo.";
+    public static final String NOT_YOUR_MOVE_TO_UNDO_MESSAGE = "Only the player who made the last move can undo it.";
+    public static final String VERSION_NOT_AVAILABLE_MESSAGE = "Version %d is not available; the current line of play covers versions %d to %d.";
+    public static final String ADMIN_TOKEN_REQUIRED_MESSAGE = "This endpoint requires a valid Admin-Token header.";
+    public static final String RATE_LIMITED_MESSAGE = "Too many requests. Retry after the time in Retry-After.";
+    public static final String RECORDING_RUNNING_MESSAGE = "A flight recording is already running.";
+    public static final String NO_RECORDING_MESSAGE = "No flight recording is running.";
+    public static final String PLAYER_NOT_FOUND_MESSAGE = "Player %s has no rated games.";
+    public static final String GAME_CREATED_MESSAGE = "Game {} created";
+    public static final String GAMES_CREATED_MESSAGE = "{} games created";
+    public static final String GAMES_RESET_MESSAGE = "{} games reset";
     public static final String MOVE_MADE_MESSAGE = "Move made at {} by {}. New current player: {}";
+    public static final String MOVE_UNDONE_MESSAGE = "Move undone by {} in game {}";
     public static final String SYNC_ERROR_MESSAGE = "Error during state synchronization";
     public static final String NEWER_STATE_RECEIVED_MESSAGE = "Received newer state from other instance. Updating local state.";
     public static final String LOCAL_STATE_NEWER_MESSAGE = "Local state is newer. Sending update to other instance.";
     public static final String INCONSISTENT_STATE_MESSAGE = "Inconsistent state detected.";
+    public static final String CLOCK_EXPIRED_MESSAGE = "Player {} ran out of time in game {}. The game is forfeited.";
+    public static final String IDLE_GAME_REMOVED_MESSAGE = "Game {} was idle and has been removed.";
+    public static final String MATCH_TIMEOUT_MESSAGE = "No opponent found for player %s in time.";
+    public static final String ALREADY_WAITING_MESSAGE = "Player %s is already waiting for a match.";
+    public static final String MATCHES_MADE_MESSAGE = "Matched {} pairs of players";
+    public static final String MIGRATION_STARTED_MESSAGE = "Migrating {} games to {}";
+    public static final String MIGRATION_BATCH_FAILED_MESSAGE = "Failed to migrate a batch of {} games to {}; they stay here";
+    public static final String MIGRATION_FINISHED_MESSAGE = "Migrated {} games to {} in {} ms ({} games/s, longest pause {} ms)";
+    public static final String REPLICATION_FAILED_MESSAGE = "Failed to send replication batch to {}: {}; retrying";
+    public static final String RECORDING_STARTED_MESSAGE = "Started flight recording with profile {}";
+    public static final String RECORDING_STOPPED_MESSAGE = "Stopped flight recording after {} ms";
+    public static final String ARCHIVE_ERROR_MESSAGE = "Failed to archive {} finished games";
+    public static final String ARCHIVE_FULL_MESSAGE = "Archive queue is full; dropped finished game {}";
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String SEAT_TOKEN_HEADER = "Seat-Token";
+    public static final String ADMIN_TOKEN_HEADER = "Admin-Token";
     public static final String OTHER_INSTANCE_URL_FORMAT = "http://localhost:%d/api/game/state";
+    public static final String OTHER_INSTANCE_BASE_URL_FORMAT = "http://localhost:%d";
+    public static final String MIGRATION_IMPORT_PATH = "/api/migration/games";
+    public static final String MIGRATION_PATHS = "/api/migration/**";
+    public static final String RECORDING_PATHS = "/api/recording/**";
+    public static final String MOVE_BATCH_PATH = "/api/game/moves";
+    public static final String BULK_CREATE_PATH = "/api/games:bulkCreate";
+    public static final String BULK_RESET_PATH = "/api/games:bulkReset";
+    public static final String REPLICATION_STREAM_PATH = "/api/replication/stream";
 }
@@ -0,0 +1,101 @@
+package com.example.tictactoe.controller;
+
+import com.example.tictactoe.model.BulkCreateResult;
+import com.example.tictactoe.model.Player;
+import com.example.tictactoe.service.TicTacToeService;
+import com.example.tictactoe.util.SeatTokens;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import static com.example.tictactoe.constant.GameConstants.MAX_BULK_GAMES;
+
+@RestController
+@RequestMapping("/api")
+@Validated
+public class BulkGameController {
+    private static final Logger logger = LoggerFactory.getLogger(BulkGameController.class);
+    private final TicTacToeService ticTacToeService;
+    private final SeatTokens seatTokens;
+
+    @Autowired
+    public BulkGameController(TicTacToeService ticTacToeService, SeatTokens seatTokens) {
+        this.ticTacToeService = ticTacToeService;
+        this.seatTokens = seatTokens;
+    }
+
+    /**
+     * Endpoint to create many games at once, for example when a tournament starts.
+     *
+     * @param count       The number of games to create
+     * @param issueTokens Whether to issue the seat tokens of both seats of every game
+     * @return ResponseEntity with the IDs of the games, and their seat tokens if asked for
+     */
+    @PostMapping("/games:bulkCreate")
+    @Operation(summary = "Create games in bulk", description = "Create many games with X to move in one request")
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "200", description = "Games created"),
+            @ApiResponse(responseCode = "400", description = "Invalid number of games"),
+            @ApiResponse(responseCode = "403", description = "Missing or wrong admin token"),
+            @ApiResponse(responseCode = "503", description = "The game store cannot take that many games")
+        }
+    )
+    public ResponseEntity<BulkCreateResult> createGames(@RequestParam @Min(1) @Max(MAX_BULK_GAMES) int count,
+                                                        @RequestParam(name = "seatTokens", defaultValue = "false")
+                                                        boolean issueTokens) {
+        logger.info("Received request to create {} games", count);
+        long[] gameIds;
+        try {
+            gameIds = ticTacToeService.createGames(count);
+        } catch (IllegalStateException e) {
+            logger.warn("Failed to create {} games: {}", count, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        if (!issueTokens) {
+            return ResponseEntity.ok(new BulkCreateResult(gameIds, null, null));
+        }
+        String[] tokensX = new String[gameIds.length];
+        String[] tokensO = new String[gameIds.length];
+        for (int i = 0; i < gameIds.length; i++) {
+            tokensX[i] = seatTokens.issue(gameIds[i], Player.X);
+            tokensO[i] = seatTokens.issue(gameIds[i], Player.O);
+        }
+        return ResponseEntity.ok(new BulkCreateResult(gameIds, tokensX, tokensO));
+    }
+
+    /**
+     * Endpoint to reset many games at once to an empty board with X to move.
+     *
+     * @param gameIds The IDs of the games
+     * @return ResponseEntity with the number of games reset; games not held by this instance are skipped
+     */
+    @PostMapping("/games:bulkReset")
+    @Operation(summary = "Reset games in bulk", description = "Reset many created games in one request")
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "200", description = "Games reset"),
+            @ApiResponse(responseCode = "400", description = "No games, or too many"),
+            @ApiResponse(responseCode = "403", description = "Missing or wrong admin token")
+        }
+    )
+    public ResponseEntity<Integer> resetGames(@RequestBody @NotEmpty @Size(max = MAX_BULK_GAMES) long[] gameIds) {
+        logger.info("Received request to reset {} games", gameIds.length);
+        return ResponseEntity.ok(ticTacToeService.resetGames(gameIds));
+    }
+}
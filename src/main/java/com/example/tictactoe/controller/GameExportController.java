@@ -0,0 +1,54 @@
+package com.example.tictactoe.controller;
+
+import com.example.tictactoe.store.GameArchive;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/games")
+public class GameExportController {
+    private static final Logger logger = LoggerFactory.getLogger(GameExportController.class);
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private final GameArchive gameArchive;
+
+    @Autowired
+    public GameExportController(GameArchive gameArchive) {
+        this.gameArchive = gameArchive;
+    }
+
+    /**
+     * Endpoint to export the archive of finished games. The response is written by an async
+     * thread in chunks as the segments are read, so the archive is never held in memory.
+     *
+     * @param format {@code ndjson} for one JSON object per game, or {@code binary} for the raw 32-byte records
+     * @return ResponseEntity streaming the archived games
+     */
+    @GetMapping("/export")
+    @Operation(summary = "Export finished games", description = "Stream every archived game as NDJSON or binary records")
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "200", description = "Streaming the archived games"),
+            @ApiResponse(responseCode = "400", description = "Unknown export format")
+        }
+    )
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format) {
+        logger.debug("Received request to export games as {}", format);
+        return switch (format) {
+            case "ndjson" -> ResponseEntity.ok().contentType(NDJSON).body(gameArchive::exportNdjson);
+            case "binary" -> ResponseEntity.ok().contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(gameArchive::exportBinary);
+            default -> ResponseEntity.badRequest().build();
+        };
+    }
+}
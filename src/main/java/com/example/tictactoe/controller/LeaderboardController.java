@@ -0,0 +1,78 @@
+package com.example.tictactoe.controller;
+
+import com.example.tictactoe.model.LeaderboardEntry;
+import com.example.tictactoe.service.RatingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/leaderboard")
+@Validated
+public class LeaderboardController {
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardController.class);
+    private final RatingService ratingService;
+
+    @Autowired
+    public LeaderboardController(RatingService ratingService) {
+        this.ratingService = ratingService;
+    }
+
+    /**
+     * Endpoint to get the highest rated players.
+     *
+     * @param limit The number of players to return
+     * @return ResponseEntity with the players in rank order
+     */
+    @GetMapping
+    @Operation(summary = "Get leaderboard", description = "Retrieve the highest rated players")
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved leaderboard"),
+            @ApiResponse(responseCode = "400", description = "Invalid limit")
+        }
+    )
+    public ResponseEntity<List<LeaderboardEntry>> getLeaderboard(
+        @RequestParam(defaultValue = "10") @Min(1) @Max(1000) int limit) {
+        logger.debug("Received request for the top {} players", limit);
+        return ResponseEntity.ok(ratingService.getTopPlayers(limit));
+    }
+
+    /**
+     * Endpoint to get the rating and rank of a player.
+     *
+     * @param playerId The ID of the player
+     * @return ResponseEntity with the player's leaderboard entry
+     */
+    @GetMapping("/{playerId}")
+    @Operation(summary = "Get player rank", description = "Retrieve the rating and rank of a player")
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved player rank"),
+            @ApiResponse(responseCode = "404", description = "Player has no rated games")
+        }
+    )
+    public ResponseEntity<LeaderboardEntry> getEntry(@PathVariable String playerId) {
+        try {
+            return ResponseEntity.ok(ratingService.getEntry(playerId));
+        } catch (IllegalArgumentException e) {
+            logger.debug(e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+}
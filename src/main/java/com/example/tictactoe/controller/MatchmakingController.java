@@ -0,0 +1,79 @@
+package com.example.tictactoe.controller;
+
+import com.example.tictactoe.model.MatchResult;
+import com.example.tictactoe.service.MatchmakingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.constraints.NotBlank;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+@RestController
+@RequestMapping("/api/match")
+@Validated
+public class MatchmakingController {
+    private static final Logger logger = LoggerFactory.getLogger(MatchmakingController.class);
+    private final MatchmakingService matchmakingService;
+
+    @Autowired
+    public MatchmakingController(MatchmakingService matchmakingService) {
+        this.matchmakingService = matchmakingService;
+    }
+
+    /**
+     * Endpoint to find an opponent. The response is sent asynchronously once the player is matched,
+     * so no request thread is held while waiting. Players are matched at the rating the leaderboard
+     * has for them.
+     *
+     * @param playerId The ID of the player
+     * @return ResponseEntity with the game ID and seat of the player
+     */
+    @PostMapping
+    @Operation(summary = "Find a match", description = "Wait for an opponent of similar rating and join a new game")
+    @ApiResponses(
+        value = {
+            @ApiResponse(
+                responseCode = "200", description = "Matched into a game",
+                content = @Content(schema = @Schema(implementation = MatchResult.class))
+            ),
+            @ApiResponse(responseCode = "408", description = "No opponent found in time"),
+            @ApiResponse(responseCode = "409", description = "The player is already waiting for a match"),
+            @ApiResponse(responseCode = "500", description = "Failed to create the game")
+        }
+    )
+    public CompletableFuture<ResponseEntity<MatchResult>> findMatch(@RequestParam @NotBlank String playerId) {
+        logger.debug("Received match request for player {}", playerId);
+        return matchmakingService.findMatch(playerId)
+            .thenApply(ResponseEntity::ok)
+            .exceptionally(MatchmakingController::failedMatch);
+    }
+
+    private static ResponseEntity<MatchResult> failedMatch(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof TimeoutException) {
+            logger.info(cause.getMessage());
+            return ResponseEntity.status(HttpStatus.REQUEST_TIMEOUT).build();
+        }
+        if (cause instanceof IllegalStateException) {
+            logger.info(cause.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        logger.error("Error occurred while matching players", cause);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.tictactoe.controller;
+
+import com.example.tictactoe.model.MigratedGame;
+import com.example.tictactoe.model.MigrationReport;
+import com.example.tictactoe.service.MigrationService;
+import com.example.tictactoe.service.TicTacToeService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.constraints.Min;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/migration")
+@Validated
+public class MigrationController {
+    private static final Logger logger = LoggerFactory.getLogger(MigrationController.class);
+    private final MigrationService migrationService;
+    private final TicTacToeService ticTacToeService;
+
+    @Autowired
+    public MigrationController(MigrationService migrationService, TicTacToeService ticTacToeService) {
+        this.migrationService = migrationService;
+        this.ticTacToeService = ticTacToeService;
+    }
+
+    /**
+     * Endpoint to hand every live game to the configured instance, for example before this one is stopped.
+     *
+     * @return ResponseEntity with the migration report
+     */
+    @PostMapping("/drain")
+    @Operation(summary = "Drain games", description = "Migrate every live game to the configured instance")
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "200", description = "Migration finished; failed games stay here"),
+            @ApiResponse(responseCode = "403", description = "Missing or wrong admin token")
+        }
+    )
+    public ResponseEntity<MigrationReport> drain() {
+        logger.info("Received request to drain games");
+        return ResponseEntity.ok(migrationService.drain());
+    }
+
+    /**
+     * Endpoint to move some live games to the configured instance to spread the load.
+     *
+     * @param games The number of games to move
+     * @return ResponseEntity with the migration report
+     */
+    @PostMapping("/rebalance")
+    @Operation(summary = "Rebalance games", description = "Migrate some live games to the configured instance")
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "200", description = "Migration finished; failed games stay here"),
+            @ApiResponse(responseCode = "400", description = "Invalid number of games"),
+            @ApiResponse(responseCode = "403", description = "Missing or wrong admin token")
+        }
+    )
+    public ResponseEntity<MigrationReport> rebalance(@RequestParam @Min(1) int games) {
+        logger.info("Received request to rebalance {} games", games);
+        return ResponseEntity.ok(migrationService.rebalance(games));
+    }
+
+    /**
+     * Endpoint that receives a batch of games migrated from another instance, which sends the admin
+     * token shared by the instances.
+     *
+     * @param games The games to take over
+     * @return ResponseEntity with the number of games taken over
+     */
+    @PostMapping("/games")
+    @Operation(summary = "Import games", description = "Take over games migrated from another instance")
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "200", description = "Games taken over"),
+            @ApiResponse(responseCode = "400", description = "A game has an invalid state; none were taken over"),
+            @ApiResponse(responseCode = "403", description = "Missing or wrong admin token")
+        }
+    )
+    public ResponseEntity<Integer> importGames(@RequestBody List<MigratedGame> games) {
+        logger.debug("Received {} migrated games", games.size());
+        return ResponseEntity.ok(ticTacToeService.importGames(games));
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.tictactoe.controller;
+
+import com.example.tictactoe.service.RecordingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@RestController
+@RequestMapping("/api/recording")
+public class RecordingController {
+    private static final Logger logger = LoggerFactory.getLogger(RecordingController.class);
+    private static final String RECORDING_FILE_NAME = "tictactoe.jfr";
+    private final RecordingService recordingService;
+
+    @Autowired
+    public RecordingController(RecordingService recordingService) {
+        this.recordingService = recordingService;
+    }
+
+    /**
+     * Endpoint to start a flight recording with the bundled profile.
+     *
+     * @return ResponseEntity with a message indicating the result
+     */
+    @PostMapping("/start")
+    @Operation(summary = "Start recording", description = "Start a JDK Flight Recorder recording with the bundled profile")
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "200", description = "Recording started"),
+            @ApiResponse(responseCode = "403", description = "Missing or wrong admin token"),
+            @ApiResponse(responseCode = "409", description = "A recording is already running")
+        }
+    )
+    public ResponseEntity<String> start() {
+        logger.info("Received request to start a flight recording");
+        try {
+            recordingService.start();
+            return ResponseEntity.ok("Recording started");
+        } catch (IllegalStateException e) {
+            logger.warn("Recording not started: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Endpoint to stop the flight recording and download it.
+     *
+     * @return ResponseEntity streaming the recording as a {@code .jfr} file
+     */
+    @PostMapping("/stop")
+    @Operation(summary = "Stop recording", description = "Stop the recording and download it as a .jfr file")
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "200", description = "Streaming the recording"),
+            @ApiResponse(responseCode = "403", description = "Missing or wrong admin token"),
+            @ApiResponse(responseCode = "409", description = "No recording is running")
+        }
+    )
+    public ResponseEntity<StreamingResponseBody> stop() {
+        logger.info("Received request to stop the flight recording");
+        try {
+            return download(recordingService.stop());
+        } catch (IllegalStateException e) {
+            logger.warn("Recording not stopped: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IOException e) {
+            logger.error("Failed to write the flight recording", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Endpoint to download what the running flight recording has recorded so far.
+     *
+     * @return ResponseEntity streaming the recording as a {@code .jfr} file
+     */
+    @GetMapping("/dump")
+    @Operation(summary = "Dump recording", description = "Download the running recording as a .jfr file and keep recording")
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "200", description = "Streaming the recording"),
+            @ApiResponse(responseCode = "403", description = "Missing or wrong admin token"),
+            @ApiResponse(responseCode = "409", description = "No recording is running")
+        }
+    )
+    public ResponseEntity<StreamingResponseBody> dump() {
+        logger.debug("Received request to dump the flight recording");
+        try {
+            return download(recordingService.dump());
+        } catch (IllegalStateException e) {
+            logger.warn("Recording not dumped: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IOException e) {
+            logger.error("Failed to write the flight recording", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Streams a recording file and deletes it once it has been sent.
+     */
+    private static ResponseEntity<StreamingResponseBody> download(Path file) {
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_OCTET_STREAM)
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(RECORDING_FILE_NAME).build().toString())
+            .body(body);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.tictactoe.controller;
+
+import com.example.tictactoe.model.ReplicationBatch;
+import com.example.tictactoe.model.ReplicationStatus;
+import com.example.tictactoe.service.TicTacToeService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/replication")
+public class ReplicationController {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicationController.class);
+    private final TicTacToeService ticTacToeService;
+
+    @Autowired
+    public ReplicationController(TicTacToeService ticTacToeService) {
+        this.ticTacToeService = ticTacToeService;
+    }
+
+    /**
+     * Endpoint that receives the next batch of another instance's replication stream.
+     *
+     * @param batch The batch
+     * @return ResponseEntity confirming the batch was received; a batch received before is not applied again
+     */
+    @PostMapping("/stream")
+    @Operation(summary = "Receive replication batch", description = "Apply changes to games owned by another instance")
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "200", description = "Batch received")
+        }
+    )
+    public ResponseEntity<Void> receive(@RequestBody ReplicationBatch batch) {
+        if (!ticTacToeService.applyReplication(batch)) {
+            logger.debug("Ignored replication batch {} from {}", batch.sequence(), batch.source());
+        }
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * Endpoint to see how far behind the copies of other instances' games are.
+     *
+     * @return ResponseEntity with the number of copies and the staleness and lag of each source
+     */
+    @GetMapping("/status")
+    @Operation(summary = "Get replication status", description = "Retrieve the staleness of replicated games")
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved replication status")
+        }
+    )
+    public ResponseEntity<ReplicationStatus> status() {
+        return ResponseEntity.ok(ticTacToeService.getReplicationStatus());
+    }
+}
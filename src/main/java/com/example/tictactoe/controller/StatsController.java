@@ -0,0 +1,51 @@
+package com.example.tictactoe.controller;
+
+import com.example.tictactoe.model.GameStats;
+import com.example.tictactoe.service.GameStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/stats")
+@Validated
+public class StatsController {
+    private static final Logger logger = LoggerFactory.getLogger(StatsController.class);
+    private final GameStatsService gameStatsService;
+
+    @Autowired
+    public StatsController(GameStatsService gameStatsService) {
+        this.gameStatsService = gameStatsService;
+    }
+
+    /**
+     * Endpoint to get the statistics of all finished games.
+     *
+     * @param losingPositions The number of most common losing positions to return
+     * @return ResponseEntity with the statistics
+     */
+    @GetMapping
+    @Operation(summary = "Get game statistics", description = "Retrieve opening, outcome and length statistics")
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved statistics"),
+            @ApiResponse(responseCode = "400", description = "Invalid number of losing positions")
+        }
+    )
+    public ResponseEntity<GameStats> getStats(
+        @RequestParam(defaultValue = "10") @Min(0) @Max(100) int losingPositions) {
+        logger.debug("Received request for game statistics");
+        return ResponseEntity.ok(gameStatsService.getStats(losingPositions));
+    }
+}
@@ -1,6 +1,12 @@
 package com.example.tictactoe.controller;
 
+import com.example.tictactoe.advice.RateLimitInterceptor;
+import com.example.tictactoe.exception.GameMovedException;
+import com.example.tictactoe.exception.InvalidSeatTokenException;
+import com.example.tictactoe.exception.VersionConflictException;
 import com.example.tictactoe.model.Cell;
+import com.example.tictactoe.model.MoveCommand;
+import com.example.tictactoe.model.MoveResult;
 import com.example.tictactoe.service.TicTacToeService;
 import com.example.tictactoe.util.GameState;
 import io.swagger.v3.oas.annotations.Operation;
@@ -8,20 +14,39 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.tictactoe.constant.GameConstants.DEFAULT_GAME_ID;
+import static com.example.tictactoe.constant.GameConstants.IDEMPOTENCY_KEY_HEADER;
+import static com.example.tictactoe.constant.GameConstants.MAX_MOVE_BATCH;
+import static com.example.tictactoe.constant.GameConstants.MISSING_CELL_MESSAGE;
+import static com.example.tictactoe.constant.GameConstants.RATE_LIMITED_MESSAGE;
+import static com.example.tictactoe.constant.GameConstants.SEAT_TOKEN_HEADER;
 
 @RestController
 @RequestMapping("/api/game")
@@ -29,16 +54,21 @@ import org.springframework.web.bind.annotation.RestController;
 public class TicTacToeController {
     private static final Logger logger = LoggerFactory.getLogger(TicTacToeController.class);
     private final TicTacToeService ticTacToeService;
+    private final ObjectProvider<RateLimitInterceptor> rateLimits;
 
     @Autowired
-    public TicTacToeController(TicTacToeService ticTacToeService) {
+    public TicTacToeController(TicTacToeService ticTacToeService, ObjectProvider<RateLimitInterceptor> rateLimits) {
         this.ticTacToeService = ticTacToeService;
+        this.rateLimits = rateLimits;
     }
 
     /**
      * Endpoint to make a move in the game.
      *
-     * @param cell The cell where the move is to be made
+     * @param cell            The cell where the move is to be made
+     * @param seatToken       The seat token of a created game, or none for the default game
+     * @param expectedVersion The version the client last saw; a mismatch is rejected with 409
+     * @param idempotencyKey  A key identifying the request; retries with the same key get the original outcome
      * @return ResponseEntity with the result of the move
      */
     @PostMapping("/move")
@@ -47,16 +77,24 @@ public class TicTacToeController {
         value = {
             @ApiResponse(responseCode = "200", description = "Move successful"),
             @ApiResponse(responseCode = "400", description = "Invalid move"),
-            @ApiResponse(responseCode = "409", description = "Illegal move"),
+            @ApiResponse(responseCode = "307", description = "Game has moved to another instance"),
+            @ApiResponse(responseCode = "403", description = "Seat token is invalid or expired"),
+            @ApiResponse(responseCode = "409", description = "Expected version does not match the game"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
         }
     )
-    public ResponseEntity<String> makeMove(@RequestParam @NotNull Cell cell) {
+    public ResponseEntity<String> makeMove(@RequestParam @NotNull Cell cell,
+                                           @RequestParam(required = false) Long expectedVersion,
+                                           @RequestHeader(value = SEAT_TOKEN_HEADER, required = false)
+                                           String seatToken,
+                                           @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+                                           String idempotencyKey) {
         logger.info("Received move request for cell: {}", cell);
 
         try {
-            ticTacToeService.makeMove(cell);
-            GameState currentState = ticTacToeService.getGameState();
+            GameState currentState = seatToken == null
+                ? ticTacToeService.makeMove(cell, idempotencyKey, expectedVersion)
+                : ticTacToeService.makeMove(seatToken, cell, idempotencyKey, expectedVersion);
 
             if (currentState.isGameOver()) {
                 if (currentState.getWinner() != null) {
@@ -70,6 +108,17 @@ public class TicTacToeController {
 
             logger.info("Move successful for cell: {}", cell);
             return ResponseEntity.ok("Move successful");
+        } catch (GameMovedException e) {
+            logger.debug("Redirecting move: {}", e.getMessage());
+            return redirect(e);
+        } catch (InvalidSeatTokenException e) {
+            logger.warn("Rejected move with invalid seat token");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (VersionConflictException e) {
+            logger.warn("Stale move attempt: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .eTag(String.valueOf(e.getCurrentVersion()))
+                .body(e.getMessage());
         } catch (IllegalArgumentException e) {
             logger.warn("Invalid move attempt: {}", e.getMessage());
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -82,6 +131,116 @@ public class TicTacToeController {
         }
     }
 
+    /**
+     * Endpoint to make many moves, in any number of games, in one request. Each move is made, rate
+     * limited and answered as if it had been sent on its own, so one failing move does not affect the others.
+     *
+     * @param moves   The moves, made in order
+     * @param request The request, whose client address is charged for moves without a seat token
+     * @return ResponseEntity with one result per move, in the same order
+     */
+    @PostMapping("/moves")
+    @Operation(summary = "Make moves", description = "Make a batch of moves, each with its own outcome")
+    @ApiResponses(
+        value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed; see the status of each move"),
+            @ApiResponse(responseCode = "400", description = "Empty batch or more than " + MAX_MOVE_BATCH + " moves")
+        }
+    )
+    public ResponseEntity<List<MoveResult>> makeMoves(@RequestBody @NotEmpty @Size(max = MAX_MOVE_BATCH)
+                                                      List<MoveCommand> moves,
+                                                      HttpServletRequest request) {
+        logger.debug("Received batch of {} moves", moves.size());
+        RateLimitInterceptor limits = rateLimits.getIfAvailable();
+        List<MoveResult> results = new ArrayList<>(moves.size());
+        for (MoveCommand move : moves) {
+            if (limits != null && limits.admit(move.seatToken(), request.getRemoteAddr()) > 0) {
+                results.add(MoveResult.rejected(HttpStatus.TOO_MANY_REQUESTS.value(), RATE_LIMITED_MESSAGE));
+            } else {
+                results.add(makeMove(move));
+            }
+        }
+        return ResponseEntity.ok(results);
+    }
+
+    private MoveResult makeMove(MoveCommand move) {
+        if (move == null || move.cell() == null) {
+            return MoveResult.rejected(HttpStatus.BAD_REQUEST.value(), MISSING_CELL_MESSAGE);
+        }
+        try {
+            GameState state = move.seatToken() == null
+                ? ticTacToeService.makeMove(move.cell(), move.idempotencyKey(), move.expectedVersion())
+                : ticTacToeService.makeMove(move.seatToken(), move.cell(), move.idempotencyKey(),
+                move.expectedVersion());
+            return MoveResult.made(state);
+        } catch (GameMovedException e) {
+            return new MoveResult(HttpStatus.TEMPORARY_REDIRECT.value(), null, e.getMessage(), e.getLocation());
+        } catch (InvalidSeatTokenException e) {
+            return MoveResult.rejected(HttpStatus.FORBIDDEN.value(), e.getMessage());
+        } catch (VersionConflictException e) {
+            return MoveResult.rejected(HttpStatus.CONFLICT.value(), e.getMessage());
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return MoveResult.rejected(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+        } catch (Exception e) {
+            logger.error("Unexpected error during batched move", e);
+            return MoveResult.rejected(HttpStatus.INTERNAL_SERVER_ERROR.value(), "An unexpected error occurred");
+        }
+    }
+
+    /**
+     * Endpoint to take back the last move, which must have been made by the caller.
+     *
+     * @param seatToken       The seat token of a created game, or none for the default game
+     * @param expectedVersion The version the client last saw; a mismatch is rejected with 409
+     * @param idempotencyKey  A key identifying the request; retries with the same key get the original outcome
+     * @return ResponseEntity with the game state after the undo
+     */
+    @PostMapping("/undo")
+    @Operation(summary = "Undo a move", description = "Take back the last move, if the caller made it")
+    @ApiResponses(
+        value = {
+            @ApiResponse(
+                responseCode = "200", description = "Move undone",
+                content = @Content(schema = @Schema(implementation = GameState.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Nothing to undo, game over or not the caller's move"),
+            @ApiResponse(responseCode = "307", description = "Game has moved to another instance"),
+            @ApiResponse(responseCode = "403", description = "Seat token is invalid or expired"),
+            @ApiResponse(responseCode = "409", description = "Expected version does not match the game"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+        }
+    )
+    public ResponseEntity<?> undoMove(@RequestParam(required = false) Long expectedVersion,
+                                      @RequestHeader(value = SEAT_TOKEN_HEADER, required = false) String seatToken,
+                                      @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+                                      String idempotencyKey) {
+        logger.info("Received undo request");
+        try {
+            GameState state = seatToken == null
+                ? ticTacToeService.undoMove(idempotencyKey, expectedVersion)
+                : ticTacToeService.undoMove(seatToken, idempotencyKey, expectedVersion);
+            logger.info("Undo successful");
+            return ResponseEntity.ok(state);
+        } catch (GameMovedException e) {
+            logger.debug("Redirecting undo: {}", e.getMessage());
+            return redirect(e);
+        } catch (InvalidSeatTokenException e) {
+            logger.warn("Rejected undo with invalid seat token");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (VersionConflictException e) {
+            logger.warn("Stale undo attempt: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .eTag(String.valueOf(e.getCurrentVersion()))
+                .body(e.getMessage());
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            logger.warn("Illegal undo attempt: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Unexpected error during undo", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An unexpected error occurred");
+        }
+    }
+
     /**
      * Endpoint to reset the game.
      *
@@ -108,9 +267,17 @@ public class TicTacToeController {
     }
 
     /**
-     * Endpoint to get the current game state.
+     * Endpoint to get the current game state, or its state at an earlier version.
      *
-     * @return ResponseEntity with the current GameState
+     * @param gameId         The game to read, or none for the default game
+     * @param atVersion      The version to read, or none for the current state; only versions of the current
+     *                       line of play are available
+     * @param maxStalenessMs How old a state the caller accepts, in milliseconds; with this or {@code minVersion}
+     *                       a game owned by another instance may be served from the copy replicated here
+     * @param minVersion     The lowest version the caller accepts from a copy, for example the version of
+     *                       its own last move
+     * @return ResponseEntity with the GameState as JSON; the current state is encoded once per version and
+     * the cached bytes are written as they are
      */
     @GetMapping("/state")
     @Operation(summary = "Get game state", description = "Retrieve the current state of the Tic-Tac-Toe game")
@@ -120,15 +287,39 @@ public class TicTacToeController {
                 responseCode = "200", description = "Successfully retrieved game state",
                 content = @Content(schema = @Schema(implementation = GameState.class))
             ),
+            @ApiResponse(
+                responseCode = "307",
+                description = "Game has moved to another instance, or no copy here meets the staleness bounds"
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid staleness bounds"),
+            @ApiResponse(responseCode = "404", description = "Game or version not found"),
             @ApiResponse(responseCode = "500", description = "Failed to retrieve game state")
         }
     )
-    public ResponseEntity<GameState> getGameState() {
+    public ResponseEntity<byte[]> getGameState(@RequestParam(required = false) Long gameId,
+                                               @RequestParam(required = false) Long atVersion,
+                                               @RequestParam(required = false) @Min(0) Long maxStalenessMs,
+                                               @RequestParam(required = false) @Min(0) Long minVersion) {
         logger.info("Received request to get game state");
         try {
-            GameState state = ticTacToeService.getGameState();
+            long id = gameId == null ? DEFAULT_GAME_ID : gameId;
+            byte[] json;
+            if (atVersion != null) {
+                json = ticTacToeService.getGameStateJson(id, atVersion);
+            } else if (gameId != null && (maxStalenessMs != null || minVersion != null)) {
+                json = ticTacToeService.getGameStateJsonWithin(id,
+                    maxStalenessMs == null ? Long.MAX_VALUE : maxStalenessMs, minVersion == null ? 0 : minVersion);
+            } else {
+                json = gameId == null ? ticTacToeService.getGameStateJson() : ticTacToeService.getGameStateJson(id);
+            }
             logger.info("Retrieved game state successfully");
-            return ResponseEntity.ok(state);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json);
+        } catch (GameMovedException e) {
+            logger.debug("Redirecting game state request: {}", e.getMessage());
+            return redirect(e);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Game state requested for unknown game or version: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         } catch (Exception e) {
             logger.error("Error occurred while retrieving game state", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -164,4 +355,19 @@ public class TicTacToeController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Failed to update game state");
         }
     }
+
+    /**
+     * Redirects a request for a migrated game to the same path on the instance that now holds it.
+     * A 307 keeps the method and body, so a move is repeated as a move.
+     *
+     * @param e The exception naming the instance
+     * @return ResponseEntity with status 307 and the new location
+     */
+    private static <T> ResponseEntity<T> redirect(GameMovedException e) {
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+            .uri(URI.create(e.getLocation()))
+            .build()
+            .toUri();
+        return ResponseEntity.status(HttpStatus.TEMPORARY_REDIRECT).location(location).build();
+    }
 }
@@ -0,0 +1,21 @@
+package com.example.tictactoe.exception;
+
+import lombok.Getter;
+
+import static com.example.tictactoe.constant.GameConstants.GAME_MOVED_MESSAGE;
+
+/**
+ * Thrown when a game has been migrated, or is being migrated, to another instance.
+ * Carries the base URL of that instance so the request can be redirected there.
+ */
+@Getter
+public class GameMovedException extends RuntimeException {
+    private final long gameId;
+    private final String location;
+
+    public GameMovedException(long gameId, String location) {
+        super(String.format(GAME_MOVED_MESSAGE, gameId, location));
+        this.gameId = gameId;
+        this.location = location;
+    }
+}
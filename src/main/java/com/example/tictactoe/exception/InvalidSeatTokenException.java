@@ -0,0 +1,13 @@
+package com.example.tictactoe.exception;
+
+import static com.example.tictactoe.constant.GameConstants.INVALID_SEAT_TOKEN_MESSAGE;
+
+/**
+ * Thrown when a move carries a seat token that is malformed, forged or expired.
+ */
+public class InvalidSeatTokenException extends RuntimeException {
+
+    public InvalidSeatTokenException() {
+        super(INVALID_SEAT_TOKEN_MESSAGE);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.tictactoe.exception;
+
+import lombok.Getter;
+
+import static com.example.tictactoe.constant.GameConstants.VERSION_CONFLICT_MESSAGE;
+
+/**
+ * Thrown when a move names an expected version that no longer matches the game.
+ * Carries the current version so clients can resynchronize without re-reading the state.
+ */
+@Getter
+public class VersionConflictException extends RuntimeException {
+    private final long expectedVersion;
+    private final long currentVersion;
+
+    public VersionConflictException(long expectedVersion, long currentVersion) {
+        super(String.format(VERSION_CONFLICT_MESSAGE, expectedVersion, currentVersion));
+        this.expectedVersion = expectedVersion;
+        this.currentVersion = currentVersion;
+    }
+}
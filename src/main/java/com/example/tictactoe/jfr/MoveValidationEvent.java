@@ -0,0 +1,42 @@
+package com.example.tictactoe.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Checking a move or undo against the expected version, the seat and the board.
+ * A contended move is validated again on every attempt of the compare-and-set loop; only the last
+ * attempt is recorded, once the loop is done.
+ */
+@Name("com.example.tictactoe.MoveValidation")
+@Label("Move Validation")
+@Category({"Tic-Tac-Toe", "Moves"})
+@Description("Validation of a move or undo against the current state")
+@StackTrace(false)
+public class MoveValidationEvent extends Event {
+
+    @Label("Game ID")
+    public long gameId;
+
+    @Label("Version")
+    @Description("The version the move was validated against")
+    public long version;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Seat")
+    public String seat;
+
+    @Label("Cell")
+    @Description("The cell played, or empty for an undo")
+    public String cell;
+
+    @Label("Rejection")
+    @Description("Why the move was rejected, or empty if it was accepted")
+    public String rejection;
+}
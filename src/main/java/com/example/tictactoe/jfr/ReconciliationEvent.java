@@ -0,0 +1,40 @@
+package com.example.tictactoe.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Deciding between the local and the received state of the default game.
+ */
+@Name("com.example.tictactoe.Reconciliation")
+@Label("Reconciliation")
+@Category({"Tic-Tac-Toe", "Synchronization"})
+@Description("Comparison of the local and the remote state after a sync fetch")
+@StackTrace(false)
+public class ReconciliationEvent extends Event {
+
+    /**
+     * Decision values.
+     */
+    public static final String PULL = "PULL";
+    public static final String PUSH = "PUSH";
+    public static final String IN_SYNC = "IN_SYNC";
+    public static final String INCONSISTENT = "INCONSISTENT";
+
+    @Label("Game ID")
+    public long gameId;
+
+    @Label("Local Version")
+    public long localVersion;
+
+    @Label("Remote Version")
+    public long remoteVersion;
+
+    @Label("Decision")
+    @Description("PULL the remote state, PUSH the local one, IN_SYNC, or INCONSISTENT at the same version")
+    public String decision;
+}
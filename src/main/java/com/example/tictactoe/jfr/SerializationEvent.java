@@ -0,0 +1,32 @@
+package com.example.tictactoe.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Encoding a game state as JSON for a response. Cached responses are not encoded again and
+ * record no event.
+ */
+@Name("com.example.tictactoe.Serialization")
+@Label("Serialization")
+@Category({"Tic-Tac-Toe", "Responses"})
+@Description("JSON encoding of a game state")
+@StackTrace(false)
+public class SerializationEvent extends Event {
+
+    @Label("Game ID")
+    @Description("The game, or 0 for a state that is not cached")
+    public long gameId;
+
+    @Label("Version")
+    public long version;
+
+    @Label("Size")
+    @DataAmount
+    public int bytes;
+}
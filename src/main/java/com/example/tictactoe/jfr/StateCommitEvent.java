@@ -0,0 +1,31 @@
+package com.example.tictactoe.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Committing a new state word to the game store, from the first read to the successful
+ * compare-and-set, including the retries lost to concurrent updates.
+ */
+@Name("com.example.tictactoe.StateCommit")
+@Label("State Commit")
+@Category({"Tic-Tac-Toe", "Moves"})
+@Description("Compare-and-set loop that replaces the state of a game")
+@StackTrace(false)
+public class StateCommitEvent extends Event {
+
+    @Label("Game ID")
+    public long gameId;
+
+    @Label("Version")
+    @Description("The version after the commit")
+    public long version;
+
+    @Label("Attempts")
+    @Description("Compare-and-set attempts, 1 when uncontended")
+    public int attempts;
+}
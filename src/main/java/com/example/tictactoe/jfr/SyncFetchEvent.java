@@ -0,0 +1,33 @@
+package com.example.tictactoe.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Fetching the state of the default game from the other instance.
+ */
+@Name("com.example.tictactoe.SyncFetch")
+@Label("Sync Fetch")
+@Category({"Tic-Tac-Toe", "Synchronization"})
+@Description("Request for the state of the other instance")
+@StackTrace(false)
+public class SyncFetchEvent extends Event {
+
+    @Label("Game ID")
+    public long gameId;
+
+    @Label("Version")
+    @Description("The version received, or -1 if none was")
+    public long version;
+
+    @Label("Peer")
+    public String peer;
+
+    @Label("Failure")
+    @Description("The error that ended the request, or empty if it succeeded")
+    public String failure;
+}
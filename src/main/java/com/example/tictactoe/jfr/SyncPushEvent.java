@@ -0,0 +1,33 @@
+package com.example.tictactoe.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Pushing the local state of the default game to the other instance.
+ */
+@Name("com.example.tictactoe.SyncPush")
+@Label("Sync Push")
+@Category({"Tic-Tac-Toe", "Synchronization"})
+@Description("Request sending the local state to the other instance")
+@StackTrace(false)
+public class SyncPushEvent extends Event {
+
+    @Label("Game ID")
+    public long gameId;
+
+    @Label("Version")
+    @Description("The version pushed")
+    public long version;
+
+    @Label("Peer")
+    public String peer;
+
+    @Label("Failure")
+    @Description("The error that ended the request, or empty if it succeeded")
+    public String failure;
+}
@@ -0,0 +1,11 @@
+package com.example.tictactoe.model;
+
+/**
+ * The games created by one bulk request.
+ *
+ * @param gameIds     The IDs of the games
+ * @param seatTokensX The token of the X seat of each game, in the order of the IDs, or {@code null} if not asked for
+ * @param seatTokensO The token of the O seat of each game, in the order of the IDs, or {@code null} if not asked for
+ */
+public record BulkCreateResult(long[] gameIds, String[] seatTokensX, String[] seatTokensO) {
+}
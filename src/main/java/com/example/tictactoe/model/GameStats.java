@@ -0,0 +1,44 @@
+package com.example.tictactoe.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A snapshot of the statistics of all finished games.
+ *
+ * @param games           The number of finished games
+ * @param xWins           The number of games won by X, including forfeits
+ * @param oWins           The number of games won by O, including forfeits
+ * @param draws           The number of drawn games
+ * @param forfeits        The number of games won because a player ran out of time
+ * @param averageLength   The average number of moves per game
+ * @param openings        The results per first move, rotations and reflections counted together
+ * @param losingPositions The positions most often left by the loser's last move, most frequent first
+ */
+public record GameStats(long games, long xWins, long oWins, long draws, long forfeits, double averageLength,
+                        List<Opening> openings, List<LosingPosition> losingPositions) {
+
+    /**
+     * The results of games that started with a given move.
+     *
+     * @param firstPlayer The player who moved first
+     * @param cell        The first move; corners are reported as the top left, edges as the top center
+     * @param games       The number of games with this opening
+     * @param winRate     The share of games won by the first player
+     * @param drawRate    The share of drawn games
+     * @param lossRate    The share of games won by the second player
+     */
+    public record Opening(Player firstPlayer, Cell cell, long games, double winRate, double drawRate,
+                          double lossRate) {
+    }
+
+    /**
+     * A position from which the player to move went on to win.
+     *
+     * @param board  The board, as one representative of its rotations and reflections
+     * @param toMove The player who won with the next move
+     * @param count  The number of games lost from this position
+     */
+    public record LosingPosition(Map<Cell, Player> board, Player toMove, long count) {
+    }
+}
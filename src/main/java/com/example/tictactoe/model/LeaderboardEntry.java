@@ -0,0 +1,12 @@
+package com.example.tictactoe.model;
+
+/**
+ * A player's position on the leaderboard.
+ *
+ * @param rank     The rank of the player; players with the same rating share a rank
+ * @param playerId The ID of the player
+ * @param rating   The Elo rating of the player
+ * @param games    The number of rated games the player has finished
+ */
+public record LeaderboardEntry(long rank, String playerId, int rating, int games) {
+}
@@ -0,0 +1,11 @@
+package com.example.tictactoe.model;
+
+/**
+ * The game a player was matched into, the seat they play and the token that authorizes their moves.
+ *
+ * @param gameId    The ID of the game
+ * @param seat      The seat of the player, {@link Player#X} or {@link Player#O}
+ * @param seatToken The token to send in the {@code Seat-Token} header with every move
+ */
+public record MatchResult(long gameId, Player seat, String seatToken) {
+}
@@ -0,0 +1,16 @@
+package com.example.tictactoe.model;
+
+/**
+ * A live game as it is handed from one instance to another.
+ *
+ * @param gameId     The ID of the game
+ * @param state      The packed state word, without the fence flag; the receiver continues from its version
+ * @param startedAt  When the game started, in epoch milliseconds
+ * @param remainingX The time X has left on the move clock, in milliseconds
+ * @param remainingO The time O has left on the move clock, in milliseconds
+ * @param playerX    The player seated as X, or {@code null} if the game was not created by matchmaking
+ * @param playerO    The player seated as O, or {@code null} if the game was not created by matchmaking
+ */
+public record MigratedGame(long gameId, long state, long startedAt, long remainingX, long remainingO,
+                           String playerX, String playerO) {
+}
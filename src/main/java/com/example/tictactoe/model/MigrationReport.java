@@ -0,0 +1,18 @@
+package com.example.tictactoe.model;
+
+/**
+ * The outcome of a drain or rebalance.
+ *
+ * @param target         The base URL of the instance the games were sent to
+ * @param games          The number of games the target accepted
+ * @param failed         The number of games in the batch that could not be sent; the migration stops there
+ *                       and those games stay on this instance
+ * @param batches        The number of batches sent
+ * @param elapsedMillis  The duration of the whole migration
+ * @param gamesPerSecond The migration throughput
+ * @param maxPauseMillis The longest time a game was fenced, during which its moves were redirected before
+ *                       the target had it
+ */
+public record MigrationReport(String target, int games, int failed, int batches, long elapsedMillis,
+                              double gamesPerSecond, double maxPauseMillis) {
+}
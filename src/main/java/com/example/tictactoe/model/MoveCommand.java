@@ -0,0 +1,12 @@
+package com.example.tictactoe.model;
+
+/**
+ * One move in a batch of moves.
+ *
+ * @param seatToken       The seat token of a created game, or {@code null} for the default game
+ * @param cell            The cell to play
+ * @param expectedVersion The version the client last saw, or {@code null} to skip the check
+ * @param idempotencyKey  A key identifying the move; a retry with the same key gets the original outcome
+ */
+public record MoveCommand(String seatToken, Cell cell, Long expectedVersion, String idempotencyKey) {
+}
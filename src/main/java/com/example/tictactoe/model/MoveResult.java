@@ -0,0 +1,22 @@
+package com.example.tictactoe.model;
+
+import com.example.tictactoe.util.GameState;
+
+/**
+ * The outcome of one move in a batch, with the status the move would have had as a single request.
+ *
+ * @param status   The HTTP status of the move: 200, 307, 400, 403, 409, 429 or 500
+ * @param state    The game state after the move, if it was made
+ * @param error    The reason the move was not made, if it was not
+ * @param location The base URL of the instance that now holds the game, for a 307
+ */
+public record MoveResult(int status, GameState state, String error, String location) {
+
+    public static MoveResult made(GameState state) {
+        return new MoveResult(200, state, null, null);
+    }
+
+    public static MoveResult rejected(int status, String error) {
+        return new MoveResult(status, null, error, null);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.tictactoe.model;
+
+/**
+ * A batch of the replication stream from the instance that owns some games to a peer that serves
+ * reads from copies of them. Batches are sent in sequence, also when nothing changed, so the peer
+ * knows how far behind its copies are.
+ *
+ * @param source     The base URL of the sending instance, where reads that cannot be served from a copy go
+ * @param epoch      Identifies the run of the sender; a new epoch means the sender restarted and its
+ *                   earlier copies are dropped
+ * @param sequence   The position of the batch in the stream of its epoch, starting at 1
+ * @param asOfMillis Every change made on the sender before this epoch millisecond is in this batch or an
+ *                   earlier one
+ * @param gameIds    The IDs of the games that changed
+ * @param states     The packed state of each game, without the fence flag, or -1 if the game was removed
+ */
+public record ReplicationBatch(String source, long epoch, long sequence, long asOfMillis, long[] gameIds,
+                               long[] states) {
+}
@@ -0,0 +1,23 @@
+package com.example.tictactoe.model;
+
+import java.util.List;
+
+/**
+ * The copies this instance holds of games owned by other instances.
+ *
+ * @param replicas The number of games copied
+ * @param sources  The instances the copies come from
+ */
+public record ReplicationStatus(int replicas, List<Source> sources) {
+
+    /**
+     * How far behind the copies from one instance are.
+     *
+     * @param url             The base URL of the instance
+     * @param sequence        The last batch applied
+     * @param stalenessMillis How long ago the copies were known to be current
+     * @param lagMillis       How old the last batch was when it was applied
+     */
+    public record Source(String url, long sequence, long stalenessMillis, long lagMillis) {
+    }
+}
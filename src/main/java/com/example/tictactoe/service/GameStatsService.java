@@ -0,0 +1,25 @@
+package com.example.tictactoe.service;
+
+import com.example.tictactoe.model.GameStats;
+
+/**
+ * Interface for the game statistics service.
+ * This service aggregates opening, outcome and length statistics as games finish.
+ */
+public interface GameStatsService {
+
+    /**
+     * Adds a finished game to the statistics.
+     *
+     * @param packed The packed final state of the game.
+     */
+    void recordGame(long packed);
+
+    /**
+     * Retrieves a snapshot of the statistics.
+     *
+     * @param losingPositions The maximum number of losing positions to return.
+     * @return The statistics.
+     */
+    GameStats getStats(int losingPositions);
+}
@@ -0,0 +1,29 @@
+package com.example.tictactoe.service;
+
+import com.example.tictactoe.model.MatchResult;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Interface for the matchmaking service.
+ * This service pairs waiting players of similar rating and creates a game for each pair.
+ */
+public interface MatchmakingService {
+
+    /**
+     * Queues a player for a match. The player's rating is looked up, never taken from the request,
+     * and a player can only wait in the queue once at a time.
+     *
+     * @param playerId The ID of the player.
+     * @return A future completed with the game and seat once the player is matched, or completed
+     * exceptionally with a {@link java.util.concurrent.TimeoutException} if no opponent is found in time
+     * or an {@link IllegalStateException} if the player is already waiting.
+     */
+    CompletableFuture<MatchResult> findMatch(String playerId);
+
+    /**
+     * Pairs the players waiting in the queue and creates their games.
+     * Called periodically by the matcher thread.
+     */
+    void matchWaitingPlayers();
+}
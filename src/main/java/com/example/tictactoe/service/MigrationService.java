@@ -0,0 +1,26 @@
+package com.example.tictactoe.service;
+
+import com.example.tictactoe.model.MigrationReport;
+
+/**
+ * Interface for the game migration service.
+ * This service hands live games to another instance, to drain an instance before it stops or to
+ * move load off a busy one.
+ */
+public interface MigrationService {
+
+    /**
+     * Hands every live game to the configured instance and pushes the default game to its peer.
+     *
+     * @return The outcome of the migration.
+     */
+    MigrationReport drain();
+
+    /**
+     * Hands some of the live games to the configured instance.
+     *
+     * @param games The number of games to move.
+     * @return The outcome of the migration.
+     */
+    MigrationReport rebalance(int games);
+}
@@ -0,0 +1,47 @@
+package com.example.tictactoe.service;
+
+import com.example.tictactoe.model.LeaderboardEntry;
+import com.example.tictactoe.model.Player;
+
+import java.util.List;
+
+/**
+ * Interface for the rating service.
+ * This service keeps an Elo rating per player and ranks players on a leaderboard.
+ */
+public interface RatingService {
+
+    /**
+     * Updates the ratings of both players of a finished game.
+     *
+     * @param playerX The player who played X.
+     * @param playerO The player who played O.
+     * @param winner  The winner, or {@link Player#EMPTY} for a draw.
+     */
+    void recordResult(String playerX, String playerO, Player winner);
+
+    /**
+     * Retrieves the rating of a player.
+     *
+     * @param playerId The ID of the player.
+     * @return The rating, or the initial rating for a player without rated games.
+     */
+    int getRating(String playerId);
+
+    /**
+     * Retrieves the highest rated players.
+     *
+     * @param limit The maximum number of players to return.
+     * @return The players in rank order.
+     */
+    List<LeaderboardEntry> getTopPlayers(int limit);
+
+    /**
+     * Retrieves the leaderboard position of a player.
+     *
+     * @param playerId The ID of the player.
+     * @return The player's entry.
+     * @throws IllegalArgumentException if the player has no rated games.
+     */
+    LeaderboardEntry getEntry(String playerId);
+}
@@ -0,0 +1,44 @@
+package com.example.tictactoe.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Interface for the flight recording service.
+ * This service runs a JDK Flight Recorder recording with the bundled profile, so moves, commits and
+ * sync can be profiled on a live instance without restarting it.
+ */
+public interface RecordingService {
+
+    /**
+     * Starts a recording with the bundled profile.
+     *
+     * @throws IllegalStateException if a recording is already running.
+     */
+    void start();
+
+    /**
+     * Stops the running recording and writes what it recorded to a file.
+     *
+     * @return A temporary file holding the recording, to be deleted by the caller.
+     * @throws IllegalStateException if no recording is running.
+     * @throws IOException           if the recording cannot be written.
+     */
+    Path stop() throws IOException;
+
+    /**
+     * Writes what the running recording has recorded so far to a file and keeps recording.
+     *
+     * @return A temporary file holding the recording, to be deleted by the caller.
+     * @throws IllegalStateException if no recording is running.
+     * @throws IOException           if the recording cannot be written.
+     */
+    Path dump() throws IOException;
+
+    /**
+     * Returns whether a recording is running.
+     *
+     * @return {@code true} if a recording is running.
+     */
+    boolean isRecording();
+}
@@ -0,0 +1,15 @@
+package com.example.tictactoe.service;
+
+/**
+ * Interface for the replication service.
+ * This service streams the games owned by this instance to a peer, which serves reads of them that
+ * accept a bounded staleness.
+ */
+public interface ReplicationService {
+
+    /**
+     * Sends the games changed since the last call to the peer, or an empty batch if none changed, so
+     * the peer can tell how far behind its copies are.
+     */
+    void replicate();
+}
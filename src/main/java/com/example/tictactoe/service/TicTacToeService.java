@@ -1,8 +1,16 @@
 package com.example.tictactoe.service;
 
+import com.example.tictactoe.exception.InvalidSeatTokenException;
+import com.example.tictactoe.exception.VersionConflictException;
+import com.example.tictactoe.exception.GameMovedException;
 import com.example.tictactoe.model.Cell;
+import com.example.tictactoe.model.MigratedGame;
+import com.example.tictactoe.model.ReplicationBatch;
+import com.example.tictactoe.model.ReplicationStatus;
 import com.example.tictactoe.util.GameState;
 
+import java.util.List;
+
 /**
  * Interface for the Tic-Tac-Toe game service.
  * This service manages the game state, player moves, and synchronization between instances.
@@ -23,6 +31,60 @@ public interface TicTacToeService {
      */
     void makeMove(Cell cell);
 
+    /**
+     * Makes a move on the game board, at most once per idempotency key.
+     * A retry with a key that was already used returns the recorded outcome without touching the game.
+     *
+     * @param cell            The cell where the move is to be made.
+     * @param idempotencyKey  A client chosen key identifying the request, or {@code null}.
+     * @param expectedVersion The version the client last saw, or {@code null} to skip the check.
+     * @return The game state right after the move.
+     * @throws VersionConflictException if the game is not at the expected version.
+     * @throws IllegalStateException if the game is over or it's not the player's turn.
+     * @throws IllegalArgumentException if the cell is already occupied.
+     */
+    GameState makeMove(Cell cell, String idempotencyKey, Long expectedVersion);
+
+    /**
+     * Creates a new game with X to move. Created games are owned by this instance; the other instance
+     * only keeps a copy for reads.
+     *
+     * @return The ID of the game.
+     */
+    long createGame();
+
+    /**
+     * Creates many games with X to move in one batch.
+     *
+     * @param count The number of games to create.
+     * @return The IDs of the games, in a consecutive range.
+     * @throws IllegalStateException if the game store cannot take all of the games.
+     */
+    long[] createGames(int count);
+
+    /**
+     * Resets created games to an empty board with X to move, each at the version after its current one.
+     *
+     * @param gameIds The IDs of the games; games that are not held here are skipped.
+     * @return The number of games reset.
+     */
+    int resetGames(long[] gameIds);
+
+    /**
+     * Makes a move in a created game on behalf of the holder of a seat token, at most once per idempotency key.
+     *
+     * @param seatToken       The seat token issued when the game was created.
+     * @param cell            The cell where the move is to be made.
+     * @param idempotencyKey  A client chosen key identifying the request, or {@code null}.
+     * @param expectedVersion The version the client last saw, or {@code null} to skip the check.
+     * @return The game state right after the move.
+     * @throws InvalidSeatTokenException if the token is malformed, forged or expired.
+     * @throws VersionConflictException if the game is not at the expected version.
+     * @throws IllegalStateException if the game is over or it's not the seat's turn.
+     * @throws IllegalArgumentException if the game does not exist or the cell is already occupied.
+     */
+    GameState makeMove(String seatToken, Cell cell, String idempotencyKey, Long expectedVersion);
+
     /**
      * Synchronizes the game state with another instance.
      * This method should be called periodically to ensure consistency between instances.
@@ -43,4 +105,151 @@ public interface TicTacToeService {
      * @return A copy of the current game state.
      */
     GameState getGameState();
+
+    /**
+     * Retrieves the current state of a game.
+     *
+     * @param gameId The ID of the game.
+     * @return A copy of the game state.
+     * @throws IllegalArgumentException if the game does not exist.
+     */
+    GameState getGameState(long gameId);
+
+    /**
+     * Retrieves the state of a game at an earlier version of its current line of play.
+     *
+     * @param gameId  The ID of the game.
+     * @param version The version to read.
+     * @return The game state at that version.
+     * @throws IllegalArgumentException if the game does not exist or the version is not on the current line of play.
+     */
+    GameState getGameState(long gameId, long version);
+
+    /**
+     * Retrieves the current state of the default game encoded as JSON.
+     *
+     * @return The encoded game state; the array is shared and must not be modified.
+     */
+    byte[] getGameStateJson();
+
+    /**
+     * Retrieves the current state of a game encoded as JSON.
+     *
+     * @param gameId The ID of the game.
+     * @return The encoded game state; the array is shared and must not be modified.
+     * @throws IllegalArgumentException if the game does not exist.
+     */
+    byte[] getGameStateJson(long gameId);
+
+    /**
+     * Retrieves the state of a game at a version of its current line of play encoded as JSON.
+     *
+     * @param gameId  The ID of the game.
+     * @param version The version to read.
+     * @return The encoded game state at that version.
+     * @throws IllegalArgumentException if the game does not exist or the version is not on the current line of play.
+     */
+    byte[] getGameStateJson(long gameId, long version);
+
+    /**
+     * Retrieves the current state of a game encoded as JSON, from the copy replicated to this instance
+     * if another instance owns the game and the copy is recent enough.
+     *
+     * @param gameId             The ID of the game.
+     * @param maxStalenessMillis How long ago a copy may have last been known to be current.
+     * @param minVersion         The lowest version accepted from a copy.
+     * @return The encoded game state; the array is shared and must not be modified.
+     * @throws GameMovedException       if no copy here meets the bounds; the location is the owner.
+     * @throws IllegalArgumentException if the game is not known here.
+     */
+    byte[] getGameStateJsonWithin(long gameId, long maxStalenessMillis, long minVersion);
+
+    /**
+     * Takes back the last move of the default game, if the assigned player made it, at most once per idempotency key.
+     *
+     * @param idempotencyKey  A client chosen key identifying the request, or {@code null}.
+     * @param expectedVersion The version the client last saw, or {@code null} to skip the check.
+     * @return The game state right after the undo.
+     * @throws VersionConflictException if the game is not at the expected version.
+     * @throws IllegalStateException if the game is over, no move was made or the last move was the opponent's.
+     */
+    GameState undoMove(String idempotencyKey, Long expectedVersion);
+
+    /**
+     * Takes back the last move of a created game on behalf of the holder of a seat token, if that seat made it.
+     *
+     * @param seatToken       The seat token issued when the game was created.
+     * @param idempotencyKey  A client chosen key identifying the request, or {@code null}.
+     * @param expectedVersion The version the client last saw, or {@code null} to skip the check.
+     * @return The game state right after the undo.
+     * @throws InvalidSeatTokenException if the token is malformed, forged or expired.
+     * @throws VersionConflictException if the game is not at the expected version.
+     * @throws IllegalStateException if the game is over, no move was made or the last move was the opponent's.
+     */
+    GameState undoMove(String seatToken, String idempotencyKey, Long expectedVersion);
+
+    /**
+     * Lists the games that can be migrated to another instance. The default game is replicated rather
+     * than migrated and is never listed.
+     *
+     * @param limit The maximum number of games to list.
+     * @return The IDs of the games.
+     */
+    long[] migratableGames(int limit);
+
+    /**
+     * Fences games for migration: later updates fail with {@link GameMovedException} pointing at the
+     * target, while reads are still served here until the migration completes.
+     *
+     * @param gameIds  The IDs of the games to fence.
+     * @param location The base URL of the instance the games move to.
+     * @return The fenced games, ready to be sent; games that no longer exist are left out.
+     */
+    List<MigratedGame> fenceGames(long[] gameIds, String location);
+
+    /**
+     * Removes games that the target instance has accepted. Requests for them are redirected to the target.
+     *
+     * @param games The games returned by {@link #fenceGames}.
+     */
+    void completeMigration(List<MigratedGame> games);
+
+    /**
+     * Lifts the fence of games that could not be sent, so they carry on here.
+     *
+     * @param games The games returned by {@link #fenceGames}.
+     */
+    void abortMigration(List<MigratedGame> games);
+
+    /**
+     * Takes over games migrated from another instance, continuing from their versions and clocks.
+     *
+     * @param games The games to take over.
+     * @return The number of games taken over.
+     */
+    int importGames(List<MigratedGame> games);
+
+    /**
+     * Takes the games changed since the last call into the next batch of the replication stream.
+     *
+     * @param source   The base URL peers reach this instance at.
+     * @param maxGames The most games in the batch.
+     * @return The batch, with no games if nothing changed.
+     */
+    ReplicationBatch nextReplicationBatch(String source, int maxGames);
+
+    /**
+     * Applies a batch of another instance's replication stream to the copies kept here.
+     *
+     * @param batch The batch.
+     * @return {@code true} if the batch was applied, {@code false} if it had been already.
+     */
+    boolean applyReplication(ReplicationBatch batch);
+
+    /**
+     * Reports the copies of other instances' games kept here and how far behind they are.
+     *
+     * @return The status of the copies.
+     */
+    ReplicationStatus getReplicationStatus();
 }
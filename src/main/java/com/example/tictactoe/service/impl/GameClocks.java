@@ -0,0 +1,223 @@
+package com.example.tictactoe.service.impl;
+
+import com.example.tictactoe.model.Player;
+import com.example.tictactoe.store.GameStore;
+import com.example.tictactoe.util.TimingWheel;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongConsumer;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Keeps a chess-style move clock for every running game and an idle timer for every created game,
+ * both driven by a shared {@link TimingWheel}. Each player has a time budget for the whole game; only
+ * the clock of the player to move runs. Starting a turn cancels and reschedules one timeout, so the
+ * cost per move is constant however many games are live.
+ * <p>
+ * The clock of a game is an immutable record replaced with a compare-and-set on the map, like a move
+ * on the game state, so a game holds no lock and a turn never waits for another. A timeout scheduled
+ * for a record that lost the race is cancelled again. Games only have a record while a clock runs:
+ * none are kept when clocks are disabled, and a game's record is dropped when the game ends.
+ * <p>
+ * Idle timers keep no record and are not rescheduled on every move: when one fires it compares the
+ * game's last activity with the timeout and either expires the game, waits for the remaining time, or
+ * stops if the game no longer exists.
+ */
+class GameClocks {
+
+    /**
+     * Called when the player to move runs out of time.
+     */
+    @FunctionalInterface
+    interface ClockExpiredHandler {
+        void onClockExpired(long gameId, Player player, long version);
+    }
+
+    private final TimingWheel timingWheel;
+    private final long budgetMillis;
+    private final long idleTimeoutMillis;
+    private final LongUnaryOperator lastActivity;
+    private final ClockExpiredHandler clockExpiredHandler;
+    private final LongConsumer idleHandler;
+    private final ConcurrentMap<Long, GameClock> clocks = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the clocks.
+     *
+     * @param timingWheel         The wheel that drives all timeouts
+     * @param budgetMillis        The time budget of each player per game, or 0 to disable move clocks
+     * @param idleTimeoutMillis   The inactivity after which a game expires, or 0 to disable idle expiry
+     * @param lastActivity        Returns the last activity time of a game, or {@link GameStore#MISSING}
+     * @param clockExpiredHandler Called on the wheel thread when a player runs out of time
+     * @param idleHandler         Called on the wheel thread when a game has been idle for too long
+     */
+    GameClocks(TimingWheel timingWheel, long budgetMillis, long idleTimeoutMillis, LongUnaryOperator lastActivity,
+               ClockExpiredHandler clockExpiredHandler, LongConsumer idleHandler) {
+        this.timingWheel = timingWheel;
+        this.budgetMillis = budgetMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.lastActivity = lastActivity;
+        this.clockExpiredHandler = clockExpiredHandler;
+        this.idleHandler = idleHandler;
+    }
+
+    /**
+     * Starts fresh clocks for a new or reset game.
+     *
+     * @param gameId   The ID of the game
+     * @param toMove   The player to move first
+     * @param version  The version of the game
+     */
+    void start(long gameId, Player toMove, long version) {
+        resume(gameId, toMove, version, false, budgetMillis, budgetMillis);
+    }
+
+    /**
+     * Starts the clocks of a game received from another instance with the time each player has left.
+     *
+     * @param gameId     The ID of the game
+     * @param toMove     The player to move
+     * @param version    The version of the game
+     * @param gameOver   Whether the game has ended, in which case no clock runs
+     * @param remainingX The time X has left, in milliseconds
+     * @param remainingO The time O has left, in milliseconds
+     */
+    void resume(long gameId, Player toMove, long version, boolean gameOver, long remainingX, long remainingO) {
+        GameClock previous;
+        if (gameOver || budgetMillis <= 0) {
+            previous = clocks.remove(gameId);
+        } else {
+            TimingWheel.Timeout moveTimeout = scheduleMoveTimeout(gameId, toMove, remainingX, remainingO, version);
+            previous = clocks.put(gameId, new GameClock(remainingX, remainingO, toMove, System.currentTimeMillis(),
+                moveTimeout));
+        }
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    /**
+     * Stops the clock of the player who just moved and starts the clock of the player to move.
+     *
+     * @param gameId   The ID of the game
+     * @param toMove   The player to move next
+     * @param version  The version of the game after the move
+     * @param gameOver Whether the game has ended, in which case its clocks are dropped
+     */
+    void turnStarted(long gameId, Player toMove, long version, boolean gameOver) {
+        if (gameOver) {
+            stop(gameId);
+            return;
+        }
+        while (true) {
+            GameClock clock = clocks.get(gameId);
+            if (clock == null) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            long remainingX = clock.remaining(Player.X, now);
+            long remainingO = clock.remaining(Player.O, now);
+            TimingWheel.Timeout moveTimeout = scheduleMoveTimeout(gameId, toMove, remainingX, remainingO, version);
+            GameClock next = new GameClock(remainingX, remainingO, toMove, now, moveTimeout);
+            if (clocks.replace(gameId, clock, next)) {
+                clock.cancel();
+                return;
+            }
+            moveTimeout.cancel();
+        }
+    }
+
+    /**
+     * Returns the time a player has left, counting the running turn up to now.
+     *
+     * @param gameId The ID of the game
+     * @param player The player
+     * @return The remaining time in milliseconds, or the full budget if no clock of the game runs
+     */
+    long remaining(long gameId, Player player) {
+        GameClock clock = clocks.get(gameId);
+        return clock == null ? budgetMillis : clock.remaining(player, System.currentTimeMillis());
+    }
+
+    /**
+     * Cancels the move timeout of a game that ended or no longer exists.
+     *
+     * @param gameId The ID of the game
+     */
+    void stop(long gameId) {
+        GameClock clock = clocks.remove(gameId);
+        if (clock != null) {
+            clock.cancel();
+        }
+    }
+
+    /**
+     * Starts watching a game for inactivity. Called once per game when it is created or taken over;
+     * the timer follows the game until it is removed. Does nothing when idle expiry is disabled.
+     *
+     * @param gameId The ID of the game
+     */
+    void expireWhenIdle(long gameId) {
+        if (idleTimeoutMillis > 0) {
+            scheduleIdleCheck(gameId, idleTimeoutMillis);
+        }
+    }
+
+    private TimingWheel.Timeout scheduleMoveTimeout(long gameId, Player running, long remainingX, long remainingO,
+                                                    long version) {
+        return timingWheel.schedule(running == Player.X ? remainingX : remainingO,
+            () -> clockExpiredHandler.onClockExpired(gameId, running, version));
+    }
+
+    private void scheduleIdleCheck(long gameId, long delayMillis) {
+        timingWheel.schedule(delayMillis, () -> checkIdle(gameId));
+    }
+
+    /**
+     * Expires the game or checks again once it could have been idle for the timeout. The timer ends
+     * with the game: a game that was removed, by expiry or migration, is not checked again.
+     */
+    private void checkIdle(long gameId) {
+        long lastActive = lastActivity.applyAsLong(gameId);
+        if (lastActive == GameStore.MISSING) {
+            return;
+        }
+        long idleMillis = System.currentTimeMillis() - lastActive;
+        if (idleMillis >= idleTimeoutMillis) {
+            idleHandler.accept(gameId);
+            return;
+        }
+        scheduleIdleCheck(gameId, idleTimeoutMillis - idleMillis);
+    }
+
+    /**
+     * The clocks of a game as of the start of the running turn. Compared by identity, so a replacement
+     * only succeeds against the record it was computed from.
+     */
+    private static final class GameClock {
+        private final long remainingX;
+        private final long remainingO;
+        private final Player running;
+        private final long turnStartedAt;
+        private final TimingWheel.Timeout moveTimeout;
+
+        private GameClock(long remainingX, long remainingO, Player running, long turnStartedAt,
+                          TimingWheel.Timeout moveTimeout) {
+            this.remainingX = remainingX;
+            this.remainingO = remainingO;
+            this.running = running;
+            this.turnStartedAt = turnStartedAt;
+            this.moveTimeout = moveTimeout;
+        }
+
+        private long remaining(Player player, long now) {
+            long remaining = player == Player.X ? remainingX : remainingO;
+            return running == player ? remaining - (now - turnStartedAt) : remaining;
+        }
+
+        private void cancel() {
+            moveTimeout.cancel();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.tictactoe.service.impl;
+
+import com.example.tictactoe.model.Cell;
+import com.example.tictactoe.model.GameStats;
+import com.example.tictactoe.model.Player;
+import com.example.tictactoe.service.GameStatsService;
+import com.example.tictactoe.util.MoveHistory;
+import com.example.tictactoe.util.PackedGameState;
+import com.example.tictactoe.util.Position;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Implementation of the GameStatsService interface.
+ * <p>
+ * Every statistic is a {@link LongAdder}, so concurrent games finishing at the same time update
+ * separate cells instead of contending on one counter. Openings and losing positions are counted
+ * per canonical position, which folds the eight rotations and reflections of a board into one
+ * counter and keeps the tables a fixed size. A finished game carries its full move history, so it
+ * is recorded once when it ends and the move path itself is not touched. Reading a snapshot sums
+ * the counters and walks the fixed table of positions, never the games themselves.
+ */
+@Service
+public class GameStatsServiceImpl implements GameStatsService {
+
+    private static final Cell[] CELLS = Cell.values();
+    private static final int FIRST_PLAYER_WON = 0;
+    private static final int DRAWN = 1;
+    private static final int SECOND_PLAYER_WON = 2;
+
+    private final LongAdder moves = new LongAdder();
+    private final LongAdder xWins = new LongAdder();
+    private final LongAdder oWins = new LongAdder();
+    private final LongAdder draws = new LongAdder();
+    private final LongAdder forfeits = new LongAdder();
+
+    /**
+     * Outcome counters by canonical opening position index; {@code null} for other positions.
+     */
+    private final LongAdder[][] openings = new LongAdder[Position.count()][];
+
+    /**
+     * Loss counters by canonical position index; {@code null} for positions that are not canonical.
+     */
+    private final LongAdder[] losses = new LongAdder[Position.count()];
+
+    public GameStatsServiceImpl() {
+        for (int index = 0; index < Position.count(); index++) {
+            Position position = Position.of(index);
+            if (position.getCanonical() == position) {
+                losses[index] = new LongAdder();
+            }
+        }
+        for (Player first : new Player[]{Player.X, Player.O}) {
+            for (Cell cell : CELLS) {
+                int index = Position.initial(first).move(cell).getCanonical().getIndex();
+                if (openings[index] == null) {
+                    openings[index] = new LongAdder[]{new LongAdder(), new LongAdder(), new LongAdder()};
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a finished game to the statistics: its outcome and length, the result of its opening and,
+     * for a game won on the board, the position the loser left before the winning move.
+     *
+     * @param packed The packed final state of the game
+     */
+    public void recordGame(long packed) {
+        int history = PackedGameState.history(packed);
+        int ply = MoveHistory.ply(history);
+        Player first = MoveHistory.firstPlayer(history);
+        Player winner = PackedGameState.winner(packed);
+        boolean forfeited = PackedGameState.isForfeited(packed);
+
+        moves.add(ply);
+        if (winner == Player.X) {
+            xWins.increment();
+        } else if (winner == Player.O) {
+            oWins.increment();
+        } else {
+            draws.increment();
+        }
+        if (forfeited) {
+            forfeits.increment();
+        }
+
+        if (ply > 0) {
+            Position opening = MoveHistory.position(MoveHistory.truncate(history, 1));
+            int outcome = winner == Player.EMPTY ? DRAWN : winner == first ? FIRST_PLAYER_WON : SECOND_PLAYER_WON;
+            openings[opening.getCanonical().getIndex()][outcome].increment();
+        }
+        if (winner != Player.EMPTY && !forfeited) {
+            Position beforeWin = MoveHistory.position(MoveHistory.truncate(history, ply - 1));
+            losses[beforeWin.getCanonical().getIndex()].increment();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the statistics. Counters are read one by one while games keep finishing,
+     * so totals may be off by the games recorded during the read.
+     *
+     * @param losingPositions The maximum number of losing positions to return
+     * @return The statistics
+     */
+    public GameStats getStats(int losingPositions) {
+        long x = xWins.sum();
+        long o = oWins.sum();
+        long drawn = draws.sum();
+        long gameCount = x + o + drawn;
+        double averageLength = gameCount == 0 ? 0 : (double) moves.sum() / gameCount;
+
+        List<GameStats.Opening> openingStats = new ArrayList<>();
+        List<GameStats.LosingPosition> losingStats = new ArrayList<>();
+        for (int index = 0; index < Position.count(); index++) {
+            Position position = Position.of(index);
+            if (openings[index] != null) {
+                openingStats.add(opening(position, openings[index]));
+            }
+            long count = losses[index] == null ? 0 : losses[index].sum();
+            if (count > 0) {
+                losingStats.add(new GameStats.LosingPosition(position.getBoard(), position.getCurrentPlayer(), count));
+            }
+        }
+        losingStats.sort(Comparator.comparingLong(GameStats.LosingPosition::count).reversed());
+
+        return new GameStats(gameCount, x, o, drawn, forfeits.sum(), averageLength,
+            openingStats, List.copyOf(losingStats.subList(0, Math.min(losingPositions, losingStats.size()))));
+    }
+
+    private static GameStats.Opening opening(Position position, LongAdder[] outcomes) {
+        long won = outcomes[FIRST_PLAYER_WON].sum();
+        long drawn = outcomes[DRAWN].sum();
+        long lost = outcomes[SECOND_PLAYER_WON].sum();
+        long total = won + drawn + lost;
+        Cell cell = CELLS[0];
+        for (Cell candidate : CELLS) {
+            if (position.getPlayer(candidate) != Player.EMPTY) {
+                cell = candidate;
+            }
+        }
+        return new GameStats.Opening(position.getLastPlayer(), cell, total,
+            rate(won, total), rate(drawn, total), rate(lost, total));
+    }
+
+    private static double rate(long count, long total) {
+        return total == 0 ? 0 : (double) count / total;
+    }
+}
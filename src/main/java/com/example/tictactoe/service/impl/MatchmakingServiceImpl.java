@@ -0,0 +1,276 @@
+package com.example.tictactoe.service.impl;
+
+import com.example.tictactoe.model.MatchResult;
+import com.example.tictactoe.model.Player;
+import com.example.tictactoe.service.MatchmakingService;
+import com.example.tictactoe.service.RatingService;
+import com.example.tictactoe.service.TicTacToeService;
+import com.example.tictactoe.store.SeatRegistry;
+import com.example.tictactoe.util.SeatTokens;
+import com.example.tictactoe.util.TimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.tictactoe.constant.GameConstants.ALREADY_WAITING_MESSAGE;
+import static com.example.tictactoe.constant.GameConstants.MATCHES_MADE_MESSAGE;
+import static com.example.tictactoe.constant.GameConstants.MATCH_TIMEOUT_MESSAGE;
+
+/**
+ * Implementation of the MatchmakingService interface.
+ * <p>
+ * Waiting players are kept in lock-free queues, one per rating bucket, so request threads only ever
+ * append to a queue. A single matcher thread drains the queues in batches and pairs players in
+ * arrival order within a bucket; an unpaired player may be paired with the first player of the next
+ * bucket, or of any bucket once they have waited longer than the widening delay, otherwise they wait
+ * for the next batch. Match requests that time out are dropped lazily when the matcher reaches them.
+ * <p>
+ * Ratings come from the {@link RatingService}, so a player cannot pick their opponents by claiming
+ * a rating. Each player holds at most one ticket, so a player is never paired with themselves.
+ */
+@Service
+public class MatchmakingServiceImpl implements MatchmakingService {
+    private static final Logger logger = LoggerFactory.getLogger(MatchmakingServiceImpl.class);
+
+    private static final int BUCKETS = 32;
+
+    @Value("${matchmaking.rating-bucket-width:100}")
+    private int ratingBucketWidth;
+
+    @Value("${matchmaking.batch-interval-ms:5}")
+    private long batchIntervalMillis;
+
+    @Value("${matchmaking.timeout-ms:20000}")
+    private long timeoutMillis;
+
+    @Value("${matchmaking.widen-after-ms:2000}")
+    private long widenAfterMillis;
+
+    @Autowired
+    private TicTacToeService ticTacToeService;
+    @Autowired
+    private RatingService ratingService;
+    @Autowired
+    private SeatRegistry seatRegistry;
+    @Autowired
+    private SeatTokens seatTokens;
+    @Autowired
+    private TimingWheel timingWheel;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Queue<Ticket>[] buckets = newBuckets();
+    private final ConcurrentMap<String, Ticket> waiting = new ConcurrentHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private Timer waitTimer;
+    private Counter matchCounter;
+    private ScheduledExecutorService matcher;
+
+    /**
+     * Registers the metrics and starts the matcher thread.
+     */
+    @PostConstruct
+    public void init() {
+        waitTimer = Timer.builder("matchmaking.wait")
+            .description("Time from joining the queue until matched")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+        matchCounter = Counter.builder("matchmaking.matches")
+            .description("Games created by matchmaking")
+            .register(meterRegistry);
+        Gauge.builder("matchmaking.queued", queued, AtomicInteger::get)
+            .description("Match requests waiting in the queue")
+            .register(meterRegistry);
+
+        matcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "matchmaker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        matcher.scheduleWithFixedDelay(this::matchWaitingPlayers, batchIntervalMillis, batchIntervalMillis,
+            TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        matcher.shutdownNow();
+    }
+
+    /**
+     * Queues a player for a match at their current rating. Never blocks: the request only appends to
+     * a lock-free queue.
+     *
+     * @param playerId The ID of the player
+     * @return A future completed once the player is matched or has waited too long, or failed at once
+     * if the player already has a ticket
+     */
+    public CompletableFuture<MatchResult> findMatch(String playerId) {
+        Ticket ticket = new Ticket(playerId, bucketOf(ratingService.getRating(playerId)), System.nanoTime());
+        if (waiting.putIfAbsent(playerId, ticket) != null) {
+            return CompletableFuture.failedFuture(
+                new IllegalStateException(String.format(ALREADY_WAITING_MESSAGE, playerId)));
+        }
+        ticket.timeout = timingWheel.schedule(timeoutMillis, ticket::expire);
+        offer(ticket);
+        return ticket.result;
+    }
+
+    /**
+     * Drains every bucket once and pairs the players in it.
+     * Runs on the matcher thread only; it is the single consumer of the queues.
+     */
+    public void matchWaitingPlayers() {
+        long widenBefore = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(widenAfterMillis);
+        Ticket carried = null;
+        int matched = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            if (carried != null && carried.bucket < bucket - 1 && carried.enqueuedAt - widenBefore > 0) {
+                requeue(carried);
+                carried = null;
+            }
+            Ticket ticket;
+            while ((ticket = buckets[bucket].poll()) != null) {
+                queued.decrementAndGet();
+                if (!ticket.claim()) {
+                    continue;
+                }
+                if (carried == null) {
+                    carried = ticket;
+                } else {
+                    pair(carried, ticket);
+                    carried = null;
+                    matched++;
+                }
+            }
+        }
+        if (carried != null) {
+            requeue(carried);
+        }
+        if (matched > 0) {
+            logger.debug(MATCHES_MADE_MESSAGE, matched);
+        }
+    }
+
+    private void pair(Ticket first, Ticket second) {
+        long gameId;
+        try {
+            gameId = ticTacToeService.createGame();
+            seatRegistry.register(gameId, first.playerId, second.playerId);
+        } catch (RuntimeException e) {
+            first.fail(e);
+            second.fail(e);
+            return;
+        }
+        matchCounter.increment();
+        first.complete(new MatchResult(gameId, Player.X, seatTokens.issue(gameId, Player.X)));
+        second.complete(new MatchResult(gameId, Player.O, seatTokens.issue(gameId, Player.O)));
+    }
+
+    private void requeue(Ticket ticket) {
+        if (ticket.release()) {
+            offer(ticket);
+        }
+    }
+
+    private void offer(Ticket ticket) {
+        queued.incrementAndGet();
+        buckets[ticket.bucket].add(ticket);
+    }
+
+    private int bucketOf(int rating) {
+        int bucket = rating / Math.max(ratingBucketWidth, 1);
+        return Math.max(0, Math.min(bucket, BUCKETS - 1));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Queue<Ticket>[] newBuckets() {
+        Queue<Ticket>[] queues = new Queue[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            queues[i] = new ConcurrentLinkedQueue<>();
+        }
+        return queues;
+    }
+
+    /**
+     * A player waiting for a match. The matcher claims a ticket before pairing it, so a ticket
+     * that expires concurrently is either matched or timed out, never both.
+     */
+    private final class Ticket {
+        private static final int WAITING = 0;
+        private static final int CLAIMED = 1;
+        private static final int DONE = 2;
+
+        private final String playerId;
+        private final int bucket;
+        private final long enqueuedAt;
+        private final CompletableFuture<MatchResult> result = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private volatile boolean expired;
+        private TimingWheel.Timeout timeout;
+
+        private Ticket(String playerId, int bucket, long enqueuedAt) {
+            this.playerId = playerId;
+            this.bucket = bucket;
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        private boolean claim() {
+            return state.compareAndSet(WAITING, CLAIMED);
+        }
+
+        /**
+         * Returns a claimed ticket to the queue, or times it out if it expired while claimed.
+         *
+         * @return {@code true} if the ticket is still waiting
+         */
+        private boolean release() {
+            state.set(WAITING);
+            if (expired) {
+                expire();
+            }
+            return state.get() == WAITING;
+        }
+
+        private void expire() {
+            expired = true;
+            if (state.compareAndSet(WAITING, DONE)) {
+                waiting.remove(playerId, this);
+                result.completeExceptionally(new TimeoutException(String.format(MATCH_TIMEOUT_MESSAGE, playerId)));
+            }
+        }
+
+        private void complete(MatchResult match) {
+            state.set(DONE);
+            waiting.remove(playerId, this);
+            timeout.cancel();
+            waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+            result.complete(match);
+        }
+
+        private void fail(Throwable cause) {
+            state.set(DONE);
+            waiting.remove(playerId, this);
+            timeout.cancel();
+            result.completeExceptionally(cause);
+        }
+    }
+}
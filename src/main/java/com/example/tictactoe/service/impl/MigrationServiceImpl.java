@@ -0,0 +1,137 @@
+package com.example.tictactoe.service.impl;
+
+import com.example.tictactoe.model.MigratedGame;
+import com.example.tictactoe.model.MigrationReport;
+import com.example.tictactoe.service.MigrationService;
+import com.example.tictactoe.service.TicTacToeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.example.tictactoe.constant.GameConstants.ADMIN_TOKEN_HEADER;
+import static com.example.tictactoe.constant.GameConstants.MIGRATION_BATCH_FAILED_MESSAGE;
+import static com.example.tictactoe.constant.GameConstants.MIGRATION_FINISHED_MESSAGE;
+import static com.example.tictactoe.constant.GameConstants.MIGRATION_IMPORT_PATH;
+import static com.example.tictactoe.constant.GameConstants.MIGRATION_STARTED_MESSAGE;
+import static com.example.tictactoe.constant.GameConstants.OTHER_INSTANCE_BASE_URL_FORMAT;
+
+/**
+ * Implementation of the MigrationService interface.
+ * <p>
+ * Games move in batches. Each batch is fenced, posted to the target in one request and then removed
+ * here, so a game is only unavailable for writes while its own batch is in flight; players who move
+ * in that window, or later, are redirected to the target. A batch the target does not accept is
+ * unfenced and the migration stops. Only one migration runs at a time.
+ * <p>
+ * Games only ever go to the configured target, never to a URL named by a caller, and each batch is
+ * sent with the admin token, which the target requires to take games over.
+ */
+@Service
+public class MigrationServiceImpl implements MigrationService {
+    private static final Logger logger = LoggerFactory.getLogger(MigrationServiceImpl.class);
+
+    @Autowired
+    private TicTacToeService ticTacToeService;
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Value("${other.instance.port}")
+    private int otherInstancePort;
+
+    @Value("${migration.target-url:}")
+    private String targetUrl;
+
+    @Value("${migration.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${admin.token:}")
+    private String adminToken;
+
+    private final ReentrantLock migrationLock = new ReentrantLock();
+
+    /**
+     * Hands every live game to another instance. The default game is replicated rather than migrated,
+     * so it is pushed to the peer first, sparing it from waiting for the next scheduled sync.
+     *
+     * @return The outcome of the migration
+     */
+    public MigrationReport drain() {
+        ticTacToeService.syncState();
+        return migrate(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Hands some of the live games to another instance.
+     *
+     * @param games The number of games to move
+     * @return The outcome of the migration
+     */
+    public MigrationReport rebalance(int games) {
+        return migrate(games);
+    }
+
+    private MigrationReport migrate(int limit) {
+        String location = target();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(ADMIN_TOKEN_HEADER, adminToken);
+        migrationLock.lock();
+        try {
+            long[] gameIds = ticTacToeService.migratableGames(limit);
+            logger.info(MIGRATION_STARTED_MESSAGE, gameIds.length, location);
+            long start = System.nanoTime();
+            int migrated = 0;
+            int failed = 0;
+            int batches = 0;
+            long maxPauseNanos = 0;
+            for (int from = 0; from < gameIds.length; from += batchSize) {
+                long fencedAt = System.nanoTime();
+                List<MigratedGame> batch = ticTacToeService.fenceGames(
+                    Arrays.copyOfRange(gameIds, from, Math.min(gameIds.length, from + batchSize)), location);
+                if (batch.isEmpty()) {
+                    continue;
+                }
+                batches++;
+                try {
+                    restTemplate.postForObject(location + MIGRATION_IMPORT_PATH, new HttpEntity<>(batch, headers),
+                        Integer.class);
+                } catch (RestClientException e) {
+                    logger.error(MIGRATION_BATCH_FAILED_MESSAGE, batch.size(), location, e);
+                    ticTacToeService.abortMigration(batch);
+                    failed = batch.size();
+                    break;
+                }
+                ticTacToeService.completeMigration(batch);
+                migrated += batch.size();
+                maxPauseNanos = Math.max(maxPauseNanos, System.nanoTime() - fencedAt);
+            }
+
+            long elapsedNanos = System.nanoTime() - start;
+            double gamesPerSecond = elapsedNanos == 0 ? 0 : migrated * 1e9 / elapsedNanos;
+            double maxPauseMillis = maxPauseNanos / 1e6;
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+            logger.info(MIGRATION_FINISHED_MESSAGE, migrated, location, elapsedMillis,
+                Math.round(gamesPerSecond), String.format("%.1f", maxPauseMillis));
+            return new MigrationReport(location, migrated, failed, batches, elapsedMillis, gamesPerSecond,
+                maxPauseMillis);
+        } finally {
+            migrationLock.unlock();
+        }
+    }
+
+    private String target() {
+        return targetUrl == null || targetUrl.isBlank()
+            ? String.format(OTHER_INSTANCE_BASE_URL_FORMAT, otherInstancePort)
+            : targetUrl;
+    }
+}
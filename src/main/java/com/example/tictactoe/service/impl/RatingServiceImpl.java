@@ -0,0 +1,155 @@
+package com.example.tictactoe.service.impl;
+
+import com.example.tictactoe.model.LeaderboardEntry;
+import com.example.tictactoe.model.Player;
+import com.example.tictactoe.service.RatingService;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.example.tictactoe.constant.GameConstants.PLAYER_NOT_FOUND_MESSAGE;
+
+/**
+ * Implementation of the RatingService interface.
+ * <p>
+ * Ratings are immutable records in a concurrent map. A player's update happens under one of a fixed
+ * set of striped locks, so updates for different players proceed in parallel and no lock is held
+ * per player. Each update also moves the player in a concurrent skip list ordered by rating, which
+ * serves the top of the leaderboard, and in a Fenwick tree of player counts per rating, which gives
+ * the rank of any player. Both updates are O(log n), and reads take no locks.
+ */
+@Service
+public class RatingServiceImpl implements RatingService {
+
+    static final int INITIAL_RATING = 1500;
+    static final int MAX_RATING = 4000;
+    private static final int K_FACTOR = 32;
+    private static final int STRIPES = 256;
+
+    private static final Comparator<PlayerRating> RANK_ORDER = Comparator
+        .comparingInt(PlayerRating::rating).reversed()
+        .thenComparing(PlayerRating::playerId);
+
+    private final ConcurrentMap<String, PlayerRating> ratings = new ConcurrentHashMap<>();
+    private final NavigableSet<PlayerRating> ranking = new ConcurrentSkipListSet<>(RANK_ORDER);
+    private final LongAdder[] playersPerRating = new LongAdder[MAX_RATING + 2];
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    public RatingServiceImpl() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        for (int i = 0; i < playersPerRating.length; i++) {
+            playersPerRating[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Updates the Elo ratings of both players of a finished game.
+     * Both expected scores are computed from the ratings before the game.
+     *
+     * @param playerX The player who played X
+     * @param playerO The player who played O
+     * @param winner  The winner, or {@link Player#EMPTY} for a draw
+     */
+    public void recordResult(String playerX, String playerO, Player winner) {
+        int ratingX = getRating(playerX);
+        int ratingO = getRating(playerO);
+        double scoreX = winner == Player.X ? 1.0 : winner == Player.O ? 0.0 : 0.5;
+        update(playerX, ratingO, scoreX);
+        update(playerO, ratingX, 1.0 - scoreX);
+    }
+
+    public int getRating(String playerId) {
+        PlayerRating rating = ratings.get(playerId);
+        return rating == null ? INITIAL_RATING : rating.rating();
+    }
+
+    /**
+     * Returns the highest rated players by walking the head of the skip list.
+     *
+     * @param limit The maximum number of players to return
+     * @return The players in rank order
+     */
+    public List<LeaderboardEntry> getTopPlayers(int limit) {
+        List<LeaderboardEntry> top = new ArrayList<>(Math.min(limit, 1024));
+        for (PlayerRating rating : ranking) {
+            if (top.size() >= limit) {
+                break;
+            }
+            top.add(toEntry(rating));
+        }
+        return top;
+    }
+
+    public LeaderboardEntry getEntry(String playerId) {
+        PlayerRating rating = ratings.get(playerId);
+        if (rating == null) {
+            throw new IllegalArgumentException(String.format(PLAYER_NOT_FOUND_MESSAGE, playerId));
+        }
+        return toEntry(rating);
+    }
+
+    private void update(String playerId, int opponentRating, double score) {
+        ReentrantLock lock = stripes[(playerId.hashCode() & 0x7FFFFFFF) % STRIPES];
+        lock.lock();
+        try {
+            PlayerRating current = ratings.get(playerId);
+            int rating = current == null ? INITIAL_RATING : current.rating();
+            int games = current == null ? 0 : current.games();
+            double expected = 1.0 / (1.0 + Math.pow(10, (opponentRating - rating) / 400.0));
+            int updatedRating = Math.max(0, Math.min(MAX_RATING, (int) Math.round(rating + K_FACTOR * (score - expected))));
+            PlayerRating updated = new PlayerRating(playerId, updatedRating, games + 1);
+
+            ratings.put(playerId, updated);
+            if (current != null) {
+                ranking.remove(current);
+                addPlayers(current.rating(), -1);
+            }
+            ranking.add(updated);
+            addPlayers(updatedRating, 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private LeaderboardEntry toEntry(PlayerRating rating) {
+        return new LeaderboardEntry(playersRatedAbove(rating.rating()) + 1, rating.playerId(), rating.rating(),
+            rating.games());
+    }
+
+    /**
+     * Adds to the number of players with a rating in the Fenwick tree.
+     */
+    private void addPlayers(int rating, long delta) {
+        for (int i = rating + 1; i < playersPerRating.length; i += i & -i) {
+            playersPerRating[i].add(delta);
+        }
+    }
+
+    /**
+     * Counts the players rated strictly above a rating with two Fenwick prefix sums.
+     */
+    private long playersRatedAbove(int rating) {
+        return playersRatedUpTo(MAX_RATING) - playersRatedUpTo(rating);
+    }
+
+    private long playersRatedUpTo(int rating) {
+        long count = 0;
+        for (int i = rating + 1; i > 0; i -= i & -i) {
+            count += playersPerRating[i].sum();
+        }
+        return count;
+    }
+
+    private record PlayerRating(String playerId, int rating, int games) {
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.tictactoe.service.impl;
+
+import com.example.tictactoe.service.RecordingService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.example.tictactoe.constant.GameConstants.NO_RECORDING_MESSAGE;
+import static com.example.tictactoe.constant.GameConstants.RECORDING_RUNNING_MESSAGE;
+import static com.example.tictactoe.constant.GameConstants.RECORDING_STARTED_MESSAGE;
+import static com.example.tictactoe.constant.GameConstants.RECORDING_STOPPED_MESSAGE;
+
+/**
+ * Implementation of the RecordingService interface.
+ * <p>
+ * At most one recording runs at a time. It keeps at most the configured age and size of data on disk,
+ * so a recording that is never stopped does not fill the disk. The profile is read once at startup,
+ * so a broken profile fails the start of the application rather than the first recording.
+ */
+@Service
+public class RecordingServiceImpl implements RecordingService {
+    private static final Logger logger = LoggerFactory.getLogger(RecordingServiceImpl.class);
+    private static final String RECORDING_NAME = "tictactoe";
+
+    @Value("${recording.profile:jfr/tictactoe.jfc}")
+    private String profile;
+
+    @Value("${recording.max-age-ms:900000}")
+    private long maxAgeMillis;
+
+    @Value("${recording.max-size-bytes:104857600}")
+    private long maxSizeBytes;
+
+    private final AtomicReference<Recording> recording = new AtomicReference<>();
+    private Configuration configuration;
+
+    @PostConstruct
+    public void init() {
+        try (Reader reader = new InputStreamReader(new ClassPathResource(profile).getInputStream(),
+            StandardCharsets.UTF_8)) {
+            configuration = Configuration.create(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Invalid flight recorder profile " + profile, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Recording running = recording.getAndSet(null);
+        if (running != null) {
+            running.close();
+        }
+    }
+
+    public void start() {
+        Recording started = new Recording(configuration);
+        started.setName(RECORDING_NAME);
+        started.setToDisk(true);
+        started.setMaxAge(Duration.ofMillis(maxAgeMillis));
+        started.setMaxSize(maxSizeBytes);
+        if (!recording.compareAndSet(null, started)) {
+            started.close();
+            throw new IllegalStateException(RECORDING_RUNNING_MESSAGE);
+        }
+        started.start();
+        logger.info(RECORDING_STARTED_MESSAGE, profile);
+    }
+
+    public Path stop() throws IOException {
+        Recording running = recording.getAndSet(null);
+        if (running == null) {
+            throw new IllegalStateException(NO_RECORDING_MESSAGE);
+        }
+        try {
+            running.stop();
+            logger.info(RECORDING_STOPPED_MESSAGE, Duration.between(running.getStartTime(), running.getStopTime())
+                .toMillis());
+            return dumpTo(running);
+        } finally {
+            running.close();
+        }
+    }
+
+    public Path dump() throws IOException {
+        Recording running = recording.get();
+        if (running == null) {
+            throw new IllegalStateException(NO_RECORDING_MESSAGE);
+        }
+        return dumpTo(running);
+    }
+
+    public boolean isRecording() {
+        return recording.get() != null;
+    }
+
+    private static Path dumpTo(Recording source) throws IOException {
+        Path file = Files.createTempFile(RECORDING_NAME + "-", ".jfr");
+        try {
+            source.dump(file);
+            return file;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+}
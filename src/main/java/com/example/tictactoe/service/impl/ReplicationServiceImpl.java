@@ -0,0 +1,114 @@
+package com.example.tictactoe.service.impl;
+
+import com.example.tictactoe.model.ReplicationBatch;
+import com.example.tictactoe.model.ReplicationStatus;
+import com.example.tictactoe.service.ReplicationService;
+import com.example.tictactoe.service.TicTacToeService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import static com.example.tictactoe.constant.GameConstants.OTHER_INSTANCE_BASE_URL_FORMAT;
+import static com.example.tictactoe.constant.GameConstants.REPLICATION_FAILED_MESSAGE;
+import static com.example.tictactoe.constant.GameConstants.REPLICATION_STREAM_PATH;
+
+/**
+ * Implementation of the ReplicationService interface.
+ * <p>
+ * A batch is sent every {@code replication.interval-ms}, and then again at once for as long as
+ * batches come out full. A batch the peer does not answer is kept and sent again before anything
+ * newer, so the peer sees the stream in order; changes made meanwhile collect in the changed set and
+ * are sent once the peer is back. The peer ignores a batch it has applied already, so a retry after a
+ * lost answer is harmless.
+ */
+@Service
+public class ReplicationServiceImpl implements ReplicationService {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicationServiceImpl.class);
+
+    @Autowired
+    private TicTacToeService ticTacToeService;
+    @Autowired
+    private RestTemplate restTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${replication.enabled:true}")
+    private boolean enabled;
+
+    @Value("${replication.batch-size:10000}")
+    private int batchSize;
+
+    @Value("${replication.target-url:}")
+    private String targetUrl;
+
+    @Value("${replication.source-url:}")
+    private String sourceUrl;
+
+    @Value("${other.instance.port}")
+    private int otherInstancePort;
+
+    @Value("${server.port}")
+    private int currentPort;
+
+    private ReplicationBatch unsent;
+
+    /**
+     * Resolves the URLs of both ends of the stream and registers the gauges for the copies received here.
+     */
+    @PostConstruct
+    public void init() {
+        if (targetUrl == null || targetUrl.isBlank()) {
+            targetUrl = String.format(OTHER_INSTANCE_BASE_URL_FORMAT, otherInstancePort);
+        }
+        if (sourceUrl == null || sourceUrl.isBlank()) {
+            sourceUrl = String.format(OTHER_INSTANCE_BASE_URL_FORMAT, currentPort);
+        }
+        Gauge.builder("replication.replicas", ticTacToeService,
+                service -> service.getReplicationStatus().replicas())
+            .description("Games owned by other instances and copied here")
+            .register(meterRegistry);
+        Gauge.builder("replication.staleness", ticTacToeService, ReplicationServiceImpl::maxStaleness)
+            .description("How long ago the least recent copies here were known to be current")
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${replication.interval-ms:50}")
+    public synchronized void replicate() {
+        if (!enabled) {
+            return;
+        }
+        boolean full;
+        do {
+            ReplicationBatch batch = unsent != null
+                ? unsent
+                : ticTacToeService.nextReplicationBatch(sourceUrl, batchSize);
+            try {
+                restTemplate.postForEntity(targetUrl + REPLICATION_STREAM_PATH, batch, Void.class);
+            } catch (RestClientException e) {
+                if (unsent == null) {
+                    logger.warn(REPLICATION_FAILED_MESSAGE, targetUrl, e.getMessage());
+                }
+                unsent = batch;
+                return;
+            }
+            unsent = null;
+            full = batch.gameIds().length == batchSize;
+        } while (full);
+    }
+
+    private static double maxStaleness(TicTacToeService service) {
+        return service.getReplicationStatus().sources().stream()
+            .mapToLong(ReplicationStatus.Source::stalenessMillis)
+            .max()
+            .orElse(0);
+    }
+}
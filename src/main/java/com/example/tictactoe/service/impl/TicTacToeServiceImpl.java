@@ -1,22 +1,58 @@
 package com.example.tictactoe.service.impl;
 
+import com.example.tictactoe.exception.GameMovedException;
+import com.example.tictactoe.exception.InvalidSeatTokenException;
+import com.example.tictactoe.exception.VersionConflictException;
+import com.example.tictactoe.jfr.MoveValidationEvent;
+import com.example.tictactoe.jfr.ReconciliationEvent;
+import com.example.tictactoe.jfr.StateCommitEvent;
+import com.example.tictactoe.jfr.SyncFetchEvent;
+import com.example.tictactoe.jfr.SyncPushEvent;
 import com.example.tictactoe.model.Cell;
+import com.example.tictactoe.model.MigratedGame;
+import com.example.tictactoe.model.ReplicationBatch;
+import com.example.tictactoe.model.ReplicationStatus;
+import com.example.tictactoe.service.GameStatsService;
+import com.example.tictactoe.service.RatingService;
 import com.example.tictactoe.service.TicTacToeService;
+import com.example.tictactoe.store.GameArchive;
+import com.example.tictactoe.store.GameStore;
+import com.example.tictactoe.store.SeatRegistry;
+import com.example.tictactoe.util.EncodedStateCache;
 import com.example.tictactoe.util.GameState;
+import com.example.tictactoe.util.IdempotencyCache;
+import com.example.tictactoe.util.MoveHistory;
 import com.example.tictactoe.model.Player;
+import com.example.tictactoe.util.PackedGameState;
+import com.example.tictactoe.util.ReplicaStore;
+import com.example.tictactoe.util.SeatTokens;
+import com.example.tictactoe.util.TimingWheel;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
 import lombok.Getter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongUnaryOperator;
 
 import static com.example.tictactoe.constant.GameConstants.*;
 
@@ -28,6 +64,18 @@ import static com.example.tictactoe.constant.GameConstants.*;
 @Getter
 public class TicTacToeServiceImpl implements TicTacToeService {
     private static final Logger logger = LoggerFactory.getLogger(TicTacToeServiceImpl.class);
+    private static final String MOVE_OPERATION = "move";
+    private static final String UNDO_OPERATION = "undo";
+    private static final long FENCE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long NEW_GAME = PackedGameState.initial(Player.X, 0);
+    private static final LongUnaryOperator RESET_GAME =
+        packed -> PackedGameState.initial(Player.X, PackedGameState.version(packed) + 1);
+    // A created game's ID is the incarnation of the instance that created it, its port and a sequence number
+    private static final int INCARNATION_SHIFT = 48;
+    private static final long INCARNATION_MASK = (1L << 15) - 1;
+    private static final long INCARNATION_TICK_MILLIS = 4000;
+    private static final int PORT_SHIFT = 32;
+    private static final int PORT_MASK = 0xFFFF;
 
     @Value("${other.instance.port}")
     private int otherInstancePort;
@@ -36,47 +84,413 @@ public class TicTacToeServiceImpl implements TicTacToeService {
     private int currentPort;
 
     private Player assignedPlayer;
-    private final AtomicReference<GameState> gameState = new AtomicReference<>();
+    @Autowired
+    private GameStore gameStore;
+    @Autowired
+    private SeatRegistry seatRegistry;
+    @Autowired
+    private GameArchive gameArchive;
+    @Autowired
+    private SeatTokens seatTokens;
+    @Autowired
+    private RatingService ratingService;
+    @Autowired
+    private GameStatsService gameStatsService;
     @Autowired
     private RestTemplate restTemplate;
+    @Autowired
+    private TimingWheel timingWheel;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${game.clock.budget-ms:0}")
+    private long clockBudgetMillis;
+
+    @Value("${game.idle-timeout-ms:1800000}")
+    private long idleTimeoutMillis;
+
+    private GameClocks gameClocks;
+
+    @Value("${move.idempotency.capacity:0}")
+    private int idempotencyCapacity;
+
+    @Value("${move.idempotency.ttl-ms:0}")
+    private long idempotencyTtlMillis;
+
+    private IdempotencyCache<GameState> moveOutcomes;
+
+    private EncodedStateCache encodedStates;
+
+    @Value("${migration.forward-ttl-ms:0}")
+    private long forwardTtlMillis;
+
+    @Value("${migration.fence-wait-ms:0}")
+    private long fenceWaitMillis;
+
+    /**
+     * Base URLs of the instances that games were migrated to, kept to redirect their players.
+     * An entry is added before a game is fenced and stays after it is removed from the store.
+     */
+    private final ConcurrentMap<Long, String> movedGames = new ConcurrentHashMap<>();
+
+    @Value("${replication.enabled:true}")
+    private boolean replicationEnabled;
+
+    /**
+     * Games changed since they were last sent on the replication stream. A game that changes many
+     * times between two batches is sent once, with its latest state.
+     */
+    private final Set<Long> changedGames = ConcurrentHashMap.newKeySet();
+
+    /**
+     * When this instance started; the epoch of its replication stream and the source of the incarnation
+     * in the IDs of the games it creates.
+     */
+    private long startedAt = System.currentTimeMillis();
+
+    private final AtomicLong replicationSequence = new AtomicLong();
+
+    private volatile long replicatedAsOf;
+
+    /**
+     * Copies of games owned by other instances, for reads that accept a bounded staleness.
+     */
+    private final ReplicaStore replicas = new ReplicaStore();
+
+    /**
+     * Sequence for created games; IDs are prefixed with the port so both instances can create games.
+     */
+    private final AtomicLong gameSequence = new AtomicLong();
+
+    /**
+     * The high bits of the IDs of games created here. The sequence starts over after a restart, so the
+     * prefix also holds the start time in units of {@value #INCARNATION_TICK_MILLIS} ms, modulo 2^15: IDs
+     * handed out before a restart, and the seat tokens signed for them, never name a game created after
+     * it, unless the two starts are less than four seconds or more than 36 hours apart.
+     */
+    private long gameIdPrefix;
 
     /**
      * Initializes the service after construction.
-     * Assigns the player based on the current port and resets the game.
+     * Assigns the player based on the current port, sets up the game clocks and resets the game.
      */
     @PostConstruct
     public void init() {
         assignedPlayer = (currentPort == 8082) ? Player.X : Player.O;
+        gameIdPrefix = (startedAt / INCARNATION_TICK_MILLIS & INCARNATION_MASK) << INCARNATION_SHIFT
+            | (long) currentPort << PORT_SHIFT;
+        gameClocks = new GameClocks(timingWheel, clockBudgetMillis, idleTimeoutMillis, gameStore::getLastActivity,
+            this::forfeitOnTime, this::expireIdleGame);
+        moveOutcomes = new IdempotencyCache<>(idempotencyCapacity, idempotencyTtlMillis);
+        encodedStates = new EncodedStateCache(objectMapper);
         resetGame();
         logger.info(INIT_MESSAGE, currentPort, assignedPlayer);
     }
 
     /**
-     * Resets the game state to its initial condition.
+     * Resets the game state to its initial condition. A reset is a new version, like a move, so
+     * versions never repeat and a client holding a version from before the reset gets a conflict.
      */
     public void resetGame() {
-        gameState.set(new GameState(Player.X));
-        logger.info(GAME_INIT_MESSAGE, gameState.get().getCurrentPlayer());
+        long version = 0;
+        if (!gameStore.create(DEFAULT_GAME_ID, NEW_GAME)) {
+            version = PackedGameState.version(updateGame(DEFAULT_GAME_ID, RESET_GAME));
+            gameStore.setStartedAt(DEFAULT_GAME_ID, System.currentTimeMillis());
+        }
+        gameClocks.start(DEFAULT_GAME_ID, Player.X, version);
+        logger.info(GAME_INIT_MESSAGE, Player.X);
+    }
+
+    /**
+     * Creates a new game with X to move.
+     *
+     * @return The ID of the game
+     */
+    public long createGame() {
+        long gameId = gameIdPrefix | gameSequence.incrementAndGet();
+        replicationChanged(gameId);
+        gameStore.create(gameId, NEW_GAME);
+        replicationChanged(gameId);
+        gameClocks.start(gameId, Player.X, 0);
+        gameClocks.expireWhenIdle(gameId);
+        logger.debug(GAME_CREATED_MESSAGE, gameId);
+        return gameId;
+    }
+
+    /**
+     * Creates games with X to move in one batch. The IDs are reserved with a single update of the
+     * sequence and the games are written to the store together, which draws their records from the
+     * store's pool; the clocks are then started game by game.
+     *
+     * @param count The number of games to create
+     * @return The IDs of the games, in a consecutive range
+     * @throws IllegalStateException if the game store cannot take all of the games
+     */
+    public long[] createGames(int count) {
+        long first = gameSequence.getAndAdd(count) + 1;
+        long[] gameIds = new long[count];
+        for (int i = 0; i < count; i++) {
+            gameIds[i] = gameIdPrefix | (first + i);
+            replicationChanged(gameIds[i]);
+        }
+        gameStore.createAll(gameIds, NEW_GAME);
+        for (long gameId : gameIds) {
+            replicationChanged(gameId);
+            gameClocks.start(gameId, Player.X, 0);
+            gameClocks.expireWhenIdle(gameId);
+        }
+        logger.debug(GAMES_CREATED_MESSAGE, count);
+        return gameIds;
     }
 
     /**
-     * Makes a move in the game.
+     * Resets created games to an empty board with X to move. Each reset is a new version, so clients
+     * polling a game see it and moves sent against the old board conflict on their expected version.
+     * The default game is left to {@link #resetGame()}, and games that are missing, migrated or being
+     * migrated are skipped.
+     *
+     * @param gameIds The IDs of the games
+     * @return The number of games reset
+     */
+    public int resetGames(long[] gameIds) {
+        int reset = 0;
+        for (long gameId : gameIds) {
+            if (gameId == DEFAULT_GAME_ID) {
+                continue;
+            }
+            long updated;
+            try {
+                updated = updateGame(gameId, RESET_GAME);
+            } catch (IllegalArgumentException | GameMovedException e) {
+                continue;
+            }
+            gameStore.setStartedAt(gameId, System.currentTimeMillis());
+            gameClocks.start(gameId, Player.X, PackedGameState.version(updated));
+            reset++;
+        }
+        logger.debug(GAMES_RESET_MESSAGE, reset);
+        return reset;
+    }
+
+    /**
+     * Makes a move in the game without an idempotency key or version check.
      *
      * @param cell The cell where the move is to be made
      * @throws IllegalStateException if it's not the player's turn
      */
-    public synchronized void makeMove(Cell cell) {
-        GameState currentState = gameState.get();
-        if (currentState.getCurrentPlayer() != assignedPlayer) {
-            logger.warn(MOVE_OUT_OF_TURN_MESSAGE, currentState.getCurrentPlayer(), assignedPlayer);
-            throw new IllegalStateException(NOT_YOUR_TURN_MESSAGE);
+    public void makeMove(Cell cell) {
+        makeMove(cell, null, null);
+    }
+
+    /**
+     * Makes a move in the game, at most once per idempotency key.
+     * Outcomes are recorded in a bounded, time-evicting cache, so a retried request is answered
+     * from the cache and a concurrent duplicate waits for the original instead of racing it.
+     *
+     * @param cell            The cell where the move is to be made
+     * @param idempotencyKey  A client chosen key identifying the request, or {@code null}
+     * @param expectedVersion The version the client last saw, or {@code null} to skip the check
+     * @return The game state right after the move
+     * @throws VersionConflictException if the game is not at the expected version
+     * @throws IllegalStateException    if it's not the player's turn
+     */
+    public GameState makeMove(Cell cell, String idempotencyKey, Long expectedVersion) {
+        String key = outcomeKey(DEFAULT_GAME_ID, assignedPlayer, MOVE_OPERATION, idempotencyKey);
+        return moveOutcomes.computeIfAbsent(key,
+            () -> applyMove(DEFAULT_GAME_ID, assignedPlayer, cell, expectedVersion));
+    }
+
+    /**
+     * Makes a move in a created game on behalf of the holder of a seat token, at most once per idempotency key.
+     * The token names the game and seat and is verified against the shared secret, so any instance can
+     * authorize the move without a lookup.
+     *
+     * @param seatToken       The seat token issued when the game was created
+     * @param cell            The cell where the move is to be made
+     * @param idempotencyKey  A client chosen key identifying the request, or {@code null}
+     * @param expectedVersion The version the client last saw, or {@code null} to skip the check
+     * @return The game state right after the move
+     * @throws InvalidSeatTokenException if the token is malformed, forged or expired
+     * @throws VersionConflictException  if the game is not at the expected version
+     * @throws IllegalStateException     if it's not the seat's turn
+     */
+    public GameState makeMove(String seatToken, Cell cell, String idempotencyKey, Long expectedVersion) {
+        long verified = seatTokens.verify(seatToken);
+        if (verified == SeatTokens.INVALID) {
+            throw new InvalidSeatTokenException();
+        }
+        long gameId = SeatTokens.gameId(verified);
+        Player seat = SeatTokens.seat(verified);
+        return moveOutcomes.computeIfAbsent(outcomeKey(gameId, seat, MOVE_OPERATION, idempotencyKey),
+            () -> applyMove(gameId, seat, cell, expectedVersion));
+    }
+
+    /**
+     * Takes back the last move of the default game, at most once per idempotency key.
+     *
+     * @param idempotencyKey  A client chosen key identifying the request, or {@code null}
+     * @param expectedVersion The version the client last saw, or {@code null} to skip the check
+     * @return The game state right after the undo
+     * @throws VersionConflictException if the game is not at the expected version
+     * @throws IllegalStateException    if the game is over, no move was made or the last move was the opponent's
+     */
+    public GameState undoMove(String idempotencyKey, Long expectedVersion) {
+        String key = outcomeKey(DEFAULT_GAME_ID, assignedPlayer, UNDO_OPERATION, idempotencyKey);
+        return moveOutcomes.computeIfAbsent(key, () -> applyUndo(DEFAULT_GAME_ID, assignedPlayer, expectedVersion));
+    }
+
+    /**
+     * Takes back the last move of a created game on behalf of the holder of a seat token, at most once
+     * per idempotency key.
+     *
+     * @param seatToken       The seat token issued when the game was created
+     * @param idempotencyKey  A client chosen key identifying the request, or {@code null}
+     * @param expectedVersion The version the client last saw, or {@code null} to skip the check
+     * @return The game state right after the undo
+     * @throws InvalidSeatTokenException if the token is malformed, forged or expired
+     * @throws VersionConflictException  if the game is not at the expected version
+     * @throws IllegalStateException     if the game is over, no move was made or the last move was the opponent's
+     */
+    public GameState undoMove(String seatToken, String idempotencyKey, Long expectedVersion) {
+        long verified = seatTokens.verify(seatToken);
+        if (verified == SeatTokens.INVALID) {
+            throw new InvalidSeatTokenException();
+        }
+        long gameId = SeatTokens.gameId(verified);
+        Player seat = SeatTokens.seat(verified);
+        return moveOutcomes.computeIfAbsent(outcomeKey(gameId, seat, UNDO_OPERATION, idempotencyKey),
+            () -> applyUndo(gameId, seat, expectedVersion));
+    }
+
+    private static String outcomeKey(long gameId, Player seat, String operation, String idempotencyKey) {
+        return idempotencyKey == null ? null : gameId + ":" + seat + ":" + operation + ":" + idempotencyKey;
+    }
+
+    /**
+     * Applies a move to the game.
+     * The game is a packed move history and version, so a move is computed from that word alone and applied with a
+     * compare-and-set; no monitor is held while the peer is contacted and virtual threads are never pinned.
+     *
+     * Only the default game is replicated to the other instance; created games live on the instance that created them.
+     *
+     * @param gameId          The ID of the game
+     * @param seat            The seat of the player making the move
+     * @param cell            The cell where the move is to be made
+     * @param expectedVersion The version the client last saw, or {@code null} to skip the check
+     * @return The game state right after the move
+     */
+    private GameState applyMove(long gameId, Player seat, Cell cell, Long expectedVersion) {
+        Validation validation = new Validation();
+        long updated = updateGameAfterMigration(gameId, packed -> validation.run(packed, current -> {
+            if (expectedVersion != null && PackedGameState.version(current) != expectedVersion) {
+                throw new VersionConflictException(expectedVersion, PackedGameState.version(current));
+            }
+            if (PackedGameState.position(current).getCurrentPlayer() != seat) {
+                throw new IllegalStateException(NOT_YOUR_TURN_MESSAGE);
+            }
+            return PackedGameState.move(current, cell);
+        }));
+        commitValidation(validation, gameId, MOVE_OPERATION, seat, cell);
+        if (validation.rejection != null) {
+            Player toMove = PackedGameState.position(validation.packed).getCurrentPlayer();
+            if (validation.rejection instanceof IllegalStateException && toMove != seat) {
+                logger.warn(MOVE_OUT_OF_TURN_MESSAGE, toMove, seat);
+            }
+            throw validation.rejection;
+        }
+        Player nextPlayer = PackedGameState.position(updated).getCurrentPlayer();
+        gameClocks.turnStarted(gameId, nextPlayer, PackedGameState.version(updated),
+            PackedGameState.isGameOver(updated));
+        logger.info(MOVE_MADE_MESSAGE, cell, seat, nextPlayer);
+        if (PackedGameState.isGameOver(updated)) {
+            gameFinished(gameId, updated);
+        }
+        if (gameId == DEFAULT_GAME_ID) {
+            syncState();
         }
+        return PackedGameState.toGameState(updated);
+    }
+
 
-        currentState.makeMove(cell);
-        logger.info(MOVE_MADE_MESSAGE, cell, assignedPlayer, currentState.getCurrentPlayer());
-        syncState();
+    /**
+     * Takes back the last move of a game, which must have been made by the given seat.
+     * The move history is part of the packed state, so undoing is a truncation of that word and
+     * no earlier board has to be stored.
+     *
+     * @param gameId          The ID of the game
+     * @param seat            The seat of the player undoing their move
+     * @param expectedVersion The version the client last saw, or {@code null} to skip the check
+     * @return The game state right after the undo
+     */
+    private GameState applyUndo(long gameId, Player seat, Long expectedVersion) {
+        Validation validation = new Validation();
+        long updated = updateGameAfterMigration(gameId, packed -> validation.run(packed, current -> {
+            if (expectedVersion != null && PackedGameState.version(current) != expectedVersion) {
+                throw new VersionConflictException(expectedVersion, PackedGameState.version(current));
+            }
+            long undone = PackedGameState.undo(current);
+            if (PackedGameState.position(current).getLastPlayer() != seat) {
+                throw new IllegalStateException(NOT_YOUR_MOVE_TO_UNDO_MESSAGE);
+            }
+            return undone;
+        }));
+        commitValidation(validation, gameId, UNDO_OPERATION, seat, null);
+        if (validation.rejection != null) {
+            throw validation.rejection;
+        }
+        gameClocks.turnStarted(gameId, seat, PackedGameState.version(updated), false);
+        logger.info(MOVE_UNDONE_MESSAGE, seat, gameId);
+        if (gameId == DEFAULT_GAME_ID) {
+            syncState();
+        }
+        return PackedGameState.toGameState(updated);
     }
 
+    /**
+     * Records the last validation of an update as an event; its fields are only filled in when the
+     * recording keeps it. Nothing is recorded if the update failed before validating, for example
+     * because the game does not exist.
+     */
+    private static void commitValidation(Validation validation, long gameId, String operation, Player seat,
+                                         Cell cell) {
+        MoveValidationEvent event = validation.event;
+        if (event != null && event.shouldCommit()) {
+            event.gameId = gameId;
+            event.version = PackedGameState.version(validation.packed);
+            event.operation = operation;
+            event.seat = seat.name();
+            event.cell = cell == null ? null : cell.name();
+            event.rejection = validation.rejection == null ? null : validation.rejection.getMessage();
+            event.commit();
+        }
+    }
+
+    /**
+     * The last validation of a move or undo inside the compare-and-set loop. The loop validates again
+     * after losing a race, so a rejection is returned as the unchanged state rather than thrown, and the
+     * event is committed and the rejection logged and thrown once, after the loop.
+     */
+    private static final class Validation {
+        private MoveValidationEvent event;
+        private long packed;
+        private RuntimeException rejection;
+
+        private long run(long packed, LongUnaryOperator check) {
+            MoveValidationEvent attempt = new MoveValidationEvent();
+            attempt.begin();
+            this.packed = packed;
+            try {
+                rejection = null;
+                return check.applyAsLong(packed);
+            } catch (RuntimeException e) {
+                rejection = e;
+                return packed;
+            } finally {
+                attempt.end();
+                event = attempt;
+            }
+        }
+    }
 
     /**
      * Synchronizes the game state with the other instance.
@@ -85,12 +499,22 @@ public class TicTacToeServiceImpl implements TicTacToeService {
     @Scheduled(fixedRateString = "${sync.interval.milliseconds:5000}")
     public void syncState() {
         final String otherInstanceUrl = String.format(OTHER_INSTANCE_URL_FORMAT, otherInstancePort);
+        SyncFetchEvent fetch = new SyncFetchEvent();
+        fetch.begin();
+        ResponseEntity<GameState> response;
+        try {
+            response = restTemplate.getForEntity(otherInstanceUrl, GameState.class);
+        } catch (RestClientException e) {
+            commitSyncFetch(fetch, otherInstanceUrl, null, e);
+            logger.error(SYNC_ERROR_MESSAGE, e);
+            return;
+        }
+        commitSyncFetch(fetch, otherInstanceUrl, response.getBody(), null);
         try {
-            ResponseEntity<GameState> response = restTemplate.getForEntity(otherInstanceUrl, GameState.class);
             if (response.getBody() != null) {
                 handleStateSynchronization(response.getBody(), otherInstanceUrl);
             }
-        } catch (RestClientException e) {
+        } catch (RestClientException | IllegalArgumentException e) {
             logger.error(SYNC_ERROR_MESSAGE, e);
         }
     }
@@ -102,29 +526,95 @@ public class TicTacToeServiceImpl implements TicTacToeService {
      * @param otherInstanceUrl The URL of the other instance
      */
     private void handleStateSynchronization(GameState otherState, String otherInstanceUrl) {
-        gameState.updateAndGet(currentState -> {
-            if (otherState.getVersion() > currentState.getVersion()) {
-                logger.info(NEWER_STATE_RECEIVED_MESSAGE);
-                return new GameState(otherState);
-            } else if (otherState.getVersion() < currentState.getVersion()) {
-                logger.info(LOCAL_STATE_NEWER_MESSAGE);
-                restTemplate.postForEntity(otherInstanceUrl, currentState, Void.class);
-            } else if (!otherState.equals(currentState)) {
-                logger.warn(INCONSISTENT_STATE_MESSAGE);
-            }
-            return currentState;
-        });
+        GameState currentState = getGameState();
+        ReconciliationEvent reconciliation = new ReconciliationEvent();
+        reconciliation.begin();
+        if (otherState.getVersion() > currentState.getVersion()) {
+            logger.info(NEWER_STATE_RECEIVED_MESSAGE);
+            updateGameState(otherState);
+            commitReconciliation(reconciliation, currentState, otherState, ReconciliationEvent.PULL);
+        } else if (otherState.getVersion() < currentState.getVersion()) {
+            logger.info(LOCAL_STATE_NEWER_MESSAGE);
+            commitReconciliation(reconciliation, currentState, otherState, ReconciliationEvent.PUSH);
+            pushState(currentState, otherInstanceUrl);
+        } else if (!otherState.equals(currentState)) {
+            logger.warn(INCONSISTENT_STATE_MESSAGE);
+            commitReconciliation(reconciliation, currentState, otherState, ReconciliationEvent.INCONSISTENT);
+        } else {
+            commitReconciliation(reconciliation, currentState, otherState, ReconciliationEvent.IN_SYNC);
+        }
+    }
+
+    /**
+     * Sends the local state to the other instance. The push carries a seat token for the default game,
+     * which players are never issued, so the other instance's rate limits let it through.
+     */
+    private void pushState(GameState state, String otherInstanceUrl) {
+        SyncPushEvent push = new SyncPushEvent();
+        push.begin();
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(SEAT_TOKEN_HEADER, seatTokens.issue(DEFAULT_GAME_ID, assignedPlayer));
+            restTemplate.postForEntity(otherInstanceUrl, new HttpEntity<>(state, headers), Void.class);
+        } catch (RestClientException e) {
+            push.failure = e.getMessage();
+            throw e;
+        } finally {
+            push.end();
+            if (push.shouldCommit()) {
+                push.gameId = DEFAULT_GAME_ID;
+                push.version = state.getVersion();
+                push.peer = otherInstanceUrl;
+                push.commit();
+            }
+        }
+    }
+
+    private static void commitSyncFetch(SyncFetchEvent event, String peer, GameState received, Exception failure) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.gameId = DEFAULT_GAME_ID;
+            event.version = received == null ? -1 : received.getVersion();
+            event.peer = peer;
+            event.failure = failure == null ? null : failure.getMessage();
+            event.commit();
+        }
+    }
+
+    private static void commitReconciliation(ReconciliationEvent event, GameState local, GameState remote,
+                                             String decision) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.gameId = DEFAULT_GAME_ID;
+            event.localVersion = local.getVersion();
+            event.remoteVersion = remote.getVersion();
+            event.decision = decision;
+            event.commit();
+        }
     }
 
     /**
      * Updates the game state with a new state.
      *
      * @param newState The new game state to update to
+     * @throws IllegalArgumentException if the new state is not a legal position
      */
     public void updateGameState(GameState newState) {
-        gameState.updateAndGet(currentState ->
-            newState.getVersion() > currentState.getVersion() ? new GameState(newState) : currentState
+        long incoming = PackedGameState.of(newState, gameStore.get(DEFAULT_GAME_ID));
+        long updated = updateGame(DEFAULT_GAME_ID, packed ->
+            PackedGameState.version(incoming) > PackedGameState.version(packed) ? incoming : packed
         );
+        if ((updated & GameStore.STATE_MASK) != incoming) {
+            return;
+        }
+        Player toMove = PackedGameState.position(incoming).getCurrentPlayer();
+        if (MoveHistory.ply(PackedGameState.history(incoming)) == 0) {
+            // Reset on the other instance; a finished game has no clocks left to carry over
+            gameClocks.start(DEFAULT_GAME_ID, toMove, PackedGameState.version(incoming));
+        } else {
+            gameClocks.turnStarted(DEFAULT_GAME_ID, toMove, PackedGameState.version(incoming),
+                PackedGameState.isGameOver(incoming));
+        }
     }
 
     /**
@@ -133,6 +623,479 @@ public class TicTacToeServiceImpl implements TicTacToeService {
      * @return A copy of the current game state
      */
     public GameState getGameState() {
-        return new GameState(gameState.get());
+        return getGameState(DEFAULT_GAME_ID);
+    }
+
+    /**
+     * Gets the current state of a game.
+     *
+     * @param gameId The ID of the game
+     * @return A copy of the game state
+     * @throws IllegalArgumentException if the game does not exist
+     */
+    public GameState getGameState(long gameId) {
+        return PackedGameState.toGameState(currentGame(gameId));
+    }
+
+    /**
+     * Gets the state of a game at an earlier version, rebuilt from the move history in its packed state.
+     *
+     * @param gameId  The ID of the game
+     * @param version The version to read
+     * @return The game state at that version
+     * @throws IllegalArgumentException if the game does not exist or the version is not on the current line of play
+     */
+    public GameState getGameState(long gameId, long version) {
+        return PackedGameState.toGameState(PackedGameState.atVersion(currentGame(gameId), version));
+    }
+
+    /**
+     * Gets the current state of the default game as JSON.
+     *
+     * @return The encoded game state, shared between readers of the same version
+     */
+    public byte[] getGameStateJson() {
+        return getGameStateJson(DEFAULT_GAME_ID);
+    }
+
+    /**
+     * Gets the current state of a game as JSON. The encoding is cached until the game changes, so
+     * concurrent readers of a popular game are served the same bytes without serializing again.
+     *
+     * @param gameId The ID of the game
+     * @return The encoded game state, shared between readers of the same version
+     * @throws IllegalArgumentException if the game does not exist
+     */
+    public byte[] getGameStateJson(long gameId) {
+        return encodedStates.json(gameId, currentGame(gameId));
+    }
+
+    /**
+     * Gets the state of a game at an earlier version as JSON. Earlier versions are read rarely and are
+     * encoded on every request.
+     *
+     * @param gameId  The ID of the game
+     * @param version The version to read
+     * @return The encoded game state at that version
+     * @throws IllegalArgumentException if the game does not exist or the version is not on the current line of play
+     */
+    public byte[] getGameStateJson(long gameId, long version) {
+        long packed = currentGame(gameId);
+        if (PackedGameState.version(packed) == version) {
+            return encodedStates.json(gameId, packed);
+        }
+        return encodedStates.encode(PackedGameState.atVersion(packed, version));
+    }
+
+    /**
+     * Gets the current state of a game as JSON, from the copy replicated here if the game is owned by
+     * another instance and the copy meets the bounds. A game owned here is always read fresh. Copies are
+     * encoded on every read rather than cached: the replica store drops them without telling the cache.
+     *
+     * @param gameId             The ID of the game
+     * @param maxStalenessMillis How long ago a copy may have last been known to be current
+     * @param minVersion         The lowest version the caller accepts from a copy
+     * @return The encoded game state; for a game owned here it is shared between readers of the same version
+     * @throws GameMovedException       if the bounds cannot be met here; the location is the owner
+     * @throws IllegalArgumentException if the game is not known here
+     */
+    public byte[] getGameStateJsonWithin(long gameId, long maxStalenessMillis, long minVersion) {
+        long packed = gameStore.get(gameId);
+        if (packed != GameStore.MISSING) {
+            return encodedStates.json(gameId, packed);
+        }
+        packed = replicas.read(gameId, maxStalenessMillis, minVersion);
+        if (packed != GameStore.MISSING) {
+            return encodedStates.encode(packed);
+        }
+        String owner = replicas.owner(gameId);
+        if (owner == null) {
+            owner = movedGames.get(gameId);
+        }
+        int creator = (int) (gameId >>> PORT_SHIFT) & PORT_MASK;
+        if (owner == null && creator != 0 && creator != currentPort) {
+            // Not replicated yet; created games carry the port of the instance that created them
+            owner = String.format(OTHER_INSTANCE_BASE_URL_FORMAT, creator);
+        }
+        if (owner == null) {
+            throw new IllegalArgumentException(String.format(GAME_NOT_FOUND_MESSAGE, gameId));
+        }
+        throw new GameMovedException(gameId, owner);
+    }
+
+    /**
+     * Takes the games changed since the last batch into the next batch of the replication stream.
+     * Each game is taken off the changed set before its state is read, so a change that races the
+     * batch is either in it or leaves the game marked for the next one. The batch only claims to be
+     * current as of its start if it took every game that was marked then; a batch cut short by
+     * {@code maxGames} repeats the time of the last complete one.
+     *
+     * @param source   The base URL peers reach this instance at
+     * @param maxGames The most games in the batch
+     * @return The batch, possibly without games
+     */
+    public ReplicationBatch nextReplicationBatch(String source, int maxGames) {
+        long asOf = System.currentTimeMillis();
+        long[] gameIds = new long[Math.min(maxGames, changedGames.size())];
+        long[] states = new long[gameIds.length];
+        int count = 0;
+        Iterator<Long> changed = changedGames.iterator();
+        while (count < maxGames && changed.hasNext()) {
+            if (count == gameIds.length) {
+                // Games marked since the size was read
+                gameIds = Arrays.copyOf(gameIds, Math.min(maxGames, count * 2 + 16));
+                states = Arrays.copyOf(states, gameIds.length);
+            }
+            long gameId = changed.next();
+            changed.remove();
+            long packed = gameStore.get(gameId);
+            gameIds[count] = gameId;
+            states[count++] = packed == GameStore.MISSING
+                ? GameStore.MISSING
+                : PackedGameState.unfence(packed & GameStore.STATE_MASK);
+        }
+        if (!changed.hasNext()) {
+            replicatedAsOf = asOf;
+        }
+        return new ReplicationBatch(source, startedAt, replicationSequence.incrementAndGet(), replicatedAsOf,
+            Arrays.copyOf(gameIds, count), Arrays.copyOf(states, count));
+    }
+
+    /**
+     * Applies a batch of another instance's replication stream to the copies kept here.
+     *
+     * @param batch The batch
+     * @return {@code true} if the batch was applied, {@code false} if it had been already
+     */
+    public boolean applyReplication(ReplicationBatch batch) {
+        return replicas.apply(batch);
+    }
+
+    /**
+     * Reports the copies kept here and how far behind they are.
+     *
+     * @return The status of the copies
+     */
+    public ReplicationStatus getReplicationStatus() {
+        return replicas.status();
+    }
+
+    /**
+     * Lists the games that can be migrated, skipping the replicated default game and games already fenced.
+     *
+     * @param limit The maximum number of games to list
+     * @return The IDs of the games
+     */
+    public long[] migratableGames(int limit) {
+        long[] gameIds = new long[Math.min(limit, gameStore.size())];
+        int[] count = {0};
+        gameStore.forEach((gameId, state, lastActivity) -> {
+            if (gameId != DEFAULT_GAME_ID && !PackedGameState.isFenced(state) && count[0] < gameIds.length) {
+                gameIds[count[0]++] = gameId;
+            }
+        });
+        return Arrays.copyOf(gameIds, count[0]);
+    }
+
+    /**
+     * Fences games for migration. The forwarding entry is recorded before the fence is set, so an
+     * update that finds a fenced game always knows where to redirect it. The fence is a
+     * compare-and-set like a move, so a move either lands before it and is migrated, or after it
+     * and is redirected; the version handed over is the last one written here.
+     *
+     * @param gameIds  The IDs of the games to fence
+     * @param location The base URL of the instance the games move to
+     * @return The fenced games, ready to be sent
+     */
+    public List<MigratedGame> fenceGames(long[] gameIds, String location) {
+        List<MigratedGame> fenced = new ArrayList<>(gameIds.length);
+        for (long gameId : gameIds) {
+            if (gameId == DEFAULT_GAME_ID) {
+                continue;
+            }
+            String previous = movedGames.put(gameId, location);
+            long packed;
+            do {
+                packed = gameStore.get(gameId);
+            } while (packed != GameStore.MISSING && !PackedGameState.isFenced(packed)
+                && !gameStore.compareAndSet(gameId, packed, PackedGameState.fence(packed)));
+            if (packed == GameStore.MISSING || PackedGameState.isFenced(packed)) {
+                // Removed, or fenced by another migration, which keeps its forwarding entry
+                if (previous == null) {
+                    movedGames.remove(gameId, location);
+                } else {
+                    movedGames.put(gameId, previous);
+                }
+                continue;
+            }
+            fenced.add(new MigratedGame(gameId, packed & GameStore.STATE_MASK, gameStore.getStartedAt(gameId),
+                gameClocks.remaining(gameId, Player.X), gameClocks.remaining(gameId, Player.O),
+                seatRegistry.playerAt(gameId, Player.X), seatRegistry.playerAt(gameId, Player.O)));
+        }
+        return fenced;
+    }
+
+    /**
+     * Removes games that the target instance has accepted and keeps redirecting their players for
+     * {@code migration.forward-ttl-ms}.
+     *
+     * @param games The games returned by {@link #fenceGames}
+     */
+    public void completeMigration(List<MigratedGame> games) {
+        for (MigratedGame game : games) {
+            long gameId = game.gameId();
+            replicationChanged(gameId);
+            gameStore.remove(gameId);
+            replicationChanged(gameId);
+            seatRegistry.remove(gameId);
+            gameClocks.stop(gameId);
+            encodedStates.remove(gameId);
+            if (forwardTtlMillis > 0) {
+                String location = movedGames.get(gameId);
+                timingWheel.schedule(forwardTtlMillis, () -> movedGames.remove(gameId, location));
+            }
+        }
+    }
+
+    /**
+     * Lifts the fence of games that could not be sent. The fence is cleared before the forwarding
+     * entry is dropped, so a fenced game never lacks one.
+     *
+     * @param games The games returned by {@link #fenceGames}
+     */
+    public void abortMigration(List<MigratedGame> games) {
+        for (MigratedGame game : games) {
+            long gameId = game.gameId();
+            long packed;
+            do {
+                packed = gameStore.get(gameId);
+            } while (packed != GameStore.MISSING && PackedGameState.isFenced(packed)
+                && !gameStore.compareAndSet(gameId, packed, PackedGameState.unfence(packed)));
+            movedGames.remove(gameId);
+        }
+    }
+
+    /**
+     * Takes over games migrated from another instance. A copy left here by an earlier migration is
+     * replaced, since the sender fenced the game before sending it and holds no newer version. The
+     * whole batch is checked before any game is written, so a bad state cannot leave it half applied.
+     *
+     * @param games The games to take over
+     * @return The number of games taken over
+     * @throws IllegalArgumentException if a game is the default game or its state is not a valid packed game
+     */
+    public int importGames(List<MigratedGame> games) {
+        for (MigratedGame game : games) {
+            if (game.gameId() == DEFAULT_GAME_ID || !PackedGameState.isValid(game.state())) {
+                throw new IllegalArgumentException(String.format(INVALID_MIGRATED_GAME_MESSAGE, game.gameId()));
+            }
+        }
+        for (MigratedGame game : games) {
+            long gameId = game.gameId();
+            long state = game.state();
+            movedGames.remove(gameId);
+            replicationChanged(gameId);
+            if (!gameStore.create(gameId, state)) {
+                gameStore.remove(gameId);
+                gameStore.create(gameId, state);
+            }
+            gameStore.setStartedAt(gameId, game.startedAt());
+            replicationChanged(gameId);
+            encodedStates.remove(gameId);
+            if (game.playerX() != null && game.playerO() != null) {
+                seatRegistry.register(gameId, game.playerX(), game.playerO());
+            }
+            gameClocks.resume(gameId, PackedGameState.position(state).getCurrentPlayer(),
+                PackedGameState.version(state), PackedGameState.isGameOver(state), game.remainingX(),
+                game.remainingO());
+            gameClocks.expireWhenIdle(gameId);
+        }
+        return games.size();
+    }
+
+    /**
+     * Ends a game on time when the player to move has used up their budget.
+     * Runs on the timing wheel thread; the forfeit only applies if the game has not moved on since
+     * the clock was started, and replication to the other instance is handed off to a virtual thread.
+     *
+     * @param gameId  The ID of the game
+     * @param player  The player whose clock expired
+     * @param version The version of the game when the player's turn started
+     */
+    private void forfeitOnTime(long gameId, Player player, long version) {
+        long updated;
+        try {
+            updated = updateGame(gameId, packed ->
+                PackedGameState.version(packed) == version && !PackedGameState.isGameOver(packed)
+                    ? PackedGameState.forfeit(packed, player)
+                    : packed
+            );
+        } catch (IllegalArgumentException | GameMovedException e) {
+            return;
+        }
+        if (!PackedGameState.isForfeited(updated) || PackedGameState.version(updated) != version + 1) {
+            return;
+        }
+        logger.info(CLOCK_EXPIRED_MESSAGE, player, gameId);
+        gameClocks.turnStarted(gameId, player, version + 1, true);
+        gameFinished(gameId, updated);
+        if (gameId == DEFAULT_GAME_ID) {
+            Thread.startVirtualThread(this::syncState);
+        }
+    }
+
+    /**
+     * Adds a finished game to the statistics and the archive, and rates its players if it was created
+     * by matchmaking; the default game is not rated. Called once per game by the thread whose update
+     * ended it, so a game finished on the other instance and received through synchronization is
+     * recorded there. The seats of the game are released once it is rated; its final state stays
+     * readable until the game expires.
+     *
+     * @param gameId The ID of the game
+     * @param packed The packed final state of the game
+     */
+    private void gameFinished(long gameId, long packed) {
+        gameStatsService.recordGame(packed);
+        if (!gameArchive.append(gameId, gameStore.getStartedAt(gameId), System.currentTimeMillis(),
+            GameArchive.outcome(packed))) {
+            logger.error(ARCHIVE_FULL_MESSAGE, gameId);
+        }
+        if (gameId == DEFAULT_GAME_ID) {
+            return;
+        }
+        String playerX = seatRegistry.playerAt(gameId, Player.X);
+        String playerO = seatRegistry.playerAt(gameId, Player.O);
+        if (playerX != null && playerO != null) {
+            ratingService.recordResult(playerX, playerO, PackedGameState.winner(packed));
+            seatRegistry.remove(gameId);
+        }
+    }
+
+    /**
+     * Removes a created game that has seen no activity for the idle timeout, finished or not.
+     * The default game is never watched, so it is never expired.
+     *
+     * @param gameId The ID of the game
+     */
+    private void expireIdleGame(long gameId) {
+        replicationChanged(gameId);
+        gameStore.remove(gameId);
+        replicationChanged(gameId);
+        seatRegistry.remove(gameId);
+        gameClocks.stop(gameId);
+        encodedStates.remove(gameId);
+        logger.info(IDLE_GAME_REMOVED_MESSAGE, gameId);
+    }
+
+    /**
+     * Marks a game to be sent on the replication stream. The default game is synchronized separately.
+     * Every change marks the game before and after it is written: the mark before means a batch that
+     * starts after the write has the game, so the time the batch claims to be current as of holds, and
+     * the mark after sends the new state if a batch took the first mark and read the game before the write.
+     *
+     * @param gameId The ID of the game
+     */
+    private void replicationChanged(long gameId) {
+        if (replicationEnabled && gameId != DEFAULT_GAME_ID) {
+            changedGames.add(gameId);
+        }
+    }
+
+    /**
+     * Reads the packed state of a game.
+     *
+     * @param gameId The ID of the game
+     * @return The packed state
+     * @throws GameMovedException       if the game was migrated to another instance
+     * @throws IllegalArgumentException if the game does not exist
+     */
+    private long currentGame(long gameId) {
+        long packed = gameStore.get(gameId);
+        if (packed == GameStore.MISSING) {
+            String location = movedGames.get(gameId);
+            if (location != null) {
+                throw new GameMovedException(gameId, location);
+            }
+            throw new IllegalArgumentException(String.format(GAME_NOT_FOUND_MESSAGE, gameId));
+        }
+        return packed;
+    }
+
+    /**
+     * Applies an update for a player. If the game is fenced, the update waits up to
+     * {@code migration.fence-wait-ms} for its batch to settle: an aborted migration lets it proceed
+     * here, and a completed one redirects it to an instance that already holds the game. The wait
+     * parks the request thread, so it is only used on request paths and never on the timing wheel.
+     *
+     * @param gameId The ID of the game
+     * @param update The function computing the new packed state from the current one
+     * @return The packed state after the update
+     * @throws GameMovedException       if the game was migrated or is still fenced after the wait
+     * @throws IllegalArgumentException if the game does not exist
+     */
+    private long updateGameAfterMigration(long gameId, LongUnaryOperator update) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(fenceWaitMillis);
+        while (true) {
+            try {
+                return updateGame(gameId, update);
+            } catch (GameMovedException e) {
+                if (!awaitFenceLifted(gameId, deadline)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private boolean awaitFenceLifted(long gameId, long deadline) {
+        long packed = gameStore.get(gameId);
+        if (packed == GameStore.MISSING) {
+            return false;
+        }
+        while (PackedGameState.isFenced(packed) && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(FENCE_POLL_NANOS);
+            packed = gameStore.get(gameId);
+        }
+        return packed == GameStore.MISSING || !PackedGameState.isFenced(packed);
+    }
+
+    /**
+     * Applies an update to a game with a compare-and-set loop on its packed state.
+     * The update function may run more than once under contention and must not have side effects.
+     *
+     * @param gameId The ID of the game
+     * @param update The function computing the new packed state from the current one
+     * @return The packed state after the update
+     * @throws GameMovedException       if the game is fenced for migration or was migrated
+     * @throws IllegalArgumentException if the game does not exist
+     */
+    private long updateGame(long gameId, LongUnaryOperator update) {
+        StateCommitEvent commit = new StateCommitEvent();
+        commit.begin();
+        int attempts = 0;
+        while (true) {
+            attempts++;
+            long packed = currentGame(gameId);
+            if (PackedGameState.isFenced(packed)) {
+                throw new GameMovedException(gameId, movedGames.get(gameId));
+            }
+            long updated = update.applyAsLong(packed);
+            boolean unchanged = (updated & GameStore.STATE_MASK) == (packed & GameStore.STATE_MASK);
+            if (!unchanged) {
+                replicationChanged(gameId);
+            }
+            if (unchanged || gameStore.compareAndSet(gameId, packed, updated)) {
+                if (!unchanged) {
+                    replicationChanged(gameId);
+                }
+                commit.end();
+                if (commit.shouldCommit()) {
+                    commit.gameId = gameId;
+                    commit.version = PackedGameState.version(updated);
+                    commit.attempts = attempts;
+                    commit.commit();
+                }
+                return updated;
+            }
+        }
     }
 }
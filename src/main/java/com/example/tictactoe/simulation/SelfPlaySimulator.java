@@ -0,0 +1,260 @@
+package com.example.tictactoe.simulation;
+
+import com.example.tictactoe.model.Cell;
+import com.example.tictactoe.model.Player;
+import com.example.tictactoe.util.GameState;
+import com.example.tictactoe.util.PackedGameState;
+import com.example.tictactoe.util.Position;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Plays games in-process against {@link GameState}, without Spring or HTTP, to check the engine
+ * and measure its throughput.
+ * <p>
+ * Games are split into fixed-size batches run on a fork/join pool. Each batch gets its own
+ * {@link SplittableRandom}, split from the seed before the run starts, and keeps its own counters,
+ * which are only combined once the batch is done; threads share no mutable state. The same seed
+ * and batch size therefore give the same games whatever the parallelism.
+ * <p>
+ * After every move the game state is checked against the rules and against the packed state
+ * driven by the same moves, so the two engine paths are also compared.
+ * <p>
+ * Run with {@code ./gradlew simulate -Pgames=1000000 -Px=perfect -Po=random}.
+ */
+public final class SelfPlaySimulator {
+
+    private static final int BATCH_SIZE = 10_000;
+    private static final int MAX_EXAMPLES = 10;
+    private static final int[][] LINES = {
+        {0, 1, 2}, {3, 4, 5}, {6, 7, 8},
+        {0, 3, 6}, {1, 4, 7}, {2, 5, 8},
+        {0, 4, 8}, {2, 4, 6}
+    };
+    private static final Cell[] CELLS = Cell.values();
+
+    private final Strategy strategyX;
+    private final Strategy strategyO;
+    private final int parallelism;
+
+    /**
+     * Creates a simulator.
+     *
+     * @param strategyX   The strategy of X
+     * @param strategyO   The strategy of O
+     * @param parallelism The number of threads to play on
+     */
+    public SelfPlaySimulator(Strategy strategyX, Strategy strategyO, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.strategyX = strategyX;
+        this.strategyO = strategyO;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Plays games, X moving first in even games and O in odd ones.
+     *
+     * @param games The number of games to play
+     * @param seed  The seed of the random generators
+     * @return The report of the run
+     */
+    public SimulationReport run(long games, long seed) {
+        int batches = (int) ((games + BATCH_SIZE - 1) / BATCH_SIZE);
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[batches];
+        for (int batch = 0; batch < batches; batch++) {
+            randoms[batch] = root.split();
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        long start = System.nanoTime();
+        try {
+            Tally total = pool.submit(() -> IntStream.range(0, batches).parallel()
+                .mapToObj(batch -> playBatch((long) batch * BATCH_SIZE,
+                    Math.min(games, (long) (batch + 1) * BATCH_SIZE), randoms[batch]))
+                .reduce(new Tally(), Tally::merge)).join();
+            return new SimulationReport(total.games, total.moves, total.xWins, total.oWins, total.draws,
+                total.violations, List.copyOf(total.examples), System.nanoTime() - start);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private Tally playBatch(long from, long to, SplittableRandom random) {
+        Tally tally = new Tally();
+        for (long game = from; game < to; game++) {
+            playGame(game, game % 2 == 0 ? Player.X : Player.O, random, tally);
+        }
+        return tally;
+    }
+
+    private void playGame(long game, Player first, SplittableRandom random, Tally tally) {
+        GameState state = new GameState(first);
+        long packed = PackedGameState.initial(first, 0);
+        while (!state.isGameOver()) {
+            Position position = Position.of(state.getBoard(), state.getCurrentPlayer());
+            if (position == null) {
+                tally.violation(game, "Unreachable position\n" + state);
+                return;
+            }
+            Strategy strategy = state.getCurrentPlayer() == Player.X ? strategyX : strategyO;
+            Cell cell = strategy.chooseMove(position, random);
+            Player mover = state.getCurrentPlayer();
+            long version = state.getVersion();
+            try {
+                state.makeMove(cell);
+                packed = PackedGameState.move(packed, cell);
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                tally.violation(game, "Move " + cell + " by " + mover + " rejected: " + e.getMessage());
+                return;
+            }
+            tally.moves++;
+            String violation = check(state, mover, version, packed);
+            if (violation != null) {
+                tally.violation(game, violation + "\n" + state);
+                return;
+            }
+        }
+        if (state.getWinner() == Player.X) {
+            tally.xWins++;
+        } else if (state.getWinner() == Player.O) {
+            tally.oWins++;
+        } else {
+            tally.draws++;
+        }
+        tally.games++;
+    }
+
+    /**
+     * Checks a game state right after a move.
+     *
+     * @return A description of the broken invariant, or {@code null}
+     */
+    private static String check(GameState state, Player mover, long previousVersion, long packed) {
+        if (state.getVersion() != previousVersion + 1) {
+            return "Version went from " + previousVersion + " to " + state.getVersion();
+        }
+        if (state.getLastPlayer() != mover) {
+            return "Last player is " + state.getLastPlayer() + " after a move by " + mover;
+        }
+        int x = 0;
+        int o = 0;
+        for (Cell cell : CELLS) {
+            Player player = state.getBoard().get(cell);
+            if (player == Player.X) {
+                x++;
+            } else if (player == Player.O) {
+                o++;
+            }
+        }
+        if (Math.abs(x - o) > 1) {
+            return "Piece counts differ by more than one: X=" + x + " O=" + o;
+        }
+        boolean xLine = hasLine(state, Player.X);
+        boolean oLine = hasLine(state, Player.O);
+        Player expectedWinner = xLine ? Player.X : oLine ? Player.O : Player.EMPTY;
+        if (xLine && oLine) {
+            return "Both players have a line";
+        }
+        if (state.getWinner() != expectedWinner) {
+            return "Winner is " + state.getWinner() + " but the board says " + expectedWinner;
+        }
+        if (state.isGameOver() != (expectedWinner != Player.EMPTY || x + o == CELLS.length)) {
+            return "Game over is " + state.isGameOver() + " with " + (x + o) + " pieces and winner " + expectedWinner;
+        }
+        if (!state.isGameOver() && state.getCurrentPlayer() == mover) {
+            return "Player " + mover + " moves twice";
+        }
+        if (!state.equals(PackedGameState.toGameState(packed))) {
+            return "Packed state differs: " + PackedGameState.toGameState(packed);
+        }
+        return null;
+    }
+
+    private static boolean hasLine(GameState state, Player player) {
+        for (int[] line : LINES) {
+            if (state.getBoard().get(CELLS[line[0]]) == player
+                && state.getBoard().get(CELLS[line[1]]) == player
+                && state.getBoard().get(CELLS[line[2]]) == player) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Runs a simulation from the command line.
+     * Options: {@code --games=N}, {@code --x=random|heuristic|perfect}, {@code --o=...},
+     * {@code --threads=N} and {@code --seed=N}. Exits with status 1 if an invariant was violated.
+     *
+     * @param args The options
+     */
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        long games = Long.parseLong(options.getOrDefault("games", "1000000"));
+        Strategy x = Strategy.valueOf(options.getOrDefault("x", "random").toUpperCase());
+        Strategy o = Strategy.valueOf(options.getOrDefault("o", "random").toUpperCase());
+        int threads = Integer.parseInt(options.getOrDefault("threads",
+            String.valueOf(Runtime.getRuntime().availableProcessors())));
+        long seed = Long.parseLong(options.getOrDefault("seed", String.valueOf(System.nanoTime())));
+
+        System.out.printf("X=%s O=%s threads=%d seed=%d%n", x, o, threads, seed);
+        // A short run first, so the measured run is not dominated by JIT compilation
+        new SelfPlaySimulator(x, o, threads).run(Math.min(games, 100_000), seed);
+        SimulationReport report = new SelfPlaySimulator(x, o, threads).run(games, seed);
+        System.out.println(report);
+        if (report.violations() > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Counters of one batch, merged after the batches finish.
+     */
+    private static final class Tally {
+        private long games;
+        private long moves;
+        private long xWins;
+        private long oWins;
+        private long draws;
+        private long violations;
+        private final List<String> examples = new ArrayList<>();
+
+        private void violation(long game, String description) {
+            violations++;
+            games++;
+            if (examples.size() < MAX_EXAMPLES) {
+                examples.add("game " + game + ": " + description);
+            }
+        }
+
+        private Tally merge(Tally other) {
+            Tally merged = new Tally();
+            merged.games = games + other.games;
+            merged.moves = moves + other.moves;
+            merged.xWins = xWins + other.xWins;
+            merged.oWins = oWins + other.oWins;
+            merged.draws = draws + other.draws;
+            merged.violations = violations + other.violations;
+            merged.examples.addAll(examples);
+            merged.examples.addAll(other.examples.subList(0,
+                Math.min(other.examples.size(), MAX_EXAMPLES - merged.examples.size())));
+            return merged;
+        }
+    }
+}
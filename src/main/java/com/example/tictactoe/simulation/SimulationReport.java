@@ -0,0 +1,45 @@
+package com.example.tictactoe.simulation;
+
+import java.util.List;
+
+/**
+ * The outcome of a self-play run.
+ *
+ * @param games         The number of games played
+ * @param moves         The number of moves played
+ * @param xWins         The number of games won by X
+ * @param oWins         The number of games won by O
+ * @param draws         The number of drawn games
+ * @param violations    The number of moves after which the engine broke an invariant
+ * @param examples      Descriptions of the first few violations
+ * @param elapsedNanos  The wall-clock time of the run
+ */
+public record SimulationReport(long games, long moves, long xWins, long oWins, long draws, long violations,
+                               List<String> examples, long elapsedNanos) {
+
+    public double gamesPerSecond() {
+        return games * 1e9 / Math.max(elapsedNanos, 1);
+    }
+
+    public double movesPerSecond() {
+        return moves * 1e9 / Math.max(elapsedNanos, 1);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("games=%d moves=%d elapsed=%dms games/s=%.0f moves/s=%.0f%n",
+            games, moves, elapsedNanos / 1_000_000, gamesPerSecond(), movesPerSecond()));
+        sb.append(String.format("X wins=%d (%.2f%%) O wins=%d (%.2f%%) draws=%d (%.2f%%)%n",
+            xWins, percent(xWins), oWins, percent(oWins), draws, percent(draws)));
+        sb.append("invariant violations=").append(violations);
+        for (String example : examples) {
+            sb.append(System.lineSeparator()).append("  ").append(example);
+        }
+        return sb.toString();
+    }
+
+    private double percent(long count) {
+        return games == 0 ? 0 : count * 100.0 / games;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.tictactoe.simulation;
+
+import com.example.tictactoe.model.Cell;
+import com.example.tictactoe.model.Player;
+import com.example.tictactoe.util.Position;
+
+import java.util.SplittableRandom;
+
+/**
+ * A way of choosing moves in self-play. Strategies are stateless; all randomness comes from the
+ * generator passed in, so one instance can be shared by every simulation thread.
+ */
+public enum Strategy {
+
+    /**
+     * Plays a uniformly random empty cell.
+     */
+    RANDOM {
+        @Override
+        public Cell chooseMove(Position position, SplittableRandom random) {
+            return randomEmptyCell(position, random);
+        }
+    },
+
+    /**
+     * Wins when it can, otherwise blocks the opponent's win, otherwise prefers the center, then a
+     * corner, then any cell.
+     */
+    HEURISTIC {
+        @Override
+        public Cell chooseMove(Position position, SplittableRandom random) {
+            Player player = position.getCurrentPlayer();
+            Cell move = completingCell(position, player);
+            if (move == null) {
+                move = completingCell(position, player == Player.X ? Player.O : Player.X);
+            }
+            if (move == null && position.getPlayer(Cell.MIDDLE_CENTER) == Player.EMPTY) {
+                move = Cell.MIDDLE_CENTER;
+            }
+            if (move == null) {
+                move = randomEmptyCell(position, random, CORNERS);
+            }
+            return move != null ? move : randomEmptyCell(position, random);
+        }
+    },
+
+    /**
+     * Plays a random move among those with the best game-theoretic value, so it never loses.
+     */
+    PERFECT {
+        @Override
+        public Cell chooseMove(Position position, SplittableRandom random) {
+            int best = Integer.MIN_VALUE;
+            Cell choice = null;
+            int ties = 0;
+            for (Cell cell : CELLS) {
+                if (position.getPlayer(cell) != Player.EMPTY) {
+                    continue;
+                }
+                int value = -Values.VALUES[position.move(cell).getIndex()];
+                if (value > best) {
+                    best = value;
+                    choice = cell;
+                    ties = 1;
+                } else if (value == best && random.nextInt(++ties) == 0) {
+                    choice = cell;
+                }
+            }
+            return choice;
+        }
+    };
+
+    private static final Cell[] CELLS = Cell.values();
+    private static final Cell[] CORNERS = {Cell.TOP_LEFT, Cell.TOP_RIGHT, Cell.BOTTOM_LEFT, Cell.BOTTOM_RIGHT};
+    private static final int[][] LINES = {
+        {0, 1, 2}, {3, 4, 5}, {6, 7, 8},
+        {0, 3, 6}, {1, 4, 7}, {2, 5, 8},
+        {0, 4, 8}, {2, 4, 6}
+    };
+
+    /**
+     * Chooses the next move.
+     *
+     * @param position The position of the game, which is not over
+     * @param random   The generator of the calling thread
+     * @return An empty cell
+     */
+    public abstract Cell chooseMove(Position position, SplittableRandom random);
+
+    private static Cell randomEmptyCell(Position position, SplittableRandom random) {
+        return randomEmptyCell(position, random, CELLS);
+    }
+
+    private static Cell randomEmptyCell(Position position, SplittableRandom random, Cell[] candidates) {
+        Cell choice = null;
+        int seen = 0;
+        for (Cell cell : candidates) {
+            if (position.getPlayer(cell) == Player.EMPTY && random.nextInt(++seen) == 0) {
+                choice = cell;
+            }
+        }
+        return choice;
+    }
+
+    private static Cell completingCell(Position position, Player player) {
+        for (int[] line : LINES) {
+            int owned = 0;
+            Cell empty = null;
+            for (int cell : line) {
+                Player occupant = position.getPlayer(CELLS[cell]);
+                if (occupant == player) {
+                    owned++;
+                } else if (occupant == Player.EMPTY) {
+                    empty = CELLS[cell];
+                }
+            }
+            if (owned == 2 && empty != null) {
+                return empty;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Minimax value of every position for the player to move: 1 for a win, 0 for a draw and -1 for
+     * a loss with best play. Built on first use of the perfect strategy.
+     */
+    private static final class Values {
+        private static final byte[] VALUES = new byte[Position.count()];
+
+        static {
+            // Every move leads to a position with a higher index, so a backward pass sees children first
+            for (int index = Position.count() - 1; index >= 0; index--) {
+                Position position = Position.of(index);
+                if (position.isGameOver()) {
+                    VALUES[index] = (byte) (position.getWinner() == Player.EMPTY ? 0 : -1);
+                    continue;
+                }
+                int best = -1;
+                for (Cell cell : CELLS) {
+                    if (position.getPlayer(cell) == Player.EMPTY) {
+                        best = Math.max(best, -VALUES[position.move(cell).getIndex()]);
+                    }
+                }
+                VALUES[index] = (byte) best;
+            }
+        }
+    }
+}
@@ -0,0 +1,527 @@
+package com.example.tictactoe.store;
+
+import com.example.tictactoe.model.Cell;
+import com.example.tictactoe.model.Player;
+import com.example.tictactoe.util.MoveHistory;
+import com.example.tictactoe.util.PackedGameState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import static com.example.tictactoe.constant.GameConstants.ARCHIVE_ERROR_MESSAGE;
+
+/**
+ * Append-only archive of finished games in segment files.
+ * <p>
+ * Each game is a 32-byte big-endian record: the game ID, the start and end times in epoch
+ * milliseconds, and an outcome word holding the moves as 4-bit cell ordinals in bits 0-35, the
+ * number of moves in bits 36-39, the winner in bits 40-41 (0 draw, 1 X, 2 O), a forfeit flag in
+ * bit 42 and whether O moved first in bit 43. Segments are named {@code games-000001.seg} and a new
+ * one is started when the current one reaches the segment size.
+ * <p>
+ * Appending only copies the record into a bounded ring and never touches the file, so a request
+ * thread or the timing wheel that finishes a game does not wait for the disk. A single writer thread
+ * drains the ring in batches of up to {@value #BATCH_RECORDS} records, each written with one call.
+ * When the writer falls so far behind that the ring is full, further games are dropped rather than
+ * stalling their callers.
+ * <p>
+ * Exports cover the records written when they start and stream them segment by segment, so the
+ * archive is never loaded into memory and appends carry on while an export runs.
+ * <p>
+ * An archive holds an exclusive lock on {@code archive.lock} in its directory while it is open, so a
+ * second instance pointed at the same directory fails to start instead of truncating and overwriting
+ * the segment the first one appends to.
+ */
+public class GameArchive implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(GameArchive.class);
+
+    public static final int RECORD_BYTES = 32;
+
+    private static final int PLY_SHIFT = 36;
+    private static final int WINNER_SHIFT = 40;
+    private static final int FORFEIT_SHIFT = 42;
+    private static final int O_FIRST_SHIFT = 43;
+    private static final int EXPORT_BUFFER_BYTES = 64 * 1024;
+    private static final int BATCH_RECORDS = EXPORT_BUFFER_BYTES / RECORD_BYTES;
+    private static final int RECORD_LONGS = RECORD_BYTES / Long.BYTES;
+    private static final int DEFAULT_QUEUE_RECORDS = 1 << 16;
+    private static final String SEGMENT_PREFIX = "games-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String LOCK_FILE = "archive.lock";
+    private static final Cell[] CELLS = Cell.values();
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final ReentrantLock segmentLock = new ReentrantLock();
+    private final List<Segment> segments = new ArrayList<>();
+    private final FileChannel lockChannel;
+    private FileChannel current;
+    private int nextSegmentNumber = 1;
+
+    private final ReentrantLock queueLock = new ReentrantLock();
+    private final Condition queued = queueLock.newCondition();
+    private final Condition written = queueLock.newCondition();
+    private final long[] ring;
+    private final int ringMask;
+    private final ByteBuffer batch = ByteBuffer.allocateDirect(BATCH_RECORDS * RECORD_BYTES);
+    private final Thread writer;
+    /**
+     * Records appended, taken by the writer, and written or given up on, counted since the archive
+     * opened. Guarded by the queue lock.
+     */
+    private long appended;
+    private long taken;
+    private long done;
+    private long dropped;
+    private boolean closed;
+
+    /**
+     * Opens the archive with room for {@value #DEFAULT_QUEUE_RECORDS} records waiting to be written.
+     *
+     * @param directory    The directory holding the segment files
+     * @param segmentBytes The size at which a new segment is started, rounded down to whole records
+     * @throws UncheckedIOException if the directory cannot be read or the last segment opened
+     * @throws IllegalStateException if another archive has the directory open
+     */
+    public GameArchive(Path directory, long segmentBytes) {
+        this(directory, segmentBytes, DEFAULT_QUEUE_RECORDS);
+    }
+
+    /**
+     * Opens the archive, creating the directory if needed and appending to its last segment, and starts
+     * its writer thread.
+     *
+     * @param directory    The directory holding the segment files
+     * @param segmentBytes The size at which a new segment is started, rounded down to whole records
+     * @param queueRecords The number of records that can wait for the writer, rounded up to a power of two
+     * @throws UncheckedIOException if the directory cannot be read or the last segment opened
+     * @throws IllegalStateException if another archive has the directory open
+     */
+    public GameArchive(Path directory, long segmentBytes, int queueRecords) {
+        if (segmentBytes < RECORD_BYTES) {
+            throw new IllegalArgumentException("Segment size must hold at least one record");
+        }
+        if (queueRecords < 1 || queueRecords > 1 << 24) {
+            throw new IllegalArgumentException("Queue size must be between 1 and " + (1 << 24));
+        }
+        int ringRecords = queueRecords == 1 ? 1 : Integer.highestOneBit(queueRecords - 1) << 1;
+        this.ring = new long[ringRecords * RECORD_LONGS];
+        this.ringMask = ringRecords - 1;
+        this.directory = directory;
+        this.segmentBytes = segmentBytes - segmentBytes % RECORD_BYTES;
+        try {
+            Files.createDirectories(directory);
+            lockChannel = lock(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            try (Stream<Path> files = Files.list(directory)) {
+                files.filter(GameArchive::isSegment).sorted().forEach(path -> segments.add(new Segment(path)));
+            }
+            if (segments.isEmpty()) {
+                openSegment();
+            } else {
+                Segment last = segments.get(segments.size() - 1);
+                current = FileChannel.open(last.path, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                // Drop a record torn by a crash during the last append
+                long length = current.size() - current.size() % RECORD_BYTES;
+                current.truncate(length);
+                for (Segment segment : segments) {
+                    segment.length = Files.size(segment.path);
+                }
+                last.length = length;
+                String name = last.path.getFileName().toString();
+                nextSegmentNumber = Integer.parseInt(
+                    name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())) + 1;
+            }
+        } catch (IOException e) {
+            closeQuietly(current);
+            closeQuietly(lockChannel);
+            throw new UncheckedIOException(e);
+        }
+        writer = new Thread(this::writeRecords, "game-archive-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Packs the moves and result of a finished game into an outcome word.
+     *
+     * @param packed The packed final state of the game
+     * @return The outcome word
+     */
+    public static long outcome(long packed) {
+        int history = PackedGameState.history(packed);
+        Player winner = PackedGameState.winner(packed);
+        long winnerCode = winner == Player.X ? 1 : winner == Player.O ? 2 : 0;
+        return MoveHistory.moves(history)
+            | (long) MoveHistory.ply(history) << PLY_SHIFT
+            | winnerCode << WINNER_SHIFT
+            | (PackedGameState.isForfeited(packed) ? 1L : 0L) << FORFEIT_SHIFT
+            | (MoveHistory.firstPlayer(history) == Player.O ? 1L : 0L) << O_FIRST_SHIFT;
+    }
+
+    /**
+     * Queues a finished game for the writer thread. Never blocks on the disk: the record is copied
+     * into the ring under a lock held only for that copy.
+     *
+     * @param gameId    The ID of the game
+     * @param startedAt When the game started, in epoch milliseconds
+     * @param endedAt   When the game ended, in epoch milliseconds
+     * @param outcome   The outcome word, see {@link #outcome(long)}
+     * @return {@code true} if the game was queued, {@code false} if the ring was full and it was dropped
+     * @throws IllegalStateException if the archive is closed
+     */
+    public boolean append(long gameId, long startedAt, long endedAt, long outcome) {
+        queueLock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Archive is closed");
+            }
+            if (appended - taken > ringMask) {
+                dropped++;
+                return false;
+            }
+            int at = (int) (appended & ringMask) * RECORD_LONGS;
+            ring[at] = gameId;
+            ring[at + 1] = startedAt;
+            ring[at + 2] = endedAt;
+            ring[at + 3] = outcome;
+            if (appended++ == taken) {
+                queued.signal();
+            }
+            return true;
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    /**
+     * Waits until every game queued before the call has been written, or given up on after a write
+     * error.
+     */
+    public void flush() {
+        queueLock.lock();
+        try {
+            long target = appended;
+            while (done < target) {
+                written.awaitUninterruptibly();
+            }
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of games dropped because the ring was full.
+     *
+     * @return The number of dropped games since the archive opened
+     */
+    public long dropped() {
+        queueLock.lock();
+        try {
+            return dropped;
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of archived games.
+     *
+     * @return The number of records in all segments
+     */
+    public long size() {
+        return snapshot().stream().mapToLong(segment -> segment.length / RECORD_BYTES).sum();
+    }
+
+    /**
+     * Streams the archived records as they are stored, reading the segments through a fixed buffer.
+     * This is a copy through the heap, not a zero-copy transfer: the servlet output stream is not a
+     * channel the kernel can send a file to.
+     *
+     * @param out The stream to write to; it is not closed
+     * @throws IOException if a segment cannot be read or the stream written
+     */
+    public void exportBinary(OutputStream out) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(EXPORT_BUFFER_BYTES);
+        for (Segment segment : snapshot()) {
+            try (FileChannel channel = FileChannel.open(segment.path, StandardOpenOption.READ)) {
+                long position = 0;
+                while (position < segment.length) {
+                    buffer.clear();
+                    buffer.limit((int) Math.min(buffer.capacity(), segment.length - position));
+                    readFully(channel, buffer, position, segment);
+                    out.write(buffer.array(), 0, buffer.position());
+                    position += buffer.position();
+                }
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Streams the archived games as newline-delimited JSON, one object per game, reading the
+     * segments through a fixed buffer.
+     *
+     * @param out The stream to write to; it is not closed
+     * @throws IOException if a segment cannot be read or the stream written
+     */
+    public void exportNdjson(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), EXPORT_BUFFER_BYTES);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(EXPORT_BUFFER_BYTES);
+        StringBuilder line = new StringBuilder(256);
+        for (Segment segment : snapshot()) {
+            try (FileChannel channel = FileChannel.open(segment.path, StandardOpenOption.READ)) {
+                long position = 0;
+                while (position < segment.length) {
+                    buffer.clear();
+                    buffer.limit((int) Math.min(buffer.capacity(), segment.length - position));
+                    readFully(channel, buffer, position, segment);
+                    position += buffer.flip().remaining();
+                    while (buffer.remaining() >= RECORD_BYTES) {
+                        line.setLength(0);
+                        appendJson(line, buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+                        writer.append(line);
+                    }
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * Writes the games still queued, stops the writer thread and releases the directory.
+     */
+    @Override
+    public void close() throws IOException {
+        queueLock.lock();
+        try {
+            closed = true;
+            queued.signal();
+        } finally {
+            queueLock.unlock();
+        }
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        segmentLock.lock();
+        try {
+            current.close();
+        } finally {
+            lockChannel.close();
+            segmentLock.unlock();
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Runs on the writer thread: takes whatever is queued, up to a batch, and writes it with one call
+     * per segment it lands in, until the archive is closed and the ring is empty.
+     */
+    private void writeRecords() {
+        while (true) {
+            int count;
+            queueLock.lock();
+            try {
+                while (taken == appended && !closed) {
+                    queued.awaitUninterruptibly();
+                }
+                if (taken == appended) {
+                    return;
+                }
+                count = (int) Math.min(appended - taken, BATCH_RECORDS);
+                batch.clear();
+                for (int i = 0; i < count; i++) {
+                    int at = (int) ((taken + i) & ringMask) * RECORD_LONGS;
+                    batch.putLong(ring[at]).putLong(ring[at + 1]).putLong(ring[at + 2]).putLong(ring[at + 3]);
+                }
+                taken += count;
+            } finally {
+                queueLock.unlock();
+            }
+            batch.flip();
+            try {
+                writeBatch();
+            } catch (IOException e) {
+                logger.error(ARCHIVE_ERROR_MESSAGE, batch.remaining() / RECORD_BYTES, e);
+            }
+            queueLock.lock();
+            try {
+                done += count;
+                written.signalAll();
+            } finally {
+                queueLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Writes the batch, starting a new segment whenever the current one is full. A failed write is
+     * cut back to the last whole record, so the segment stays readable.
+     */
+    private void writeBatch() throws IOException {
+        while (batch.hasRemaining()) {
+            Segment last = segments.get(segments.size() - 1);
+            if (last.length + RECORD_BYTES > segmentBytes) {
+                segmentLock.lock();
+                try {
+                    current.close();
+                    last = openSegment();
+                } finally {
+                    segmentLock.unlock();
+                }
+            }
+            int limit = batch.limit();
+            int chunk = (int) Math.min(batch.remaining(), segmentBytes - last.length);
+            batch.limit(batch.position() + chunk);
+            try {
+                while (batch.hasRemaining()) {
+                    current.write(batch);
+                }
+            } catch (IOException e) {
+                truncateQuietly(last.length);
+                throw e;
+            } finally {
+                batch.limit(limit);
+            }
+            segmentLock.lock();
+            try {
+                last.length += chunk;
+            } finally {
+                segmentLock.unlock();
+            }
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position, Segment segment)
+        throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Segment " + segment.path + " is shorter than expected");
+            }
+        }
+    }
+
+    private static FileChannel lock(Path directory) throws IOException {
+        FileChannel channel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        if (lock == null) {
+            channel.close();
+            throw new IllegalStateException("Archive directory " + directory + " is in use by another instance");
+        }
+        return channel;
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Already failing with the original exception
+        }
+    }
+
+    private void truncateQuietly(long length) {
+        try {
+            current.truncate(length);
+        } catch (IOException ignored) {
+            // Already failing with the original exception
+        }
+    }
+
+    private static void appendJson(StringBuilder line, long gameId, long startedAt, long endedAt, long outcome) {
+        int ply = (int) ((outcome >>> PLY_SHIFT) & 0xF);
+        int winner = (int) ((outcome >>> WINNER_SHIFT) & 0x3);
+        line.append("{\"gameId\":").append(gameId)
+            .append(",\"startedAt\":").append(startedAt)
+            .append(",\"endedAt\":").append(endedAt)
+            .append(",\"firstPlayer\":\"").append((outcome >>> O_FIRST_SHIFT & 1) != 0 ? Player.O : Player.X)
+            .append("\",\"moves\":[");
+        for (int i = 0; i < ply; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            line.append('"').append(CELLS[(int) ((outcome >>> (4 * i)) & 0xF)]).append('"');
+        }
+        line.append("],\"winner\":\"").append(winner == 1 ? Player.X : winner == 2 ? Player.O : Player.EMPTY)
+            .append("\",\"forfeit\":").append((outcome >>> FORFEIT_SHIFT & 1) != 0)
+            .append("}\n");
+    }
+
+    private List<Segment> snapshot() {
+        segmentLock.lock();
+        try {
+            List<Segment> copy = new ArrayList<>(segments.size());
+            for (Segment segment : segments) {
+                Segment frozen = new Segment(segment.path);
+                frozen.length = segment.length;
+                copy.add(frozen);
+            }
+            return copy;
+        } finally {
+            segmentLock.unlock();
+        }
+    }
+
+    private Segment openSegment() throws IOException {
+        String name = String.format("%s%06d%s", SEGMENT_PREFIX, nextSegmentNumber++, SEGMENT_SUFFIX);
+        Segment segment = new Segment(directory.resolve(name));
+        current = FileChannel.open(segment.path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.APPEND);
+        segments.add(segment);
+        return segment;
+    }
+
+    private static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.matches(SEGMENT_PREFIX + "\\d+" + SEGMENT_SUFFIX.replace(".", "\\."));
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private long length;
+
+        private Segment(Path path) {
+            this.path = path;
+        }
+    }
+}
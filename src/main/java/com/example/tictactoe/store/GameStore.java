@@ -0,0 +1,130 @@
+package com.example.tictactoe.store;
+
+/**
+ * Stores live games as packed {@code long} state words keyed by game ID.
+ * State words are produced by {@link com.example.tictactoe.util.PackedGameState}; the store only
+ * guarantees that each word is read and replaced atomically.
+ * <p>
+ * The high {@link #EPOCH_BITS} bits below the sign bit of every word are owned by the store. Callers
+ * must pass the word they read as the {@code expected} value of {@link #compareAndSet}, which lets a
+ * store reject updates aimed at a game that was removed in the meantime.
+ */
+public interface GameStore {
+
+    /**
+     * Returned by {@link #get} when the game does not exist.
+     */
+    long MISSING = -1L;
+
+    /**
+     * Number of low bits of a state word that belong to the caller.
+     */
+    int STATE_BITS = 56;
+
+    int EPOCH_BITS = 7;
+
+    long STATE_MASK = (1L << STATE_BITS) - 1;
+
+    /**
+     * Creates a game.
+     *
+     * @param gameId The ID of the game, which must be positive
+     * @param state  The initial state word
+     * @return {@code true} if the game was created, {@code false} if it already exists
+     * @throws IllegalStateException if the store is full
+     */
+    boolean create(long gameId, long state);
+
+    /**
+     * Creates many games with the same initial state, such as the games of a tournament that starts at
+     * once. Stores override this to do the work shared by the batch once.
+     *
+     * @param gameIds The IDs of the games, which must be positive
+     * @param state   The initial state word of every game
+     * @return The number of games created; IDs that already exist are skipped
+     * @throws IllegalStateException if the store cannot take all of the games
+     */
+    default int createAll(long[] gameIds, long state) {
+        int created = 0;
+        for (long gameId : gameIds) {
+            if (create(gameId, state)) {
+                created++;
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Reads the state word of a game.
+     *
+     * @param gameId The ID of the game
+     * @return The state word, or {@link #MISSING} if the game does not exist
+     */
+    long get(long gameId);
+
+    /**
+     * Atomically replaces the state word of a game and records the activity time.
+     *
+     * @param gameId   The ID of the game
+     * @param expected The state word previously returned by {@link #get}
+     * @param update   The new state word
+     * @return {@code true} if the state was replaced
+     */
+    boolean compareAndSet(long gameId, long expected, long update);
+
+    /**
+     * Returns the time of the last create or update of a game.
+     *
+     * @param gameId The ID of the game
+     * @return The epoch millisecond of the last activity, or {@link #MISSING} if the game does not exist
+     */
+    long getLastActivity(long gameId);
+
+    /**
+     * Returns when the current game in a slot started: when it was created, unless a later call to
+     * {@link #setStartedAt} moved the time, such as a reset.
+     *
+     * @param gameId The ID of the game
+     * @return The start time in epoch milliseconds, or {@link #MISSING} if the game does not exist
+     */
+    long getStartedAt(long gameId);
+
+    /**
+     * Sets the start time of a game, for a game that was reset or that keeps the start time it had on
+     * another instance. Does nothing if the game does not exist.
+     *
+     * @param gameId    The ID of the game
+     * @param startedAt The start time in epoch milliseconds
+     */
+    void setStartedAt(long gameId, long startedAt);
+
+    /**
+     * Removes a game. Concurrent updates that read the game before its removal will fail.
+     *
+     * @param gameId The ID of the game
+     * @return {@code true} if the game existed
+     */
+    boolean remove(long gameId);
+
+    /**
+     * Returns the number of live games.
+     *
+     * @return The number of games
+     */
+    int size();
+
+    /**
+     * Visits every live game. Games created or removed during the iteration may or may not be visited.
+     *
+     * @param visitor The visitor to call for each game
+     */
+    void forEach(GameVisitor visitor);
+
+    /**
+     * Receives the games visited by {@link #forEach}.
+     */
+    @FunctionalInterface
+    interface GameVisitor {
+        void visit(long gameId, long state, long lastActivity);
+    }
+}
@@ -0,0 +1,254 @@
+package com.example.tictactoe.store;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps every game in a small heap object. This is the default store.
+ * <p>
+ * Records of removed games go back to a pool and are handed to later games, so a steady stream of
+ * created and finished games allocates no records once the pool is warm. Like the slots of the
+ * {@link OffHeapGameStore}, a record carries the ID of its game and an epoch in the high bits of its
+ * state word: removing a game bumps the epoch and clears the ID, so a thread that looked the record up
+ * before it was reused reads nothing and cannot update the game that now holds it.
+ */
+public class HeapGameStore implements GameStore {
+
+    private static final long EPOCH_UNIT = 1L << STATE_BITS;
+    private static final long EPOCH_MASK = ((1L << EPOCH_BITS) - 1) << STATE_BITS;
+    private static final GameRecord[] NO_RECORDS = new GameRecord[0];
+
+    private final ConcurrentMap<Long, GameRecord> games = new ConcurrentHashMap<>();
+    private final ReentrantLock poolLock = new ReentrantLock();
+    private final GameRecord[] pool;
+    private int pooled;
+
+    /**
+     * Creates a store that does not keep the records of removed games.
+     */
+    public HeapGameStore() {
+        this(0);
+    }
+
+    /**
+     * Creates a store with a pool of records allocated up front.
+     *
+     * @param poolSize The number of records allocated now and the most kept for reuse
+     */
+    public HeapGameStore(int poolSize) {
+        if (poolSize < 0) {
+            throw new IllegalArgumentException("Pool size must not be negative");
+        }
+        pool = new GameRecord[poolSize];
+        for (int i = 0; i < poolSize; i++) {
+            pool[i] = new GameRecord();
+        }
+        pooled = poolSize;
+    }
+
+    @Override
+    public boolean create(long gameId, long state) {
+        GameRecord record = take();
+        record.assign(gameId, state, System.currentTimeMillis());
+        if (games.putIfAbsent(gameId, record) == null) {
+            return true;
+        }
+        release(record);
+        return false;
+    }
+
+    /**
+     * Creates games from the pool, taking its lock once for the whole batch.
+     */
+    @Override
+    public int createAll(long[] gameIds, long state) {
+        GameRecord[] records = NO_RECORDS;
+        if (pool.length > 0) {
+            poolLock.lock();
+            try {
+                records = new GameRecord[Math.min(gameIds.length, pooled)];
+                for (int i = 0; i < records.length; i++) {
+                    records[i] = pool[--pooled];
+                    pool[pooled] = null;
+                }
+            } finally {
+                poolLock.unlock();
+            }
+        }
+        long now = System.currentTimeMillis();
+        int created = 0;
+        for (int i = 0; i < gameIds.length; i++) {
+            GameRecord record = i < records.length ? records[i] : new GameRecord();
+            record.assign(gameIds[i], state, now);
+            if (games.putIfAbsent(gameIds[i], record) == null) {
+                created++;
+            } else {
+                release(record);
+            }
+        }
+        return created;
+    }
+
+    @Override
+    public long get(long gameId) {
+        GameRecord record = games.get(gameId);
+        if (record == null) {
+            return MISSING;
+        }
+        long state = (long) GameRecord.STATE.getAcquire(record);
+        return record.gameId == gameId ? state : MISSING;
+    }
+
+    @Override
+    public boolean compareAndSet(long gameId, long expected, long update) {
+        GameRecord record = games.get(gameId);
+        if (record == null) {
+            return false;
+        }
+        long stamped = (expected & EPOCH_MASK) | (update & STATE_MASK);
+        if (!GameRecord.STATE.compareAndSet(record, expected, stamped)) {
+            return false;
+        }
+        record.lastActivity = System.currentTimeMillis();
+        return true;
+    }
+
+    @Override
+    public long getLastActivity(long gameId) {
+        GameRecord record = games.get(gameId);
+        if (record == null) {
+            return MISSING;
+        }
+        long activity = record.lastActivity;
+        return record.gameId == gameId ? activity : MISSING;
+    }
+
+    @Override
+    public long getStartedAt(long gameId) {
+        GameRecord record = games.get(gameId);
+        if (record == null) {
+            return MISSING;
+        }
+        long startedAt = record.startedAt;
+        return record.gameId == gameId ? startedAt : MISSING;
+    }
+
+    @Override
+    public void setStartedAt(long gameId, long startedAt) {
+        GameRecord record = games.get(gameId);
+        if (record != null && record.gameId == gameId) {
+            record.startedAt = startedAt;
+        }
+    }
+
+    @Override
+    public boolean remove(long gameId) {
+        GameRecord record = games.remove(gameId);
+        if (record == null) {
+            return false;
+        }
+        // Fail updates from threads that looked the record up before it was removed
+        long state;
+        do {
+            state = (long) GameRecord.STATE.getAcquire(record);
+        } while (!GameRecord.STATE.compareAndSet(record, state, nextEpoch(state)));
+        record.gameId = 0;
+        release(record);
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return games.size();
+    }
+
+    @Override
+    public void forEach(GameVisitor visitor) {
+        games.forEach((gameId, record) -> {
+            long state = (long) GameRecord.STATE.getAcquire(record);
+            long activity = record.lastActivity;
+            if (record.gameId == gameId) {
+                visitor.visit(gameId, state, activity);
+            }
+        });
+    }
+
+    /**
+     * Returns the number of records waiting in the pool.
+     *
+     * @return The number of pooled records
+     */
+    public int pooled() {
+        poolLock.lock();
+        try {
+            return pooled;
+        } finally {
+            poolLock.unlock();
+        }
+    }
+
+    private GameRecord take() {
+        if (pool.length > 0) {
+            poolLock.lock();
+            try {
+                if (pooled > 0) {
+                    GameRecord record = pool[--pooled];
+                    pool[pooled] = null;
+                    return record;
+                }
+            } finally {
+                poolLock.unlock();
+            }
+        }
+        return new GameRecord();
+    }
+
+    private void release(GameRecord record) {
+        if (pool.length == 0) {
+            return;
+        }
+        poolLock.lock();
+        try {
+            if (pooled < pool.length) {
+                pool[pooled++] = record;
+            }
+        } finally {
+            poolLock.unlock();
+        }
+    }
+
+    private static long nextEpoch(long state) {
+        return ((state & EPOCH_MASK) + EPOCH_UNIT) & EPOCH_MASK | (state & STATE_MASK);
+    }
+
+    private static final class GameRecord {
+        private static final VarHandle STATE;
+
+        static {
+            try {
+                STATE = MethodHandles.lookup().findVarHandle(GameRecord.class, "state", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private volatile long gameId;
+        private volatile long state;
+        private volatile long lastActivity;
+        private volatile long startedAt;
+
+        /**
+         * Gives the record to a game. The state is written before the ID, so a reader that sees the
+         * new state also sees that the ID is no longer the one of the removed game.
+         */
+        private void assign(long gameId, long state, long now) {
+            STATE.setRelease(this, ((long) STATE.getAcquire(this) & EPOCH_MASK) | (state & STATE_MASK));
+            this.lastActivity = now;
+            this.startedAt = now;
+            this.gameId = gameId;
+        }
+    }
+}
@@ -0,0 +1,400 @@
+package com.example.tictactoe.store;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps games in fixed-width slots of a direct buffer, outside the Java heap.
+ * <p>
+ * Each 32-byte slot holds the game ID, the state word, the last-activity time and the start time.
+ * Slots are addressed through an open-addressing index with linear probing on the game ID, so a
+ * lookup touches no heap objects. State updates are lock-free compare-and-sets on the slot; only
+ * creating and removing games takes a lock.
+ * <p>
+ * Removed slots become tombstones and are reused by later games. Removing a game bumps the epoch
+ * kept in the high bits of its state word, so an update that read the old game fails even when
+ * the slot has since been given to another game.
+ * <p>
+ * Tombstones still have to be probed past, so once they make up a sixteenth of the slots the table
+ * is compacted in place: every game is moved back to the first free slot on its probe path and the
+ * tombstones become empty slots again. A move fences the slot it leaves like a removal does, and
+ * lookups that miss while a game is being moved look again, so reads and updates stay lock-free.
+ */
+public class OffHeapGameStore implements GameStore {
+
+    /**
+     * Largest capacity whose slots still fit in a single buffer.
+     */
+    public static final int MAX_CAPACITY = 1 << 25;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private static final int SLOT_BYTES = 32;
+    private static final int KEY_OFFSET = 0;
+    private static final int STATE_OFFSET = 8;
+    private static final int ACTIVITY_OFFSET = 16;
+    private static final int STARTED_OFFSET = 24;
+
+    private static final long EMPTY = 0L;
+    private static final long TOMBSTONE = -1L;
+    private static final long MOVING = -2L;
+    private static final long EPOCH_UNIT = 1L << STATE_BITS;
+    private static final long EPOCH_MASK = ((1L << EPOCH_BITS) - 1) << STATE_BITS;
+
+    private final ByteBuffer slots;
+    private final int mask;
+    private final int maxGames;
+    private final int maxTombstones;
+    private final ReentrantLock structureLock = new ReentrantLock();
+    private volatile int size;
+    private int tombstones;
+    /**
+     * Odd while compaction is moving a game, and changed by every move, so a lookup can tell that a
+     * game it did not find may have been moved past it.
+     */
+    private volatile int moveCount;
+
+    /**
+     * Creates a store.
+     *
+     * @param capacity The number of slots, rounded up to a power of two; at most three quarters are used
+     */
+    public OffHeapGameStore(int capacity) {
+        if (capacity < 2 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 2 and " + MAX_CAPACITY);
+        }
+        int slotCount = Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = slotCount - 1;
+        this.maxGames = slotCount - (slotCount >>> 2);
+        this.maxTombstones = slotCount >>> 4;
+        this.slots = ByteBuffer.allocateDirect(slotCount * SLOT_BYTES + Long.BYTES).alignedSlice(Long.BYTES);
+    }
+
+    @Override
+    public boolean create(long gameId, long state) {
+        checkGameId(gameId);
+        structureLock.lock();
+        try {
+            return insert(gameId, state, System.currentTimeMillis());
+        } finally {
+            structureLock.unlock();
+        }
+    }
+
+    /**
+     * Creates games under one acquisition of the lock. The batch is checked against the capacity before
+     * any game is created, so a batch that does not fit creates nothing.
+     */
+    @Override
+    public int createAll(long[] gameIds, long state) {
+        for (long gameId : gameIds) {
+            checkGameId(gameId);
+        }
+        structureLock.lock();
+        try {
+            if (size + gameIds.length > maxGames) {
+                throw new IllegalStateException("Game store is full");
+            }
+            long now = System.currentTimeMillis();
+            int created = 0;
+            for (long gameId : gameIds) {
+                if (insert(gameId, state, now)) {
+                    created++;
+                }
+            }
+            return created;
+        } finally {
+            structureLock.unlock();
+        }
+    }
+
+    private boolean insert(long gameId, long state, long now) {
+        int tombstone = -1;
+        int slot = home(gameId);
+        for (int probes = 0; probes <= mask; probes++, slot = (slot + 1) & mask) {
+            long key = key(slot);
+            if (key == gameId) {
+                return false;
+            }
+            if (key == EMPTY) {
+                break;
+            }
+            if (key == TOMBSTONE && tombstone < 0) {
+                tombstone = slot;
+            }
+        }
+        if (size >= maxGames) {
+            throw new IllegalStateException("Game store is full");
+        }
+
+        int target = tombstone >= 0 ? tombstone : slot;
+        if (tombstone >= 0) {
+            tombstones--;
+        }
+        long epoch = (long) LONGS.getAcquire(slots, offset(target, STATE_OFFSET)) & EPOCH_MASK;
+        LONGS.setRelease(slots, offset(target, STATE_OFFSET), epoch | (state & STATE_MASK));
+        LONGS.setRelease(slots, offset(target, ACTIVITY_OFFSET), now);
+        LONGS.setRelease(slots, offset(target, STARTED_OFFSET), now);
+        LONGS.setRelease(slots, offset(target, KEY_OFFSET), gameId);
+        size++;
+        return true;
+    }
+
+    @Override
+    public long get(long gameId) {
+        return read(gameId, STATE_OFFSET);
+    }
+
+    @Override
+    public boolean compareAndSet(long gameId, long expected, long update) {
+        int slot = find(gameId);
+        if (slot < 0) {
+            return false;
+        }
+        long stamped = (expected & EPOCH_MASK) | (update & STATE_MASK);
+        if (!LONGS.compareAndSet(slots, offset(slot, STATE_OFFSET), expected, stamped)) {
+            return false;
+        }
+        LONGS.setRelease(slots, offset(slot, ACTIVITY_OFFSET), System.currentTimeMillis());
+        return true;
+    }
+
+    @Override
+    public long getLastActivity(long gameId) {
+        return read(gameId, ACTIVITY_OFFSET);
+    }
+
+    @Override
+    public long getStartedAt(long gameId) {
+        return read(gameId, STARTED_OFFSET);
+    }
+
+    /**
+     * Writes the start time into the slot of the game, and again into its new slot if compaction
+     * moved the game before it could copy the time.
+     */
+    @Override
+    public void setStartedAt(long gameId, long startedAt) {
+        int slot;
+        do {
+            slot = find(gameId);
+            if (slot < 0) {
+                return;
+            }
+            LONGS.setRelease(slots, offset(slot, STARTED_OFFSET), startedAt);
+        } while (key(slot) != gameId);
+    }
+
+    @Override
+    public boolean remove(long gameId) {
+        structureLock.lock();
+        try {
+            int slot = find(gameId);
+            if (slot < 0) {
+                return false;
+            }
+            int stateOffset = offset(slot, STATE_OFFSET);
+            long state;
+            do {
+                state = (long) LONGS.getAcquire(slots, stateOffset);
+            } while (!LONGS.compareAndSet(slots, stateOffset, state, nextEpoch(state)));
+            LONGS.setRelease(slots, offset(slot, KEY_OFFSET), TOMBSTONE);
+            size--;
+            tombstones++;
+            clearTombstonesBefore((slot + 1) & mask);
+            if (tombstones > maxTombstones) {
+                compact();
+            }
+            return true;
+        } finally {
+            structureLock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Visits the games under the structure lock, so compaction cannot move a game past the scan.
+     */
+    @Override
+    public void forEach(GameVisitor visitor) {
+        structureLock.lock();
+        try {
+            for (int slot = 0; slot <= mask; slot++) {
+                long key = key(slot);
+                if (key <= 0) {
+                    continue;
+                }
+                long state = (long) LONGS.getAcquire(slots, offset(slot, STATE_OFFSET));
+                long activity = (long) LONGS.getAcquire(slots, offset(slot, ACTIVITY_OFFSET));
+                if (key(slot) == key) {
+                    visitor.visit(key, state, activity);
+                }
+            }
+        } finally {
+            structureLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of slots a lookup of the game probes, for tests of the table's health.
+     */
+    int probeLength(long gameId) {
+        int slot = home(gameId);
+        int probes = 1;
+        for (long key = key(slot); key != gameId && key != EMPTY && probes <= mask; key = key(slot)) {
+            slot = (slot + 1) & mask;
+            probes++;
+        }
+        return probes;
+    }
+
+    private long read(long gameId, int field) {
+        while (true) {
+            int moved = moveCount;
+            int slot = probe(gameId);
+            if (slot >= 0) {
+                long value = (long) LONGS.getAcquire(slots, offset(slot, field));
+                if (key(slot) == gameId) {
+                    return value;
+                }
+            }
+            if (!movedSince(moved)) {
+                return MISSING;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private int find(long gameId) {
+        while (true) {
+            int moved = moveCount;
+            int slot = probe(gameId);
+            if (slot >= 0 || !movedSince(moved)) {
+                return slot;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private boolean movedSince(int moved) {
+        return (moved & 1) != 0 || moveCount != moved;
+    }
+
+    private int probe(long gameId) {
+        if (gameId <= 0) {
+            return -1;
+        }
+        int slot = home(gameId);
+        for (int probes = 0; probes <= mask; probes++, slot = (slot + 1) & mask) {
+            long key = key(slot);
+            if (key == gameId) {
+                return slot;
+            }
+            if (key == EMPTY) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Turns the tombstones right before an empty slot into empty slots. No probe path runs through
+     * them, since a path ends at the first empty slot.
+     */
+    private void clearTombstonesBefore(int slot) {
+        if (key(slot) != EMPTY) {
+            return;
+        }
+        for (int previous = (slot - 1) & mask; key(previous) == TOMBSTONE; previous = (previous - 1) & mask) {
+            LONGS.setRelease(slots, offset(previous, KEY_OFFSET), EMPTY);
+            tombstones--;
+        }
+    }
+
+    /**
+     * Moves every game to the first free slot on its probe path, then empties the tombstones, which
+     * no path runs through any more. The scan starts after an empty slot, which no path crosses, so a
+     * slot freed by a move is only on the paths of games the scan has not reached yet.
+     */
+    private void compact() {
+        int start = 0;
+        while (key(start) != EMPTY) {
+            start++;
+        }
+        for (int i = 1; i <= mask; i++) {
+            int slot = (start + i) & mask;
+            long key = key(slot);
+            if (key <= 0) {
+                continue;
+            }
+            int free = home(key);
+            while (free != slot && key(free) > 0) {
+                free = (free + 1) & mask;
+            }
+            if (free != slot) {
+                move(key, slot, free);
+            }
+        }
+        for (int slot = 0; slot <= mask; slot++) {
+            if (key(slot) == TOMBSTONE) {
+                LONGS.setRelease(slots, offset(slot, KEY_OFFSET), EMPTY);
+            }
+        }
+        tombstones = 0;
+    }
+
+    /**
+     * Moves a game to a free slot. The old slot is marked as moving and its epoch bumped first, so
+     * an update that read it fails and looks the game up again; a lookup that misses meanwhile sees
+     * the move count change and looks again.
+     */
+    private void move(long gameId, int from, int to) {
+        moveCount++;
+        LONGS.setRelease(slots, offset(from, KEY_OFFSET), MOVING);
+        int fromState = offset(from, STATE_OFFSET);
+        long state;
+        do {
+            state = (long) LONGS.getAcquire(slots, fromState);
+        } while (!LONGS.compareAndSet(slots, fromState, state, nextEpoch(state)));
+        long activity = (long) LONGS.getAcquire(slots, offset(from, ACTIVITY_OFFSET));
+        long started = (long) LONGS.getAcquire(slots, offset(from, STARTED_OFFSET));
+
+        long epoch = (long) LONGS.getAcquire(slots, offset(to, STATE_OFFSET)) & EPOCH_MASK;
+        LONGS.setRelease(slots, offset(to, STATE_OFFSET), epoch | (state & STATE_MASK));
+        LONGS.setRelease(slots, offset(to, ACTIVITY_OFFSET), activity);
+        LONGS.setRelease(slots, offset(to, STARTED_OFFSET), started);
+        LONGS.setRelease(slots, offset(to, KEY_OFFSET), gameId);
+        LONGS.setRelease(slots, offset(from, KEY_OFFSET), TOMBSTONE);
+        moveCount++;
+    }
+
+    private long key(int slot) {
+        return (long) LONGS.getAcquire(slots, offset(slot, KEY_OFFSET));
+    }
+
+    private int home(long gameId) {
+        long hash = gameId * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int offset(int slot, int field) {
+        return slot * SLOT_BYTES + field;
+    }
+
+    private static long nextEpoch(long state) {
+        return ((state & EPOCH_MASK) + EPOCH_UNIT) & EPOCH_MASK | (state & STATE_MASK);
+    }
+
+    private static void checkGameId(long gameId) {
+        if (gameId <= 0) {
+            throw new IllegalArgumentException("Game ID must be positive");
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.tictactoe.store;
+
+import com.example.tictactoe.model.Player;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Records which player holds which seat in games created by matchmaking.
+ */
+public class SeatRegistry {
+
+    private final ConcurrentMap<Long, Seats> seats = new ConcurrentHashMap<>();
+
+    /**
+     * Seats two players in a game.
+     *
+     * @param gameId  The ID of the game
+     * @param playerX The player who plays X
+     * @param playerO The player who plays O
+     */
+    public void register(long gameId, String playerX, String playerO) {
+        seats.put(gameId, new Seats(playerX, playerO));
+    }
+
+    /**
+     * Returns the seat a player holds in a game.
+     *
+     * @param gameId   The ID of the game
+     * @param playerId The ID of the player
+     * @return {@link Player#X} or {@link Player#O}, or {@link Player#EMPTY} if the player is not seated in the game
+     */
+    public Player seatOf(long gameId, String playerId) {
+        Seats game = seats.get(gameId);
+        if (game == null || playerId == null) {
+            return Player.EMPTY;
+        }
+        if (playerId.equals(game.playerX())) {
+            return Player.X;
+        }
+        return playerId.equals(game.playerO()) ? Player.O : Player.EMPTY;
+    }
+
+    /**
+     * Returns the player holding a seat in a game.
+     *
+     * @param gameId The ID of the game
+     * @param seat   {@link Player#X} or {@link Player#O}
+     * @return The ID of the player, or {@code null} if the game has no registered seats
+     */
+    public String playerAt(long gameId, Player seat) {
+        Seats game = seats.get(gameId);
+        if (game == null) {
+            return null;
+        }
+        return seat == Player.X ? game.playerX() : game.playerO();
+    }
+
+    public void remove(long gameId) {
+        seats.remove(gameId);
+    }
+
+    public int size() {
+        return seats.size();
+    }
+
+    private record Seats(String playerX, String playerO) {
+    }
+}
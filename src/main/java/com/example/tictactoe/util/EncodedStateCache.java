@@ -0,0 +1,103 @@
+package com.example.tictactoe.util;
+
+import com.example.tictactoe.jfr.SerializationEvent;
+import com.example.tictactoe.store.GameStore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.UncheckedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps the JSON encoding of the current state of each game, so a read only serializes a state the
+ * first time it is requested.
+ * <p>
+ * An entry is keyed by the game and holds the packed state it was encoded from. Every update
+ * changes the packed state, at least through its version, so a read of a newer state misses and
+ * replaces the entry; nothing has to be invalidated when a game moves. Concurrent readers of a
+ * new state may both encode it, and the last one wins, which costs one encoding but never serves
+ * bytes of a different state than the one that was read.
+ */
+public final class EncodedStateCache {
+    private final ObjectMapper objectMapper;
+    private final ConcurrentMap<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param objectMapper The mapper used to encode states, so cached responses match uncached ones
+     */
+    public EncodedStateCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the JSON encoding of a game state, encoding it only if it is not the cached one.
+     * The returned array is shared and must not be modified.
+     *
+     * @param gameId The ID of the game
+     * @param packed The packed state of the game
+     * @return The state as a UTF-8 JSON document
+     */
+    public byte[] json(long gameId, long packed) {
+        long state = packed & GameStore.STATE_MASK;
+        Entry entry = entries.get(gameId);
+        if (entry != null && entry.state == state) {
+            return entry.json;
+        }
+        byte[] json = encode(gameId, state);
+        entries.put(gameId, new Entry(state, json));
+        return json;
+    }
+
+    /**
+     * Encodes a game state without caching it, for states that are not the current one.
+     *
+     * @param packed The packed state
+     * @return The state as a UTF-8 JSON document
+     */
+    public byte[] encode(long packed) {
+        return encode(0, packed);
+    }
+
+    private byte[] encode(long gameId, long packed) {
+        SerializationEvent event = new SerializationEvent();
+        event.begin();
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(PackedGameState.toGameState(packed));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.gameId = gameId;
+            event.version = PackedGameState.version(packed);
+            event.bytes = json.length;
+            event.commit();
+        }
+        return json;
+    }
+
+    /**
+     * Drops the entry of a game that no longer exists.
+     *
+     * @param gameId The ID of the game
+     */
+    public void remove(long gameId) {
+        entries.remove(gameId);
+    }
+
+    /**
+     * Returns the number of games with a cached encoding.
+     *
+     * @return The number of entries
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private record Entry(long state, byte[] json) {
+    }
+}
@@ -9,6 +9,9 @@ import java.util.EnumMap;
 import java.util.Map;
 import java.util.Objects;
 
+import static com.example.tictactoe.constant.GameConstants.GAME_OVER_MESSAGE;
+import static com.example.tictactoe.constant.GameConstants.ILLEGAL_POSITION_MESSAGE;
+
 /**
  * Represents the state of a Tic-Tac-Toe game.
  * This class encapsulates all the information about the current game state,
@@ -51,6 +54,24 @@ public class GameState {
         this.version = other.version;
     }
 
+    /**
+     * Creates a game state from a shared position and a version.
+     *
+     * @param position The position of the game
+     * @param version  The version of the game
+     */
+    public GameState(Position position, long version) {
+        this.board = new EnumMap<>(Cell.class);
+        for (Cell cell : Cell.values()) {
+            this.board.put(cell, position.getPlayer(cell));
+        }
+        this.currentPlayer = position.getCurrentPlayer();
+        this.lastPlayer = position.getLastPlayer();
+        this.gameOver = position.isGameOver();
+        this.winner = position.getWinner();
+        this.version = version;
+    }
+
     private void initializeBoard() {
         for (Cell cell : Cell.values()) {
             board.put(cell, Player.EMPTY);
@@ -63,56 +84,30 @@ public class GameState {
 
     /**
      * Makes a move on the specified cell for the current player.
+     * The outcome is looked up in the precomputed {@link Position} table.
      *
      * @param cell The cell where the move is to be made
-     * @throws IllegalStateException    if the game is over
+     * @throws IllegalStateException    if the game is over or the board is not a legal position
      * @throws IllegalArgumentException if the cell is already occupied
      */
     public void makeMove(Cell cell) {
         if (gameOver) {
-            throw new IllegalStateException("Game is already over.");
+            throw new IllegalStateException(GAME_OVER_MESSAGE);
         }
-        if (board.get(cell) != Player.EMPTY) {
-            throw new IllegalArgumentException("Cell is already occupied.");
+        Position position = Position.of(board, currentPlayer);
+        if (position == null) {
+            throw new IllegalStateException(ILLEGAL_POSITION_MESSAGE);
         }
 
-        board.put(cell, currentPlayer);
-        lastPlayer = currentPlayer;
-        currentPlayer = (currentPlayer == Player.X) ? Player.O : Player.X;
-        checkGameStatus();
+        Position next = position.move(cell);
+        board.put(cell, next.getLastPlayer());
+        lastPlayer = next.getLastPlayer();
+        currentPlayer = next.getCurrentPlayer();
+        gameOver = next.isGameOver();
+        winner = next.getWinner();
         incrementVersion();
     }
 
-    /**
-     * Checks the game status after a move to determine if the game has ended.
-     */
-    private void checkGameStatus() {
-        if (checkLine(Cell.TOP_LEFT, Cell.TOP_CENTER, Cell.TOP_RIGHT) ||
-            checkLine(Cell.MIDDLE_LEFT, Cell.MIDDLE_CENTER, Cell.MIDDLE_RIGHT) ||
-            checkLine(Cell.BOTTOM_LEFT, Cell.BOTTOM_CENTER, Cell.BOTTOM_RIGHT) ||
-            checkLine(Cell.TOP_LEFT, Cell.MIDDLE_LEFT, Cell.BOTTOM_LEFT) ||
-            checkLine(Cell.TOP_CENTER, Cell.MIDDLE_CENTER, Cell.BOTTOM_CENTER) ||
-            checkLine(Cell.TOP_RIGHT, Cell.MIDDLE_RIGHT, Cell.BOTTOM_RIGHT) ||
-            checkLine(Cell.TOP_LEFT, Cell.MIDDLE_CENTER, Cell.BOTTOM_RIGHT) ||
-            checkLine(Cell.TOP_RIGHT, Cell.MIDDLE_CENTER, Cell.BOTTOM_LEFT)) {
-            gameOver = true;
-            winner = lastPlayer;
-        } else if (isBoardFull()) {
-            gameOver = true;
-            winner = Player.EMPTY;
-        }
-    }
-
-    private boolean checkLine(Cell cell1, Cell cell2, Cell cell3) {
-        return board.get(cell1) != Player.EMPTY &&
-            board.get(cell1) == board.get(cell2) &&
-            board.get(cell2) == board.get(cell3);
-    }
-
-    private boolean isBoardFull() {
-        return !board.containsValue(Player.EMPTY);
-    }
-
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
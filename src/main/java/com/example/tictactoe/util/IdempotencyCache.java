@@ -0,0 +1,121 @@
+package com.example.tictactoe.util;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A bounded, time-evicting cache of request outcomes keyed by a client supplied idempotency key.
+ * <p>
+ * The first request with a key computes the outcome; retries with the same key get the same outcome,
+ * success or failure, without running the computation again. Retries that arrive while the first
+ * request is still running wait for it instead of racing it. Entries are evicted in insertion order
+ * once they are older than the time to live or the cache grows past its capacity, so every operation
+ * is O(1) amortized.
+ *
+ * @param <V> The type of the cached outcome
+ */
+public final class IdempotencyCache<V> {
+    private final int capacity;
+    private final long ttlNanos;
+    private final ConcurrentMap<String, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry<V>> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Creates a cache.
+     *
+     * @param capacity  The maximum number of outcomes kept, or 0 to disable caching
+     * @param ttlMillis How long an outcome is kept
+     */
+    public IdempotencyCache(int capacity, long ttlMillis) {
+        this.capacity = Math.max(capacity, 0);
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    /**
+     * Returns the outcome recorded for a key, computing and recording it if there is none.
+     *
+     * @param key     The idempotency key, or {@code null} to always compute
+     * @param compute The computation; a runtime exception it throws is recorded and rethrown to retries
+     * @return The outcome
+     */
+    public V computeIfAbsent(String key, Supplier<V> compute) {
+        if (key == null || capacity == 0 || ttlNanos <= 0) {
+            return compute.get();
+        }
+        long now = System.nanoTime();
+        Entry<V> fresh = new Entry<>(key, now + ttlNanos);
+        Entry<V> entry = entries.compute(key,
+            (k, existing) -> existing != null && !existing.isExpired(now) ? existing : fresh);
+        if (entry != fresh) {
+            return await(entry);
+        }
+
+        insertionOrder.add(fresh);
+        size.incrementAndGet();
+        evict(now);
+        try {
+            V value = compute.get();
+            fresh.outcome.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            fresh.outcome.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of recorded outcomes, including ones that have expired but not been evicted yet.
+     *
+     * @return The number of outcomes
+     */
+    public int size() {
+        return size.get();
+    }
+
+    private void evict(long now) {
+        Entry<V> oldest;
+        while ((oldest = insertionOrder.peek()) != null && (size.get() > capacity || oldest.isExpired(now))) {
+            // Under contention this may take a slightly newer entry than the one inspected, which only evicts early
+            Entry<V> evicted = insertionOrder.poll();
+            if (evicted == null) {
+                return;
+            }
+            entries.remove(evicted.key, evicted);
+            size.decrementAndGet();
+        }
+    }
+
+    private static <V> V await(Entry<V> entry) {
+        try {
+            return entry.outcome.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Entry<V> {
+        private final String key;
+        private final long expiresAt;
+        private final CompletableFuture<V> outcome = new CompletableFuture<>();
+
+        private Entry(String key, long expiresAt) {
+            this.key = key;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
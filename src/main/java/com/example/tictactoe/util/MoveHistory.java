@@ -0,0 +1,285 @@
+package com.example.tictactoe.util;
+
+import com.example.tictactoe.model.Cell;
+import com.example.tictactoe.model.Player;
+
+import java.util.Arrays;
+
+import static com.example.tictactoe.constant.GameConstants.CELL_OCCUPIED_MESSAGE;
+
+/**
+ * Encodes the sequence of moves of a game as a single {@code int}.
+ * <p>
+ * A game is at most nine distinct cells in order, so the {@code k}-th move is one of the {@code 9 - k}
+ * cells still free. The index of that choice among the free cells is a digit in a mixed radix number
+ * (9, 8, 7, ...), and sequences are numbered by length first, which gives 986,410 sequences per
+ * starting player. Appending a move adds one digit and truncating to a shorter prefix is a modulo,
+ * both without decoding the sequence. The position of every history of a legal game is kept in a
+ * table built when the class is loaded, so reading the position of a game is a single lookup.
+ */
+public final class MoveHistory {
+    private MoveHistory() {
+        // Private constructor to prevent instantiation
+    }
+
+    private static final Cell[] CELLS = Cell.values();
+    private static final int MAX_PLY = CELLS.length;
+
+    /**
+     * {@code RADIX[k]} is the number of sequences of length {@code k}: 9! / (9 - k)!.
+     */
+    private static final int[] RADIX = new int[MAX_PLY + 1];
+
+    /**
+     * {@code PREFIX[k]} is the number of sequences shorter than {@code k}.
+     */
+    private static final int[] PREFIX = new int[MAX_PLY + 2];
+
+    static {
+        RADIX[0] = 1;
+        for (int k = 1; k <= MAX_PLY; k++) {
+            RADIX[k] = RADIX[k - 1] * (MAX_PLY - k + 1);
+        }
+        for (int k = 1; k <= MAX_PLY + 1; k++) {
+            PREFIX[k] = PREFIX[k - 1] + RADIX[k - 1];
+        }
+    }
+
+    private static final int SEQUENCES = PREFIX[MAX_PLY + 1];
+
+    /**
+     * Number of distinct histories for both starting players; fits in 21 bits.
+     */
+    public static final int COUNT = 2 * SEQUENCES;
+
+    /**
+     * Position index by history, or -1 for histories that continue a finished game.
+     */
+    private static final short[] POSITION_BY_HISTORY = new short[COUNT];
+
+    static {
+        Arrays.fill(POSITION_BY_HISTORY, (short) -1);
+        for (Player first : new Player[]{Player.X, Player.O}) {
+            index(Position.initial(first), initial(first), 0);
+        }
+    }
+
+    private static void index(Position position, int history, int ply) {
+        POSITION_BY_HISTORY[history] = (short) position.getIndex();
+        if (position.isGameOver()) {
+            return;
+        }
+        for (Cell cell : CELLS) {
+            if ((position.getOccupied() & (1 << cell.ordinal())) == 0) {
+                index(position.move(cell), append(history, ply, position.getOccupied(), cell), ply + 1);
+            }
+        }
+    }
+
+    /**
+     * Returns whether a number is the history of a legal game, one that stops once the game is won.
+     *
+     * @param history The number to check
+     * @return {@code true} if it is a history whose position can be read
+     */
+    public static boolean isLegal(int history) {
+        return history >= 0 && history < COUNT && POSITION_BY_HISTORY[history] >= 0;
+    }
+
+    public static int initial(Player startingPlayer) {
+        return startingPlayer == Player.O ? SEQUENCES : 0;
+    }
+
+    public static Player firstPlayer(int history) {
+        return history >= SEQUENCES ? Player.O : Player.X;
+    }
+
+    public static int ply(int history) {
+        int index = POSITION_BY_HISTORY[history];
+        if (index >= 0) {
+            return Integer.bitCount(Position.of(index).getOccupied());
+        }
+        int local = history % SEQUENCES;
+        int ply = 0;
+        while (PREFIX[ply + 1] <= local) {
+            ply++;
+        }
+        return ply;
+    }
+
+    /**
+     * Decodes the moves of a history.
+     *
+     * @param history The history
+     * @return The cell ordinals packed four bits per move, the first move in the lowest bits
+     */
+    public static long moves(int history) {
+        int ply = ply(history);
+        int code = history % SEQUENCES - PREFIX[ply];
+        int free = (1 << MAX_PLY) - 1;
+        long moves = 0;
+        for (int i = 0; i < ply; i++) {
+            int choices = MAX_PLY - i;
+            int cell = nthFree(free, code % choices);
+            code /= choices;
+            free &= ~(1 << cell);
+            moves |= (long) cell << (4 * i);
+        }
+        return moves;
+    }
+
+    /**
+     * Returns the history after one more move. The move itself is not validated against the game rules.
+     *
+     * @param history The history
+     * @param cell    The cell played next
+     * @return The extended history
+     * @throws IllegalArgumentException if the cell was already played
+     */
+    public static int append(int history, Cell cell) {
+        int index = POSITION_BY_HISTORY[history];
+        int ply;
+        int occupied = 0;
+        if (index >= 0) {
+            occupied = Position.of(index).getOccupied();
+            ply = Integer.bitCount(occupied);
+        } else {
+            ply = ply(history);
+            long moves = moves(history);
+            for (int i = 0; i < ply; i++) {
+                occupied |= 1 << (int) ((moves >>> (4 * i)) & 0xF);
+            }
+        }
+        if ((occupied & (1 << cell.ordinal())) != 0) {
+            throw new IllegalArgumentException(CELL_OCCUPIED_MESSAGE);
+        }
+        return append(history, ply, occupied, cell);
+    }
+
+    private static int append(int history, int ply, int occupied, Cell cell) {
+        int digit = Integer.bitCount(~occupied & ((1 << cell.ordinal()) - 1));
+        int start = history - history % SEQUENCES;
+        int code = history % SEQUENCES - PREFIX[ply];
+        return start + PREFIX[ply + 1] + code + digit * RADIX[ply];
+    }
+
+    /**
+     * Returns the history of the first moves of a game.
+     *
+     * @param history The history
+     * @param ply     The number of moves to keep, at most {@link #ply(int)}
+     * @return The shortened history
+     */
+    public static int truncate(int history, int ply) {
+        int start = history - history % SEQUENCES;
+        int code = history % SEQUENCES - PREFIX[ply(history)];
+        return start + PREFIX[ply] + code % RADIX[ply];
+    }
+
+    /**
+     * Returns the position a history reaches.
+     *
+     * @param history The history
+     * @return The position reached
+     * @throws IllegalStateException if the history continues a finished game
+     */
+    public static Position position(int history) {
+        int index = POSITION_BY_HISTORY[history];
+        if (index >= 0) {
+            return Position.of(index);
+        }
+        int ply = ply(history);
+        long moves = moves(history);
+        Position position = Position.initial(firstPlayer(history));
+        for (int i = 0; i < ply; i++) {
+            position = position.move(CELLS[(int) ((moves >>> (4 * i)) & 0xF)]);
+        }
+        return position;
+    }
+
+    /**
+     * Finds a history that reaches a position, used when only the board of a game is known.
+     * A history that the position extends is preferred, so the known moves keep their order; a hint
+     * longer than the position, as after an undo, is cut to the length of the position first.
+     *
+     * @param target The position to reach
+     * @param hint   A history the position may extend, or -1
+     * @return A history reaching the position, or -1 if there is none
+     */
+    public static int of(Position target, int hint) {
+        Player first = firstPlayer(target);
+        if (hint >= 0 && firstPlayer(hint) == first) {
+            int ply = Integer.bitCount(target.getOccupied());
+            if (ply(hint) > ply) {
+                hint = truncate(hint, ply);
+            }
+            Position known = position(hint);
+            if (isExtensionOf(target, known)) {
+                int found = complete(known, hint, target);
+                if (found >= 0) {
+                    return found;
+                }
+            }
+        }
+        return complete(Position.initial(first), initial(first), target);
+    }
+
+    private static int complete(Position position, int history, Position target) {
+        if (position == target) {
+            return history;
+        }
+        if (position.isGameOver()) {
+            return -1;
+        }
+        Player mover = position.getCurrentPlayer();
+        for (Cell cell : CELLS) {
+            if (position.getPlayer(cell) == Player.EMPTY && target.getPlayer(cell) == mover) {
+                int found = complete(position.move(cell), append(history, cell), target);
+                if (found >= 0) {
+                    return found;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isExtensionOf(Position target, Position known) {
+        for (Cell cell : CELLS) {
+            Player player = known.getPlayer(cell);
+            if (player != Player.EMPTY && target.getPlayer(cell) != player) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Player firstPlayer(Position position) {
+        int x = 0;
+        int o = 0;
+        for (Cell cell : CELLS) {
+            Player player = position.getPlayer(cell);
+            if (player == Player.X) {
+                x++;
+            } else if (player == Player.O) {
+                o++;
+            }
+        }
+        if (x != o) {
+            return x > o ? Player.X : Player.O;
+        }
+        Player last = position.getLastPlayer();
+        return last == null ? position.getCurrentPlayer() : opponent(last);
+    }
+
+    private static Player opponent(Player player) {
+        return player == Player.X ? Player.O : Player.X;
+    }
+
+    private static int nthFree(int free, int n) {
+        for (int cell = 0; ; cell++) {
+            if ((free & (1 << cell)) != 0 && n-- == 0) {
+                return cell;
+            }
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.example.tictactoe.util;
+
+import com.example.tictactoe.model.Cell;
+import com.example.tictactoe.model.Player;
+import com.example.tictactoe.store.GameStore;
+
+import static com.example.tictactoe.constant.GameConstants.GAME_OVER_MESSAGE;
+import static com.example.tictactoe.constant.GameConstants.ILLEGAL_POSITION_MESSAGE;
+import static com.example.tictactoe.constant.GameConstants.NOTHING_TO_UNDO_MESSAGE;
+import static com.example.tictactoe.constant.GameConstants.VERSION_NOT_AVAILABLE_MESSAGE;
+
+/**
+ * Encodes a game as a single {@code long}: its {@link MoveHistory} in the low bits, its version above
+ * it, the number of moves the current line of play started from, then a forfeit flag and on top a
+ * fence flag set while the game migrates to another instance.
+ * A live game therefore costs eight bytes, and a move is a single compare-and-set of that word.
+ * Keeping the moves rather than only the board lets a finished game be archived as it was played.
+ * The bits above {@link GameStore#STATE_BITS} are left to the store.
+ */
+public final class PackedGameState {
+    private PackedGameState() {
+        // Private constructor to prevent instantiation
+    }
+
+    private static final int HISTORY_BITS = 21;
+    private static final int LINE_START_BITS = 4;
+    private static final int FORFEIT_BITS = 2;
+    private static final int FENCE_BITS = 1;
+    private static final int VERSION_BITS =
+        GameStore.STATE_BITS - HISTORY_BITS - LINE_START_BITS - FORFEIT_BITS - FENCE_BITS;
+    private static final int LINE_START_SHIFT = HISTORY_BITS + VERSION_BITS;
+    private static final int FORFEIT_SHIFT = LINE_START_SHIFT + LINE_START_BITS;
+    private static final long FENCED = 1L << (FORFEIT_SHIFT + FORFEIT_BITS);
+    private static final long HISTORY_MASK = (1L << HISTORY_BITS) - 1;
+    private static final long VERSION_MASK = (1L << VERSION_BITS) - 1;
+    private static final long LINE_START_MASK = (1L << LINE_START_BITS) - 1;
+    private static final long FORFEIT_MASK = (1L << FORFEIT_BITS) - 1;
+
+    /**
+     * Forfeit field values: no forfeit, won by X on time, won by O on time.
+     */
+    private static final long NOT_FORFEITED = 0;
+    private static final long FORFEIT_WON_BY_X = 1;
+    private static final long FORFEIT_WON_BY_O = 2;
+
+    public static long pack(int history, long version) {
+        return (version << HISTORY_BITS) | history;
+    }
+
+    /**
+     * Returns a new game with no moves played.
+     *
+     * @param startingPlayer The player who makes the first move
+     * @param version        The version of the game
+     * @return The packed game
+     */
+    public static long initial(Player startingPlayer, long version) {
+        return pack(MoveHistory.initial(startingPlayer), version);
+    }
+
+    public static int history(long packed) {
+        return (int) (packed & HISTORY_MASK);
+    }
+
+    public static Position position(long packed) {
+        return MoveHistory.position(history(packed));
+    }
+
+    public static long version(long packed) {
+        return (packed >>> HISTORY_BITS) & VERSION_MASK;
+    }
+
+    /**
+     * Checks a packed game received from another instance before it is stored: it must use only the
+     * state bits, not be fenced, hold the history of a legal game, start its line of play within that
+     * history, be forfeited only while the board is still open, and have a version high enough for
+     * every move of its line of play.
+     *
+     * @param packed The packed game
+     * @return {@code true} if the game can be stored and read
+     */
+    public static boolean isValid(long packed) {
+        if ((packed & ~GameStore.STATE_MASK) != 0 || isFenced(packed)) {
+            return false;
+        }
+        int history = history(packed);
+        if (!MoveHistory.isLegal(history)) {
+            return false;
+        }
+        int ply = MoveHistory.ply(history);
+        long forfeit = forfeitField(packed);
+        if (lineStart(packed) > ply || forfeit > FORFEIT_WON_BY_O
+            || forfeit != NOT_FORFEITED && MoveHistory.position(history).isGameOver()) {
+            return false;
+        }
+        return version(packed) >= ply - lineStart(packed) + (forfeit == NOT_FORFEITED ? 0 : 1);
+    }
+
+    public static boolean isForfeited(long packed) {
+        return forfeitField(packed) != NOT_FORFEITED;
+    }
+
+    /**
+     * Returns whether a game is fenced for migration, in which case it must not be updated.
+     *
+     * @param packed The packed game
+     * @return {@code true} if the fence flag is set
+     */
+    public static boolean isFenced(long packed) {
+        return (packed & FENCED) != 0;
+    }
+
+    /**
+     * Sets the fence flag. The version is unchanged, so the receiving instance continues from it.
+     *
+     * @param packed The packed game
+     * @return The packed game with writes fenced off
+     */
+    public static long fence(long packed) {
+        return packed | FENCED;
+    }
+
+    /**
+     * Clears the fence flag after a migration was abandoned.
+     *
+     * @param packed The packed game
+     * @return The packed game without the fence flag
+     */
+    public static long unfence(long packed) {
+        return packed & ~FENCED;
+    }
+
+    public static boolean isGameOver(long packed) {
+        return isForfeited(packed) || position(packed).isGameOver();
+    }
+
+    /**
+     * Returns the winner of a game, taking forfeits into account.
+     *
+     * @param packed The packed game
+     * @return The winning player, or {@link Player#EMPTY} if there is none (yet)
+     */
+    public static Player winner(long packed) {
+        long forfeit = forfeitField(packed);
+        if (forfeit == NOT_FORFEITED) {
+            return position(packed).getWinner();
+        }
+        return forfeit == FORFEIT_WON_BY_X ? Player.X : Player.O;
+    }
+
+    /**
+     * Applies a move for the player to move.
+     *
+     * @param packed The packed game
+     * @param cell   The cell to play
+     * @return The packed game after the move, with its version incremented
+     * @throws IllegalStateException    if the game is over
+     * @throws IllegalArgumentException if the cell is already occupied
+     */
+    public static long move(long packed, Cell cell) {
+        if (isForfeited(packed)) {
+            throw new IllegalStateException(GAME_OVER_MESSAGE);
+        }
+        int history = history(packed);
+        MoveHistory.position(history).move(cell);
+        return withLineStart(pack(MoveHistory.append(history, cell), version(packed) + 1), lineStart(packed));
+    }
+
+    /**
+     * Takes back the last move. The version still increases, so the undo is ordered after the move
+     * like any other update and replicates the same way. The undo starts a new line of play: the
+     * versions before it held boards that no longer lead to the current one.
+     *
+     * @param packed The packed game
+     * @return The packed game without its last move, with its version incremented
+     * @throws IllegalStateException if the game is over or no move has been made
+     */
+    public static long undo(long packed) {
+        if (isGameOver(packed)) {
+            throw new IllegalStateException(GAME_OVER_MESSAGE);
+        }
+        int history = history(packed);
+        int ply = MoveHistory.ply(history);
+        if (ply == 0) {
+            throw new IllegalStateException(NOTHING_TO_UNDO_MESSAGE);
+        }
+        return withLineStart(pack(MoveHistory.truncate(history, ply - 1), version(packed) + 1), ply - 1);
+    }
+
+    /**
+     * Returns the game as it was at an earlier version of its current line of play.
+     * Each version back drops one move from the history, down to the number of moves the line started
+     * from, so nothing but the current word is needed. Versions before the line started, at a new
+     * game, a reset, an undo or a state received from another instance, are not available.
+     *
+     * @param packed  The packed game
+     * @param version The version to read
+     * @return The packed game at that version
+     * @throws IllegalArgumentException if the version is not on the current line of play
+     */
+    public static long atVersion(long packed, long version) {
+        long current = version(packed);
+        int history = history(packed);
+        int ply = MoveHistory.ply(history);
+        // A forfeit adds a version without a move
+        long lastMoveVersion = isForfeited(packed) ? current - 1 : current;
+        long firstVersion = lastMoveVersion - (ply - lineStart(packed));
+        if (version < firstVersion || version > current) {
+            throw new IllegalArgumentException(
+                String.format(VERSION_NOT_AVAILABLE_MESSAGE, version, firstVersion, current));
+        }
+        if (version == current) {
+            return packed;
+        }
+        return pack(MoveHistory.truncate(history, ply - (int) (lastMoveVersion - version)), version);
+    }
+
+    /**
+     * Ends a game because a player ran out of time.
+     *
+     * @param packed The packed game
+     * @param loser  The player who forfeits
+     * @return The packed game with the opponent as winner and the version incremented
+     */
+    public static long forfeit(long packed, Player loser) {
+        long winner = loser == Player.X ? FORFEIT_WON_BY_O : FORFEIT_WON_BY_X;
+        return (winner << FORFEIT_SHIFT)
+            | withLineStart(pack(history(packed), version(packed) + 1), lineStart(packed));
+    }
+
+    /**
+     * Packs a game state received from a client or another instance.
+     * A finished state on an unfinished board is a game that was forfeited on time.
+     *
+     * @param state The game state to pack
+     * @return The packed game
+     * @throws IllegalArgumentException if the board is not a legal position or the version is out of range
+     */
+    public static long of(GameState state) {
+        return of(state, GameStore.MISSING);
+    }
+
+    /**
+     * Packs a game state received from another instance. The state carries only the board, so the
+     * moves are rebuilt, keeping the order of the moves already known locally where the board extends them.
+     * The rebuilt moves need not be the ones that led to the earlier versions, so the line of play starts
+     * at the received version.
+     *
+     * @param state   The game state to pack
+     * @param current The packed game held locally, or {@link GameStore#MISSING}
+     * @return The packed game
+     * @throws IllegalArgumentException if the board is not a legal position or the version is out of range
+     */
+    public static long of(GameState state, long current) {
+        Position position = Position.of(state.getBoard(), state.getCurrentPlayer());
+        if (position == null || state.getVersion() < 0 || state.getVersion() > VERSION_MASK) {
+            throw new IllegalArgumentException(ILLEGAL_POSITION_MESSAGE);
+        }
+        int history = MoveHistory.of(position, current == GameStore.MISSING ? -1 : history(current));
+        if (history < 0) {
+            throw new IllegalArgumentException(ILLEGAL_POSITION_MESSAGE);
+        }
+        long packed = withLineStart(pack(history, state.getVersion()), MoveHistory.ply(history));
+        if (!state.isGameOver() || position.isGameOver()) {
+            return packed;
+        }
+        if (state.getWinner() != Player.X && state.getWinner() != Player.O) {
+            throw new IllegalArgumentException(ILLEGAL_POSITION_MESSAGE);
+        }
+        long winner = state.getWinner() == Player.X ? FORFEIT_WON_BY_X : FORFEIT_WON_BY_O;
+        return (winner << FORFEIT_SHIFT) | packed;
+    }
+
+    public static GameState toGameState(long packed) {
+        GameState state = new GameState(position(packed), version(packed));
+        if (isForfeited(packed)) {
+            state.setGameOver(true);
+            state.setWinner(winner(packed));
+        }
+        return state;
+    }
+
+    private static int lineStart(long packed) {
+        return (int) ((packed >>> LINE_START_SHIFT) & LINE_START_MASK);
+    }
+
+    private static long withLineStart(long packed, int ply) {
+        return packed | (long) ply << LINE_START_SHIFT;
+    }
+
+    private static long forfeitField(long packed) {
+        return (packed >>> FORFEIT_SHIFT) & FORFEIT_MASK;
+    }
+}
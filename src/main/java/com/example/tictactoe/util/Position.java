@@ -0,0 +1,303 @@
+package com.example.tictactoe.util;
+
+import com.example.tictactoe.model.Cell;
+import com.example.tictactoe.model.Player;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.tictactoe.constant.GameConstants.CELL_OCCUPIED_MESSAGE;
+import static com.example.tictactoe.constant.GameConstants.GAME_OVER_MESSAGE;
+
+/**
+ * An immutable, shared position of a Tic-Tac-Toe game.
+ * Every legal position reachable from an empty board is built once when this class is loaded,
+ * together with its outcome and the position reached by playing each cell. Making a move is a
+ * single array lookup, and all games in the same position share one instance.
+ */
+public final class Position {
+
+    private static final Cell[] CELLS = Cell.values();
+    private static final int[][] LINES = {
+        {0, 1, 2}, {3, 4, 5}, {6, 7, 8},
+        {0, 3, 6}, {1, 4, 7}, {2, 5, 8},
+        {0, 4, 8}, {2, 4, 6}
+    };
+
+    /**
+     * The rotations and reflections of the board: cell {@code c} of a transformed board holds cell
+     * {@code SYMMETRIES[s][c]} of the original.
+     */
+    private static final int[][] SYMMETRIES = {
+        {0, 1, 2, 3, 4, 5, 6, 7, 8},
+        {6, 3, 0, 7, 4, 1, 8, 5, 2},
+        {8, 7, 6, 5, 4, 3, 2, 1, 0},
+        {2, 5, 8, 1, 4, 7, 0, 3, 6},
+        {2, 1, 0, 5, 4, 3, 8, 7, 6},
+        {6, 7, 8, 3, 4, 5, 0, 1, 2},
+        {0, 3, 6, 1, 4, 7, 2, 5, 8},
+        {8, 5, 2, 7, 4, 1, 6, 3, 0}
+    };
+
+    /**
+     * Number of distinct boards: each of the nine cells is empty, X or O.
+     */
+    private static final int BOARD_CODES = 19683;
+
+    /**
+     * Position index by {@code boardCode * 2 + (currentPlayer == O ? 1 : 0)}, or -1 for illegal keys.
+     */
+    private static final int[] INDEX_BY_KEY = new int[BOARD_CODES * 2];
+    private static final Position[] POSITIONS;
+
+    static {
+        Arrays.fill(INDEX_BY_KEY, -1);
+        List<Position> positions = new ArrayList<>();
+        Deque<Position> pending = new ArrayDeque<>();
+        Player[] emptyBoard = new Player[CELLS.length];
+        Arrays.fill(emptyBoard, Player.EMPTY);
+        intern(emptyBoard, Player.X, null, positions, pending);
+        intern(emptyBoard.clone(), Player.O, null, positions, pending);
+
+        while (!pending.isEmpty()) {
+            Position position = pending.poll();
+            if (position.gameOver) {
+                continue;
+            }
+            for (int cell = 0; cell < CELLS.length; cell++) {
+                if (position.cells[cell] == Player.EMPTY) {
+                    Player[] cells = position.cells.clone();
+                    cells[cell] = position.currentPlayer;
+                    position.next[cell] = intern(cells, opponent(position.currentPlayer), position.currentPlayer,
+                        positions, pending);
+                }
+            }
+        }
+        POSITIONS = positions.toArray(new Position[0]);
+
+        for (Position position : POSITIONS) {
+            int canonical = position.index;
+            Player[] transformed = new Player[CELLS.length];
+            for (int[] symmetry : SYMMETRIES) {
+                for (int cell = 0; cell < CELLS.length; cell++) {
+                    transformed[cell] = position.cells[symmetry[cell]];
+                }
+                int key = boardCode(transformed) * 2 + (position.currentPlayer == Player.O ? 1 : 0);
+                canonical = Math.min(canonical, INDEX_BY_KEY[key]);
+            }
+            position.canonical = POSITIONS[canonical];
+        }
+    }
+
+    private final int index;
+    private final Player[] cells;
+    private final Map<Cell, Player> board;
+    private final Player currentPlayer;
+    private final Player lastPlayer;
+    private final boolean gameOver;
+    private final Player winner;
+    private final Position[] next = new Position[CELLS.length];
+    private final int occupied;
+    private Position canonical;
+
+    private Position(int index, Player[] cells, Player currentPlayer, Player lastPlayer) {
+        this.index = index;
+        this.cells = cells;
+        this.currentPlayer = currentPlayer;
+        this.lastPlayer = lastPlayer;
+
+        Map<Cell, Player> boardMap = new EnumMap<>(Cell.class);
+        for (Cell cell : CELLS) {
+            boardMap.put(cell, cells[cell.ordinal()]);
+        }
+        this.board = Collections.unmodifiableMap(boardMap);
+
+        int occupiedCells = 0;
+        for (int cell = 0; cell < CELLS.length; cell++) {
+            if (cells[cell] != Player.EMPTY) {
+                occupiedCells |= 1 << cell;
+            }
+        }
+        this.occupied = occupiedCells;
+
+        if (lastPlayer != null && completesLine(cells, lastPlayer)) {
+            this.gameOver = true;
+            this.winner = lastPlayer;
+        } else {
+            this.gameOver = !Arrays.asList(cells).contains(Player.EMPTY);
+            this.winner = Player.EMPTY;
+        }
+    }
+
+    /**
+     * Returns the empty board with the given player to move.
+     *
+     * @param startingPlayer The player who makes the first move
+     * @return The initial position
+     */
+    public static Position initial(Player startingPlayer) {
+        return POSITIONS[startingPlayer == Player.O ? 1 : 0];
+    }
+
+    /**
+     * Returns the position with the given index.
+     *
+     * @param index The index of the position, as returned by {@link #getIndex()}
+     * @return The position
+     */
+    public static Position of(int index) {
+        return POSITIONS[index];
+    }
+
+    /**
+     * Looks up the shared position for a board and the player to move.
+     *
+     * @param board         The contents of every cell
+     * @param currentPlayer The player to move
+     * @return The position, or {@code null} if the board cannot be reached in a legal game
+     */
+    public static Position of(Map<Cell, Player> board, Player currentPlayer) {
+        if (board == null || currentPlayer == null || currentPlayer == Player.EMPTY) {
+            return null;
+        }
+        int code = 0;
+        for (int cell = CELLS.length - 1; cell >= 0; cell--) {
+            Player player = board.get(CELLS[cell]);
+            if (player == null) {
+                return null;
+            }
+            code = code * 3 + symbol(player);
+        }
+        int index = INDEX_BY_KEY[code * 2 + (currentPlayer == Player.O ? 1 : 0)];
+        return index < 0 ? null : POSITIONS[index];
+    }
+
+    /**
+     * Returns the number of legal positions.
+     *
+     * @return The size of the position table
+     */
+    public static int count() {
+        return POSITIONS.length;
+    }
+
+    /**
+     * Returns the position reached when the current player plays the given cell.
+     *
+     * @param cell The cell to play
+     * @return The resulting position
+     * @throws IllegalStateException    if the game is over
+     * @throws IllegalArgumentException if the cell is already occupied
+     */
+    public Position move(Cell cell) {
+        if (gameOver) {
+            throw new IllegalStateException(GAME_OVER_MESSAGE);
+        }
+        Position nextPosition = next[cell.ordinal()];
+        if (nextPosition == null) {
+            throw new IllegalArgumentException(CELL_OCCUPIED_MESSAGE);
+        }
+        return nextPosition;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Player getPlayer(Cell cell) {
+        return cells[cell.ordinal()];
+    }
+
+    /**
+     * Returns a read-only view of the board that is shared by every game in this position.
+     *
+     * @return The board
+     */
+    public Map<Cell, Player> getBoard() {
+        return board;
+    }
+
+    public Player getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    public Player getLastPlayer() {
+        return lastPlayer;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    public Player getWinner() {
+        return winner;
+    }
+
+    /**
+     * Returns the occupied cells as a bit mask indexed by cell ordinal.
+     *
+     * @return The mask of occupied cells
+     */
+    int getOccupied() {
+        return occupied;
+    }
+
+    /**
+     * Returns the representative of this position among its rotations and reflections, so
+     * positions that only differ by a symmetry of the board can be counted together.
+     *
+     * @return The symmetric position with the lowest index, possibly this one
+     */
+    public Position getCanonical() {
+        return canonical;
+    }
+
+    private static Position intern(Player[] cells, Player currentPlayer, Player lastPlayer,
+                                   List<Position> positions, Deque<Position> pending) {
+        int key = boardCode(cells) * 2 + (currentPlayer == Player.O ? 1 : 0);
+        int index = INDEX_BY_KEY[key];
+        if (index >= 0) {
+            return positions.get(index);
+        }
+        Position position = new Position(positions.size(), cells, currentPlayer, lastPlayer);
+        INDEX_BY_KEY[key] = position.index;
+        positions.add(position);
+        pending.add(position);
+        return position;
+    }
+
+    private static int boardCode(Player[] cells) {
+        int code = 0;
+        for (int cell = cells.length - 1; cell >= 0; cell--) {
+            code = code * 3 + symbol(cells[cell]);
+        }
+        return code;
+    }
+
+    private static int symbol(Player player) {
+        return switch (player) {
+            case X -> 1;
+            case O -> 2;
+            case EMPTY -> 0;
+        };
+    }
+
+    private static boolean completesLine(Player[] cells, Player player) {
+        for (int[] line : LINES) {
+            if (cells[line[0]] == player && cells[line[1]] == player && cells[line[2]] == player) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Player opponent(Player player) {
+        return player == Player.X ? Player.O : Player.X;
+    }
+}
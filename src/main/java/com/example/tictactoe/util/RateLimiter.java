@@ -0,0 +1,101 @@
+package com.example.tictactoe.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket rate limits keyed by player, game or client, implemented as a generic cell rate
+ * algorithm so each bucket is a single {@link AtomicLong}.
+ * <p>
+ * A bucket holds the theoretical arrival time of the next request: the time at which it would be
+ * admitted if requests came exactly at the sustained rate. A request advances it by one interval and
+ * is admitted as long as it stays within the burst ahead of now, so refilling is implicit in the
+ * clock moving on and never needs a timer or a lock. A bucket whose arrival time is in the past is
+ * full and behaves like a new one, so idle buckets can be dropped without changing any limit; a
+ * request racing the eviction of its bucket is counted against a fresh bucket, which at worst
+ * admits it one token early.
+ *
+ * @param <K> The type of the key a limit applies to
+ */
+public final class RateLimiter<K> {
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final long idleNanos;
+    private final LongSupplier clock;
+    private final ConcurrentMap<K, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a limiter with no buckets.
+     *
+     * @param perSecond  The sustained number of requests admitted per second and key
+     * @param burst      The number of requests a key that has been idle may make at once
+     * @param idleMillis How long a full bucket is kept before {@link #evictIdle()} drops it
+     */
+    public RateLimiter(double perSecond, int burst, long idleMillis) {
+        this(perSecond, burst, idleMillis, System::nanoTime);
+    }
+
+    RateLimiter(double perSecond, int burst, long idleMillis, LongSupplier clock) {
+        if (perSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / perSecond));
+        this.burstNanos = intervalNanos * burst;
+        this.idleNanos = TimeUnit.MILLISECONDS.toNanos(idleMillis);
+        this.clock = clock;
+    }
+
+    /**
+     * Takes a token from the bucket of a key.
+     *
+     * @param key The key to charge
+     * @return 0 if the request is admitted, otherwise how many nanoseconds until it would be
+     */
+    public long tryAcquire(K key) {
+        long now = clock.getAsLong();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long arrival = bucket.get();
+            long next = (arrival - now > 0 ? arrival : now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops the buckets that have been full for longer than the idle time.
+     *
+     * @return The number of buckets dropped
+     */
+    public int evictIdle() {
+        long now = clock.getAsLong();
+        int evicted = 0;
+        for (Map.Entry<K, AtomicLong> entry : buckets.entrySet()) {
+            if (now - entry.getValue().get() > idleNanos && buckets.remove(entry.getKey(), entry.getValue())) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Returns the number of keys with a bucket.
+     *
+     * @return The number of buckets
+     */
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.tictactoe.util;
+
+import com.example.tictactoe.model.ReplicationBatch;
+import com.example.tictactoe.model.ReplicationStatus;
+import com.example.tictactoe.store.GameStore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Copies of games owned by other instances, kept up to date by their replication streams and used to
+ * serve reads that accept a bounded staleness.
+ * <p>
+ * Staleness is tracked per source rather than per game: a batch promises that every change its source
+ * made before {@code asOfMillis} has been sent, so after applying it every copy from that source is
+ * current as of that time, including copies of games that did not change. A copy is never newer than
+ * its source, so a read that cannot be served here is always answered by the owner.
+ * <p>
+ * Batches of one source are applied one at a time under the lock of that source; batches of different
+ * sources and reads do not wait for each other.
+ */
+public final class ReplicaStore {
+    private final LongSupplier clock;
+    private final ConcurrentMap<Long, Replica> replicas = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Source> sources = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a store with no copies.
+     */
+    public ReplicaStore() {
+        this(System::currentTimeMillis);
+    }
+
+    ReplicaStore(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Applies a batch of a replication stream. A batch already applied, or older than one applied, is
+     * ignored, so a sender may retry a batch whose answer it did not get. A batch from a new epoch of
+     * its source drops the copies of the earlier epoch first, since a restarted source no longer has
+     * those games.
+     *
+     * @param batch The batch
+     * @return {@code true} if the batch was applied
+     */
+    public boolean apply(ReplicationBatch batch) {
+        Source source = sources.computeIfAbsent(batch.source(), Source::new);
+        synchronized (source) {
+            if (batch.epoch() != source.epoch) {
+                replicas.values().removeIf(replica -> replica.source() == source);
+                source.epoch = batch.epoch();
+                source.sequence = 0;
+                source.asOfMillis = 0;
+            }
+            if (batch.sequence() <= source.sequence) {
+                return false;
+            }
+            long[] gameIds = batch.gameIds();
+            long[] states = batch.states();
+            for (int i = 0; i < gameIds.length; i++) {
+                if (states[i] == GameStore.MISSING) {
+                    // A game that moved on is only dropped if no newer owner has sent it since
+                    replicas.computeIfPresent(gameIds[i], (gameId, replica) -> replica.source() == source
+                        ? null : replica);
+                } else {
+                    replicas.put(gameIds[i], new Replica(states[i], source));
+                }
+            }
+            source.sequence = batch.sequence();
+            source.asOfMillis = Math.max(source.asOfMillis, batch.asOfMillis());
+            source.lagMillis = clock.getAsLong() - batch.asOfMillis();
+            return true;
+        }
+    }
+
+    /**
+     * Reads the copy of a game if it meets the bounds of the caller.
+     *
+     * @param gameId             The ID of the game
+     * @param maxStalenessMillis How long ago the copy may have last been known to be current
+     * @param minVersion         The lowest version the caller accepts
+     * @return The packed state of the copy, or {@link GameStore#MISSING} if there is none that meets the bounds
+     */
+    public long read(long gameId, long maxStalenessMillis, long minVersion) {
+        Replica replica = replicas.get(gameId);
+        if (replica == null
+            || clock.getAsLong() - replica.source().asOfMillis > maxStalenessMillis
+            || PackedGameState.version(replica.state()) < minVersion) {
+            return GameStore.MISSING;
+        }
+        return replica.state();
+    }
+
+    /**
+     * Finds the instance that sent the copy of a game.
+     *
+     * @param gameId The ID of the game
+     * @return The base URL of the instance, or {@code null} if there is no copy
+     */
+    public String owner(long gameId) {
+        Replica replica = replicas.get(gameId);
+        return replica == null ? null : replica.source().url;
+    }
+
+    /**
+     * Returns the number of games copied.
+     *
+     * @return The number of copies
+     */
+    public int size() {
+        return replicas.size();
+    }
+
+    /**
+     * Reports how far behind the copies from each source are.
+     *
+     * @return The status of the copies
+     */
+    public ReplicationStatus status() {
+        long now = clock.getAsLong();
+        List<ReplicationStatus.Source> report = new ArrayList<>(sources.size());
+        for (Source source : sources.values()) {
+            synchronized (source) {
+                report.add(new ReplicationStatus.Source(source.url, source.sequence, now - source.asOfMillis,
+                    source.lagMillis));
+            }
+        }
+        return new ReplicationStatus(replicas.size(), report);
+    }
+
+    private record Replica(long state, Source source) {
+    }
+
+    private static final class Source {
+        private final String url;
+        private long epoch;
+        private long sequence;
+        private volatile long asOfMillis;
+        private long lagMillis;
+
+        private Source(String url) {
+            this.url = url;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.tictactoe.util;
+
+import com.example.tictactoe.model.Player;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Issues and verifies stateless seat tokens.
+ * <p>
+ * A token is the game ID, the seat and an expiry, followed by a truncated HMAC-SHA256 of those
+ * fields, encoded as 44 characters of URL-safe base64. Any instance configured with the same secret
+ * can verify a token without a lookup. Verification decodes into pooled buffers and reuses pooled
+ * {@link Mac} instances, so apart from what the JCE allocates internally it does not allocate; the
+ * pool is indexed by thread ID rather than held in thread locals, which would be rebuilt for every
+ * virtual thread.
+ */
+public final class SeatTokens {
+
+    /**
+     * Returned by {@link #verify(String)} for a token that is malformed, forged or expired.
+     */
+    public static final long INVALID = -1L;
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int PAYLOAD_BYTES = Long.BYTES + 1 + Long.BYTES;
+    private static final int MAC_BYTES = 16;
+    private static final int TOKEN_BYTES = PAYLOAD_BYTES + MAC_BYTES;
+    private static final int TOKEN_CHARS = TOKEN_BYTES / 3 * 4;
+    private static final byte[] DECODE = decodeTable();
+
+    private final SecretKeySpec key;
+    private final long ttlMillis;
+    private final AtomicReferenceArray<Verifier> pool;
+    private final int poolMask;
+
+    /**
+     * Creates a token issuer and verifier.
+     *
+     * @param secret    The shared secret; every instance that verifies tokens needs the same one
+     * @param ttlMillis How long an issued token stays valid
+     */
+    public SeatTokens(byte[] secret, long ttlMillis) {
+        if (secret == null || secret.length == 0) {
+            throw new IllegalArgumentException("Seat token secret must not be empty");
+        }
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.ttlMillis = ttlMillis;
+        int size = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4 - 1) << 1;
+        this.pool = new AtomicReferenceArray<>(size);
+        this.poolMask = size - 1;
+        // Fail fast on a JCE without HMAC-SHA256
+        release(acquire());
+    }
+
+    /**
+     * Issues a token for a seat in a game.
+     *
+     * @param gameId The ID of the game
+     * @param seat   {@link Player#X} or {@link Player#O}
+     * @return The token
+     */
+    public String issue(long gameId, Player seat) {
+        if (seat != Player.X && seat != Player.O) {
+            throw new IllegalArgumentException("Seat must be X or O");
+        }
+        byte[] token = new byte[TOKEN_BYTES];
+        writeLong(token, 0, gameId);
+        token[Long.BYTES] = (byte) seat.ordinal();
+        writeLong(token, Long.BYTES + 1, System.currentTimeMillis() + ttlMillis);
+        Verifier verifier = acquire();
+        try {
+            verifier.sign(token);
+            System.arraycopy(verifier.digest, 0, token, PAYLOAD_BYTES, MAC_BYTES);
+        } finally {
+            release(verifier);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+    }
+
+    /**
+     * Verifies a token.
+     *
+     * @param token The token, may be {@code null}
+     * @return The game and seat packed into a long, to be read with {@link #gameId(long)} and
+     * {@link #seat(long)}, or {@link #INVALID}
+     */
+    public long verify(String token) {
+        if (token == null || token.length() != TOKEN_CHARS) {
+            return INVALID;
+        }
+        Verifier verifier = acquire();
+        try {
+            byte[] bytes = verifier.token;
+            if (!decode(token, bytes)) {
+                return INVALID;
+            }
+            verifier.sign(bytes);
+            int difference = 0;
+            for (int i = 0; i < MAC_BYTES; i++) {
+                difference |= verifier.digest[i] ^ bytes[PAYLOAD_BYTES + i];
+            }
+            long gameId = readLong(bytes, 0);
+            int seat = bytes[Long.BYTES];
+            long expiresAt = readLong(bytes, Long.BYTES + 1);
+            if (difference != 0 || gameId <= 0 || (seat != 0 && seat != 1)
+                || expiresAt <= System.currentTimeMillis()) {
+                return INVALID;
+            }
+            return (gameId << 1) | seat;
+        } finally {
+            release(verifier);
+        }
+    }
+
+    public static long gameId(long verified) {
+        return verified >>> 1;
+    }
+
+    public static Player seat(long verified) {
+        return (verified & 1) == 0 ? Player.X : Player.O;
+    }
+
+    private Verifier acquire() {
+        int index = (int) (Thread.currentThread().threadId() & poolMask);
+        Verifier verifier = pool.getAndSet(index, null);
+        if (verifier != null) {
+            return verifier;
+        }
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return new Verifier(mac, index);
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    private void release(Verifier verifier) {
+        pool.compareAndSet(verifier.home, null, verifier);
+    }
+
+    private static boolean decode(String token, byte[] out) {
+        int position = 0;
+        for (int i = 0; i < TOKEN_CHARS; i += 4) {
+            int bits = 0;
+            for (int j = 0; j < 4; j++) {
+                char c = token.charAt(i + j);
+                int value = c < DECODE.length ? DECODE[c] : -1;
+                if (value < 0) {
+                    return false;
+                }
+                bits = (bits << 6) | value;
+            }
+            out[position++] = (byte) (bits >>> 16);
+            out[position++] = (byte) (bits >>> 8);
+            out[position++] = (byte) bits;
+        }
+        return true;
+    }
+
+    private static void writeLong(byte[] bytes, int offset, long value) {
+        for (int i = Long.BYTES - 1; i >= 0; i--) {
+            bytes[offset + i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static byte[] decodeTable() {
+        byte[] table = new byte[128];
+        Arrays.fill(table, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            table[alphabet.charAt(i)] = (byte) i;
+        }
+        return table;
+    }
+
+    /**
+     * A {@link Mac} with its scratch buffers, owned by one thread at a time.
+     */
+    private static final class Verifier {
+        private final Mac mac;
+        private final int home;
+        private final byte[] token = new byte[TOKEN_BYTES];
+        private final byte[] digest;
+
+        private Verifier(Mac mac, int home) {
+            this.mac = mac;
+            this.home = home;
+            this.digest = new byte[mac.getMacLength()];
+        }
+
+        private void sign(byte[] token) {
+            mac.update(token, 0, PAYLOAD_BYTES);
+            try {
+                mac.doFinal(digest, 0);
+            } catch (ShortBufferException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
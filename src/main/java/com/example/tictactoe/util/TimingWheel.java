@@ -0,0 +1,241 @@
+package com.example.tictactoe.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A hierarchical timing wheel driven by a single thread.
+ * <p>
+ * Timeouts are kept in {@value #LEVELS} levels of {@value #WHEEL_SIZE} buckets, each level covering
+ * {@value #WHEEL_SIZE} times the span of the one below, like the classic kernel timer wheel.
+ * Scheduling and cancelling cost O(1) regardless of how many timeouts are pending: callers only
+ * enqueue a command, and the wheel thread links or unlinks the timeout in its bucket. When a lower
+ * level wraps, the matching bucket of the next level is cascaded down.
+ * <p>
+ * Expired tasks run on the wheel thread and must return quickly; anything that blocks should be
+ * handed off to another thread.
+ */
+public final class TimingWheel implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(TimingWheel.class);
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELAY_TICKS = (1L << (WHEEL_BITS * LEVELS)) - 1;
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private final long tickNanos;
+    private final long startNanos;
+    private final Timeout[][] buckets = new Timeout[LEVELS][WHEEL_SIZE];
+    private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    /**
+     * Tick the wheel has processed up to, owned by the wheel thread.
+     */
+    private long currentTick;
+
+    /**
+     * Creates a timing wheel and starts its thread.
+     *
+     * @param tickMillis The resolution of the wheel in milliseconds
+     * @param name       The name of the wheel thread
+     */
+    public TimingWheel(long tickMillis, String name) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.startNanos = System.nanoTime();
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Schedules a task. Callable from any thread.
+     *
+     * @param delayMillis The delay after which the task runs; zero or negative runs it on the next tick
+     * @param task        The task to run on the wheel thread
+     * @return A handle to cancel the task
+     */
+    public Timeout schedule(long delayMillis, Runnable task) {
+        long delayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(delayMillis, 0));
+        long deadlineTick = (System.nanoTime() - startNanos + delayNanos + tickNanos - 1) / tickNanos;
+        Timeout timeout = new Timeout(this, deadlineTick, task);
+        scheduled.add(timeout);
+        return timeout;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(worker);
+    }
+
+    private void run() {
+        while (running) {
+            long elapsedTicks = (System.nanoTime() - startNanos) / tickNanos;
+            unlinkCancelled();
+            linkScheduled();
+            while (currentTick <= elapsedTicks) {
+                expireCurrentBucket();
+            }
+            long nextTickNanos = startNanos + currentTick * tickNanos;
+            LockSupport.parkNanos(this, nextTickNanos - System.nanoTime());
+        }
+    }
+
+    private void linkScheduled() {
+        Timeout timeout;
+        while ((timeout = scheduled.poll()) != null) {
+            if (timeout.state.get() == PENDING) {
+                link(timeout);
+            }
+        }
+    }
+
+    private void unlinkCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.level >= 0) {
+                unlink(timeout);
+            }
+        }
+    }
+
+    private void expireCurrentBucket() {
+        int index = (int) (currentTick & WHEEL_MASK);
+        if (index == 0) {
+            cascade();
+        }
+        Timeout timeout = buckets[0][index];
+        buckets[0][index] = null;
+        currentTick++;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.level = -1;
+            if (timeout.state.compareAndSet(PENDING, EXPIRED)) {
+                try {
+                    timeout.task.run();
+                } catch (RuntimeException e) {
+                    logger.error("Timing wheel task failed", e);
+                }
+            }
+            timeout = next;
+        }
+    }
+
+    /**
+     * Moves the timeouts of the next bucket of each higher level down, stopping at the first level
+     * that has not wrapped.
+     */
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            int index = (int) ((currentTick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+            Timeout timeout = buckets[level][index];
+            buckets[level][index] = null;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                timeout.prev = null;
+                timeout.next = null;
+                link(timeout);
+                timeout = next;
+            }
+            if (index != 0) {
+                return;
+            }
+        }
+    }
+
+    private void link(Timeout timeout) {
+        long deadline = timeout.deadlineTick;
+        long delay = deadline - currentTick;
+        if (delay < 0) {
+            deadline = currentTick;
+            delay = 0;
+        } else if (delay > MAX_DELAY_TICKS) {
+            // Parked in the last bucket of the top level; it is re-linked with its real deadline on cascade
+            deadline = currentTick + MAX_DELAY_TICKS;
+            delay = MAX_DELAY_TICKS;
+        }
+
+        int level = 0;
+        while (level < LEVELS - 1 && delay >= 1L << (WHEEL_BITS * (level + 1))) {
+            level++;
+        }
+        int index = (int) ((deadline >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+
+        timeout.level = level;
+        timeout.index = index;
+        timeout.prev = null;
+        timeout.next = buckets[level][index];
+        if (timeout.next != null) {
+            timeout.next.prev = timeout;
+        }
+        buckets[level][index] = timeout;
+    }
+
+    private void unlink(Timeout timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            buckets[timeout.level][timeout.index] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.level = -1;
+    }
+
+    /**
+     * A task scheduled on a {@link TimingWheel}.
+     */
+    public static final class Timeout {
+        private final TimingWheel wheel;
+        private final long deadlineTick;
+        private final Runnable task;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        // Bucket links, only touched by the wheel thread
+        private Timeout prev;
+        private Timeout next;
+        private int level = -1;
+        private int index;
+
+        private Timeout(TimingWheel wheel, long deadlineTick, Runnable task) {
+            this.wheel = wheel;
+            this.deadlineTick = deadlineTick;
+            this.task = task;
+        }
+
+        /**
+         * Cancels the task. Callable from any thread.
+         *
+         * @return {@code true} if the task had not run or been cancelled yet
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) {
+                return false;
+            }
+            wheel.cancelled.add(this);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.tictactoe;
+
+import com.example.tictactoe.client.Cell;
+import com.example.tictactoe.client.GameView;
+import com.example.tictactoe.client.Player;
+import com.example.tictactoe.client.TicTacToeClient;
+import com.example.tictactoe.service.TicTacToeService;
+import com.example.tictactoe.util.SeatTokens;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Plays many games at once from one client, to show how many games a single bot host can drive.
+ * Every game is won by X in five moves; each ply is submitted for all games at once, so the client
+ * packs the moves into full batches over a few connections.
+ * Run with {@code ./gradlew loadTest}.
+ */
+@Tag("load")
+class ClientLoadTest {
+
+    private static final int GAMES = 200_000;
+    private static final int CONNECTIONS = 4;
+    private static final String SEAT_TOKEN_SECRET = "test-seat-token-secret-shared-by-instances";
+    private static final Cell[] MOVES = {
+        Cell.TOP_LEFT, Cell.MIDDLE_LEFT, Cell.TOP_CENTER, Cell.MIDDLE_CENTER, Cell.TOP_RIGHT
+    };
+
+    @TempDir
+    Path archiveDirectory;
+
+    private ConfigurableApplicationContext context;
+    private int port;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // A fixed port, since created game IDs are prefixed with the configured port
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        context = new SpringApplicationBuilder(TicTacToeApplication.class)
+            .properties(
+                "server.port=" + port,
+                "other.instance.port=" + port,
+                "sync.interval.milliseconds=3600000",
+                "warmup.iterations=0",
+                "seat.token.secret=" + SEAT_TOKEN_SECRET,
+                "rate-limit.enabled=false",
+                "replication.enabled=false",
+                "logging.level.com.example.tictactoe=WARN",
+                "game.archive.dir=" + archiveDirectory)
+            .run();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    void oneClientPlaysManyGames() throws Exception {
+        TicTacToeService service = context.getBean(TicTacToeService.class);
+        SeatTokens seatTokens = context.getBean(SeatTokens.class);
+        long[] gameIds = new long[GAMES];
+        String[][] tokens = new String[2][GAMES];
+        for (int i = 0; i < GAMES; i++) {
+            gameIds[i] = service.createGame();
+            tokens[0][i] = seatTokens.issue(gameIds[i], com.example.tictactoe.model.Player.X);
+            tokens[1][i] = seatTokens.issue(gameIds[i], com.example.tictactoe.model.Player.O);
+        }
+
+        try (TicTacToeClient client = TicTacToeClient.builder(URI.create("http://localhost:" + port))
+            .maxConnections(CONNECTIONS)
+            .maxBatchSize(1000)
+            .requestTimeout(Duration.ofSeconds(60))
+            .build()) {
+            long start = System.nanoTime();
+            List<CompletableFuture<GameView>> lastMoves = new ArrayList<>(GAMES);
+            for (int ply = 0; ply < MOVES.length; ply++) {
+                lastMoves.clear();
+                String[] seat = tokens[ply % 2];
+                for (int i = 0; i < GAMES; i++) {
+                    lastMoves.add(client.move(seat[i], MOVES[ply]));
+                }
+                CompletableFuture.allOf(lastMoves.toArray(CompletableFuture[]::new)).get(5, TimeUnit.MINUTES);
+            }
+            long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+            long moves = (long) GAMES * MOVES.length;
+            System.out.printf("Played %d games (%d moves) in %d ms: %d moves/s over %d requests on %d connections%n",
+                GAMES, moves, elapsedMillis, moves * 1000 / elapsedMillis, client.requestCount(), CONNECTIONS);
+
+            for (CompletableFuture<GameView> lastMove : lastMoves) {
+                GameView state = lastMove.join();
+                assertTrue(state.gameOver());
+                assertEquals(Player.X, state.winner());
+            }
+            assertTrue(client.requestCount() <= moves / 500, "Moves should be sent in batches");
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.tictactoe;
+
+import com.example.tictactoe.exception.GameMovedException;
+import com.example.tictactoe.model.MigrationReport;
+import com.example.tictactoe.model.Player;
+import com.example.tictactoe.service.MigrationService;
+import com.example.tictactoe.service.TicTacToeService;
+import com.example.tictactoe.util.SeatTokens;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drains a source instance holding many live games into a target instance while players keep
+ * moving, and reports the migration throughput and the longest pause a player saw.
+ * Each player alternates a move and its undo, so its game never ends, and follows the 307 to the
+ * target when its game has moved. A player whose game is in a batch being sent waits for the batch,
+ * so the pause it sees is the time its batch was fenced.
+ * Run with {@code ./gradlew loadTest}.
+ */
+@Tag("load")
+class MigrationLoadTest {
+
+    private static final int GAMES = 100_000;
+    private static final int PLAYERS = 16;
+    private static final long PLAY_BEFORE_AND_AFTER_MILLIS = 500;
+    private static final long MAX_CLIENT_PAUSE_MILLIS = 1000;
+    private static final String SEAT_TOKEN_SECRET = "test-seat-token-secret-shared-by-instances";
+    private static final String ADMIN_TOKEN = "test-admin-token-shared-by-instances";
+
+    @TempDir
+    Path archiveDirectory;
+
+    private ConfigurableApplicationContext source;
+    private ConfigurableApplicationContext target;
+    private String sourceUrl;
+    private String targetUrl;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Fixed ports, since created game IDs are prefixed with the configured port
+        int sourcePort = freePort();
+        int targetPort = freePort();
+        target = start(targetPort, sourcePort, "target");
+        source = start(sourcePort, targetPort, "source");
+        sourceUrl = "http://localhost:" + sourcePort;
+        targetUrl = "http://localhost:" + targetPort;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (source != null) {
+            source.close();
+        }
+        if (target != null) {
+            target.close();
+        }
+    }
+
+    @Test
+    void drainMovesEveryGameWhilePlayersKeepMoving() throws Exception {
+        TicTacToeService sourceService = source.getBean(TicTacToeService.class);
+        TicTacToeService targetService = target.getBean(TicTacToeService.class);
+        SeatTokens seatTokens = source.getBean(SeatTokens.class);
+        long[] gameIds = new long[GAMES];
+        for (int i = 0; i < GAMES; i++) {
+            gameIds[i] = sourceService.createGame();
+        }
+
+        HttpClient client = HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NEVER).build();
+        AtomicBoolean playing = new AtomicBoolean(true);
+        List<Future<PlayerResult>> players = new ArrayList<>();
+        MigrationReport report;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < PLAYERS; i++) {
+                String token = seatTokens.issue(gameIds[i * (GAMES / PLAYERS)], Player.X);
+                players.add(executor.submit(() -> play(client, token, playing)));
+            }
+            Thread.sleep(PLAY_BEFORE_AND_AFTER_MILLIS);
+            report = source.getBean(MigrationService.class).drain();
+            Thread.sleep(PLAY_BEFORE_AND_AFTER_MILLIS);
+            playing.set(false);
+        }
+
+        long maxClientPause = 0;
+        for (Future<PlayerResult> player : players) {
+            PlayerResult result = player.get();
+            assertEquals(targetUrl, result.baseUrl(), "Every player should end up on the target");
+            maxClientPause = Math.max(maxClientPause, result.maxPauseMillis());
+        }
+        System.out.printf("Migrated %d games in %d batches in %d ms: %.0f games/s, longest fence %.1f ms, "
+                + "longest pause seen by a player %d ms%n", report.games(), report.batches(), report.elapsedMillis(),
+            report.gamesPerSecond(), report.maxPauseMillis(), maxClientPause);
+
+        assertEquals(GAMES, report.games());
+        assertEquals(0, report.failed());
+        for (long gameId : gameIds) {
+            assertThrows(GameMovedException.class, () -> sourceService.getGameState(gameId));
+            targetService.getGameState(gameId);
+        }
+        assertTrue(maxClientPause < MAX_CLIENT_PAUSE_MILLIS,
+            "A player waited " + maxClientPause + " ms for its game to move");
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private ConfigurableApplicationContext start(int port, int otherInstancePort, String name) {
+        return new SpringApplicationBuilder(TicTacToeApplication.class)
+            .properties(
+                "server.port=" + port,
+                "other.instance.port=" + otherInstancePort,
+                "sync.interval.milliseconds=3600000",
+                "warmup.iterations=0",
+                "seat.token.secret=" + SEAT_TOKEN_SECRET,
+                "admin.token=" + ADMIN_TOKEN,
+                "rate-limit.enabled=false",
+                "replication.enabled=false",
+                "logging.level.com.example.tictactoe=WARN",
+                "game.archive.dir=" + archiveDirectory.resolve(name))
+            .run();
+    }
+
+    /**
+     * Moves and undoes in a loop until told to stop, following redirects, and records the longest
+     * time between two successful requests.
+     */
+    private PlayerResult play(HttpClient client, String token, AtomicBoolean playing) throws Exception {
+        String baseUrl = sourceUrl;
+        long lastSuccess = System.nanoTime();
+        long maxPauseNanos = 0;
+        boolean moved = false;
+        while (playing.get()) {
+            String path = moved ? "/api/game/undo" : "/api/game/move?cell=TOP_LEFT";
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Seat-Token", token)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 307) {
+                URI location = URI.create(response.headers().firstValue("Location").orElseThrow());
+                baseUrl = location.getScheme() + "://" + location.getAuthority();
+                continue;
+            }
+            assertEquals(200, response.statusCode(), response.body());
+            long now = System.nanoTime();
+            maxPauseNanos = Math.max(maxPauseNanos, now - lastSuccess);
+            lastSuccess = now;
+            moved = !moved;
+        }
+        return new PlayerResult(baseUrl, maxPauseNanos / 1_000_000);
+    }
+
+    private record PlayerResult(String baseUrl, long maxPauseMillis) {
+    }
+}
@@ -1,18 +1,24 @@
 package com.example.tictactoe;
 
+import com.example.tictactoe.advice.RateLimitInterceptor;
 import com.example.tictactoe.model.Cell;
 import com.example.tictactoe.util.GameState;
 import com.example.tictactoe.model.Player;
 import com.example.tictactoe.constant.GameConstants;
+import com.example.tictactoe.service.TicTacToeService;
+import com.example.tictactoe.service.impl.TicTacToeServiceImpl;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.boot.builder.SpringApplicationBuilder;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.nio.file.Path;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class TicTacToeIntegrationTest {
@@ -20,9 +26,16 @@ class TicTacToeIntegrationTest {
     private static final String LOCALHOST = "http://localhost:";
     private static final String MOVE_ENDPOINT = "/api/game/move?cell=";
     private static final String RESET_ENDPOINT = "/api/game/reset";
+    private static final String UNDO_ENDPOINT = "/api/game/undo";
     private static final String STATE_ENDPOINT = "/api/game/state";
     private static final String GAME_OVER_MESSAGE = "Game is already over";
     private static final String CELL_OCCUPIED_MESSAGE = "Cell is already occupied";
+    private static final String SEAT_TOKEN_SECRET = "test-seat-token-secret-shared-by-instances";
+    private static final long REPLICATION_TIMEOUT_MILLIS = 5000;
+    private static final long RATE_LIMIT_IDLE_MILLIS = 1000;
+
+    @TempDir
+    Path archiveDirectory;
 
     private ConfigurableApplicationContext contextX;
     private ConfigurableApplicationContext contextO;
@@ -34,10 +47,13 @@ class TicTacToeIntegrationTest {
     @BeforeEach
     public void setUp() throws InterruptedException {
         contextX = new SpringApplicationBuilder(TicTacToeApplication.class)
-            .properties("server.port=8082", "other.instance.port=8080", "player.assignment=X")
+            .properties("server.port=8082", "other.instance.port=8080", "player.assignment=X",
+                "seat.token.secret=" + SEAT_TOKEN_SECRET, "game.archive.dir=" + archiveDirectory.resolve("x"),
+                "rate-limit.idle-ms=" + RATE_LIMIT_IDLE_MILLIS)
             .run();
         contextO = new SpringApplicationBuilder(TicTacToeApplication.class)
-            .properties("server.port=8080", "other.instance.port=8082", "player.assignment=O")
+            .properties("server.port=8080", "other.instance.port=8082", "player.assignment=O",
+                "seat.token.secret=" + SEAT_TOKEN_SECRET, "game.archive.dir=" + archiveDirectory.resolve("o"))
             .run();
 
         portX = contextX.getEnvironment().getProperty("local.server.port", Integer.class, 0);
@@ -248,6 +264,56 @@ class TicTacToeIntegrationTest {
         assertEquals(Player.O, finalState.getBoard().get(Cell.MIDDLE_CENTER));
     }
 
+    @Test
+    void testStateBeforeUndoNotFound() throws InterruptedException {
+        resetGame();
+        makeMove(playerXTemplate, portX, Cell.TOP_LEFT);
+        makeMove(playerOTemplate, portO, Cell.MIDDLE_CENTER);
+        ResponseEntity<String> undo = playerOTemplate.postForEntity(createURLWithPort(portO, UNDO_ENDPOINT), null,
+            String.class);
+        assertEquals(HttpStatus.OK, undo.getStatusCode());
+        long undone = getGameState(portO).getVersion();
+
+        ResponseEntity<String> beforeUndo = playerOTemplate.getForEntity(
+            createURLWithPort(portO, STATE_ENDPOINT + "?atVersion=" + (undone - 1)), String.class);
+        ResponseEntity<String> afterUndo = playerOTemplate.getForEntity(
+            createURLWithPort(portO, STATE_ENDPOINT + "?atVersion=" + undone), String.class);
+        assertEquals(HttpStatus.NOT_FOUND, beforeUndo.getStatusCode());
+        assertEquals(HttpStatus.OK, afterUndo.getStatusCode());
+    }
+
+    @Test
+    void testCreatedGameIsReplicatedToThePeer() throws InterruptedException {
+        TicTacToeServiceImpl serviceX = contextX.getBean(TicTacToeServiceImpl.class);
+        TicTacToeService serviceO = contextO.getBean(TicTacToeService.class);
+        long gameId = serviceX.createGame();
+
+        long deadline = System.currentTimeMillis() + REPLICATION_TIMEOUT_MILLIS;
+        while ((serviceO.getReplicationStatus().replicas() == 0 || !serviceX.getChangedGames().isEmpty())
+            && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        assertEquals(1, serviceO.getReplicationStatus().replicas(), "The scheduled stream sent the game");
+        assertTrue(serviceX.getChangedGames().isEmpty(), "The changed set is drained by the stream");
+        assertDoesNotThrow(() -> serviceO.getGameStateJsonWithin(gameId, REPLICATION_TIMEOUT_MILLIS, 0),
+            "The peer serves the game from its copy instead of redirecting to the owner");
+    }
+
+    @Test
+    void testIdleRateLimitBucketsAreEvicted() throws InterruptedException {
+        RateLimitInterceptor rateLimits = contextX.getBean(RateLimitInterceptor.class);
+        makeMove(playerXTemplate, portX, Cell.TOP_LEFT);
+        assertTrue(rateLimits.size() > 0, "The move was charged to a bucket");
+
+        long deadline = System.currentTimeMillis() + 5 * RATE_LIMIT_IDLE_MILLIS;
+        while (rateLimits.size() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertEquals(0, rateLimits.size(), "The scheduled sweep dropped the idle buckets");
+    }
+
     private ResponseEntity<String> makeMove(final TestRestTemplate template, final int port, final Cell cell) {
         return template.postForEntity(
             createURLWithPort(port, MOVE_ENDPOINT + cell),
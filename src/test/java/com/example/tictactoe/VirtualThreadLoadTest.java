@@ -0,0 +1,191 @@
+package com.example.tictactoe;
+
+import com.example.tictactoe.util.GameState;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the application served on Tomcat's platform worker pool with the application started in the
+ * {@code virtual} profile when requests block on a slow peer.
+ * Every request is a move or an undo in the default game; each one that is accepted synchronizes with
+ * the peer before it is answered, so it holds its request thread for two peer round trips. The others
+ * are rejected without contacting the peer. A platform worker pool of 200 threads queues the accepted
+ * requests behind each other, while virtual threads keep all of them in flight.
+ * Run with {@code ./gradlew loadTest}.
+ */
+@Tag("load")
+class VirtualThreadLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadLoadTest.class);
+    private static final int CONCURRENT_REQUESTS = 1000;
+    private static final long PEER_DELAY_MILLIS = 200;
+    private static final String SEAT_TOKEN_SECRET = "test-seat-token-secret-shared-by-instances";
+    // Two peer round trips per accepted request, with room for a cold connection pool
+    private static final long MAX_VIRTUAL_P99_MILLIS = 5 * PEER_DELAY_MILLIS;
+    // The default game is played by X on the instance listening on this port
+    private static final int PORT = 8082;
+
+    @TempDir
+    Path archiveDirectory;
+
+    private HttpServer slowPeer;
+    private ConfigurableApplicationContext context;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        byte[] peerState = new ObjectMapper().writeValueAsBytes(new GameState());
+        slowPeer = HttpServer.create(new InetSocketAddress("localhost", 0), 4096);
+        slowPeer.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        slowPeer.createContext("/api/game/state", exchange -> {
+            try {
+                Thread.sleep(PEER_DELAY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, peerState.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(peerState);
+            }
+        });
+        slowPeer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+        slowPeer.stop(0);
+    }
+
+    @Test
+    void virtualThreadsKeepLatencyBoundedAgainstSlowPeer() throws Exception {
+        LoadResult platform = runLoad("platform");
+        LoadResult virtual = runLoad("virtual", "virtual");
+
+        logger.info("{}", platform);
+        logger.info("{}", virtual);
+        for (LoadResult result : List.of(platform, virtual)) {
+            assertEquals(0, result.errors(), result.mode() + " answered requests with an error");
+            assertTrue(result.accepted() > 0, result.mode() + " accepted no move, so nothing blocked on the peer");
+        }
+        assertTrue(virtual.p99Millis() <= MAX_VIRTUAL_P99_MILLIS,
+            "Virtual threads should keep every accepted request in flight, but p99 was " + virtual.p99Millis() + " ms");
+    }
+
+    private LoadResult runLoad(String mode, String... profiles) throws Exception {
+        context = new SpringApplicationBuilder(TicTacToeApplication.class)
+            .profiles(profiles)
+            .properties(
+                "server.port=" + PORT,
+                "other.instance.port=" + slowPeer.getAddress().getPort(),
+                "sync.interval.milliseconds=3600000",
+                "warmup.iterations=0",
+                "seat.token.secret=" + SEAT_TOKEN_SECRET,
+                "rate-limit.enabled=false",
+                "replication.enabled=false",
+                "logging.level.com.example.tictactoe=WARN",
+                "game.archive.dir=" + archiveDirectory.resolve(mode))
+            .run();
+        try {
+            return sendRequests(mode);
+        } finally {
+            context.close();
+            context = null;
+        }
+    }
+
+    private static LoadResult sendRequests(String mode) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+        List<Future<Response>> futures = new ArrayList<>(CONCURRENT_REQUESTS);
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                String path = i % 2 == 0 ? "/api/game/move?cell=TOP_LEFT" : "/api/game/undo";
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + PORT + path))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+                futures.add(executor.submit(() -> send(client, request, start)));
+            }
+        }
+        long wallNanos = System.nanoTime() - start;
+
+        long[] latencies = new long[CONCURRENT_REQUESTS];
+        int accepted = 0;
+        int errors = 0;
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            Response response = futures.get(i).get();
+            latencies[i] = response.latencyNanos();
+            if (response.status() == 200) {
+                accepted++;
+            } else if (response.status() != 400) {
+                errors++;
+            }
+        }
+        Arrays.sort(latencies);
+        return new LoadResult(mode, accepted, errors, wallNanos / 1_000_000,
+            percentileMillis(latencies, 0.50), percentileMillis(latencies, 0.99));
+    }
+
+    /**
+     * Sends a request; a move or undo the game does not allow is answered with 400 and is not an error.
+     */
+    private static Response send(HttpClient client, HttpRequest request, long start) throws InterruptedException {
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            return new Response(status, System.nanoTime() - start);
+        } catch (IOException e) {
+            logger.warn("Request failed: {}", e.toString());
+            return new Response(-1, System.nanoTime() - start);
+        }
+    }
+
+    private static long percentileMillis(long[] sortedNanos, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1_000_000;
+    }
+
+    private record Response(int status, long latencyNanos) {
+    }
+
+    private record LoadResult(String mode, int accepted, int errors, long wallMillis, long p50Millis,
+                              long p99Millis) {
+        @Override
+        public String toString() {
+            return String.format("%-8s requests=%d accepted=%d errors=%d wall=%dms p50=%dms p99=%dms "
+                    + "throughput=%.0f req/s", mode, CONCURRENT_REQUESTS, accepted, errors, wallMillis, p50Millis,
+                p99Millis, CONCURRENT_REQUESTS * 1000.0 / Math.max(wallMillis, 1));
+        }
+    }
+}
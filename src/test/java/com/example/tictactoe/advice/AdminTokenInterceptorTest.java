@@ -0,0 +1,45 @@
+package com.example.tictactoe.advice;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AdminTokenInterceptorTest {
+
+    private static MockHttpServletResponse get(AdminTokenInterceptor interceptor, String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/recording/dump");
+        if (token != null) {
+            request.addHeader("Admin-Token", token);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean admitted = interceptor.preHandle(request, response, new Object());
+        assertEquals(admitted, response.getStatus() == 200);
+        return response;
+    }
+
+    @Test
+    void preHandle_MatchingToken_LetsTheRequestThrough() throws Exception {
+        AdminTokenInterceptor interceptor = new AdminTokenInterceptor("operator-token");
+
+        assertEquals(200, get(interceptor, "operator-token").getStatus());
+    }
+
+    @Test
+    void preHandle_MissingOrWrongToken_IsForbidden() throws Exception {
+        AdminTokenInterceptor interceptor = new AdminTokenInterceptor("operator-token");
+
+        assertEquals(403, get(interceptor, null).getStatus());
+        assertEquals(403, get(interceptor, "operator-tokem").getStatus());
+        assertEquals(403, get(interceptor, "operator-token-and-more").getStatus());
+    }
+
+    @Test
+    void preHandle_NoTokenConfigured_RefusesEveryRequest() throws Exception {
+        AdminTokenInterceptor interceptor = new AdminTokenInterceptor("");
+
+        assertEquals(403, get(interceptor, null).getStatus());
+        assertEquals(403, get(interceptor, "").getStatus());
+    }
+}
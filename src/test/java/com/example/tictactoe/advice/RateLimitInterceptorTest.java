@@ -0,0 +1,125 @@
+package com.example.tictactoe.advice;
+
+import com.example.tictactoe.model.Player;
+import com.example.tictactoe.util.SeatTokens;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+import static com.example.tictactoe.constant.GameConstants.DEFAULT_GAME_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitInterceptorTest {
+
+    private final SeatTokens seatTokens = new SeatTokens("secret".getBytes(StandardCharsets.UTF_8), 60_000);
+    private RateLimitInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new RateLimitInterceptor();
+        ReflectionTestUtils.setField(interceptor, "seatTokens", seatTokens);
+        ReflectionTestUtils.setField(interceptor, "seatPerSecond", 1.0);
+        ReflectionTestUtils.setField(interceptor, "seatBurst", 2);
+        ReflectionTestUtils.setField(interceptor, "clientPerSecond", 1.0);
+        ReflectionTestUtils.setField(interceptor, "clientBurst", 3);
+        ReflectionTestUtils.setField(interceptor, "gamePerSecond", 1.0);
+        ReflectionTestUtils.setField(interceptor, "gameBurst", 3);
+        ReflectionTestUtils.setField(interceptor, "idleMillis", 60_000L);
+        interceptor.init();
+    }
+
+    private MockHttpServletResponse post(String token, String address) throws Exception {
+        return post("/api/game/move", token, address);
+    }
+
+    private MockHttpServletResponse post(String path, String token, String address) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setRemoteAddr(address);
+        if (token != null) {
+            request.addHeader("Seat-Token", token);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean admitted = interceptor.preHandle(request, response, new Object());
+        assertEquals(admitted, response.getStatus() == 200);
+        return response;
+    }
+
+    @Test
+    void preHandle_SeatOverItsLimit_RejectsWithRetryAfter() throws Exception {
+        String token = seatTokens.issue(42, Player.X);
+        post(token, "10.0.0.1");
+        post(token, "10.0.0.1");
+
+        MockHttpServletResponse response = post(token, "10.0.0.2");
+
+        assertEquals(429, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertEquals(200, post(seatTokens.issue(42, Player.O), "10.0.0.1").getStatus(),
+            "The other seat has its own bucket");
+    }
+
+    @Test
+    void preHandle_GameOverItsLimit_RejectsEverySeat() throws Exception {
+        post(seatTokens.issue(7, Player.X), "10.0.0.1");
+        post(seatTokens.issue(7, Player.O), "10.0.0.2");
+        post(seatTokens.issue(7, Player.X), "10.0.0.3");
+
+        assertEquals(429, post(seatTokens.issue(7, Player.O), "10.0.0.4").getStatus());
+        assertEquals(200, post(seatTokens.issue(8, Player.O), "10.0.0.4").getStatus());
+    }
+
+    @Test
+    void preHandle_ForgedTokens_ChargeTheClientOnly() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, post("forged", "10.0.0.9").getStatus());
+        }
+
+        assertEquals(429, post("forged", "10.0.0.9").getStatus());
+        assertEquals(200, post(null, "10.0.0.1").getStatus(), "The default game is not charged for forged tokens");
+    }
+
+    @Test
+    void preHandle_ClientWithoutToken_DoesNotLockOutOtherClients() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, post(null, "10.0.0.9").getStatus());
+        }
+
+        assertEquals(429, post(null, "10.0.0.9").getStatus());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, post(null, "10.0.0." + (i + 1)).getStatus(), "The default game has no shared bucket");
+        }
+    }
+
+    @Test
+    void preHandle_StatePushFromOtherInstance_IsNotLimited() throws Exception {
+        String instanceToken = seatTokens.issue(DEFAULT_GAME_ID, Player.O);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(200, post("/api/game/state", instanceToken, "127.0.0.1").getStatus());
+        }
+        assertEquals(200, post(null, "127.0.0.1").getStatus(), "Pushes are not charged to the client either");
+    }
+
+    @Test
+    void preHandle_BulkRequests_AreChargedToTheClientWhateverTheirToken() throws Exception {
+        String instanceToken = seatTokens.issue(DEFAULT_GAME_ID, Player.O);
+        post("/api/games:bulkCreate", null, "10.0.0.9");
+        post("/api/games:bulkReset", instanceToken, "10.0.0.9");
+        post("/api/games:bulkReset", seatTokens.issue(42, Player.X), "10.0.0.9");
+
+        assertEquals(429, post("/api/games:bulkReset", instanceToken, "10.0.0.9").getStatus());
+        assertEquals(200, post("/api/games:bulkCreate", null, "10.0.0.1").getStatus());
+    }
+
+    @Test
+    void preHandle_Reads_AreNotLimited() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/game/state");
+            assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), new Object()));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.tictactoe.controller;
+
+import com.example.tictactoe.service.TicTacToeService;
+import com.example.tictactoe.util.SeatTokens;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(value = BulkGameController.class,
+    properties = {"rate-limit.enabled=false", "admin.token=test-admin-token"})
+class BulkGameControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TicTacToeService ticTacToeService;
+
+    @MockBean
+    private SeatTokens seatTokens;
+
+    @Test
+    void createGames_AdminToken_CreatesTheGames() throws Exception {
+        when(ticTacToeService.createGames(2)).thenReturn(new long[]{8589934593L, 8589934594L});
+
+        mockMvc.perform(post("/api/games:bulkCreate")
+                .header("Admin-Token", "test-admin-token")
+                .param("count", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.gameIds[1]").value(8589934594L));
+    }
+
+    @Test
+    void createGames_MissingAdminToken_ReturnsForbidden() throws Exception {
+        mockMvc.perform(post("/api/games:bulkCreate")
+                .param("count", "2"))
+            .andExpect(status().isForbidden());
+
+        verify(ticTacToeService, never()).createGames(anyInt());
+    }
+
+    @Test
+    void createGames_CountOutOfRange_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/games:bulkCreate")
+                .header("Admin-Token", "test-admin-token")
+                .param("count", "0"))
+            .andExpect(status().isBadRequest());
+
+        verify(ticTacToeService, never()).createGames(anyInt());
+    }
+
+    @Test
+    void resetGames_AdminToken_ResetsTheGames() throws Exception {
+        when(ticTacToeService.resetGames(any())).thenReturn(2);
+
+        mockMvc.perform(post("/api/games:bulkReset")
+                .header("Admin-Token", "test-admin-token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[8589934593, 8589934594]"))
+            .andExpect(status().isOk())
+            .andExpect(content().string("2"));
+    }
+
+    @Test
+    void resetGames_MissingOrWrongAdminToken_ReturnsForbidden() throws Exception {
+        mockMvc.perform(post("/api/games:bulkReset")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[8589934593]"))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/games:bulkReset")
+                .header("Admin-Token", "test-admin-tokem")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[8589934593]"))
+            .andExpect(status().isForbidden());
+
+        verify(ticTacToeService, never()).resetGames(any());
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.tictactoe.controller;
+
+import com.example.tictactoe.model.MatchResult;
+import com.example.tictactoe.model.Player;
+import com.example.tictactoe.service.MatchmakingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(value = MatchmakingController.class, properties = "rate-limit.enabled=false")
+class MatchmakingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private MatchmakingService matchmakingService;
+
+    @Test
+    void findMatch_Matched_ReturnsGameAndSeat() throws Exception {
+        when(matchmakingService.findMatch("alice"))
+            .thenReturn(CompletableFuture.completedFuture(new MatchResult(42L, Player.X, "token")));
+
+        MvcResult result = mockMvc.perform(post("/api/match").param("playerId", "alice"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.gameId").value(42))
+            .andExpect(jsonPath("$.seat").value("X"))
+            .andExpect(jsonPath("$.seatToken").value("token"));
+    }
+
+    @Test
+    void findMatch_NoOpponent_ReturnsRequestTimeout() throws Exception {
+        when(matchmakingService.findMatch("alice"))
+            .thenReturn(CompletableFuture.failedFuture(new TimeoutException("No opponent")));
+
+        MvcResult result = mockMvc.perform(post("/api/match").param("playerId", "alice"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isRequestTimeout());
+    }
+
+    @Test
+    void findMatch_AlreadyWaiting_ReturnsConflict() throws Exception {
+        when(matchmakingService.findMatch("alice"))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Already waiting")));
+
+        MvcResult result = mockMvc.perform(post("/api/match").param("playerId", "alice"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isConflict());
+    }
+}
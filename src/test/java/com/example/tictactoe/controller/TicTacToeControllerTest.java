@@ -1,6 +1,10 @@
 package com.example.tictactoe.controller;
 
+import com.example.tictactoe.exception.GameMovedException;
+import com.example.tictactoe.exception.InvalidSeatTokenException;
+import com.example.tictactoe.exception.VersionConflictException;
 import com.example.tictactoe.model.Cell;
+import com.example.tictactoe.model.MoveCommand;
 import com.example.tictactoe.model.Player;
 import com.example.tictactoe.service.TicTacToeService;
 import com.example.tictactoe.util.GameState;
@@ -13,6 +17,8 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
@@ -20,9 +26,11 @@ import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest(TicTacToeController.class)
+@WebMvcTest(value = TicTacToeController.class, properties = "rate-limit.enabled=false")
 class TicTacToeControllerTest {
 
     @Autowired
@@ -44,47 +52,48 @@ class TicTacToeControllerTest {
 
     @Test
     void makeMove_ValidMove_ReturnsOk() throws Exception {
-        when(ticTacToeService.getGameState()).thenReturn(gameState);
+        when(ticTacToeService.makeMove(Cell.TOP_LEFT, null, null)).thenReturn(gameState);
 
         mockMvc.perform(post("/api/game/move")
                 .param("cell", "TOP_LEFT"))
             .andExpect(status().isOk())
             .andExpect(content().string("Move successful"));
 
-        verify(ticTacToeService).makeMove(Cell.TOP_LEFT);
+        verify(ticTacToeService).makeMove(Cell.TOP_LEFT, null, null);
     }
 
     @Test
     void makeMove_WinningMove_ReturnsWinner() throws Exception {
         gameState.setGameOver(true);
         gameState.setWinner(Player.X);
-        when(ticTacToeService.getGameState()).thenReturn(gameState);
+        when(ticTacToeService.makeMove(Cell.TOP_LEFT, null, null)).thenReturn(gameState);
 
         mockMvc.perform(post("/api/game/move")
                 .param("cell", "TOP_LEFT"))
             .andExpect(status().isOk())
             .andExpect(content().string("Move successful. Player X wins!"));
 
-        verify(ticTacToeService).makeMove(Cell.TOP_LEFT);
+        verify(ticTacToeService).makeMove(Cell.TOP_LEFT, null, null);
     }
 
     @Test
     void makeMove_DrawGame_ReturnsDraw() throws Exception {
         gameState.setGameOver(true);
         gameState.setWinner(null);
-        when(ticTacToeService.getGameState()).thenReturn(gameState);
+        when(ticTacToeService.makeMove(Cell.TOP_LEFT, null, null)).thenReturn(gameState);
 
         mockMvc.perform(post("/api/game/move")
                 .param("cell", "TOP_LEFT"))
             .andExpect(status().isOk())
             .andExpect(content().string("Move successful. The game is a draw!"));
 
-        verify(ticTacToeService).makeMove(Cell.TOP_LEFT);
+        verify(ticTacToeService).makeMove(Cell.TOP_LEFT, null, null);
     }
 
     @Test
     void makeMove_InvalidMove_ReturnsBadRequest() throws Exception {
-        doThrow(new IllegalArgumentException("Invalid move")).when(ticTacToeService).makeMove(any(Cell.class));
+        when(ticTacToeService.makeMove(any(Cell.class), any(), any()))
+            .thenThrow(new IllegalArgumentException("Invalid move"));
 
         mockMvc.perform(post("/api/game/move")
                 .param("cell", "TOP_LEFT"))
@@ -92,6 +101,84 @@ class TicTacToeControllerTest {
             .andExpect(content().string("Invalid move"));
     }
 
+    @Test
+    void makeMove_WithIdempotencyKeyAndExpectedVersion_PassesThemToService() throws Exception {
+        when(ticTacToeService.makeMove(Cell.TOP_LEFT, "move-1", 3L)).thenReturn(gameState);
+
+        mockMvc.perform(post("/api/game/move")
+                .param("cell", "TOP_LEFT")
+                .param("expectedVersion", "3")
+                .header("Idempotency-Key", "move-1"))
+            .andExpect(status().isOk())
+            .andExpect(content().string("Move successful"));
+
+        verify(ticTacToeService).makeMove(Cell.TOP_LEFT, "move-1", 3L);
+    }
+
+    @Test
+    void makeMove_WithSeatToken_MovesInTokenGame() throws Exception {
+        when(ticTacToeService.makeMove("seat-token", Cell.TOP_LEFT, null, null)).thenReturn(gameState);
+
+        mockMvc.perform(post("/api/game/move")
+                .param("cell", "TOP_LEFT")
+                .header("Seat-Token", "seat-token"))
+            .andExpect(status().isOk())
+            .andExpect(content().string("Move successful"));
+
+        verify(ticTacToeService).makeMove("seat-token", Cell.TOP_LEFT, null, null);
+    }
+
+    @Test
+    void makeMove_InvalidSeatToken_ReturnsForbidden() throws Exception {
+        when(ticTacToeService.makeMove("forged", Cell.TOP_LEFT, null, null))
+            .thenThrow(new InvalidSeatTokenException());
+
+        mockMvc.perform(post("/api/game/move")
+                .param("cell", "TOP_LEFT")
+                .header("Seat-Token", "forged"))
+            .andExpect(status().isForbidden())
+            .andExpect(content().string("Seat token is invalid or expired."));
+    }
+
+    @Test
+    void makeMove_StaleExpectedVersion_ReturnsConflictWithCurrentVersion() throws Exception {
+        when(ticTacToeService.makeMove(Cell.TOP_LEFT, null, 3L))
+            .thenThrow(new VersionConflictException(3, 5));
+
+        mockMvc.perform(post("/api/game/move")
+                .param("cell", "TOP_LEFT")
+                .param("expectedVersion", "3"))
+            .andExpect(status().isConflict())
+            .andExpect(header().string("ETag", "\"5\""))
+            .andExpect(content().string("Version conflict: expected version 3 but the game is at version 5."));
+    }
+
+    @Test
+    void makeMoves_Batch_ReturnsAResultPerMoveInOrder() throws Exception {
+        when(ticTacToeService.makeMove("token-a", Cell.TOP_LEFT, null, null)).thenReturn(gameState);
+        when(ticTacToeService.makeMove("token-b", Cell.TOP_LEFT, null, 2L))
+            .thenThrow(new VersionConflictException(2, 3));
+        when(ticTacToeService.makeMove("token-c", Cell.MIDDLE_CENTER, null, null))
+            .thenThrow(new GameMovedException(9, "http://localhost:8083"));
+        List<MoveCommand> moves = List.of(
+            new MoveCommand("token-a", Cell.TOP_LEFT, null, null),
+            new MoveCommand("token-b", Cell.TOP_LEFT, 2L, null),
+            new MoveCommand("token-c", Cell.MIDDLE_CENTER, null, null),
+            new MoveCommand("token-d", null, null, null));
+
+        mockMvc.perform(post("/api/game/moves")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(moves)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(4))
+            .andExpect(jsonPath("$[0].status").value(200))
+            .andExpect(jsonPath("$[0].state.currentPlayer").value("X"))
+            .andExpect(jsonPath("$[1].status").value(409))
+            .andExpect(jsonPath("$[2].status").value(307))
+            .andExpect(jsonPath("$[2].location").value("http://localhost:8083"))
+            .andExpect(jsonPath("$[3].status").value(400));
+    }
+
     @Test
     void resetGame_ReturnsOk() throws Exception {
         mockMvc.perform(post("/api/game/reset"))
@@ -101,15 +188,80 @@ class TicTacToeControllerTest {
         verify(ticTacToeService).resetGame();
     }
 
+    @Test
+    void makeMove_MigratedGame_RedirectsToNewInstance() throws Exception {
+        when(ticTacToeService.makeMove("token", Cell.TOP_LEFT, null, 3L))
+            .thenThrow(new GameMovedException(42L, "http://localhost:8083"));
+
+        mockMvc.perform(post("/api/game/move")
+                .param("cell", "TOP_LEFT")
+                .param("expectedVersion", "3")
+                .header("Seat-Token", "token"))
+            .andExpect(status().isTemporaryRedirect())
+            .andExpect(header().string("Location",
+                "http://localhost:8083/api/game/move?cell=TOP_LEFT&expectedVersion=3"));
+    }
+
     @Test
     void getGameState_ReturnsCurrentState() throws Exception {
-        when(ticTacToeService.getGameState()).thenReturn(gameState);
+        when(ticTacToeService.getGameStateJson()).thenReturn(objectMapper.writeValueAsBytes(gameState));
 
         mockMvc.perform(get("/api/game/state"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(content().json(objectMapper.writeValueAsString(gameState)));
+    }
+
+    @Test
+    void getGameState_AtVersion_ReturnsHistoricalState() throws Exception {
+        when(ticTacToeService.getGameStateJson(1L, 2L)).thenReturn(objectMapper.writeValueAsBytes(gameState));
+
+        mockMvc.perform(get("/api/game/state").param("atVersion", "2"))
             .andExpect(status().isOk())
             .andExpect(content().json(objectMapper.writeValueAsString(gameState)));
     }
 
+    @Test
+    void getGameState_UnavailableVersion_ReturnsNotFound() throws Exception {
+        when(ticTacToeService.getGameStateJson(7L, 1L))
+            .thenThrow(new IllegalArgumentException("Version 1 is not available"));
+
+        mockMvc.perform(get("/api/game/state").param("gameId", "7").param("atVersion", "1"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getGameState_StaleReplica_RedirectsToOwner() throws Exception {
+        when(ticTacToeService.getGameStateJsonWithin(7L, 500L, 0L))
+            .thenThrow(new GameMovedException(7L, "http://localhost:8083"));
+
+        mockMvc.perform(get("/api/game/state").param("gameId", "7").param("maxStalenessMs", "500"))
+            .andExpect(status().isTemporaryRedirect())
+            .andExpect(header().string("Location",
+                "http://localhost:8083/api/game/state?gameId=7&maxStalenessMs=500"));
+    }
+
+    @Test
+    void undoMove_ReturnsStateAfterUndo() throws Exception {
+        when(ticTacToeService.undoMove("undo-1", 4L)).thenReturn(gameState);
+
+        mockMvc.perform(post("/api/game/undo")
+                .param("expectedVersion", "4")
+                .header("Idempotency-Key", "undo-1"))
+            .andExpect(status().isOk())
+            .andExpect(content().json(objectMapper.writeValueAsString(gameState)));
+    }
+
+    @Test
+    void undoMove_OpponentsMove_ReturnsBadRequest() throws Exception {
+        when(ticTacToeService.undoMove("token", null, null))
+            .thenThrow(new IllegalStateException("Only the player who made the last move can undo it."));
+
+        mockMvc.perform(post("/api/game/undo").header("Seat-Token", "token"))
+            .andExpect(status().isBadRequest())
+            .andExpect(content().string("Only the player who made the last move can undo it."));
+    }
+
     @Test
     void updateGameState_ValidState_ReturnsOk() throws Exception {
         mockMvc.perform(post("/api/game/state")
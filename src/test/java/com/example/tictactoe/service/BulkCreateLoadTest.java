@@ -0,0 +1,101 @@
+package com.example.tictactoe.service;
+
+import com.example.tictactoe.service.impl.TicTacToeServiceImpl;
+import com.example.tictactoe.store.GameStore;
+import com.example.tictactoe.store.HeapGameStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.function.Consumer;
+
+import static com.example.tictactoe.constant.GameConstants.MAX_BULK_GAMES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the cost per game and the garbage of creating a tournament's worth of games one call at a
+ * time, as matchmaking does, and in bulk from a store with and without a preallocated record pool.
+ * Run with {@code ./gradlew loadTest}.
+ */
+@Tag("load")
+class BulkCreateLoadTest {
+
+    private static final int GAMES = 500_000;
+    private static final int WARMUP_GAMES = 50_000;
+
+    @Test
+    void bulkCreationFromPoolAllocatesLessPerGame() {
+        measure("warmup", new HeapGameStore(), WARMUP_GAMES, service -> createOneByOne(service, WARMUP_GAMES));
+        measure("warmup", new HeapGameStore(WARMUP_GAMES), WARMUP_GAMES,
+            service -> createInBulk(service, WARMUP_GAMES));
+
+        Result oneByOne = measure("one-by-one", new HeapGameStore(), GAMES,
+            service -> createOneByOne(service, GAMES));
+        Result bulk = measure("bulk", new HeapGameStore(), GAMES, service -> createInBulk(service, GAMES));
+        Result pooled = measure("bulk+pool", new HeapGameStore(GAMES), GAMES,
+            service -> createInBulk(service, GAMES));
+
+        System.out.println(oneByOne);
+        System.out.println(bulk);
+        System.out.println(pooled);
+        assertTrue(pooled.bytesPerGame() < oneByOne.bytesPerGame());
+    }
+
+    private static void createOneByOne(TicTacToeService service, int games) {
+        for (int i = 0; i < games; i++) {
+            service.createGame();
+        }
+    }
+
+    private static void createInBulk(TicTacToeService service, int games) {
+        for (int created = 0; created < games; created += MAX_BULK_GAMES) {
+            service.createGames(Math.min(MAX_BULK_GAMES, games - created));
+        }
+    }
+
+    private static Result measure(String name, GameStore store, int games, Consumer<TicTacToeService> create) {
+        TicTacToeServiceImpl service = new TicTacToeServiceImpl();
+        ReflectionTestUtils.setField(service, "gameStore", store);
+        ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(service, "currentPort", 8080);
+        service.init();
+        System.gc();
+
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long gcCountBefore = gcCount();
+        long gcMillisBefore = gcMillis();
+        long start = System.nanoTime();
+        create.accept(service);
+        long elapsedNanos = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        assertEquals(games + 1, store.size());
+        return new Result(name, games, elapsedNanos / games, allocated / games, gcCount() - gcCountBefore,
+            gcMillis() - gcMillisBefore);
+    }
+
+    private static long gcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+            .mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+            .mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+
+    private record Result(String name, int games, long nanosPerGame, long bytesPerGame, long gcCount,
+                          long gcMillis) {
+        @Override
+        public String toString() {
+            return String.format("%-10s games=%d ns/game=%d allocated=%d B/game gcs=%d gcTime=%dms",
+                name, games, nanosPerGame, bytesPerGame, gcCount, gcMillis);
+        }
+    }
+}
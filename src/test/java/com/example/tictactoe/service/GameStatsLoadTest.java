@@ -0,0 +1,75 @@
+package com.example.tictactoe.service;
+
+import com.example.tictactoe.model.Cell;
+import com.example.tictactoe.model.Player;
+import com.example.tictactoe.service.impl.GameStatsServiceImpl;
+import com.example.tictactoe.util.PackedGameState;
+import com.example.tictactoe.util.Position;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongConsumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures what recording statistics adds to the cost of playing games, with every thread
+ * finishing games concurrently. The baseline is the bare packed move path, without the peer call,
+ * clocks and logging of a real request, so the measured share is an upper bound.
+ * Rounds alternate between both modes and the fastest round of each is compared.
+ * Run with {@code ./gradlew loadTest}.
+ */
+@Tag("load")
+class GameStatsLoadTest {
+
+    private static final int GAMES = 1_000_000;
+    private static final int ROUNDS = 5;
+    private static final Cell[] CELLS = Cell.values();
+
+    @Test
+    void recordingStatisticsAddsLittleToTheMovePath() {
+        GameStatsService gameStatsService = new GameStatsServiceImpl();
+        double without = Double.MAX_VALUE;
+        double with = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            without = Math.min(without, play(packed -> { }));
+            with = Math.min(with, play(gameStatsService::recordGame));
+        }
+
+        double overhead = (with - without) / without;
+        System.out.printf("games=%d without=%.1fns/move with=%.1fns/move overhead=%.1f%%%n",
+            GAMES, without, with, overhead * 100);
+        assertEquals((long) GAMES * ROUNDS, gameStatsService.getStats(10).games());
+        assertTrue(overhead < 0.25, "Recording a finished game should cost a small fraction of playing it");
+    }
+
+    private static double play(LongConsumer finished) {
+        long start = System.nanoTime();
+        long moves = IntStream.range(0, GAMES).parallel().mapToLong(game -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long packed = PackedGameState.initial(random.nextBoolean() ? Player.X : Player.O, 0);
+            int ply = 0;
+            while (!PackedGameState.isGameOver(packed)) {
+                packed = PackedGameState.move(packed, emptyCell(PackedGameState.position(packed), random));
+                ply++;
+            }
+            finished.accept(packed);
+            return ply;
+        }).sum();
+        return (double) (System.nanoTime() - start) / moves;
+    }
+
+    private static Cell emptyCell(Position position, ThreadLocalRandom random) {
+        int offset = random.nextInt(CELLS.length);
+        for (int i = 0; i < CELLS.length; i++) {
+            Cell cell = CELLS[(offset + i) % CELLS.length];
+            if (position.getPlayer(cell) == Player.EMPTY) {
+                return cell;
+            }
+        }
+        throw new IllegalStateException("No empty cell in an unfinished game");
+    }
+}
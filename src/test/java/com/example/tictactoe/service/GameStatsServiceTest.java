@@ -0,0 +1,75 @@
+package com.example.tictactoe.service;
+
+import com.example.tictactoe.model.Cell;
+import com.example.tictactoe.model.GameStats;
+import com.example.tictactoe.model.Player;
+import com.example.tictactoe.service.impl.GameStatsServiceImpl;
+import com.example.tictactoe.util.PackedGameState;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameStatsServiceTest {
+
+    private final GameStatsService gameStatsService = new GameStatsServiceImpl();
+
+    private static long play(Player first, Cell... cells) {
+        long packed = PackedGameState.initial(first, 0);
+        for (Cell cell : cells) {
+            packed = PackedGameState.move(packed, cell);
+        }
+        return packed;
+    }
+
+    @Test
+    void getStats_NoGames_ReportsEmptyOpenings() {
+        GameStats stats = gameStatsService.getStats(10);
+
+        assertEquals(0, stats.games());
+        assertEquals(0.0, stats.averageLength());
+        assertEquals(6, stats.openings().size());
+        assertTrue(stats.losingPositions().isEmpty());
+    }
+
+    @Test
+    void recordGame_SymmetricGames_ShareOpeningAndLosingPosition() {
+        gameStatsService.recordGame(play(Player.X,
+            Cell.TOP_LEFT, Cell.MIDDLE_CENTER, Cell.TOP_CENTER, Cell.MIDDLE_LEFT, Cell.TOP_RIGHT));
+        gameStatsService.recordGame(play(Player.X,
+            Cell.BOTTOM_RIGHT, Cell.MIDDLE_CENTER, Cell.BOTTOM_CENTER, Cell.MIDDLE_RIGHT, Cell.BOTTOM_LEFT));
+
+        GameStats stats = gameStatsService.getStats(10);
+
+        assertEquals(2, stats.xWins());
+        assertEquals(5.0, stats.averageLength());
+        GameStats.Opening corner = stats.openings().stream()
+            .filter(opening -> opening.firstPlayer() == Player.X && opening.cell() == Cell.TOP_LEFT)
+            .findFirst().orElseThrow();
+        assertEquals(2, corner.games());
+        assertEquals(1.0, corner.winRate());
+        assertEquals(1, stats.losingPositions().size());
+        assertEquals(2, stats.losingPositions().get(0).count());
+        assertEquals(Player.X, stats.losingPositions().get(0).toMove());
+    }
+
+    @Test
+    void recordGame_DrawAndForfeit_CountOutcomesWithoutLosingPosition() {
+        gameStatsService.recordGame(play(Player.X, Cell.TOP_LEFT, Cell.TOP_CENTER, Cell.TOP_RIGHT,
+            Cell.MIDDLE_LEFT, Cell.MIDDLE_RIGHT, Cell.MIDDLE_CENTER, Cell.BOTTOM_LEFT, Cell.BOTTOM_RIGHT,
+            Cell.BOTTOM_CENTER));
+        gameStatsService.recordGame(PackedGameState.forfeit(play(Player.O, Cell.MIDDLE_CENTER), Player.X));
+
+        GameStats stats = gameStatsService.getStats(10);
+
+        assertEquals(2, stats.games());
+        assertEquals(1, stats.draws());
+        assertEquals(1, stats.oWins());
+        assertEquals(1, stats.forfeits());
+        assertTrue(stats.losingPositions().isEmpty());
+        GameStats.Opening center = stats.openings().stream()
+            .filter(opening -> opening.firstPlayer() == Player.O && opening.cell() == Cell.MIDDLE_CENTER)
+            .findFirst().orElseThrow();
+        assertEquals(1.0, center.winRate());
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.tictactoe.service;
+
+import com.example.tictactoe.model.MatchResult;
+import com.example.tictactoe.service.impl.MatchmakingServiceImpl;
+import com.example.tictactoe.service.impl.TicTacToeServiceImpl;
+import com.example.tictactoe.store.HeapGameStore;
+import com.example.tictactoe.store.SeatRegistry;
+import com.example.tictactoe.util.SeatTokens;
+import com.example.tictactoe.util.TimingWheel;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Measures matchmaking throughput and wait-time percentiles with many concurrent match requests.
+ * Run with {@code ./gradlew loadTest}.
+ */
+@Tag("load")
+class MatchmakingLoadTest {
+
+    private static final int PLAYERS = 200_000;
+    private static final int MIN_MATCHES_PER_SECOND = 20_000;
+
+    private final TimingWheel timingWheel = new TimingWheel(10, "load-wheel");
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MatchmakingServiceImpl matchmakingService;
+
+    @BeforeEach
+    void setUp() {
+        SeatRegistry seatRegistry = new SeatRegistry();
+        SeatTokens seatTokens = new SeatTokens("load-secret".getBytes(), 60_000);
+        TicTacToeServiceImpl ticTacToeService = new TicTacToeServiceImpl();
+        ReflectionTestUtils.setField(ticTacToeService, "restTemplate", new RestTemplate());
+        ReflectionTestUtils.setField(ticTacToeService, "gameStore", new HeapGameStore());
+        ReflectionTestUtils.setField(ticTacToeService, "seatRegistry", seatRegistry);
+        ReflectionTestUtils.setField(ticTacToeService, "currentPort", 8082);
+        ticTacToeService.init();
+
+        matchmakingService = new MatchmakingServiceImpl();
+        ReflectionTestUtils.setField(matchmakingService, "ticTacToeService", ticTacToeService);
+        ReflectionTestUtils.setField(matchmakingService, "ratingService", mock(RatingService.class,
+            withSettings().stubOnly().defaultAnswer(invocation -> 1000 + ThreadLocalRandom.current().nextInt(1000))));
+        ReflectionTestUtils.setField(matchmakingService, "seatRegistry", seatRegistry);
+        ReflectionTestUtils.setField(matchmakingService, "seatTokens", seatTokens);
+        ReflectionTestUtils.setField(matchmakingService, "timingWheel", timingWheel);
+        ReflectionTestUtils.setField(matchmakingService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(matchmakingService, "ratingBucketWidth", 100);
+        ReflectionTestUtils.setField(matchmakingService, "widenAfterMillis", 1_000L);
+        ReflectionTestUtils.setField(matchmakingService, "batchIntervalMillis", 5L);
+        ReflectionTestUtils.setField(matchmakingService, "timeoutMillis", 30_000L);
+        matchmakingService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        matchmakingService.shutdown();
+        timingWheel.close();
+    }
+
+    @Test
+    void matchesTensOfThousandsOfPlayersPerSecond() {
+        List<CompletableFuture<MatchResult>> matches = new ArrayList<>(PLAYERS);
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<CompletableFuture<CompletableFuture<MatchResult>>> requests = new ArrayList<>(PLAYERS);
+            for (int i = 0; i < PLAYERS; i++) {
+                String playerId = "player-" + i;
+                requests.add(CompletableFuture.supplyAsync(() -> matchmakingService.findMatch(playerId), executor));
+            }
+            requests.forEach(request -> matches.add(request.join()));
+        }
+        CompletableFuture.allOf(matches.toArray(CompletableFuture[]::new)).join();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        long matchesPerSecond = PLAYERS * 1000L / Math.max(elapsedMillis, 1);
+        System.out.printf("players=%d elapsed=%dms players/s=%d%n", PLAYERS, elapsedMillis, matchesPerSecond);
+        for (ValueAtPercentile percentile : meterRegistry.get("matchmaking.wait").timer().takeSnapshot().percentileValues()) {
+            System.out.printf("wait p%.0f=%.2fms%n", percentile.percentile() * 100, percentile.value(TimeUnit.MILLISECONDS));
+        }
+
+        assertEquals(PLAYERS / 2, meterRegistry.get("matchmaking.matches").counter().count());
+        assertTrue(matchesPerSecond >= MIN_MATCHES_PER_SECOND, "Matchmaking should sustain tens of thousands of players per second");
+    }
+}
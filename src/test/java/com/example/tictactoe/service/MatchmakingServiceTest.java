@@ -0,0 +1,145 @@
+package com.example.tictactoe.service;
+
+import com.example.tictactoe.model.MatchResult;
+import com.example.tictactoe.model.Player;
+import com.example.tictactoe.service.impl.MatchmakingServiceImpl;
+import com.example.tictactoe.store.SeatRegistry;
+import com.example.tictactoe.util.SeatTokens;
+import com.example.tictactoe.util.TimingWheel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+class MatchmakingServiceTest {
+
+    @InjectMocks
+    private MatchmakingServiceImpl matchmakingService;
+
+    @Mock
+    private TicTacToeService ticTacToeService;
+
+    @Mock
+    private RatingService ratingService;
+
+    private final SeatRegistry seatRegistry = new SeatRegistry();
+    private final SeatTokens seatTokens = new SeatTokens("test-secret".getBytes(), 60_000);
+    private final TimingWheel timingWheel = new TimingWheel(1, "test-wheel");
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(matchmakingService, "seatRegistry", seatRegistry);
+        ReflectionTestUtils.setField(matchmakingService, "seatTokens", seatTokens);
+        ReflectionTestUtils.setField(matchmakingService, "timingWheel", timingWheel);
+        ReflectionTestUtils.setField(matchmakingService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(matchmakingService, "ratingBucketWidth", 100);
+        ReflectionTestUtils.setField(matchmakingService, "widenAfterMillis", 60_000L);
+        ReflectionTestUtils.setField(matchmakingService, "timeoutMillis", 60_000L);
+        // Batches are run by the test itself
+        ReflectionTestUtils.setField(matchmakingService, "batchIntervalMillis", TimeUnit.HOURS.toMillis(1));
+        matchmakingService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        matchmakingService.shutdown();
+        timingWheel.close();
+    }
+
+    @Test
+    void matchWaitingPlayers_TwoPlayers_ShouldSeatThemInOneGame() throws Exception {
+        when(ticTacToeService.createGame()).thenReturn(42L);
+        when(ratingService.getRating("alice")).thenReturn(1500);
+        when(ratingService.getRating("bob")).thenReturn(1520);
+
+        CompletableFuture<MatchResult> alice = matchmakingService.findMatch("alice");
+        CompletableFuture<MatchResult> bob = matchmakingService.findMatch("bob");
+        matchmakingService.matchWaitingPlayers();
+
+        assertEquals(42L, alice.get().gameId());
+        assertEquals(Player.X, alice.get().seat());
+        assertEquals(42L, bob.get().gameId());
+        assertEquals(Player.O, bob.get().seat());
+        long verified = seatTokens.verify(bob.get().seatToken());
+        assertEquals(42L, SeatTokens.gameId(verified));
+        assertEquals(Player.O, SeatTokens.seat(verified));
+        assertEquals(Player.X, seatRegistry.seatOf(42L, "alice"));
+        assertEquals(Player.O, seatRegistry.seatOf(42L, "bob"));
+        assertEquals(1, meterRegistry.get("matchmaking.wait").timer().count());
+    }
+
+    @Test
+    void matchWaitingPlayers_DistantRatings_ShouldKeepPlayersWaiting() {
+        when(ratingService.getRating("novice")).thenReturn(800);
+        when(ratingService.getRating("master")).thenReturn(2400);
+
+        CompletableFuture<MatchResult> novice = matchmakingService.findMatch("novice");
+        CompletableFuture<MatchResult> master = matchmakingService.findMatch("master");
+
+        matchmakingService.matchWaitingPlayers();
+
+        assertFalse(novice.isDone());
+        assertFalse(master.isDone());
+        assertEquals(2.0, meterRegistry.get("matchmaking.queued").gauge().value());
+    }
+
+    @Test
+    void matchWaitingPlayers_AdjacentRatingBucket_ShouldPairPlayers() throws Exception {
+        when(ticTacToeService.createGame()).thenReturn(7L);
+        when(ratingService.getRating("first")).thenReturn(1590);
+        when(ratingService.getRating("second")).thenReturn(1610);
+
+        CompletableFuture<MatchResult> first = matchmakingService.findMatch("first");
+        CompletableFuture<MatchResult> second = matchmakingService.findMatch("second");
+        matchmakingService.matchWaitingPlayers();
+
+        assertEquals(7L, first.get().gameId());
+        assertEquals(7L, second.get().gameId());
+    }
+
+    @Test
+    void findMatch_NoOpponentInTime_ShouldTimeOut() {
+        ReflectionTestUtils.setField(matchmakingService, "timeoutMillis", 20L);
+
+        CompletableFuture<MatchResult> lonely = matchmakingService.findMatch("lonely");
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> lonely.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, e.getCause());
+    }
+
+    @Test
+    void findMatch_PlayerAlreadyWaiting_IsRejectedAndNeverPairedWithThemselves() throws Exception {
+        when(ticTacToeService.createGame()).thenReturn(9L);
+
+        CompletableFuture<MatchResult> first = matchmakingService.findMatch("alice");
+        CompletableFuture<MatchResult> second = matchmakingService.findMatch("alice");
+        matchmakingService.matchWaitingPlayers();
+
+        ExecutionException e = assertThrows(ExecutionException.class, second::get);
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        assertFalse(first.isDone());
+
+        CompletableFuture<MatchResult> bob = matchmakingService.findMatch("bob");
+        matchmakingService.matchWaitingPlayers();
+        assertEquals(Player.X, first.get().seat());
+        assertEquals(Player.O, bob.get().seat());
+        assertFalse(matchmakingService.findMatch("alice").isDone(), "A matched player may queue again");
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.tictactoe.service;
+
+import com.example.tictactoe.model.LeaderboardEntry;
+import com.example.tictactoe.model.Player;
+import com.example.tictactoe.service.impl.RatingServiceImpl;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures rating updates and leaderboard reads with a million rated players.
+ * Run with {@code ./gradlew loadTest}.
+ */
+@Tag("load")
+class RatingLoadTest {
+
+    private static final int PLAYERS = 1_000_000;
+    private static final int GAMES = 2_000_000;
+    private static final int READS = 100_000;
+    private static final Player[] OUTCOMES = {Player.X, Player.O, Player.EMPTY};
+
+    @Test
+    void leaderboardStaysFastWithMillionsOfPlayers() {
+        RatingService ratingService = new RatingServiceImpl();
+
+        long start = System.nanoTime();
+        IntStream.range(0, GAMES).parallel().forEach(game -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            ratingService.recordResult("player-" + random.nextInt(PLAYERS), "player-" + random.nextInt(PLAYERS),
+                OUTCOMES[random.nextInt(OUTCOMES.length)]);
+        });
+        long gamesPerSecond = GAMES * 1_000_000_000L / (System.nanoTime() - start);
+        for (int i = 0; i < 1000; i++) {
+            ratingService.recordResult("player-" + i, "player-" + (i + 1), Player.EMPTY);
+        }
+
+        start = System.nanoTime();
+        for (int i = 0; i < READS; i++) {
+            ratingService.getEntry("player-" + ThreadLocalRandom.current().nextInt(1000));
+        }
+        long rankMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / READS;
+
+        start = System.nanoTime();
+        List<LeaderboardEntry> top = List.of();
+        for (int i = 0; i < READS / 100; i++) {
+            top = ratingService.getTopPlayers(100);
+        }
+        long topMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / (READS / 100);
+
+        System.out.printf("players=%d games/s=%d rank=%dus top100=%dus%n", PLAYERS, gamesPerSecond, rankMicros, topMicros);
+        assertEquals(100, top.size());
+        assertEquals(1, top.get(0).rank());
+        assertTrue(gamesPerSecond > 5_000, "Rating updates should keep up with thousands of completions per second");
+        assertTrue(topMicros < 1_000, "Top 100 should be served in well under a millisecond");
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.tictactoe.service;
+
+import com.example.tictactoe.model.LeaderboardEntry;
+import com.example.tictactoe.model.Player;
+import com.example.tictactoe.service.impl.RatingServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RatingServiceTest {
+
+    private final RatingService ratingService = new RatingServiceImpl();
+
+    @Test
+    void recordResult_EvenPlayers_ShouldMoveRatingsByHalfTheKFactor() {
+        ratingService.recordResult("alice", "bob", Player.X);
+
+        assertEquals(1516, ratingService.getRating("alice"));
+        assertEquals(1484, ratingService.getRating("bob"));
+    }
+
+    @Test
+    void recordResult_Draw_ShouldKeepEvenRatings() {
+        ratingService.recordResult("alice", "bob", Player.EMPTY);
+
+        assertEquals(1500, ratingService.getRating("alice"));
+        assertEquals(1500, ratingService.getRating("bob"));
+        assertEquals(1, ratingService.getEntry("alice").games());
+    }
+
+    @Test
+    void getTopPlayers_ShouldRankByRatingWithSharedRanksForTies() {
+        ratingService.recordResult("alice", "bob", Player.X);
+        ratingService.recordResult("carol", "dave", Player.O);
+        ratingService.recordResult("alice", "dave", Player.X);
+
+        List<LeaderboardEntry> top = ratingService.getTopPlayers(4);
+
+        assertEquals(List.of("alice", "dave", "bob", "carol"), top.stream().map(LeaderboardEntry::playerId).toList());
+        assertEquals(List.of(1L, 2L, 3L, 3L), top.stream().map(LeaderboardEntry::rank).toList());
+        assertEquals(1532, top.get(0).rating());
+        assertEquals(2, ratingService.getEntry("alice").games());
+        assertEquals(3, ratingService.getEntry("carol").rank());
+    }
+
+    @Test
+    void getEntry_UnratedPlayer_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> ratingService.getEntry("nobody"));
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.tictactoe.service;
+
+import com.example.tictactoe.jfr.ReconciliationEvent;
+import com.example.tictactoe.service.impl.RecordingServiceImpl;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecordingServiceTest {
+
+    private RecordingServiceImpl recordingService;
+
+    @BeforeEach
+    void setUp() {
+        recordingService = new RecordingServiceImpl();
+        ReflectionTestUtils.setField(recordingService, "profile", "jfr/tictactoe.jfc");
+        ReflectionTestUtils.setField(recordingService, "maxAgeMillis", 60_000L);
+        ReflectionTestUtils.setField(recordingService, "maxSizeBytes", 10_000_000L);
+        recordingService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        recordingService.shutdown();
+    }
+
+    private static List<RecordedEvent> reconciliations(Path file) throws Exception {
+        try {
+            return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("com.example.tictactoe.Reconciliation"))
+                .toList();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void reconcile(long localVersion, long remoteVersion, String decision) {
+        ReconciliationEvent event = new ReconciliationEvent();
+        event.gameId = 1;
+        event.localVersion = localVersion;
+        event.remoteVersion = remoteVersion;
+        event.decision = decision;
+        event.commit();
+    }
+
+    @Test
+    void stop_RecordingStarted_ContainsCommittedEvents() throws Exception {
+        recordingService.start();
+        reconcile(3, 5, ReconciliationEvent.PULL);
+
+        List<RecordedEvent> events = reconciliations(recordingService.stop());
+
+        assertEquals(1, events.size());
+        assertEquals(1, events.get(0).getLong("gameId"));
+        assertEquals(5, events.get(0).getLong("remoteVersion"));
+        assertEquals(ReconciliationEvent.PULL, events.get(0).getString("decision"));
+        assertFalse(recordingService.isRecording());
+    }
+
+    @Test
+    void dump_RecordingRunning_KeepsRecording() throws Exception {
+        recordingService.start();
+        reconcile(4, 4, ReconciliationEvent.IN_SYNC);
+
+        assertEquals(1, reconciliations(recordingService.dump()).size());
+        assertTrue(recordingService.isRecording());
+
+        reconcile(5, 4, ReconciliationEvent.PUSH);
+        assertEquals(2, reconciliations(recordingService.stop()).size());
+    }
+
+    @Test
+    void start_AlreadyRecording_ThrowsIllegalStateException() {
+        recordingService.start();
+
+        assertThrows(IllegalStateException.class, () -> recordingService.start());
+        assertTrue(recordingService.isRecording());
+    }
+
+    @Test
+    void stop_NotRecording_ThrowsIllegalStateException() {
+        assertThrows(IllegalStateException.class, () -> recordingService.stop());
+        assertThrows(IllegalStateException.class, () -> recordingService.dump());
+    }
+}
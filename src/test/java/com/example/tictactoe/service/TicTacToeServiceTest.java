@@ -1,10 +1,29 @@
 package com.example.tictactoe.service;
 
+import com.example.tictactoe.exception.GameMovedException;
+import com.example.tictactoe.exception.InvalidSeatTokenException;
+import com.example.tictactoe.exception.VersionConflictException;
+import com.example.tictactoe.model.Cell;
+import com.example.tictactoe.model.MigratedGame;
 import com.example.tictactoe.model.Player;
+import com.example.tictactoe.model.ReplicationBatch;
+import com.example.tictactoe.service.impl.GameStatsServiceImpl;
 import com.example.tictactoe.service.impl.TicTacToeServiceImpl;
+import com.example.tictactoe.service.impl.RatingServiceImpl;
+import com.example.tictactoe.store.GameArchive;
+import com.example.tictactoe.store.GameStore;
+import com.example.tictactoe.store.HeapGameStore;
+import com.example.tictactoe.store.SeatRegistry;
 import com.example.tictactoe.util.GameState;
+import com.example.tictactoe.util.MoveHistory;
+import com.example.tictactoe.util.PackedGameState;
+import com.example.tictactoe.util.SeatTokens;
+import com.example.tictactoe.util.TimingWheel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -12,9 +31,23 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.example.tictactoe.constant.GameConstants.DEFAULT_GAME_ID;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
@@ -28,14 +61,38 @@ class TicTacToeServiceTest {
     @Mock
     private RestTemplate restTemplate;
 
+    private final SeatTokens seatTokens = new SeatTokens("test-secret".getBytes(), 60_000);
+    private final SeatRegistry seatRegistry = new SeatRegistry();
+    private final RatingService ratingService = new RatingServiceImpl();
+    private final GameStatsService gameStatsService = new GameStatsServiceImpl();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path archiveDirectory;
+
+    private GameArchive gameArchive;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        gameArchive = new GameArchive(archiveDirectory, 1 << 20);
+        ReflectionTestUtils.setField(ticTacToeService, "gameArchive", gameArchive);
+        ReflectionTestUtils.setField(ticTacToeService, "gameStore", new HeapGameStore());
+        ReflectionTestUtils.setField(ticTacToeService, "seatTokens", seatTokens);
+        ReflectionTestUtils.setField(ticTacToeService, "seatRegistry", seatRegistry);
+        ReflectionTestUtils.setField(ticTacToeService, "ratingService", ratingService);
+        ReflectionTestUtils.setField(ticTacToeService, "gameStatsService", gameStatsService);
+        ReflectionTestUtils.setField(ticTacToeService, "objectMapper", objectMapper);
         ReflectionTestUtils.setField(ticTacToeService, "currentPort", 8082);
         ReflectionTestUtils.setField(ticTacToeService, "otherInstancePort", 8083);
         ticTacToeService.init();
     }
 
+    @AfterEach
+    void tearDown() throws IOException {
+        gameArchive.close();
+    }
+
     @Test
     void init_ShouldAssignPlayerAndResetGame() {
         assertEquals(Player.X, ticTacToeService.getAssignedPlayer());
@@ -68,6 +125,381 @@ class TicTacToeServiceTest {
         assertEquals(newerState.getCurrentPlayer(), ticTacToeService.getGameState().getCurrentPlayer());
     }
 
+    @Test
+    void makeMove_RetriedWithSameIdempotencyKey_ShouldApplyOnce() {
+        when(restTemplate.getForEntity(anyString(), eq(GameState.class)))
+            .thenReturn(ResponseEntity.ok(null));
+        ReflectionTestUtils.setField(ticTacToeService, "idempotencyCapacity", 16);
+        ReflectionTestUtils.setField(ticTacToeService, "idempotencyTtlMillis", 60_000L);
+        ticTacToeService.init();
+
+        GameState first = ticTacToeService.makeMove(Cell.TOP_LEFT, "move-1", 0L);
+        GameState retry = ticTacToeService.makeMove(Cell.TOP_LEFT, "move-1", 0L);
+
+        assertEquals(first, retry);
+        assertEquals(1, ticTacToeService.getGameState().getVersion());
+        assertEquals(Player.X, ticTacToeService.getGameState().getBoard().get(Cell.TOP_LEFT));
+    }
+
+    @Test
+    void makeMove_StaleExpectedVersion_ShouldThrowWithCurrentVersion() {
+        GameState newerState = new GameState(Player.X);
+        newerState.setVersion(4);
+        ticTacToeService.updateGameState(newerState);
+
+        VersionConflictException e = assertThrows(VersionConflictException.class,
+            () -> ticTacToeService.makeMove(Cell.TOP_LEFT, null, 2L));
+
+        assertEquals(4, e.getCurrentVersion());
+        assertEquals(4, ticTacToeService.getGameState().getVersion());
+    }
+
+    @Test
+    void resetGame_StartsANewVersion_RejectsMovesAgainstTheOldBoard() {
+        when(restTemplate.getForEntity(anyString(), eq(GameState.class)))
+            .thenReturn(ResponseEntity.ok(null));
+        ticTacToeService.makeMove(Cell.TOP_LEFT, null, 0L);
+
+        ticTacToeService.resetGame();
+
+        assertEquals(2, ticTacToeService.getGameState().getVersion());
+        assertThrows(VersionConflictException.class, () -> ticTacToeService.makeMove(Cell.TOP_LEFT, null, 0L));
+        assertEquals(3, ticTacToeService.makeMove(Cell.TOP_LEFT, null, 2L).getVersion());
+    }
+
+    @Test
+    void makeMove_CreatedGame_ShouldOnlyAcceptSeatTokenOfPlayerToMove() {
+        long gameId = ticTacToeService.createGame();
+        String tokenX = seatTokens.issue(gameId, Player.X);
+        String tokenO = seatTokens.issue(gameId, Player.O);
+        String forged = new SeatTokens("other-secret".getBytes(), 60_000).issue(gameId, Player.X);
+
+        assertThrows(IllegalStateException.class, () -> ticTacToeService.makeMove(tokenO, Cell.TOP_LEFT, null, null));
+        assertThrows(InvalidSeatTokenException.class, () -> ticTacToeService.makeMove(forged, Cell.TOP_LEFT, null, null));
+        GameState state = ticTacToeService.makeMove(tokenX, Cell.TOP_LEFT, null, null);
+
+        assertEquals(Player.O, state.getCurrentPlayer());
+        assertEquals(state, ticTacToeService.getGameState(gameId));
+        assertEquals(0, ticTacToeService.getGameState().getVersion());
+    }
+
+    @Test
+    void makeMove_SeatTokenIssuedBeforeRestart_DoesNotNameGamesCreatedAfterIt() {
+        long before = ticTacToeService.createGame();
+        String tokenX = seatTokens.issue(before, Player.X);
+
+        ReflectionTestUtils.setField(ticTacToeService, "gameStore", new HeapGameStore());
+        ((AtomicLong) ReflectionTestUtils.getField(ticTacToeService, "gameSequence")).set(0);
+        ReflectionTestUtils.setField(ticTacToeService, "startedAt", System.currentTimeMillis() + 60_000);
+        ticTacToeService.init();
+        long after = ticTacToeService.createGame();
+
+        assertNotEquals(before, after);
+        assertThrows(IllegalArgumentException.class, () -> ticTacToeService.makeMove(tokenX, Cell.TOP_LEFT, null, null));
+        assertEquals(0, ticTacToeService.getGameState(after).getVersion());
+    }
+
+    @Test
+    void makeMove_CreatedGameWon_ShouldUpdateRatings() {
+        long gameId = ticTacToeService.createGame();
+        seatRegistry.register(gameId, "alice", "bob");
+        String tokenX = seatTokens.issue(gameId, Player.X);
+        String tokenO = seatTokens.issue(gameId, Player.O);
+
+        ticTacToeService.makeMove(tokenX, Cell.TOP_LEFT, null, null);
+        ticTacToeService.makeMove(tokenO, Cell.MIDDLE_CENTER, null, null);
+        ticTacToeService.makeMove(tokenX, Cell.TOP_CENTER, null, null);
+        ticTacToeService.makeMove(tokenO, Cell.MIDDLE_LEFT, null, null);
+        GameState state = ticTacToeService.makeMove(tokenX, Cell.TOP_RIGHT, null, null);
+
+        assertTrue(state.isGameOver());
+        assertEquals(1516, ratingService.getRating("alice"));
+        assertEquals(1484, ratingService.getRating("bob"));
+        gameArchive.flush();
+        assertEquals(1, gameArchive.size());
+        assertEquals(1, gameStatsService.getStats(10).xWins());
+    }
+
+    @Test
+    void makeMove_CreatedGameFinished_ReleasesItsSeatsAndArchivesItsStartTime() throws IOException {
+        long createdAt = System.currentTimeMillis();
+        long gameId = ticTacToeService.createGame();
+        seatRegistry.register(gameId, "alice", "bob");
+        String tokenX = seatTokens.issue(gameId, Player.X);
+        String tokenO = seatTokens.issue(gameId, Player.O);
+
+        ticTacToeService.makeMove(tokenX, Cell.TOP_LEFT, null, null);
+        ticTacToeService.makeMove(tokenO, Cell.MIDDLE_CENTER, null, null);
+        ticTacToeService.makeMove(tokenX, Cell.TOP_CENTER, null, null);
+        ticTacToeService.makeMove(tokenO, Cell.MIDDLE_LEFT, null, null);
+        ticTacToeService.makeMove(tokenX, Cell.TOP_RIGHT, null, null);
+
+        assertEquals(0, seatRegistry.size());
+        Object gameClocks = ReflectionTestUtils.getField(ticTacToeService, "gameClocks");
+        assertEquals(0, ((Map<?, ?>) ReflectionTestUtils.getField(gameClocks, "clocks")).size(),
+            "No clock is kept while clocks are disabled");
+        gameArchive.flush();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        gameArchive.exportNdjson(out);
+        long startedAt = objectMapper.readTree(out.toString(StandardCharsets.UTF_8)).get("startedAt").asLong();
+        assertTrue(startedAt >= createdAt, "The archive records when the game was created");
+    }
+
+    @Test
+    void createGame_IdleForTheTimeout_IsRemovedWhileTheDefaultGameStays() throws InterruptedException {
+        try (TimingWheel timingWheel = new TimingWheel(1, "test-wheel")) {
+            ReflectionTestUtils.setField(ticTacToeService, "timingWheel", timingWheel);
+            ReflectionTestUtils.setField(ticTacToeService, "idleTimeoutMillis", 50L);
+            ticTacToeService.init();
+            GameStore gameStore = (GameStore) ReflectionTestUtils.getField(ticTacToeService, "gameStore");
+            long gameId = ticTacToeService.createGame();
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (gameStore.get(gameId) != GameStore.MISSING && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertEquals(GameStore.MISSING, gameStore.get(gameId));
+            assertNotEquals(GameStore.MISSING, gameStore.get(DEFAULT_GAME_ID));
+            assertEquals(1, gameStore.size());
+        }
+    }
+
+    @Test
+    void undoMove_LastMoveOfSeat_RestoresPreviousPositionWithNewVersion() {
+        long gameId = ticTacToeService.createGame();
+        String tokenX = seatTokens.issue(gameId, Player.X);
+        String tokenO = seatTokens.issue(gameId, Player.O);
+        ticTacToeService.makeMove(tokenX, Cell.TOP_LEFT, null, null);
+        GameState beforeO = ticTacToeService.getGameState(gameId);
+        ticTacToeService.makeMove(tokenO, Cell.MIDDLE_CENTER, null, null);
+
+        assertThrows(IllegalStateException.class, () -> ticTacToeService.undoMove(tokenX, null, null));
+        GameState undone = ticTacToeService.undoMove(tokenO, null, 2L);
+
+        assertEquals(3, undone.getVersion());
+        assertEquals(beforeO.getBoard(), undone.getBoard());
+        assertEquals(Player.O, undone.getCurrentPlayer());
+        assertThrows(VersionConflictException.class, () -> ticTacToeService.undoMove(tokenX, null, 2L));
+    }
+
+    @Test
+    void getGameState_AtVersion_ReplaysCurrentLineOfPlay() {
+        long gameId = ticTacToeService.createGame();
+        String tokenX = seatTokens.issue(gameId, Player.X);
+        String tokenO = seatTokens.issue(gameId, Player.O);
+        ticTacToeService.makeMove(tokenX, Cell.TOP_LEFT, null, null);
+        GameState afterFirstMove = ticTacToeService.getGameState(gameId);
+        ticTacToeService.makeMove(tokenO, Cell.MIDDLE_CENTER, null, null);
+        ticTacToeService.makeMove(tokenX, Cell.BOTTOM_RIGHT, null, null);
+
+        assertEquals(afterFirstMove, ticTacToeService.getGameState(gameId, 1));
+        assertEquals(new GameState(Player.X), ticTacToeService.getGameState(gameId, 0));
+        assertEquals(ticTacToeService.getGameState(gameId), ticTacToeService.getGameState(gameId, 3));
+        assertThrows(IllegalArgumentException.class, () -> ticTacToeService.getGameState(gameId, 4));
+    }
+
+    @Test
+    void getGameState_VersionBeforeUndo_IsNotAvailable() {
+        long gameId = ticTacToeService.createGame();
+        String tokenX = seatTokens.issue(gameId, Player.X);
+        String tokenO = seatTokens.issue(gameId, Player.O);
+        ticTacToeService.makeMove(tokenX, Cell.TOP_LEFT, null, null);
+        ticTacToeService.makeMove(tokenO, Cell.MIDDLE_CENTER, null, null);
+        ticTacToeService.undoMove(tokenO, null, null);
+        ticTacToeService.makeMove(tokenO, Cell.BOTTOM_RIGHT, null, null);
+
+        assertThrows(IllegalArgumentException.class, () -> ticTacToeService.getGameState(gameId, 2));
+        assertThrows(IllegalArgumentException.class, () -> ticTacToeService.getGameState(gameId, 1));
+        GameState afterUndo = ticTacToeService.getGameState(gameId, 3);
+        assertEquals(Player.O, afterUndo.getCurrentPlayer());
+        assertEquals(Player.EMPTY, afterUndo.getBoard().get(Cell.MIDDLE_CENTER));
+        assertEquals(ticTacToeService.getGameState(gameId), ticTacToeService.getGameState(gameId, 4));
+    }
+
+    @Test
+    void getGameStateJson_SameVersion_ReusesEncodingUntilTheGameChanges() throws IOException {
+        long gameId = ticTacToeService.createGame();
+        String tokenX = seatTokens.issue(gameId, Player.X);
+
+        byte[] first = ticTacToeService.getGameStateJson(gameId);
+        assertSame(first, ticTacToeService.getGameStateJson(gameId));
+        assertEquals(ticTacToeService.getGameState(gameId), objectMapper.readValue(first, GameState.class));
+
+        ticTacToeService.makeMove(tokenX, Cell.TOP_LEFT, null, null);
+        byte[] afterMove = ticTacToeService.getGameStateJson(gameId);
+        assertNotSame(first, afterMove);
+        assertEquals(ticTacToeService.getGameState(gameId), objectMapper.readValue(afterMove, GameState.class));
+        assertArrayEquals(first, ticTacToeService.getGameStateJson(gameId, 0));
+    }
+
+    @Test
+    void fenceGames_AbortedMigration_LetsTheGameCarryOn() {
+        long gameId = ticTacToeService.createGame();
+        String tokenX = seatTokens.issue(gameId, Player.X);
+        String tokenO = seatTokens.issue(gameId, Player.O);
+        ticTacToeService.makeMove(tokenX, Cell.TOP_LEFT, null, null);
+
+        List<MigratedGame> fenced = ticTacToeService.fenceGames(new long[]{gameId}, "http://localhost:8083");
+
+        assertEquals(1, fenced.size());
+        assertEquals(1, ticTacToeService.getGameState(gameId).getVersion());
+        GameMovedException moved = assertThrows(GameMovedException.class,
+            () -> ticTacToeService.makeMove(tokenO, Cell.MIDDLE_CENTER, null, null));
+        assertEquals("http://localhost:8083", moved.getLocation());
+
+        ticTacToeService.abortMigration(fenced);
+        GameState state = ticTacToeService.makeMove(tokenO, Cell.MIDDLE_CENTER, null, null);
+        assertEquals(2, state.getVersion());
+    }
+
+    @Test
+    void completeMigration_RedirectsUntilTheGameIsImportedAgain() {
+        long gameId = ticTacToeService.createGame();
+        seatRegistry.register(gameId, "alice", "bob");
+        String tokenX = seatTokens.issue(gameId, Player.X);
+        String tokenO = seatTokens.issue(gameId, Player.O);
+        ticTacToeService.makeMove(tokenX, Cell.TOP_LEFT, null, null);
+        GameState before = ticTacToeService.getGameState(gameId);
+
+        List<MigratedGame> migrated = ticTacToeService.fenceGames(ticTacToeService.migratableGames(10),
+            "http://localhost:8083");
+        ticTacToeService.completeMigration(migrated);
+
+        assertEquals(0, ticTacToeService.migratableGames(10).length);
+        assertThrows(GameMovedException.class, () -> ticTacToeService.getGameState(gameId));
+        assertEquals(Player.EMPTY, seatRegistry.seatOf(gameId, "alice"));
+
+        assertEquals(1, ticTacToeService.importGames(migrated));
+        assertEquals(before, ticTacToeService.getGameState(gameId));
+        assertEquals(Player.X, seatRegistry.seatOf(gameId, "alice"));
+        GameState state = ticTacToeService.makeMove(tokenO, Cell.MIDDLE_CENTER, null, 1L);
+        assertEquals(2, state.getVersion());
+    }
+
+    @Test
+    void importGames_InvalidState_TakesOverNoGameOfTheBatch() {
+        long first = 8083L << 32 | 1;
+        long second = 8083L << 32 | 2;
+        long valid = PackedGameState.move(PackedGameState.initial(Player.X, 0), Cell.TOP_LEFT);
+        MigratedGame good = new MigratedGame(first, valid, 0, 0, 0, null, null);
+
+        for (long invalid : new long[]{
+            PackedGameState.pack(MoveHistory.COUNT, 1),
+            PackedGameState.fence(valid),
+            PackedGameState.pack(PackedGameState.history(valid), 0),
+            -1L}) {
+            List<MigratedGame> batch = List.of(good, new MigratedGame(second, invalid, 0, 0, 0, null, null));
+            assertThrows(IllegalArgumentException.class, () -> ticTacToeService.importGames(batch));
+        }
+        assertThrows(IllegalArgumentException.class, () -> ticTacToeService.importGames(
+            List.of(new MigratedGame(DEFAULT_GAME_ID, valid, 0, 0, 0, null, null))));
+
+        assertThrows(IllegalArgumentException.class, () -> ticTacToeService.getGameState(first),
+            "The valid game of a refused batch was not written");
+        assertEquals(0, ticTacToeService.getGameState().getVersion(), "The default game was not replaced");
+        assertEquals(1, ticTacToeService.importGames(List.of(good)));
+    }
+
+    @Test
+    void nextReplicationBatch_SendsEachChangedGameOnceWithItsLatestState() {
+        ReflectionTestUtils.setField(ticTacToeService, "replicationEnabled", true);
+        long gameId = ticTacToeService.createGame();
+        String tokenX = seatTokens.issue(gameId, Player.X);
+        String tokenO = seatTokens.issue(gameId, Player.O);
+        ticTacToeService.makeMove(tokenX, Cell.TOP_LEFT, null, null);
+        ticTacToeService.makeMove(tokenO, Cell.MIDDLE_CENTER, null, null);
+        ticTacToeService.makeMove(Cell.TOP_RIGHT);
+
+        ReplicationBatch batch = ticTacToeService.nextReplicationBatch("http://localhost:8082", 100);
+        assertArrayEquals(new long[]{gameId}, batch.gameIds());
+        assertEquals(2, PackedGameState.version(batch.states()[0]));
+        assertEquals(1, batch.sequence());
+
+        ReplicationBatch heartbeat = ticTacToeService.nextReplicationBatch("http://localhost:8082", 100);
+        assertEquals(0, heartbeat.gameIds().length);
+        assertEquals(2, heartbeat.sequence());
+
+        ticTacToeService.completeMigration(
+            ticTacToeService.fenceGames(new long[]{gameId}, "http://localhost:8083"));
+        ReplicationBatch removal = ticTacToeService.nextReplicationBatch("http://localhost:8082", 100);
+        assertArrayEquals(new long[]{GameStore.MISSING}, removal.states());
+    }
+
+    @Test
+    void getGameStateJsonWithin_ReplicatedGame_ServedHereWhileWithinBounds() throws IOException {
+        long gameId = (8083L << 32) | 1;
+        long packed = PackedGameState.move(PackedGameState.initial(Player.X, 0), Cell.TOP_LEFT);
+        assertTrue(ticTacToeService.applyReplication(new ReplicationBatch("http://localhost:8083", 1, 1,
+            System.currentTimeMillis() - 10_000, new long[]{gameId}, new long[]{packed})));
+
+        int cached = ticTacToeService.getEncodedStates().size();
+        GameState state = objectMapper.readValue(ticTacToeService.getGameStateJsonWithin(gameId, 60_000, 1),
+            GameState.class);
+        assertEquals(1, state.getVersion());
+        assertEquals(cached, ticTacToeService.getEncodedStates().size(), "Copies are not kept in the cache");
+        assertEquals(Player.O, state.getCurrentPlayer());
+
+        GameMovedException tooStale = assertThrows(GameMovedException.class,
+            () -> ticTacToeService.getGameStateJsonWithin(gameId, 1000, 0));
+        assertEquals("http://localhost:8083", tooStale.getLocation());
+        assertThrows(GameMovedException.class, () -> ticTacToeService.getGameStateJsonWithin(gameId, 60_000, 2));
+        assertThrows(GameMovedException.class,
+            () -> ticTacToeService.getGameStateJsonWithin((8083L << 32) | 2, 60_000, 0),
+            "A game created on the other instance and not yet replicated is read there");
+    }
+
+    @Test
+    void createGames_ReturnsConsecutiveIdsOfNewGames() {
+        long single = ticTacToeService.createGame();
+
+        long[] gameIds = ticTacToeService.createGames(3);
+
+        assertArrayEquals(new long[]{single + 1, single + 2, single + 3}, gameIds);
+        GameState state = ticTacToeService.getGameState(gameIds[2]);
+        assertEquals(Player.X, state.getCurrentPlayer());
+        assertEquals(0, state.getVersion());
+        assertEquals(single + 4, ticTacToeService.createGame());
+    }
+
+    @Test
+    void resetGames_StartsANewVersionAndSkipsUnknownGames() {
+        long[] gameIds = ticTacToeService.createGames(2);
+        String tokenX = seatTokens.issue(gameIds[0], Player.X);
+        ticTacToeService.makeMove(tokenX, Cell.TOP_LEFT, null, null);
+
+        assertEquals(2, ticTacToeService.resetGames(new long[]{gameIds[0], gameIds[1], 12345L}));
+
+        GameState state = ticTacToeService.getGameState(gameIds[0]);
+        assertEquals(2, state.getVersion());
+        assertEquals(Player.X, state.getCurrentPlayer());
+        assertEquals(Player.EMPTY, state.getBoard().get(Cell.TOP_LEFT));
+        assertThrows(VersionConflictException.class,
+            () -> ticTacToeService.makeMove(tokenX, Cell.TOP_LEFT, null, 1L));
+    }
+
+    @Test
+    void clockExpired_ShouldForfeitGameToOpponent() throws InterruptedException {
+        try (TimingWheel timingWheel = new TimingWheel(1, "test-wheel")) {
+            when(restTemplate.getForEntity(anyString(), eq(GameState.class)))
+                .thenReturn(ResponseEntity.ok(null));
+            ReflectionTestUtils.setField(ticTacToeService, "timingWheel", timingWheel);
+            ReflectionTestUtils.setField(ticTacToeService, "clockBudgetMillis", 50L);
+            ticTacToeService.init();
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (gameArchive.size() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            GameState state = ticTacToeService.getGameState();
+            assertTrue(state.isGameOver());
+            assertEquals(Player.O, state.getWinner());
+            assertEquals(1, state.getVersion());
+            assertEquals(1, gameArchive.size());
+        }
+    }
+
     @Test
     void getGameState_ShouldReturnCopyOfState() {
         GameState originalState = ticTacToeService.getGameState();
@@ -0,0 +1,50 @@
+package com.example.tictactoe.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SelfPlaySimulatorTest {
+
+    private static final int GAMES = 20_000;
+
+    @Test
+    void run_RandomPlay_FinishesEveryGameWithoutViolations() {
+        SimulationReport report = new SelfPlaySimulator(Strategy.RANDOM, Strategy.RANDOM, 2).run(GAMES, 1);
+
+        assertEquals(0, report.violations(), () -> String.join("\n", report.examples()));
+        assertEquals(GAMES, report.games());
+        assertEquals(GAMES, report.xWins() + report.oWins() + report.draws());
+        assertTrue(report.xWins() > 0 && report.oWins() > 0 && report.draws() > 0);
+    }
+
+    @Test
+    void run_PerfectAgainstPerfect_AlwaysDraws() {
+        SimulationReport report = new SelfPlaySimulator(Strategy.PERFECT, Strategy.PERFECT, 2).run(GAMES, 2);
+
+        assertEquals(0, report.violations());
+        assertEquals(GAMES, report.draws());
+        assertEquals(9L * GAMES, report.moves());
+    }
+
+    @Test
+    void run_PerfectAgainstOtherStrategies_NeverLoses() {
+        SimulationReport againstRandom = new SelfPlaySimulator(Strategy.PERFECT, Strategy.RANDOM, 2).run(GAMES, 3);
+        SimulationReport againstHeuristic = new SelfPlaySimulator(Strategy.HEURISTIC, Strategy.PERFECT, 2).run(GAMES, 4);
+
+        assertEquals(0, againstRandom.oWins());
+        assertTrue(againstRandom.xWins() > againstRandom.draws());
+        assertEquals(0, againstHeuristic.xWins());
+    }
+
+    @Test
+    void run_SameSeed_PlaysSameGamesWhateverTheParallelism() {
+        SimulationReport sequential = new SelfPlaySimulator(Strategy.HEURISTIC, Strategy.RANDOM, 1).run(GAMES, 5);
+        SimulationReport parallel = new SelfPlaySimulator(Strategy.HEURISTIC, Strategy.RANDOM, 4).run(GAMES, 5);
+
+        assertEquals(sequential.moves(), parallel.moves());
+        assertEquals(sequential.xWins(), parallel.xWins());
+        assertEquals(sequential.oWins(), parallel.oWins());
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.tictactoe.store;
+
+import com.example.tictactoe.model.Cell;
+import com.example.tictactoe.model.Player;
+import com.example.tictactoe.util.PackedGameState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameArchiveTest {
+
+    @TempDir
+    Path directory;
+
+    private static long wonByX() {
+        long packed = PackedGameState.initial(Player.X, 0);
+        for (Cell cell : new Cell[]{Cell.TOP_LEFT, Cell.MIDDLE_CENTER, Cell.TOP_CENTER, Cell.MIDDLE_LEFT, Cell.TOP_RIGHT}) {
+            packed = PackedGameState.move(packed, cell);
+        }
+        return packed;
+    }
+
+    @Test
+    void exportNdjson_WritesOneLinePerGame() throws IOException {
+        try (GameArchive archive = new GameArchive(directory, 1024)) {
+            archive.append(7, 100, 200, GameArchive.outcome(wonByX()));
+            archive.append(8, 300, 400,
+                GameArchive.outcome(PackedGameState.forfeit(PackedGameState.initial(Player.O, 0), Player.O)));
+            archive.flush();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            archive.exportNdjson(out);
+
+            assertEquals("""
+                {"gameId":7,"startedAt":100,"endedAt":200,"firstPlayer":"X","moves":["TOP_LEFT","MIDDLE_CENTER","TOP_CENTER","MIDDLE_LEFT","TOP_RIGHT"],"winner":"X","forfeit":false}
+                {"gameId":8,"startedAt":300,"endedAt":400,"firstPlayer":"O","moves":[],"winner":"X","forfeit":true}
+                """, out.toString(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void exportBinary_WritesRecordsAcrossSegments() throws IOException {
+        try (GameArchive archive = new GameArchive(directory, 2 * GameArchive.RECORD_BYTES)) {
+            for (long gameId = 1; gameId <= 5; gameId++) {
+                archive.append(gameId, gameId, gameId, GameArchive.outcome(wonByX()));
+            }
+            archive.flush();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            archive.exportBinary(out);
+
+            ByteBuffer records = ByteBuffer.wrap(out.toByteArray());
+            assertEquals(5 * GameArchive.RECORD_BYTES, records.remaining());
+            for (long gameId = 1; gameId <= 5; gameId++) {
+                assertEquals(gameId, records.getLong(GameArchive.RECORD_BYTES * (int) (gameId - 1)));
+            }
+            try (Stream<Path> segments = Files.list(directory)) {
+                assertEquals(3, segments.filter(path -> path.toString().endsWith(".seg")).count());
+            }
+        }
+    }
+
+    @Test
+    void close_WritesEveryQueuedGameInOrder() throws IOException {
+        int games = 5000;
+        try (GameArchive archive = new GameArchive(directory, 1000 * GameArchive.RECORD_BYTES, games)) {
+            for (long gameId = 1; gameId <= games; gameId++) {
+                assertTrue(archive.append(gameId, 0, 0, GameArchive.outcome(wonByX())));
+            }
+        }
+
+        try (GameArchive archive = new GameArchive(directory, 1000 * GameArchive.RECORD_BYTES)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            archive.exportBinary(out);
+
+            ByteBuffer records = ByteBuffer.wrap(out.toByteArray());
+            assertEquals(games * GameArchive.RECORD_BYTES, records.remaining());
+            for (long gameId = 1; gameId <= games; gameId++) {
+                assertEquals(gameId, records.getLong(GameArchive.RECORD_BYTES * (int) (gameId - 1)));
+            }
+            assertEquals(0, archive.dropped());
+        }
+    }
+
+    @Test
+    void reopen_DropsTornRecordAndKeepsAppending() throws IOException {
+        try (GameArchive archive = new GameArchive(directory, 1024)) {
+            archive.append(1, 0, 0, GameArchive.outcome(wonByX()));
+        }
+        Files.write(directory.resolve("games-000001.seg"), new byte[5], StandardOpenOption.APPEND);
+
+        try (GameArchive archive = new GameArchive(directory, 1024)) {
+            archive.append(2, 0, 0, GameArchive.outcome(wonByX()));
+            archive.flush();
+
+            assertEquals(2, archive.size());
+            assertEquals(2 * GameArchive.RECORD_BYTES, Files.size(directory.resolve("games-000001.seg")));
+        }
+    }
+
+    @Test
+    void open_DirectoryInUse_FailsWithoutTouchingTheSegment() throws IOException {
+        try (GameArchive archive = new GameArchive(directory, 1024)) {
+            archive.append(1, 0, 0, GameArchive.outcome(wonByX()));
+
+            assertThrows(IllegalStateException.class, () -> new GameArchive(directory, 1024));
+            archive.append(2, 0, 0, GameArchive.outcome(wonByX()));
+            archive.flush();
+
+            assertEquals(2 * GameArchive.RECORD_BYTES, Files.size(directory.resolve("games-000001.seg")));
+        }
+        try (GameArchive archive = new GameArchive(directory, 1024)) {
+            assertEquals(2, archive.size());
+        }
+    }
+}
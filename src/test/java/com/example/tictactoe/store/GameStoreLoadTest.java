@@ -0,0 +1,135 @@
+package com.example.tictactoe.store;
+
+import com.example.tictactoe.model.Cell;
+import com.example.tictactoe.model.Player;
+import com.example.tictactoe.util.GameState;
+import com.example.tictactoe.util.PackedGameState;
+import com.example.tictactoe.util.Position;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongConsumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures retained heap and GC time for a million live games kept as {@code GameState} objects,
+ * in the {@link HeapGameStore} and in the {@link OffHeapGameStore}.
+ * Run with {@code ./gradlew loadTest}.
+ */
+@Tag("load")
+class GameStoreLoadTest {
+
+    private static final int GAMES = 1_000_000;
+    private static final int MOVES_PER_THREAD = 2_000_000;
+    private static final int THREADS = Runtime.getRuntime().availableProcessors();
+    private static final Cell[] CELLS = Cell.values();
+
+    @Test
+    void offHeapStoreRetainsLessHeapThanGameStateObjects() {
+        Result objects = measureGameStateObjects();
+        Result heap = measureStore("heap-store", new HeapGameStore());
+        Result offHeap = measureStore("off-heap", new OffHeapGameStore(GAMES * 2));
+
+        System.out.println(objects);
+        System.out.println(heap);
+        System.out.println(offHeap);
+        assertTrue(offHeap.retainedBytes() < heap.retainedBytes());
+        assertTrue(heap.retainedBytes() < objects.retainedBytes());
+    }
+
+    private Result measureGameStateObjects() {
+        long before = usedHeap();
+        ConcurrentMap<Long, GameState> games = new ConcurrentHashMap<>();
+        for (long gameId = 1; gameId <= GAMES; gameId++) {
+            games.put(gameId, new GameState(Player.X));
+        }
+        long retained = usedHeap() - before;
+
+        return churn("objects", retained, gameId -> {
+            GameState current = games.get(gameId);
+            GameState next = current.isGameOver() ? new GameState(Player.X) : new GameState(current);
+            if (!current.isGameOver()) {
+                next.makeMove(emptyCell(Position.of(current.getBoard(), current.getCurrentPlayer())));
+            }
+            games.replace(gameId, current, next);
+        });
+    }
+
+    private Result measureStore(String name, GameStore store) {
+        long initial = PackedGameState.initial(Player.X, 0);
+        long before = usedHeap();
+        for (long gameId = 1; gameId <= GAMES; gameId++) {
+            store.create(gameId, initial);
+        }
+        long retained = usedHeap() - before;
+
+        return churn(name, retained, gameId -> {
+            long packed;
+            long updated;
+            do {
+                packed = store.get(gameId);
+                Position position = PackedGameState.position(packed);
+                updated = position.isGameOver() ? initial : PackedGameState.move(packed, emptyCell(position));
+            } while (!store.compareAndSet(gameId, packed, updated));
+        });
+    }
+
+    private Result churn(String name, long retainedBytes, LongConsumer move) {
+        long gcMillisBefore = gcMillis();
+        long gcCountBefore = gcCount();
+        long start = System.nanoTime();
+        IntStream.range(0, THREADS).parallel().forEach(thread -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < MOVES_PER_THREAD; i++) {
+                move.accept(1 + random.nextInt(GAMES));
+            }
+        });
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        return new Result(name, retainedBytes, gcCount() - gcCountBefore, gcMillis() - gcMillisBefore,
+            (long) THREADS * MOVES_PER_THREAD * 1000 / Math.max(elapsedMillis, 1));
+    }
+
+    private static Cell emptyCell(Position position) {
+        int offset = ThreadLocalRandom.current().nextInt(CELLS.length);
+        for (int i = 0; i < CELLS.length; i++) {
+            Cell cell = CELLS[(offset + i) % CELLS.length];
+            if (position.getPlayer(cell) == Player.EMPTY) {
+                return cell;
+            }
+        }
+        throw new IllegalStateException("No empty cell in an unfinished game");
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long gcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+            .mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+            .mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+
+    private record Result(String name, long retainedBytes, long gcCount, long gcMillis, long movesPerSecond) {
+        @Override
+        public String toString() {
+            return String.format("%-10s games=%d retained=%dMB (%d B/game) gcs=%d gcTime=%dms moves/s=%d",
+                name, GAMES, retainedBytes >> 20, retainedBytes / GAMES, gcCount, gcMillis, movesPerSecond);
+        }
+    }
+}
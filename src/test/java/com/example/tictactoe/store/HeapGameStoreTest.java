@@ -0,0 +1,75 @@
+package com.example.tictactoe.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HeapGameStoreTest {
+
+    @Test
+    void createAll_DrawsRecordsFromThePoolAndSkipsExistingGames() {
+        HeapGameStore store = new HeapGameStore(4);
+        store.create(2, 7);
+
+        assertEquals(2, store.createAll(new long[]{1, 2, 3}, 42));
+
+        assertEquals(1, store.pooled(), "The record offered to the existing game went back to the pool");
+        assertEquals(7, store.get(2) & GameStore.STATE_MASK);
+        assertEquals(42, store.get(3) & GameStore.STATE_MASK);
+        assertEquals(3, store.size());
+    }
+
+    @Test
+    void compareAndSet_AfterRemoveAndReuseOfTheRecord_FailsForOldState() {
+        HeapGameStore store = new HeapGameStore(1);
+        store.create(7, 42);
+        long state = store.get(7);
+
+        assertTrue(store.remove(7));
+        assertEquals(GameStore.MISSING, store.get(7));
+        assertEquals(GameStore.MISSING, store.getLastActivity(7));
+        assertEquals(1, store.pooled());
+        assertTrue(store.create(8, 42));
+        assertEquals(0, store.pooled());
+
+        assertFalse(store.compareAndSet(8, state, 43), "The old epoch is rejected by the reused record");
+        assertTrue(store.compareAndSet(8, store.get(8), 43));
+        assertEquals(43, store.get(8) & GameStore.STATE_MASK);
+    }
+
+    @Test
+    void getStartedAt_ReusedRecord_StartsAtTheCreationOfTheNewGame() {
+        HeapGameStore store = new HeapGameStore(1);
+        store.create(7, 42);
+        store.setStartedAt(7, 100);
+        assertEquals(100, store.getStartedAt(7));
+
+        store.remove(7);
+        long createdAt = System.currentTimeMillis();
+        store.create(8, 42);
+        store.setStartedAt(7, 200);
+
+        assertEquals(GameStore.MISSING, store.getStartedAt(7));
+        assertTrue(store.getStartedAt(8) >= createdAt);
+    }
+
+    @Test
+    void remove_FullPool_DropsTheRecord() {
+        HeapGameStore store = new HeapGameStore(1);
+        store.createAll(new long[]{1, 2, 3}, 42);
+        assertEquals(0, store.pooled());
+
+        store.remove(1);
+        store.remove(2);
+
+        assertEquals(1, store.pooled());
+        List<Long> visited = new ArrayList<>();
+        store.forEach((gameId, state, lastActivity) -> visited.add(gameId));
+        assertEquals(List.of(3L), visited);
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.tictactoe.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OffHeapGameStoreTest {
+
+    @Test
+    void create_NewGame_StoresState() {
+        OffHeapGameStore store = new OffHeapGameStore(16);
+
+        assertTrue(store.create(7, 42));
+        assertFalse(store.create(7, 43));
+        assertEquals(42, store.get(7) & GameStore.STATE_MASK);
+        assertEquals(1, store.size());
+        assertEquals(GameStore.MISSING, store.get(8));
+    }
+
+    @Test
+    void compareAndSet_StaleExpectedState_Fails() {
+        OffHeapGameStore store = new OffHeapGameStore(16);
+        store.create(7, 42);
+        long state = store.get(7);
+
+        assertTrue(store.compareAndSet(7, state, 43));
+        assertFalse(store.compareAndSet(7, state, 44));
+        assertEquals(43, store.get(7) & GameStore.STATE_MASK);
+    }
+
+    @Test
+    void compareAndSet_AfterRemoveAndReuse_FailsForOldState() {
+        OffHeapGameStore store = new OffHeapGameStore(16);
+        store.create(7, 42);
+        long state = store.get(7);
+
+        assertTrue(store.remove(7));
+        assertEquals(GameStore.MISSING, store.get(7));
+        assertTrue(store.create(7, 42));
+
+        assertNotEquals(state, store.get(7));
+        assertFalse(store.compareAndSet(7, state, 43));
+    }
+
+    @Test
+    void createAll_BatchBeyondCapacity_CreatesNothing() {
+        OffHeapGameStore store = new OffHeapGameStore(16);
+        assertEquals(10, store.createAll(new long[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10}, 42));
+
+        assertThrows(IllegalStateException.class, () -> store.createAll(new long[]{11, 12, 13}, 42));
+        assertEquals(10, store.size());
+        assertEquals(GameStore.MISSING, store.get(11));
+
+        assertEquals(1, store.createAll(new long[]{10, 11}, 42));
+        assertEquals(42, store.get(11) & GameStore.STATE_MASK);
+    }
+
+    @Test
+    void create_BeyondThreeQuartersOfCapacity_ThrowsIllegalStateException() {
+        OffHeapGameStore store = new OffHeapGameStore(16);
+        for (long gameId = 1; gameId <= 12; gameId++) {
+            assertTrue(store.create(gameId, gameId));
+        }
+
+        assertThrows(IllegalStateException.class, () -> store.create(13, 13));
+        store.remove(3);
+        assertTrue(store.create(13, 13));
+    }
+
+    @Test
+    void forEach_VisitsLiveGamesOnly() {
+        OffHeapGameStore store = new OffHeapGameStore(16);
+        store.create(1, 10);
+        store.create(2, 20);
+        store.create(3, 30);
+        store.remove(2);
+
+        List<Long> visited = new ArrayList<>();
+        store.forEach((gameId, state, lastActivity) -> visited.add(gameId));
+
+        assertEquals(2, visited.size());
+        assertTrue(visited.containsAll(List.of(1L, 3L)));
+    }
+
+    @Test
+    void compareAndSet_ConcurrentIncrements_LosesNoUpdates() throws InterruptedException {
+        OffHeapGameStore store = new OffHeapGameStore(16);
+        store.create(1, 0);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    long state;
+                    do {
+                        state = store.get(1);
+                    } while (!store.compareAndSet(1, state, (state & GameStore.STATE_MASK) + 1));
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(40_000, store.get(1) & GameStore.STATE_MASK);
+    }
+
+    @Test
+    void remove_ChurnOfManyGames_KeepsMissesShort() {
+        OffHeapGameStore store = new OffHeapGameStore(1024);
+        int live = 700;
+        long lastGameId = 100_000;
+        for (long gameId = 1; gameId <= live; gameId++) {
+            store.create(gameId, gameId);
+        }
+        for (long gameId = live + 1; gameId <= lastGameId; gameId++) {
+            assertTrue(store.remove(gameId - live));
+            assertTrue(store.create(gameId, gameId));
+        }
+
+        assertEquals(live, store.size());
+        for (long gameId = lastGameId - live + 1; gameId <= lastGameId; gameId++) {
+            assertEquals(gameId, store.get(gameId) & GameStore.STATE_MASK);
+        }
+        long probes = 0;
+        for (long missing = 1; missing <= 1000; missing++) {
+            probes += store.probeLength(missing);
+        }
+        assertTrue(probes / 1000 < 32, "A miss probed " + probes / 1000 + " slots on average");
+    }
+
+    @Test
+    void getStartedAt_ChurnCompactsTheTable_KeepsStartTimesOfMovedGames() {
+        OffHeapGameStore store = new OffHeapGameStore(64);
+        int live = 40;
+        long lastGameId = 1000;
+        for (long gameId = 1; gameId <= lastGameId; gameId++) {
+            if (gameId > live) {
+                assertTrue(store.remove(gameId - live));
+            }
+            assertTrue(store.create(gameId, gameId));
+            store.setStartedAt(gameId, gameId * 100);
+        }
+
+        for (long gameId = lastGameId - live + 1; gameId <= lastGameId; gameId++) {
+            assertEquals(gameId * 100, store.getStartedAt(gameId));
+        }
+        assertEquals(GameStore.MISSING, store.getStartedAt(1));
+    }
+
+    @Test
+    void compareAndSet_WhileChurnCompactsTheTable_LosesNoUpdates() throws InterruptedException {
+        OffHeapGameStore store = new OffHeapGameStore(64);
+        store.create(1, 0);
+        Thread churn = new Thread(() -> {
+            for (long gameId = 2; gameId < 200_000; gameId++) {
+                store.create(gameId, gameId);
+                if (gameId > 40) {
+                    store.remove(gameId - 38);
+                }
+            }
+        });
+        churn.start();
+        int increments = 0;
+        while (churn.isAlive()) {
+            long state;
+            do {
+                state = store.get(1);
+                assertNotEquals(GameStore.MISSING, state);
+            } while (!store.compareAndSet(1, state, (state & GameStore.STATE_MASK) + 1));
+            increments++;
+        }
+        churn.join();
+
+        assertEquals(increments, store.get(1) & GameStore.STATE_MASK);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.tictactoe.util;
+
+import com.example.tictactoe.model.Cell;
+import com.example.tictactoe.model.Player;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MoveHistoryTest {
+
+    private static final Cell[] WINNING_LINE = {
+        Cell.TOP_LEFT, Cell.MIDDLE_CENTER, Cell.TOP_CENTER, Cell.MIDDLE_LEFT, Cell.TOP_RIGHT
+    };
+
+    @Test
+    void append_EveryLegalGame_HasDistinctHistoryReplayingToItsPosition() {
+        Set<Integer> histories = new HashSet<>();
+        for (Player first : new Player[]{Player.X, Player.O}) {
+            visit(Position.initial(first), MoveHistory.initial(first), 0, histories);
+        }
+
+        assertEquals(2 * 549_946, histories.size());
+        assertTrue(histories.stream().allMatch(history -> history >= 0 && history < MoveHistory.COUNT));
+    }
+
+    @Test
+    void moves_ReturnsCellsInOrderPlayed() {
+        int history = MoveHistory.initial(Player.O);
+        for (Cell cell : WINNING_LINE) {
+            history = MoveHistory.append(history, cell);
+        }
+
+        long moves = MoveHistory.moves(history);
+        assertEquals(WINNING_LINE.length, MoveHistory.ply(history));
+        assertSame(Player.O, MoveHistory.firstPlayer(history));
+        for (int i = 0; i < WINNING_LINE.length; i++) {
+            assertEquals(WINNING_LINE[i].ordinal(), (moves >>> (4 * i)) & 0xF);
+        }
+    }
+
+    @Test
+    void truncate_ReturnsHistoryOfPrefix() {
+        int prefix = MoveHistory.initial(Player.X);
+        int history = prefix;
+        for (int i = 0; i < WINNING_LINE.length; i++) {
+            history = MoveHistory.append(history, WINNING_LINE[i]);
+            if (i < 2) {
+                prefix = history;
+            }
+        }
+
+        assertEquals(prefix, MoveHistory.truncate(history, 2));
+        assertEquals(MoveHistory.initial(Player.X), MoveHistory.truncate(history, 0));
+    }
+
+    @Test
+    void append_OccupiedCell_ThrowsIllegalArgumentException() {
+        int history = MoveHistory.append(MoveHistory.initial(Player.X), Cell.MIDDLE_CENTER);
+
+        assertThrows(IllegalArgumentException.class, () -> MoveHistory.append(history, Cell.MIDDLE_CENTER));
+    }
+
+    @Test
+    void of_PositionExtendingHint_KeepsOrderOfKnownMoves() {
+        int hint = MoveHistory.initial(Player.X);
+        hint = MoveHistory.append(hint, Cell.BOTTOM_RIGHT);
+        hint = MoveHistory.append(hint, Cell.TOP_LEFT);
+        Position target = MoveHistory.position(hint).move(Cell.MIDDLE_CENTER).move(Cell.BOTTOM_LEFT);
+
+        int history = MoveHistory.of(target, hint);
+
+        assertSame(target, MoveHistory.position(history));
+        assertEquals(hint, MoveHistory.truncate(history, 2));
+    }
+
+    @Test
+    void of_WonPositionWithoutHint_PlaysWinningCellLast() {
+        Position target = Position.initial(Player.X);
+        for (Cell cell : WINNING_LINE) {
+            target = target.move(cell);
+        }
+
+        int history = MoveHistory.of(target, -1);
+
+        assertSame(target, MoveHistory.position(history));
+    }
+
+    private static void visit(Position position, int history, int ply, Set<Integer> histories) {
+        assertTrue(histories.add(history));
+        assertSame(position, MoveHistory.position(history));
+        assertEquals(ply, MoveHistory.ply(history));
+        if (position.isGameOver()) {
+            return;
+        }
+        for (Cell cell : Cell.values()) {
+            if (position.getPlayer(cell) == Player.EMPTY) {
+                visit(position.move(cell), MoveHistory.append(history, cell), ply + 1, histories);
+            }
+        }
+    }
+}
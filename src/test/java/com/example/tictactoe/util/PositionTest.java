@@ -0,0 +1,87 @@
+package com.example.tictactoe.util;
+
+import com.example.tictactoe.model.Cell;
+import com.example.tictactoe.model.Player;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PositionTest {
+
+    @Test
+    void table_ContainsEveryLegalPositionForBothStartingPlayers() {
+        assertEquals(2 * 5478, Position.count());
+    }
+
+    @Test
+    void move_SameBoardReachedInDifferentOrder_ReturnsSharedInstance() {
+        Position first = Position.initial(Player.X).move(Cell.TOP_LEFT).move(Cell.MIDDLE_CENTER).move(Cell.TOP_RIGHT);
+        Position second = Position.initial(Player.X).move(Cell.TOP_RIGHT).move(Cell.MIDDLE_CENTER).move(Cell.TOP_LEFT);
+
+        assertSame(first, second);
+        assertSame(first, Position.of(first.getBoard(), Player.O));
+    }
+
+    @Test
+    void move_CompletingLine_EndsGameWithWinner() {
+        Position position = Position.initial(Player.X)
+            .move(Cell.TOP_LEFT).move(Cell.MIDDLE_CENTER)
+            .move(Cell.TOP_CENTER).move(Cell.MIDDLE_LEFT)
+            .move(Cell.TOP_RIGHT);
+
+        assertTrue(position.isGameOver());
+        assertEquals(Player.X, position.getWinner());
+        assertThrows(IllegalStateException.class, () -> position.move(Cell.BOTTOM_LEFT));
+    }
+
+    @Test
+    void move_FillingBoardWithoutLine_EndsGameInDraw() {
+        Position position = Position.initial(Player.X);
+        for (Cell cell : new Cell[]{Cell.TOP_LEFT, Cell.TOP_CENTER, Cell.TOP_RIGHT, Cell.MIDDLE_LEFT,
+            Cell.MIDDLE_RIGHT, Cell.MIDDLE_CENTER, Cell.BOTTOM_LEFT, Cell.BOTTOM_RIGHT, Cell.BOTTOM_CENTER}) {
+            assertFalse(position.isGameOver());
+            position = position.move(cell);
+        }
+
+        assertTrue(position.isGameOver());
+        assertEquals(Player.EMPTY, position.getWinner());
+    }
+
+    @Test
+    void move_OccupiedCell_ThrowsIllegalArgumentException() {
+        Position position = Position.initial(Player.O).move(Cell.MIDDLE_CENTER);
+
+        assertThrows(IllegalArgumentException.class, () -> position.move(Cell.MIDDLE_CENTER));
+    }
+
+    @Test
+    void getCanonical_RotatedAndReflectedBoards_ShareRepresentative() {
+        Position corner = Position.initial(Player.X).move(Cell.TOP_LEFT);
+        Position edge = Position.initial(Player.X).move(Cell.TOP_CENTER);
+
+        for (Cell cell : new Cell[]{Cell.TOP_RIGHT, Cell.BOTTOM_LEFT, Cell.BOTTOM_RIGHT}) {
+            assertSame(corner.getCanonical(), Position.initial(Player.X).move(cell).getCanonical());
+        }
+        assertSame(edge.getCanonical(), Position.initial(Player.X).move(Cell.MIDDLE_RIGHT).getCanonical());
+        assertNotSame(corner.getCanonical(), edge.getCanonical());
+        assertEquals(2 * 765, IntStream.range(0, Position.count())
+            .filter(index -> Position.of(index).getCanonical() == Position.of(index)).count());
+    }
+
+    @Test
+    void of_UnreachableBoard_ReturnsNull() {
+        GameState state = new GameState(Player.X);
+        state.getBoard().put(Cell.TOP_LEFT, Player.O);
+        state.getBoard().put(Cell.TOP_CENTER, Player.O);
+
+        assertNull(Position.of(state.getBoard(), Player.X));
+    }
+}
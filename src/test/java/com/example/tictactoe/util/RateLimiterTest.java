@@ -0,0 +1,100 @@
+package com.example.tictactoe.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong(-5 * SECOND);
+    private final RateLimiter<Long> limiter = new RateLimiter<>(10, 5, 1000, now::get);
+
+    @Test
+    void tryAcquire_IdleKey_AdmitsBurstThenReportsWait() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire(1L));
+        }
+
+        assertEquals(SECOND / 10, limiter.tryAcquire(1L));
+        assertEquals(0, limiter.tryAcquire(2L), "Keys have separate buckets");
+    }
+
+    @Test
+    void tryAcquire_AfterWaiting_RefillsAtTheSustainedRate() {
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire(1L);
+        }
+
+        now.addAndGet(SECOND / 10);
+        assertEquals(0, limiter.tryAcquire(1L));
+        assertTrue(limiter.tryAcquire(1L) > 0);
+
+        now.addAndGet(SECOND);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire(1L));
+        }
+        assertTrue(limiter.tryAcquire(1L) > 0, "A bucket never holds more than its burst");
+    }
+
+    @Test
+    void tryAcquire_RejectedRequests_DoNotUseTokens() {
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire(1L);
+        }
+
+        now.addAndGet(SECOND / 10);
+        assertEquals(0, limiter.tryAcquire(1L));
+    }
+
+    @Test
+    void evictIdle_DropsOnlyBucketsFullForTheIdleTime() {
+        limiter.tryAcquire(1L);
+        now.addAndGet(SECOND);
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire(2L);
+        }
+
+        now.addAndGet(SECOND / 2);
+        assertEquals(1, limiter.evictIdle());
+        assertEquals(1, limiter.size());
+
+        now.addAndGet(2 * SECOND);
+        assertEquals(1, limiter.evictIdle());
+        assertEquals(0, limiter.size());
+    }
+
+    @Test
+    void tryAcquire_ConcurrentRequests_AdmitExactlyTheBurst() throws InterruptedException {
+        RateLimiter<Long> frozen = new RateLimiter<>(1, 1000, 1000, () -> 0);
+        AtomicInteger admitted = new AtomicInteger();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                executor.execute(() -> {
+                    for (int j = 0; j < 1000; j++) {
+                        if (frozen.tryAcquire(1L) == 0) {
+                            admitted.incrementAndGet();
+                        }
+                    }
+                });
+            }
+        }
+
+        assertEquals(1000, admitted.get());
+    }
+
+    @Test
+    void constructor_NonPositiveRate_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter<Long>(0, 1, 1000));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter<Long>(1, 0, 1000));
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.tictactoe.util;
+
+import com.example.tictactoe.model.Player;
+import com.example.tictactoe.model.ReplicationBatch;
+import com.example.tictactoe.model.ReplicationStatus;
+import com.example.tictactoe.store.GameStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplicaStoreTest {
+
+    private static final String OWNER = "http://localhost:8083";
+    private static final String NEW_OWNER = "http://localhost:8084";
+    private static final long STATE = PackedGameState.initial(Player.X, 3);
+
+    private final AtomicLong now = new AtomicLong(10_000);
+    private final ReplicaStore store = new ReplicaStore(now::get);
+
+    private static ReplicationBatch batch(String source, long epoch, long sequence, long asOf, long gameId,
+                                          long state) {
+        return new ReplicationBatch(source, epoch, sequence, asOf, new long[]{gameId}, new long[]{state});
+    }
+
+    private static ReplicationBatch heartbeat(String source, long epoch, long sequence, long asOf) {
+        return new ReplicationBatch(source, epoch, sequence, asOf, new long[0], new long[0]);
+    }
+
+    @Test
+    void read_StalenessFollowsTheStreamNotTheLastChangeOfTheGame() {
+        store.apply(batch(OWNER, 1, 1, 9_000, 7L, STATE));
+        assertEquals(STATE, store.read(7L, 1000, 0));
+        assertEquals(GameStore.MISSING, store.read(7L, 999, 0));
+        assertEquals(GameStore.MISSING, store.read(7L, 1000, 4), "Version 3 is older than the caller accepts");
+
+        store.apply(heartbeat(OWNER, 1, 2, 9_900));
+        assertEquals(STATE, store.read(7L, 100, 3));
+
+        now.set(20_000);
+        assertEquals(GameStore.MISSING, store.read(7L, 100, 0), "No batch arrived for ten seconds");
+        ReplicationStatus.Source source = store.status().sources().get(0);
+        assertEquals(10_100, source.stalenessMillis());
+        assertEquals(100, source.lagMillis());
+    }
+
+    @Test
+    void apply_RetriedBatch_IsIgnored() {
+        assertTrue(store.apply(batch(OWNER, 1, 1, 9_000, 7L, STATE)));
+        assertTrue(store.apply(batch(OWNER, 1, 2, 9_500, 7L, PackedGameState.initial(Player.X, 4))));
+
+        assertFalse(store.apply(batch(OWNER, 1, 1, 9_000, 7L, STATE)));
+        assertEquals(4, PackedGameState.version(store.read(7L, Long.MAX_VALUE, 0)));
+    }
+
+    @Test
+    void apply_NewEpoch_DropsTheCopiesOfTheRestartedSource() {
+        store.apply(batch(OWNER, 1, 5, 9_000, 7L, STATE));
+
+        assertTrue(store.apply(batch(OWNER, 2, 1, 9_500, 8L, STATE)));
+
+        assertNull(store.owner(7L));
+        assertEquals(OWNER, store.owner(8L));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void apply_RemovalFromFormerOwner_KeepsTheCopyOfTheNewOwner() {
+        store.apply(batch(OWNER, 1, 1, 9_000, 7L, STATE));
+        store.apply(batch(NEW_OWNER, 1, 1, 9_000, 7L, PackedGameState.initial(Player.X, 4)));
+
+        store.apply(batch(OWNER, 1, 2, 9_500, 7L, GameStore.MISSING));
+        assertEquals(NEW_OWNER, store.owner(7L));
+
+        store.apply(batch(NEW_OWNER, 1, 2, 9_500, 7L, GameStore.MISSING));
+        assertNull(store.owner(7L));
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.tictactoe.util;
+
+import com.example.tictactoe.model.Player;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures seat token verification throughput and allocation per verification.
+ * Run with {@code ./gradlew loadTest}.
+ */
+@Tag("load")
+class SeatTokensLoadTest {
+
+    private static final int WARMUP = 200_000;
+    private static final int VERIFICATIONS = 2_000_000;
+    private static final int THREADS = Runtime.getRuntime().availableProcessors();
+    private static final long MAX_BYTES_PER_VERIFICATION = 128;
+
+    @Test
+    void verificationIsFastAndAllocationLight() {
+        SeatTokens seatTokens = new SeatTokens("load-secret".getBytes(), 60_000);
+        String token = seatTokens.issue((8082L << 32) | 1, Player.X);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        for (int i = 0; i < WARMUP; i++) {
+            seatTokens.verify(token);
+        }
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < VERIFICATIONS; i++) {
+            seatTokens.verify(token);
+        }
+        long bytesPerVerification = (threads.getCurrentThreadAllocatedBytes() - allocatedBefore) / VERIFICATIONS;
+
+        LongAdder valid = new LongAdder();
+        long start = System.nanoTime();
+        IntStream.range(0, THREADS).parallel().forEach(thread -> {
+            for (int i = 0; i < VERIFICATIONS; i++) {
+                if (seatTokens.verify(token) != SeatTokens.INVALID) {
+                    valid.increment();
+                }
+            }
+        });
+        long elapsedNanos = System.nanoTime() - start;
+        long perSecond = valid.sum() * 1_000_000_000L / elapsedNanos;
+
+        System.out.printf("threads=%d verifications/s=%d bytes/verification=%d%n", THREADS, perSecond, bytesPerVerification);
+        assertTrue(valid.sum() == (long) THREADS * VERIFICATIONS);
+        assertTrue(bytesPerVerification <= MAX_BYTES_PER_VERIFICATION,
+            "Verification should only allocate what the JCE needs internally");
+    }
+}
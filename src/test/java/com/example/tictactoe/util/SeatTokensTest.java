@@ -0,0 +1,50 @@
+package com.example.tictactoe.util;
+
+import com.example.tictactoe.model.Player;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SeatTokensTest {
+
+    private final SeatTokens seatTokens = new SeatTokens("test-secret".getBytes(), 60_000);
+
+    @Test
+    void verify_IssuedToken_ReturnsGameAndSeat() {
+        long gameId = (8082L << 32) | 17;
+
+        long verified = seatTokens.verify(seatTokens.issue(gameId, Player.O));
+
+        assertEquals(gameId, SeatTokens.gameId(verified));
+        assertEquals(Player.O, SeatTokens.seat(verified));
+    }
+
+    @Test
+    void verify_TamperedToken_ReturnsInvalid() {
+        char[] token = seatTokens.issue(42L, Player.X).toCharArray();
+        token[10] = token[10] == 'A' ? 'B' : 'A';
+
+        assertEquals(SeatTokens.INVALID, seatTokens.verify(new String(token)));
+    }
+
+    @Test
+    void verify_TokenSignedWithOtherSecret_ReturnsInvalid() {
+        String token = new SeatTokens("other-secret".getBytes(), 60_000).issue(42L, Player.X);
+
+        assertEquals(SeatTokens.INVALID, seatTokens.verify(token));
+    }
+
+    @Test
+    void verify_ExpiredToken_ReturnsInvalid() {
+        SeatTokens expiring = new SeatTokens("test-secret".getBytes(), -1);
+
+        assertEquals(SeatTokens.INVALID, seatTokens.verify(expiring.issue(42L, Player.X)));
+    }
+
+    @Test
+    void verify_MalformedToken_ReturnsInvalid() {
+        assertEquals(SeatTokens.INVALID, seatTokens.verify(null));
+        assertEquals(SeatTokens.INVALID, seatTokens.verify("not-a-token"));
+        assertEquals(SeatTokens.INVALID, seatTokens.verify("*".repeat(44)));
+    }
+}
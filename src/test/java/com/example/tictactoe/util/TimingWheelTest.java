@@ -0,0 +1,56 @@
+package com.example.tictactoe.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+
+    private final TimingWheel wheel = new TimingWheel(1, "test-wheel");
+
+    @AfterEach
+    void tearDown() {
+        wheel.close();
+    }
+
+    @Test
+    void schedule_RunsTaskNotBeforeItsDelay() throws InterruptedException {
+        CountDownLatch ran = new CountDownLatch(1);
+        long start = System.nanoTime();
+        long[] elapsedMillis = new long[1];
+
+        wheel.schedule(100, () -> {
+            elapsedMillis[0] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            ran.countDown();
+        });
+
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+        assertTrue(elapsedMillis[0] >= 100);
+    }
+
+    @Test
+    void schedule_DelayBeyondFirstLevel_CascadesAndRuns() throws InterruptedException {
+        CountDownLatch ran = new CountDownLatch(1);
+
+        wheel.schedule(300, ran::countDown);
+
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void cancel_PendingTask_NeverRuns() throws InterruptedException {
+        AtomicBoolean ran = new AtomicBoolean();
+        TimingWheel.Timeout timeout = wheel.schedule(50, () -> ran.set(true));
+
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        Thread.sleep(200);
+        assertFalse(ran.get());
+    }
+}